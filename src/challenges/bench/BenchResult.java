@@ -0,0 +1,67 @@
+package challenges.bench;
+
+/**
+ * The result of a single benchmark case
+ * 
+ * @author Joris
+ */
+public class BenchResult {
+	/** The name of the benchmark case */
+	protected final String name;
+	
+	/** The label of the input that was used */
+	protected final String input;
+	
+	/** The mean throughput in operations per second */
+	protected final double score;
+	
+	/** The error on the throughput, as the standard deviation over iterations */
+	protected final double error;
+	
+	/** The mean time per operation in milliseconds */
+	protected final double millisPerOp;
+	
+	/** The allocation rate in MB per second */
+	protected final double allocRate;
+	
+	/** The number of bytes allocated per operation */
+	protected final long allocPerOp;
+	
+	/**
+	 * Creates a new benchmark result
+	 * 
+	 * @param name The name of the case
+	 * @param input The label of the input
+	 * @param scores The throughput of every measurement iteration
+	 * @param ops The total number of operations measured
+	 * @param nanos The total time measured in nanoseconds
+	 * @param allocated The total number of bytes allocated during measurement
+	 */
+	protected BenchResult( final String name, final String input, final double[] scores, final long ops, final long nanos, final long allocated ) {
+		this.name = name;
+		this.input = input;
+		
+		double sum = 0;
+		for( final double s : scores ) sum += s;
+		score = sum / scores.length;
+		
+		double var = 0;
+		for( final double s : scores ) var += (s - score) * (s - score);
+		error = scores.length > 1 ? Math.sqrt( var / (scores.length - 1) ) : 0;
+		
+		millisPerOp = nanos / 1e6 / ops;
+		allocRate = allocated / (nanos / 1e9) / (1024 * 1024);
+		allocPerOp = allocated / ops;
+	}
+	
+	/** @return The header line for a table of results */
+	public static String getHeader( ) {
+		return String.format( "%-32s %-12s %14s %12s %12s %10s %14s", "Benchmark", "Input", "ops/s", "error", "ms/op", "MB/s", "B/op" );
+	}
+	
+	/** @return The result as a single table row */
+	@Override
+	public String toString( ) {
+		return String.format( "%-32s %-12s %14.3f %12.3f %12.3f %10.1f %14d", name, input, score, error, millisPerOp, allocRate, allocPerOp );
+	}
+}
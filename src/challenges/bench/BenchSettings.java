@@ -0,0 +1,65 @@
+package challenges.bench;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * The settings that control a benchmark run. All settings can be overridden
+ * through system properties.
+ * 
+ * @author Joris
+ */
+public class BenchSettings {
+	/** The number of warm-up iterations (bench.warmup) */
+	protected final int warmup;
+	
+	/** The number of measurement iterations (bench.iterations) */
+	protected final int iterations;
+	
+	/** The minimal duration of one iteration in nanoseconds (bench.time, in ms) */
+	protected final long itertime;
+	
+	/** The scale of the generated inputs, 0 to disable them (bench.scale) */
+	protected final int scale;
+	
+	/** The seed of the input generator (bench.seed) */
+	protected final long seed;
+	
+	/**
+	 * Creates new benchmark settings
+	 * 
+	 * @param warmup The number of warm-up iterations
+	 * @param iterations The number of measurement iterations
+	 * @param itertime The minimal duration of an iteration in milliseconds
+	 * @param scale The scale of the generated input, 0 for none
+	 * @param seed The seed of the input generator
+	 */
+	public BenchSettings( final int warmup, final int iterations, final long itertime, final int scale, final long seed ) {
+		this.warmup = warmup;
+		this.iterations = iterations;
+		this.itertime = itertime * 1000000l;
+		this.scale = scale;
+		this.seed = seed;
+	}
+	
+	/**
+	 * Reads the benchmark settings from the system properties, using defaults
+	 * for all properties that are not set
+	 * 
+	 * @return The benchmark settings
+	 */
+	public static BenchSettings fromProperties( ) {
+		return new BenchSettings( 
+				Integer.getInteger( "bench.warmup", 3 ),
+				Integer.getInteger( "bench.iterations", 5 ),
+				Long.getLong( "bench.time", 1000 ),
+				Integer.getInteger( "bench.scale", 0 ),
+				Long.getLong( "bench.seed", InputGenerator.DEFAULT_SEED )
+			);
+	}
+	
+	/** @return The description of the settings */
+	@Override
+	public String toString( ) {
+		return warmup + " warm-up, " + iterations + " x " + (itertime / 1000000) + " ms" + (scale > 0 ? ", scale " + scale + " (seed " + seed + ")" : "");
+	}
+}
@@ -0,0 +1,229 @@
+package challenges.bench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import aocutil.io.FileReader;
+import challenges.gen.InputGenerator;
+
+/**
+ * Base class of the per-day benchmarks. A benchmark registers one or more
+ * cases that call into the solver of its day, after which the harness
+ * measures the throughput and allocation rate of every case on the bundled
+ * puzzle input and, if the day supports it, on a generated large input.
+ * 
+ * @author Joris
+ */
+public abstract class Benchmark {
+	/** The class of the day that is benchmarked, used to find its resources */
+	private final Class<?> day;
+	
+	/** The cases that are registered for the current input */
+	private final Map<String, Callable<Object>> cases;
+	
+	/** Sink that consumes the benchmark results so they are not optimised away */
+	private static volatile Object sink;
+	
+	/**
+	 * Creates a new benchmark for the given day
+	 * 
+	 * @param day The class of the day, its resources hold the bundled input
+	 */
+	protected Benchmark( final Class<?> day ) {
+		this.day = day;
+		this.cases = new LinkedHashMap<>( );
+	}
+	
+	/** @return The name of the benchmark */
+	public String getName( ) {
+		return day.getSimpleName( );
+	}
+	
+	/**
+	 * Reads the bundled puzzle input. Override this if the day does not read
+	 * its input as plain lines
+	 * 
+	 * @param resource The input resource
+	 * @return The puzzle input
+	 * @throws IOException if the input could not be read
+	 */
+	protected List<String> read( final URL resource ) throws IOException {
+		return new FileReader( resource ).readLines( );
+	}
+	
+	/**
+	 * Generates a large puzzle input of the given scale using the input
+	 * generator of the day. Override this if the day does not read its input
+	 * as plain lines
+	 * 
+	 * @param scale The scale of the input to generate
+	 * @param seed The seed of the generator
+	 * @return The generated input or null if the day does not support input
+	 *   generation
+	 * @throws ReflectiveOperationException if the generator could not be
+	 *   created
+	 */
+	protected List<String> generate( final int scale, final long seed ) throws ReflectiveOperationException {
+		final InputGenerator gen = InputGenerator.forDay( day );
+		return gen != null ? gen.generate( scale, seed ) : null;
+	}
+	
+	/**
+	 * Joins groups of lines that are separated by empty lines into single
+	 * lines, the same way in which grouped inputs are read
+	 * 
+	 * @param lines The lines to group
+	 * @param sep The separator to join the lines of a group with
+	 * @return The list of groups
+	 */
+	protected static List<String> group( final List<String> lines, final String sep ) {
+		final List<String> groups = new ArrayList<>( );
+		StringBuilder sb = null;
+		for( final String s : lines ) {
+			if( s.isEmpty( ) ) {
+				if( sb != null ) groups.add( sb.toString( ) );
+				sb = null;
+			} else if( sb == null ) {
+				sb = new StringBuilder( s );
+			} else {
+				sb.append( sep ).append( s );
+			}
+		}
+		if( sb != null ) groups.add( sb.toString( ) );
+		return groups;
+	}
+	
+	/**
+	 * Registers the benchmark cases for the given input by calling
+	 * {@link #bench(String, Callable)} for every case
+	 * 
+	 * @param input The puzzle input to benchmark with
+	 * @throws Exception if the setup failed
+	 */
+	protected abstract void setup( final List<String> input ) throws Exception;
+	
+	/**
+	 * Registers a single benchmark case
+	 * 
+	 * @param name The name of the case
+	 * @param op The operation to benchmark, its result is consumed by the
+	 *   harness
+	 */
+	protected void bench( final String name, final Callable<Object> op ) {
+		cases.put( name, op );
+	}
+	
+	/**
+	 * Runs all benchmark cases on the bundled input and, if a scale is given,
+	 * also on a generated input of that scale
+	 * 
+	 * @param settings The benchmark settings
+	 * @return The list of benchmark results
+	 * @throws Exception if any of the cases failed
+	 */
+	public List<BenchResult> run( final BenchSettings settings ) throws Exception {
+		final Map<String, List<String>> inputs = new LinkedHashMap<>( );
+		inputs.put( "input.txt", read( day.getResource( "input.txt" ) ) );
+		if( settings.scale > 0 ) {
+			final List<String> gen = generate( settings.scale, settings.seed );
+			if( gen != null ) inputs.put( "gen x" + settings.scale, gen );
+		}
+		
+		final List<BenchResult> results = new ArrayList<>( );
+		for( final String in : inputs.keySet( ) ) {
+			cases.clear( );
+			setup( inputs.get( in ) );
+			for( final String c : cases.keySet( ) )
+				results.add( measure( c, in, cases.get( c ), settings ) );
+		}
+		return results;
+	}
+	
+	/**
+	 * Measures a single benchmark case. Runs the warm-up iterations first,
+	 * followed by the measurement iterations. Every iteration repeats the
+	 * operation until the iteration time has elapsed, but at least once.
+	 * 
+	 * @param name The name of the case
+	 * @param input The label of the input that is used
+	 * @param op The operation to measure
+	 * @param settings The benchmark settings
+	 * @return The benchmark result
+	 * @throws Exception if the operation failed
+	 */
+	private BenchResult measure( final String name, final String input, final Callable<Object> op, final BenchSettings settings ) throws Exception {
+		// silence any output of the solvers while we are measuring
+		final PrintStream out = System.out;
+		System.setOut( new PrintStream( new OutputStream( ) {
+			@Override
+			public void write( final int b ) { }
+		} ) );
+		
+		try {
+			for( int i = 0; i < settings.warmup; i++ ) iteration( op, settings.itertime );
+			
+			final double[] scores = new double[ settings.iterations ];
+			long ops = 0;
+			long nanos = 0;
+			long allocated = 0;
+			for( int i = 0; i < settings.iterations; i++ ) {
+				final long a0 = getAllocatedBytes( );
+				final long t0 = System.nanoTime( );
+				final long n = iteration( op, settings.itertime );
+				final long t = System.nanoTime( ) - t0;
+				allocated += getAllocatedBytes( ) - a0;
+				
+				scores[i] = n * 1e9 / t;
+				ops += n;
+				nanos += t;
+			}
+			
+			return new BenchResult( getName( ) + "." + name, input, scores, ops, nanos, allocated );
+		} finally {
+			System.setOut( out );
+		}
+	}
+	
+	/**
+	 * Runs a single benchmark iteration
+	 * 
+	 * @param op The operation to run
+	 * @param itertime The minimal time of the iteration in nanoseconds
+	 * @return The number of operations performed
+	 * @throws Exception if the operation failed
+	 */
+	private static long iteration( final Callable<Object> op, final long itertime ) throws Exception {
+		final long t0 = System.nanoTime( );
+		long n = 0;
+		do {
+			sink = op.call( );
+			n++;
+		} while( System.nanoTime( ) - t0 < itertime );
+		return n;
+	}
+	
+	/**
+	 * Determines the total number of bytes allocated so far by all live threads
+	 * of the JVM, such that also solvers that use worker threads are accounted
+	 * for
+	 * 
+	 * @return The allocated bytes, or 0 if the JVM does not support allocation
+	 *   measurement
+	 */
+	private static long getAllocatedBytes( ) {
+		if( !(ManagementFactory.getThreadMXBean( ) instanceof com.sun.management.ThreadMXBean) ) return 0;
+		final com.sun.management.ThreadMXBean tmx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean( );
+		long sum = 0;
+		for( final long b : tmx.getThreadAllocatedBytes( tmx.getAllThreadIds( ) ) )
+			if( b > 0 ) sum += b;
+		return sum;
+	}
+}
@@ -0,0 +1,73 @@
+package challenges.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the benchmarks of all days, or only of the days that are given as
+ * command line arguments, and prints the results as a table. The benchmark
+ * of day N is discovered as the class challenges.dayNN.DayNNBench. Other
+ * benchmarks can be run by passing their fully qualified class name.
+ * 
+ * Benchmark settings are read from the system properties, see
+ * {@link BenchSettings}.
+ * 
+ * @author Joris
+ */
+public class BenchmarkRunner {
+	
+	/**
+	 * Runs the benchmarks
+	 * 
+	 * @param args The numbers of the days or the class names of the
+	 *   benchmarks to run, all days if empty
+	 * @throws Exception
+	 */
+	public static void main( final String[] args ) throws Exception {
+		final List<String> names = new ArrayList<>( );
+		for( final String a : args ) names.add( a );
+		if( names.isEmpty( ) ) for( int d = 1; d <= 25; d++ ) names.add( "" + d );
+		
+		final BenchSettings settings = BenchSettings.fromProperties( );
+		System.out.println( "Benchmark settings: " + settings );
+		System.out.println( BenchResult.getHeader( ) );
+		for( final String n : names ) {
+			final Benchmark b = n.matches( "\\d+" ) ? getBenchmark( Integer.parseInt( n ) ) : getBenchmark( n );
+			if( b == null ) {
+				System.out.println( "No benchmark " + n );
+				continue;
+			}
+			
+			for( final BenchResult r : b.run( settings ) )
+				System.out.println( r );
+		}
+	}
+	
+	/**
+	 * Discovers the benchmark of the given day
+	 * 
+	 * @param day The day number
+	 * @return The benchmark of the day, null if there is none
+	 * @throws ReflectiveOperationException if the benchmark could not be created
+	 */
+	public static Benchmark getBenchmark( final int day ) throws ReflectiveOperationException {
+		final String dd = String.format( "%02d", day );
+		return getBenchmark( "challenges.day" + dd + ".Day" + dd + "Bench" );
+	}
+	
+	/**
+	 * Creates a benchmark from its class name
+	 * 
+	 * @param classname The fully qualified class name of the benchmark
+	 * @return The benchmark, null if there is no such class
+	 * @throws ReflectiveOperationException if the benchmark could not be created
+	 */
+	public static Benchmark getBenchmark( final String classname ) throws ReflectiveOperationException {
+		try {
+			final Class<?> c = Class.forName( classname );
+			return (Benchmark) c.newInstance( );
+		} catch( ClassNotFoundException e ) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package challenges.bench;
+
+import java.util.List;
+
+import aocutil.grid.CoordGrid;
+import challenges.day08.Day08;
+import challenges.util.grid.ByteGrid;
+
+/**
+ * Compares the generic CoordGrid against the dense ByteGrid on the grid of
+ * tree heights of day 8, both for building the grid and for scanning all of
+ * its values
+ * 
+ * @author Joris
+ */
+public class GridBench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public GridBench( ) {
+		super( Day08.class );
+	}
+	
+	/** @return The name of the benchmark */
+	@Override
+	public String getName( ) {
+		return "Grid";
+	}
+
+	/** @param input The tree height grid */
+	@Override
+	protected void setup( final List<String> input ) {
+		final CoordGrid<Integer> cgrid = CoordGrid.fromDigitGrid( input );
+		final ByteGrid bgrid = ByteGrid.fromStringList( input, c -> (byte)(c - '0'), (byte)0 );
+		final int W = bgrid.getWidth( );
+		final int H = bgrid.getHeight( );
+		
+		bench( "coordgrid build", ( ) -> CoordGrid.fromDigitGrid( input ) );
+		bench( "bytegrid build", ( ) -> ByteGrid.fromStringList( input, c -> (byte)(c - '0'), (byte)0 ) );
+		bench( "coordgrid scan", ( ) -> {
+			long sum = 0;
+			for( int y = 0; y < H; y++ ) for( int x = 0; x < W; x++ ) sum += cgrid.get( x, y );
+			return sum;
+		} );
+		bench( "bytegrid scan", ( ) -> {
+			long sum = 0;
+			for( int y = 0; y < H; y++ ) for( int x = 0; x < W; x++ ) sum += bgrid.get( x, y );
+			return sum;
+		} );
+	}
+}
@@ -1,11 +1,14 @@
 package challenges.day01;
 
+import java.io.IOException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.DaySolver;
 
-public class Day01 {
+public class Day01 implements DaySolver {
 
 	/**
 	 * Day 1 of the Advent of Code 2022
@@ -28,6 +31,30 @@ public class Day01 {
 		System.out.println( "Answer : " + mostCalories( input, 3 ) );
 	}
 	
+	/**
+	 * Reads the puzzle input as groups of lines
+	 * 
+	 * @param resource The input resource
+	 * @return The puzzle input
+	 * @throws IOException if the input could not be read
+	 */
+	@Override
+	public List<String> readInput( final URL resource ) throws IOException {
+		return new FileReader( resource ).readLineGroups( "," );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return mostCalories( input, 1 );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return mostCalories( input, 3 );
+	}
+	
 	/**
 	 * Sums the weights of the top x elves that hold the most total snack weight
 	 *   
@@ -36,7 +63,7 @@ public class Day01 {
 	 * @return The sum of the weights of the x entries that hold the most weight,
 	 *   sorted from most to least weight
 	 */
-	private static long mostCalories( final List<String> input, final int entries ) {
+	protected static long mostCalories( final List<String> input, final int entries ) {
 		// create array of elves, each holding the sum of their snack weights
 		final List<Elf> elves = new ArrayList<>( );
 		for( String i : input ) elves.add( new Elf( i ) );
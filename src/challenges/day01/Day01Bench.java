@@ -0,0 +1,54 @@
+package challenges.day01;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+
+import aocutil.io.FileReader;
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 1 solvers
+ * 
+ * @author Joris
+ */
+public class Day01Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day01Bench( ) {
+		super( Day01.class );
+	}
+
+	/**
+	 * Reads the calorie lists, one elf per line
+	 * 
+	 * @param resource The input resource
+	 * @return The calorie list per elf
+	 * @throws IOException if the input could not be read
+	 */
+	@Override
+	protected List<String> read( final URL resource ) throws IOException {
+		return new FileReader( resource ).readLineGroups( "," );
+	}
+	
+	/**
+	 * Generates the calorie lists, one elf per line
+	 * 
+	 * @param scale The scale of the input
+	 * @param seed The seed of the generator
+	 * @return The generated calorie lists
+	 * @throws ReflectiveOperationException if the generator could not be
+	 *   created
+	 */
+	@Override
+	protected List<String> generate( final int scale, final long seed ) throws ReflectiveOperationException {
+		return group( super.generate( scale, seed ), "," );
+	}
+	
+	/** @param input The calorie lists per elf */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> Day01.mostCalories( input, 1 ) );
+		bench( "part2", ( ) -> Day01.mostCalories( input, 3 ) );
+	}
+}
@@ -0,0 +1,27 @@
+package challenges.day01;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates calorie lists of elves, 250 elves per unit of scale that carry
+ * between 1 and 15 food items each
+ * 
+ * @author Joris
+ */
+public class Day01Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final List<String> input = new ArrayList<>( );
+		for( int e = 0; e < 250 * scale; e++ ) {
+			if( e > 0 ) input.add( "" );
+			final int items = range( rnd, 1, 15 );
+			for( int i = 0; i < items; i++ ) input.add( "" + range( rnd, 1000, 60000 ) );
+		}
+		return input;
+	}
+}
@@ -3,8 +3,9 @@ package challenges.day02;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.DaySolver;
 
-public class Day02 {
+public class Day02 implements DaySolver {
 
 	/**
 	 * Day 2 of the Advent of Code 2022
@@ -26,6 +27,18 @@ public class Day02 {
 		System.out.println( "Example: " + countScoreOutcome( ex_input ) );
 		System.out.println( "Answer : " + countScoreOutcome( input ) );
 	}
+	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return countScore( input );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return countScoreOutcome( input );
+	}
 
 	/**
 	 * Go over all played games and sum the outcome scores when playing the sign
@@ -35,7 +48,7 @@ public class Day02 {
 	 *   <in out> that describe the input sign and the one we should play
 	 * @return The total of all outcome scores
 	 */
-	private final static long countScore( final List<String> input ) {
+	protected final static long countScore( final List<String> input ) {
 		long result = 0;
 		for( final String s : input ) {		
 			final int diff = ((s.charAt( 0 ) - 'A') - (s.charAt( 2 ) - 'X') + 3) % 3;
@@ -57,7 +70,7 @@ public class Day02 {
 	 * @return The total of all outcome scores
 	 */
 	
-	private final static long countScoreOutcome( final List<String> input ) {
+	protected final static long countScoreOutcome( final List<String> input ) {
 		long result = 0;
 		for( final String s : input ) {
 			final int in = s.charAt( 0 ) - 'A';
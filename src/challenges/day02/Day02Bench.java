@@ -0,0 +1,25 @@
+package challenges.day02;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 2 solvers
+ * 
+ * @author Joris
+ */
+public class Day02Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day02Bench( ) {
+		super( Day02.class );
+	}
+
+	/** @param input The strategy guide */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> Day02.countScore( input ) );
+		bench( "part2", ( ) -> Day02.countScoreOutcome( input ) );
+	}
+}
@@ -0,0 +1,24 @@
+package challenges.day02;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates strategy guides of 2500 rounds of rock paper scissors per unit
+ * of scale
+ * 
+ * @author Joris
+ */
+public class Day02Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final List<String> input = new ArrayList<>( 2500 * scale );
+		for( int i = 0; i < 2500 * scale; i++ )
+			input.add( (char)('A' + rnd.nextInt( 3 )) + " " + (char)('X' + rnd.nextInt( 3 )) );
+		return input;
+	}
+}
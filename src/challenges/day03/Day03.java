@@ -4,8 +4,9 @@ import java.util.List;
 
 import aocutil.io.FileReader;
 import aocutil.string.StringUtil;
+import challenges.runner.DaySolver;
 
-public class Day03 {
+public class Day03 implements DaySolver {
 
 	/**
 	 * Day 3 of the Advent of Code 2022
@@ -27,6 +28,18 @@ public class Day03 {
 		System.out.println( "Example: " + part2( ex_input ) );
 		System.out.println( "Answer : " + part2( input ) );
 	}
+	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return part1( input );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return part2( input );
+	}
 
 	/**
 	 * Computes priority score of a single character
@@ -46,7 +59,7 @@ public class Day03 {
 	 * @return Sum of priority scores for those items that are in both halves of
 	 *   an inventory, one per line
 	 */
-	private static final long part1( final List<String> input ) {
+	protected static final long part1( final List<String> input ) {
 		long sum = 0;
 		for( final String in : input ) {
 			// split in halves
@@ -68,7 +81,7 @@ public class Day03 {
 	 * @return Sum of priority scores for those items that are shared in every
 	 * group of three inventories
 	 */	
-	private static final long part2( final List<String> input ) {
+	protected static final long part2( final List<String> input ) {
 		long sum = 0;
 		
 		// sum over groups of three now
@@ -0,0 +1,25 @@
+package challenges.day03;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 3 solvers
+ * 
+ * @author Joris
+ */
+public class Day03Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day03Bench( ) {
+		super( Day03.class );
+	}
+
+	/** @param input The rucksack inventories */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> Day03.part1( input ) );
+		bench( "part2", ( ) -> Day03.part2( input ) );
+	}
+}
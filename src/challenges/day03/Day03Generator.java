@@ -0,0 +1,59 @@
+package challenges.day03;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates rucksack contents, 100 groups of three elves per unit of scale.
+ * Every rucksack has exactly one item type in both compartments and every
+ * group shares exactly one badge item
+ * 
+ * @author Joris
+ */
+public class Day03Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final List<Character> types = new ArrayList<>( 52 );
+		for( char c = 'a'; c <= 'z'; c++ ) types.add( c );
+		for( char c = 'A'; c <= 'Z'; c++ ) types.add( c );
+		
+		final List<String> input = new ArrayList<>( 300 * scale );
+		for( int g = 0; g < 100 * scale; g++ ) {
+			// give every elf its own item types, other than the badge, so that the
+			// badge is the only item that the group shares
+			Collections.shuffle( types, rnd );
+			final char badge = types.get( 51 );
+			for( int e = 0; e < 3; e++ ) {
+				final char shared = types.get( e * 17 );
+				final List<Character> left = types.subList( e * 17 + 1, e * 17 + 9 );
+				final List<Character> right = types.subList( e * 17 + 9, e * 17 + 17 );
+				
+				// the compartments hold the shared item, the badge and n other items
+				final int n = range( rnd, 6, 20 );
+				final StringBuilder l = new StringBuilder( ).append( shared ).append( badge );
+				fill( rnd, l, left, n );
+				final StringBuilder r = new StringBuilder( ).append( shared );
+				fill( rnd, r, right, n + 1 );
+				input.add( l.toString( ) + r.toString( ) );
+			}
+		}
+		return input;
+	}
+	
+	/**
+	 * Adds random items to a compartment
+	 * 
+	 * @param rnd The random generator
+	 * @param sb The compartment to add the items to
+	 * @param items The item types to choose from
+	 * @param count The number of items to add
+	 */
+	private static void fill( final Random rnd, final StringBuilder sb, final List<Character> items, final int count ) {
+		for( int i = 0; i < count; i++ ) sb.append( items.get( rnd.nextInt( items.size( ) ) ) );
+	}
+}
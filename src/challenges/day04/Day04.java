@@ -3,8 +3,9 @@ package challenges.day04;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.DaySolver;
 
-public class Day04 {
+public class Day04 implements DaySolver {
 
 	/**
 	 * Day 4 of the Advent of Code 2022
@@ -27,6 +28,18 @@ public class Day04 {
 		System.out.println( "Answer : " + count( input, false ) );
 	}
 	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return count( input, true );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return count( input, false );
+	}
+	
 	/**
 	 * Counts the number of range overlaps in the input pairs
 	 * 
@@ -34,7 +47,7 @@ public class Day04 {
 	 * @param contained True if the overlap must fully contain the other
 	 * @return The count of overlaps
 	 */
-	private final static long count( final List<String> input, final boolean contained ) {
+	protected final static long count( final List<String> input, final boolean contained ) {
 		return input.stream( ).mapToInt( 
 				in -> {
 					final String[] s = in.split( "," );
@@ -0,0 +1,25 @@
+package challenges.day04;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 4 solvers
+ * 
+ * @author Joris
+ */
+public class Day04Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day04Bench( ) {
+		super( Day04.class );
+	}
+
+	/** @param input The section assignment pairs */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> Day04.count( input, true ) );
+		bench( "part2", ( ) -> Day04.count( input, false ) );
+	}
+}
@@ -0,0 +1,28 @@
+package challenges.day04;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates pairs of section assignments, 1000 pairs per unit of scale
+ * 
+ * @author Joris
+ */
+public class Day04Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final List<String> input = new ArrayList<>( 1000 * scale );
+		for( int i = 0; i < 1000 * scale; i++ ) {
+			final int a = range( rnd, 1, 99 );
+			final int b = range( rnd, a, 99 );
+			final int c = range( rnd, 1, 99 );
+			final int d = range( rnd, c, 99 );
+			input.add( a + "-" + b + "," + c + "-" + d );
+		}
+		return input;
+	}
+}
@@ -4,7 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
 
-import aocutil.string.RegexMatcher;
+import challenges.util.string.LineScanner;
 
 public class CargoHold {
 	/** The version of the crate is 9000? */
@@ -13,6 +13,9 @@ public class CargoHold {
 	/** The stacks with cargo crates*/
 	private final List<Stack<Character>> stacks;
 	
+	/** The scanner that is reused to parse the move actions */
+	private final LineScanner scanner;
+	
 	/**
 	 * Creates a new, empty Cargo hold
 	 * 
@@ -21,6 +24,7 @@ public class CargoHold {
 	public CargoHold( final boolean is9000 ) {
 		this.stacks = new ArrayList<>( );
 		this.is9000 = is9000;
+		this.scanner = new LineScanner( );
 	}
 
 	/**
@@ -42,10 +46,10 @@ public class CargoHold {
 	 * @param action The move to perform
 	 */
 	public void move( final String action ) {
-		final RegexMatcher rm = RegexMatcher.match( "move #D from #D to #D", action );
-		final int num = rm.getInt( 1 );
-		final int from = rm.getInt( 2 ) - 1;
-		final int to = rm.getInt( 3 ) - 1;
+		final LineScanner sc = scanner.reset( action ).expect( "move " );
+		final int num = sc.nextInt( );
+		final int from = sc.expect( " from " ).nextInt( ) - 1;
+		final int to = sc.expect( " to " ).nextInt( ) - 1;
 		
 		if( is9000 ) {
 			// move crates one by one
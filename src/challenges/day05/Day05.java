@@ -3,8 +3,9 @@ package challenges.day05;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.DaySolver;
 
-public class Day05 {
+public class Day05 implements DaySolver {
 
 	/**
 	 * Day 5 of the Advent of Code 2022
@@ -27,6 +28,18 @@ public class Day05 {
 		System.out.println( "Answer : " + reorder( input, false ) );
 	}
 	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return reorder( input, true );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return reorder( input, false );
+	}
+	
 	/**
 	 * Reorders crates in the cargo hold using a given set of move instructions
 	 * 
@@ -34,7 +47,7 @@ public class Day05 {
 	 * @param version9000 true to use CrateMover 9000, false for CrateMover 9001
 	 * @return The letters on the crates that are on top after all moves
 	 */
-	private final static String reorder( final List<String> input, final boolean version9000 ) {
+	protected final static String reorder( final List<String> input, final boolean version9000 ) {
 		// create the CargoHold with the required version of CrateMover 
 		final CargoHold cargo = new CargoHold( version9000 );
 		
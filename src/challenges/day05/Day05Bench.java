@@ -0,0 +1,47 @@
+package challenges.day05;
+
+import java.util.List;
+
+import aocutil.string.RegexMatcher;
+import challenges.bench.Benchmark;
+import challenges.util.string.LineScanner;
+
+/**
+ * Benchmark of the day 5 solvers
+ * 
+ * @author Joris
+ */
+public class Day05Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day05Bench( ) {
+		super( Day05.class );
+	}
+
+	/** @param input The crate stacks and moves */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> Day05.reorder( input, true ) );
+		bench( "part2", ( ) -> Day05.reorder( input, false ) );
+		
+		// compare the move parser against the regular expression it replaced
+		final List<String> moves = input.subList( input.indexOf( "" ) + 1, input.size( ) );
+		final LineScanner sc = new LineScanner( );
+		bench( "read moves", ( ) -> {
+			long sum = 0;
+			for( final String m : moves ) {
+				sc.reset( m ).expect( "move " );
+				sum += sc.nextInt( ) + sc.expect( " from " ).nextInt( ) + sc.expect( " to " ).nextInt( );
+			}
+			return sum;
+		} );
+		bench( "read moves regex", ( ) -> {
+			long sum = 0;
+			for( final String m : moves ) {
+				final RegexMatcher rm = RegexMatcher.match( "move #D from #D to #D", m );
+				sum += rm.getInt( 1 ) + rm.getInt( 2 ) + rm.getInt( 3 );
+			}
+			return sum;
+		} );
+	}
+}
@@ -0,0 +1,41 @@
+package challenges.day05;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates crate stacks and rearrangement procedures, 9 stacks and 500 moves
+ * per unit of scale. Moves never take the last crate from a stack, hence
+ * every stack has a crate on top at the end
+ * 
+ * @author Joris
+ */
+public class Day05Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final int N = 9 * scale;
+		final int[] sizes = new int[ N ];
+		final List<String> input = new ArrayList<>( );
+		for( int i = 0; i < N; i++ ) {
+			sizes[i] = range( rnd, 1, 8 );
+			input.add( (i + 1) + " " + word( rnd, sizes[i] ).toUpperCase( ) );
+		}
+		input.add( "" );
+		
+		for( int m = 0; m < 500 * scale; m++ ) {
+			int from;
+			do { from = rnd.nextInt( N ); } while( sizes[ from ] < 2 );
+			int to;
+			do { to = rnd.nextInt( N ); } while( to == from );
+			final int num = range( rnd, 1, Math.min( sizes[ from ] - 1, 10 ) );
+			sizes[ from ] -= num;
+			sizes[ to ] += num;
+			input.add( "move " + num + " from " + (from + 1) + " to " + (to + 1) );
+		}
+		return input;
+	}
+}
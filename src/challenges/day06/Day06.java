@@ -3,8 +3,9 @@ package challenges.day06;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.DaySolver;
 
-public class Day06 {
+public class Day06 implements DaySolver {
 
 	/**
 	 * Day 6 of the Advent of Code 2022
@@ -29,6 +30,18 @@ public class Day06 {
 		System.out.println( "Answer : " + findInBuffer( input.get( 0 ), 14 ) );
 	}
 	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return findInBuffer( input.get( 0 ), 4 );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return findInBuffer( input.get( 0 ), 14 );
+	}
+	
 	/**
 	 * Finds a signal marker in the buffer that is given by the first time any
 	 * sequence of given size of unique characters is found. This uses a window
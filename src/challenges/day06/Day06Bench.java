@@ -0,0 +1,26 @@
+package challenges.day06;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 6 solvers
+ * 
+ * @author Joris
+ */
+public class Day06Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day06Bench( ) {
+		super( Day06.class );
+	}
+
+	/** @param input The datastream buffer */
+	@Override
+	protected void setup( final List<String> input ) {
+		final String buffer = input.get( 0 );
+		bench( "part1", ( ) -> Day06.findInBuffer( buffer, 4 ) );
+		bench( "part2", ( ) -> Day06.findInBuffer( buffer, 14 ) );
+	}
+}
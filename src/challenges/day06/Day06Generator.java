@@ -0,0 +1,34 @@
+package challenges.day06;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates a datastream of 4096 characters per unit of scale. All but the
+ * final 14 characters are drawn from 13 letters only, so that the
+ * start-of-message marker is found at the very end
+ * 
+ * @author Joris
+ */
+public class Day06Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final int N = 4096 * scale;
+		final StringBuilder sb = new StringBuilder( N );
+		for( int i = 0; i < N - 14; i++ ) sb.append( (char)('a' + rnd.nextInt( 13 )) );
+		
+		final List<Character> marker = new ArrayList<>( 14 );
+		for( int i = 0; i < 14; i++ ) marker.add( (char)('m' + i) );
+		Collections.shuffle( marker, rnd );
+		for( final char c : marker ) sb.append( c );
+		
+		final List<String> input = new ArrayList<>( 1 );
+		input.add( sb.toString( ) );
+		return input;
+	}
+}
@@ -3,8 +3,9 @@ package challenges.day07;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.ContextSolver;
 
-public class Day07 {
+public class Day07 implements ContextSolver<FileSystem> {
 
 	/**
 	 * Day 7 of the Advent of Code 2022
@@ -17,25 +18,49 @@ public class Day07 {
 	public static void main( final String[] args ) throws Exception {
 		final List<String> ex_input = new FileReader( Day07.class.getResource( "example.txt" ) ).readLines( );
 		final List<String> input = new FileReader( Day07.class.getResource( "input.txt" ) ).readLines( );
+		final FileSystem ex_fs = new Day07( ).parse( ex_input );
+		final FileSystem fs = new Day07( ).parse( input );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) );
-		System.out.println( "Answer : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_fs ) );
+		System.out.println( "Answer : " + part1( fs ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input ) );
-		System.out.println( "Answer : " + part2( input ) );
+		System.out.println( "Example: " + part2( ex_fs ) );
+		System.out.println( "Answer : " + part2( fs ) );
+	}
+	
+	/**
+	 * Reconstructs the file system from the command line output
+	 * 
+	 * @param input The puzzle input
+	 * @return The file system that is reconstructed from the command line output
+	 */
+	@Override
+	public FileSystem parse( final List<String> input ) {
+		return FileSystem.fromCMD( input );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart1(Object) */
+	@Override
+	public Object solvePart1( final FileSystem fs ) {
+		return part1( fs );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart2(Object) */
+	@Override
+	public Object solvePart2( final FileSystem fs ) {
+		return part2( fs );
 	}
 	
 	/**
 	 * Reconstructs the file system from the command line output and then finds
 	 * the sum of all directories that have a maximum size of 100k.
 	 * 
-	 * @param input The file system command line output
+	 * @param fs The file system that is reconstructed from the command line output
 	 * @return The sum of directory sizes that are smaller than 100k
 	 */
-	protected static long part1( final List<String> input ) {
-		final FileSystem fs = FileSystem.fromCMD( input );
+	protected static long part1( final FileSystem fs ) {
 		return fs.sumMaxSize( 100000 );
 	}
 	
@@ -45,12 +70,11 @@ public class Day07 {
 	 * the smallest folder that can be removed to free up sufficient space for
 	 * the upgrade we plan to do.
 	 * 
-	 * @param input The file system command line output
+	 * @param fs The file system that is reconstructed from the command line output
 	 * @return The size of the smallest directory that will free up enough space
 	 *   if deleted 
 	 */
-	protected static long part2( final List<String> input ) {
-		final FileSystem fs = FileSystem.fromCMD( input );
+	protected static long part2( final FileSystem fs ) {
 		return fs.minSpaceToFree( 70000000, 30000000 );
 	}
 }
\ No newline at end of file
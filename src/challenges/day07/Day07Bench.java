@@ -0,0 +1,27 @@
+package challenges.day07;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 7 solvers
+ * 
+ * @author Joris
+ */
+public class Day07Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day07Bench( ) {
+		super( Day07.class );
+	}
+
+	/** @param input The terminal output */
+	@Override
+	protected void setup( final List<String> input ) {
+		final FileSystem fs = FileSystem.fromCMD( input );
+		bench( "parse", ( ) -> FileSystem.fromCMD( input ) );
+		bench( "part1", ( ) -> fs.sumMaxSize( 100000 ) );
+		bench( "part2", ( ) -> fs.minSpaceToFree( 70000000, 30000000 ) );
+	}
+}
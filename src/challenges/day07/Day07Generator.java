@@ -0,0 +1,65 @@
+package challenges.day07;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates terminal logs of a directory traversal, roughly 1000 lines per
+ * unit of scale. The file sizes are chosen such that the file system is
+ * between 45 and 65 million bytes in use, so that a directory must be
+ * deleted to free up the space for the update
+ * 
+ * @author Joris
+ */
+public class Day07Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		// about a third of the log lines list a file
+		final int files = 350 * scale;
+		final int size = range( rnd, 45000000, 65000000 ) / files;
+		
+		final List<String> input = new ArrayList<>( );
+		input.add( "$ cd /" );
+		int remaining = files;
+		while( remaining > 0 ) remaining = traverse( rnd, input, remaining, size, 0 );
+		return input;
+	}
+	
+	/**
+	 * Generates the log of listing a directory and traversing its children
+	 * 
+	 * @param rnd The random generator
+	 * @param input The log to append to
+	 * @param files The number of files that remain to be generated
+	 * @param size The average size of a file
+	 * @param depth The depth of the directory
+	 * @return The number of files that remain after this directory
+	 */
+	private static int traverse( final Random rnd, final List<String> input, int files, final int size, final int depth ) {
+		input.add( "$ ls" );
+		final int nfiles = Math.min( files, range( rnd, 0, 4 ) );
+		final int ndirs = files == nfiles || depth > 12 ? 0 : range( rnd, 1, 4 );
+		
+		final List<String> dirs = new ArrayList<>( ndirs );
+		for( int i = 0; i < ndirs; i++ ) {
+			final String name = word( rnd, range( rnd, 3, 8 ) ) + i;
+			dirs.add( name );
+			input.add( "dir " + name );
+		}
+		for( int i = 0; i < nfiles; i++ )
+			input.add( range( rnd, 1, 2 * size ) + " " + word( rnd, range( rnd, 1, 8 ) ) + "." + word( rnd, 3 ) );
+		files -= nfiles;
+		
+		for( final String d : dirs ) {
+			if( files == 0 ) break;
+			input.add( "$ cd " + d );
+			files = traverse( rnd, input, files, size, depth + 1 );
+			input.add( "$ cd .." );
+		}
+		return files;
+	}
+}
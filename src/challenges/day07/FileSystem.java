@@ -1,6 +1,6 @@
 package challenges.day07;
 
-import java.util.List;
+import challenges.util.string.CharSequences;
 
 /**
  * Container for a tree-based file system
@@ -56,39 +56,37 @@ public class FileSystem {
 	}
 	
 	/**
-	 * Reconstructs a file system from a command line interaction
+	 * Reconstructs a file system from a command line interaction. The lines are
+	 * processed one at a time, so the output can be streamed from a file
 	 * 
 	 * @param cmd The command line input
 	 * @return The file system
 	 */
-	public static FileSystem fromCMD( final List<String> cmd ) {
+	public static FileSystem fromCMD( final Iterable<? extends CharSequence> cmd ) {
 		final FileSystem fs = new FileSystem( "/" );
 		FSNode curr = fs.getRoot( ); 
 		
-		for( int i = 1; i < cmd.size( ); i++ ) {
-			final String c = cmd.get( i );
+		// skip the first line, it changes to the root directory
+		boolean first = true;
+		for( final CharSequence c : cmd ) {
+			if( first ) { first = false; continue; }
+			if( c.length( ) == 0 ) continue;
 			
-			if( c.startsWith( "$ cd " ) ) {
+			if( CharSequences.startsWith( c, "$ cd " ) ) {
 				// change directory
-				curr = curr.dir( c.substring( 5 ) );
-			} else if( c.equals( "$ ls" ) ) {
-				// file listing, create all nodes
-				while( i < cmd.size( ) - 1 ) {
-					final String listing = cmd.get( ++i );
-					
-					// end of listing, back to processing of commands
-					if( listing.startsWith( "$" ) ) { i--; break; } 
-					// folder
-					else if( listing.startsWith( "dir" ) ) 
-						curr.mkdir( listing.split( " " )[1] );
-					// file
-					else {
-						final String[] f = listing.split( " " );
-						curr.mkfile( f[1], Integer.parseInt( f[0] ));
-					}
-				}
+				curr = curr.dir( c.subSequence( 5, c.length( ) ).toString( ) );
+			} else if( c.charAt( 0 ) == '$' ) {
+				// file listing, nothing to do as every line that follows it is
+				// recognised as listing line by itself
+				continue;
+			} else if( CharSequences.startsWith( c, "dir " ) ) {
+				// folder
+				curr.mkdir( c.subSequence( 4, c.length( ) ).toString( ) );
+			} else {
+				// file
+				final int split = CharSequences.indexOf( c, ' ', 0 );
+				curr.mkfile( c.subSequence( split + 1, c.length( ) ).toString( ), CharSequences.parseLong( c, 0, split ) );
 			}
-			
 		}
 		
 		return fs;
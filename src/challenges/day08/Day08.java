@@ -3,8 +3,9 @@ package challenges.day08;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.ContextSolver;
 
-public class Day08 {
+public class Day08 implements ContextSolver<Forest> {
 
 	/**
 	 * Day 8 of the Advent of Code 2022
@@ -17,14 +18,39 @@ public class Day08 {
 	public static void main( final String[] args ) throws Exception {
 		final List<String> ex_input = new FileReader( Day08.class.getResource( "example.txt" ) ).readLines( );
 		final List<String> input = new FileReader( Day08.class.getResource( "input.txt" ) ).readLines( );
+		final Forest ex_f = new Day08( ).parse( ex_input );
+		final Forest f = new Day08( ).parse( input );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) );
-		System.out.println( "Answer : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_f ) );
+		System.out.println( "Answer : " + part1( f ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input ) );
-		System.out.println( "Answer : " + part2( input ) );
+		System.out.println( "Example: " + part2( ex_f ) );
+		System.out.println( "Answer : " + part2( f ) );
+	}
+	
+	/**
+	 * Reads the grid of tree heights
+	 * 
+	 * @param input The puzzle input
+	 * @return The forest of trees
+	 */
+	@Override
+	public Forest parse( final List<String> input ) {
+		return Forest.fromGrid( input );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart1(Object) */
+	@Override
+	public Object solvePart1( final Forest f ) {
+		return part1( f );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart2(Object) */
+	@Override
+	public Object solvePart2( final Forest f ) {
+		return part2( f );
 	}
 	
 	/**
@@ -32,11 +58,10 @@ public class Day08 {
 	 * is visible if at least one line of sight to it is not blocked by a higher
 	 * tree.
 	 * 
-	 * @param input The list of strings that describe the grid of tree heights
+	 * @param f The forest of trees
 	 * @return The number of visible trees
 	 */
-	protected static long part1( final List<String> input ) {
-		final Forest f = Forest.fromGrid( input );
+	protected static long part1( final Forest f ) {
 		return f.countVisible( );
 	}
 	
@@ -46,11 +71,10 @@ public class Day08 {
 	 * VDS is computed by multiplying the view distance in every direction from
 	 * all of the trees
 	 * 
-	 * @param input The list of strings that describe the grid of tree heights
+	 * @param f The forest of trees
 	 * @return The highest viewing distance score
 	 */
-	protected static long part2( final List<String> input ) {
-		final Forest f = Forest.fromGrid( input );
+	protected static long part2( final Forest f ) {
 		return f.maxViewScore( );
 	}
 }
\ No newline at end of file
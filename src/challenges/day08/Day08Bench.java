@@ -0,0 +1,27 @@
+package challenges.day08;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 8 solvers
+ * 
+ * @author Joris
+ */
+public class Day08Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day08Bench( ) {
+		super( Day08.class );
+	}
+
+	/** @param input The tree height grid */
+	@Override
+	protected void setup( final List<String> input ) {
+		final Forest forest = Forest.fromGrid( input );
+		bench( "parse", ( ) -> Forest.fromGrid( input ) );
+		bench( "part1", ( ) -> forest.countVisible( ) );
+		bench( "part2", ( ) -> forest.maxViewScore( ) );
+	}
+}
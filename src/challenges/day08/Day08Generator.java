@@ -0,0 +1,28 @@
+package challenges.day08;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates square forests of tree heights, of 100 x 100 trees per unit of
+ * scale such that a scale of 100 produces a 10000 x 10000 forest
+ * 
+ * @author Joris
+ */
+public class Day08Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final int N = 100 * scale;
+		final List<String> input = new ArrayList<>( N );
+		final char[] row = new char[ N ];
+		for( int y = 0; y < N; y++ ) {
+			for( int x = 0; x < N; x++ ) row[x] = (char)('0' + rnd.nextInt( 10 ));
+			input.add( new String( row ) );
+		}
+		return input;
+	}
+}
@@ -3,18 +3,18 @@ package challenges.day08;
 import java.util.List;
 
 import aocutil.geometry.Coord2D;
-import aocutil.grid.CoordGrid;
+import challenges.util.grid.ByteGrid;
 
 public class Forest {
 	/** The data grid containing the tree heights */
-	protected final CoordGrid<Integer> trees;
+	protected final ByteGrid trees;
 	
 	/**
 	 * Creates a new forest with the griven tree map
 	 * 
 	 * @param trees The map of tree heights
 	 */
-	private Forest( final CoordGrid<Integer> trees ) {
+	private Forest( final ByteGrid trees ) {
 		this.trees = trees;
 	}
 	
@@ -26,7 +26,7 @@ public class Forest {
 	 * @return The forest
 	 */
 	public static Forest fromGrid( final List<String> input ) {
-		return new Forest( CoordGrid.fromDigitGrid( input ) );
+		return new Forest( ByteGrid.fromStringList( input, c -> (byte)(c - '0'), (byte)0 ) );
 	}
 	
 	/**
@@ -36,7 +36,11 @@ public class Forest {
 	 * @return The count of visible trees
 	 */
 	public long countVisible( ) {
-		return trees.countIf( this::isVisible );
+		long count = 0;
+		for( int y = 0; y < trees.getHeight( ); y++ )
+			for( int x = 0; x < trees.getWidth( ); x++ )
+				if( isVisible( x, y ) ) count++;
+		return count;
 	}
 	
 	/**
@@ -48,17 +52,28 @@ public class Forest {
 	 * @return True if the tree at the given coordinate is visible 
 	 */
 	public boolean isVisible( final Coord2D coord ) {
-		final int h = trees.get( coord );
+		return isVisible( coord.x, coord.y );
+	}
+	
+	/**
+	 * Checks if the tree at the given position is visible
+	 * 
+	 * @param tx The x coordinate of the tree
+	 * @param ty The y coordinate of the tree
+	 * @return True if the tree is visible
+	 */
+	protected boolean isVisible( final int tx, final int ty ) {
+		final int h = trees.get( tx, ty );
 		boolean visible = true;
-		for( Integer d : new int[] { -1, +1 } ) {
+		for( int d = -1; d <= 1; d += 2 ) {
 			visible = true;
-			for( int x = coord.x + d; x >= 0 && x < trees.size( ).x; x += d ) 
-				if( trees.get( x, coord.y ) >= h ) { visible = false; break; }
+			for( int x = tx + d; x >= 0 && x < trees.getWidth( ); x += d ) 
+				if( trees.get( x, ty ) >= h ) { visible = false; break; }
 			if( visible ) return true; 
 
 			visible = true;
-			for( int y = coord.y + d; y >= 0 && y < trees.size( ).y; y += d ) 
-				if( trees.get( coord.x, y ) >= h ) { visible = false; break; }
+			for( int y = ty + d; y >= 0 && y < trees.getHeight( ); y += d ) 
+				if( trees.get( tx, y ) >= h ) { visible = false; break; }
 			if( visible ) return true; 
 		}
 		return visible;
@@ -71,7 +86,11 @@ public class Forest {
 	 * @return The maximum score
 	 */
 	public long maxViewScore( ) {
-		return trees.stream( ).mapToLong( this::getViewScore ).max( ).orElse( -1 );
+		long max = -1;
+		for( int y = 0; y < trees.getHeight( ); y++ )
+			for( int x = 0; x < trees.getWidth( ); x++ )
+				max = Math.max( max, getViewScore( x, y ) );
+		return max;
 	}
 
 	/**
@@ -85,15 +104,26 @@ public class Forest {
 	 * @return The viewing distance score of that tree
 	 */
 	public long getViewScore( final Coord2D coord ) {
-		final int h = trees.get( coord );
+		return getViewScore( coord.x, coord.y );
+	}
+	
+	/**
+	 * Computes the viewing distance score of the tree at the given position
+	 * 
+	 * @param tx The x coordinate of the tree
+	 * @param ty The y coordinate of the tree
+	 * @return The viewing distance score of that tree
+	 */
+	protected long getViewScore( final int tx, final int ty ) {
+		final int h = trees.get( tx, ty );
 		long vd = 1;
-		for( Integer d : new int[]{ -1, +1 } ) {
+		for( int d = -1; d <= 1; d += 2 ) {
 			long mult = 0;
-			for( int x = coord.x + d; x >= 0 && x < trees.size( ).x; x += d ) { mult++; if( trees.get( x, coord.y ) >= h ) break; }
+			for( int x = tx + d; x >= 0 && x < trees.getWidth( ); x += d ) { mult++; if( trees.get( x, ty ) >= h ) break; }
 			vd *= mult; 
 			
 			mult = 0;
-			for( int y = coord.y + d; y >= 0 && y < trees.size( ).y; y += d ) { mult++; if( trees.get( coord.x, y ) >= h ) break; }
+			for( int y = ty + d; y >= 0 && y < trees.getHeight( ); y += d ) { mult++; if( trees.get( tx, y ) >= h ) break; }
 			vd *= mult;
 		}
 		return vd;
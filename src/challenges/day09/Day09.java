@@ -3,8 +3,9 @@ package challenges.day09;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.DaySolver;
 
-public class Day09 {
+public class Day09 implements DaySolver {
 
 	/**
 	 * Day 9 of the Advent of Code 2022
@@ -28,6 +29,18 @@ public class Day09 {
 		System.out.println( "Answer : " + simRopeBridge( input, 10 ) );
 	}
 	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return simRopeBridge( input, 2 );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return simRopeBridge( input, 10 );
+	}
+	
 	/**
 	 * Simulates the movement of a series of knots in a rope bridge
 	 * 
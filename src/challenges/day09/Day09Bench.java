@@ -0,0 +1,25 @@
+package challenges.day09;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 9 solvers
+ * 
+ * @author Joris
+ */
+public class Day09Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day09Bench( ) {
+		super( Day09.class );
+	}
+
+	/** @param input The head moves */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> new RopeSim( 2 ).processMoves( input ) );
+		bench( "part2", ( ) -> new RopeSim( 10 ).processMoves( input ) );
+	}
+}
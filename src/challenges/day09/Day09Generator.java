@@ -0,0 +1,26 @@
+package challenges.day09;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates rope motions, 2000 motions per unit of scale
+ * 
+ * @author Joris
+ */
+public class Day09Generator extends InputGenerator {
+	/** The motion directions */
+	private static final String DIRS = "UDLR";
+	
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final List<String> input = new ArrayList<>( 2000 * scale );
+		for( int i = 0; i < 2000 * scale; i++ )
+			input.add( DIRS.charAt( rnd.nextInt( 4 ) ) + " " + range( rnd, 1, 20 ) );
+		return input;
+	}
+}
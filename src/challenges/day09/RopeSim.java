@@ -1,11 +1,11 @@
 package challenges.day09;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import aocutil.geometry.Coord2D;
 import aocutil.geometry.Direction;
+import challenges.util.collection.LongHashSet;
+import challenges.util.coord.PackedCoord2D;
 
 /**
  * Simulation of a rope bridge that consists of knots in which the head knot is
@@ -14,8 +14,11 @@ import aocutil.geometry.Direction;
  * @author Joris
  */
 public class RopeSim {
-	/** The list of knots in the rope, head being the first tail the last */
-	private Coord2D[] knots;
+	/** The x coordinates of the knots in the rope, head first and tail last */
+	private final int[] kx;
+	
+	/** The y coordinates of the knots in the rope, head first and tail last */
+	private final int[] ky;
 	
 	/**
 	 * Creates a new rope bridge simulation
@@ -23,9 +26,8 @@ public class RopeSim {
 	 * @param length The number of knots in this rope
 	 */
 	public RopeSim( final int length ) {
-		knots = new Coord2D[ length ];
-		for( int i = 0; i < length; i++ )
-			knots[i] = new Coord2D( 0, 0 );
+		kx = new int[ length ];
+		ky = new int[ length ];
 	}
 	
 	/**
@@ -37,17 +39,19 @@ public class RopeSim {
 	 */
 	public int processMoves( final List<String> moves ) {
 		// create set to keep track of unique visited tail positions
-		final Set<Coord2D> tailpos = new HashSet<>( );
-		tailpos.add( knots[ knots.length - 1 ] );
+		final int T = kx.length - 1;
+		final LongHashSet tailpos = new LongHashSet( );
+		tailpos.add( PackedCoord2D.pack( kx[T], ky[T] ) );
 		
 		// process moves one by one
 		for( final String move : moves ) {
 			final String[] m = move.split( " " );
+			final Coord2D d = new Coord2D( 0, 0 ).move( Direction.fromLetter( m[0].charAt( 0 ) ), 1 );
 			for( int i = 0; i < Integer.parseInt( m[1] ); i++ ) {
-				move( Direction.fromLetter( m[0].charAt( 0 ) ) );
+				move( d.x, d.y );
 				
 				// add to history, will only be added to the set if not visited before 
-				tailpos.add( knots[ knots.length - 1 ] );
+				tailpos.add( PackedCoord2D.pack( kx[T], ky[T] ) );
 			}
 		}
 		
@@ -58,25 +62,29 @@ public class RopeSim {
 	 * Process a single move of the head knot in the given direction. Updates the
 	 * position of all trailing knots according to a simple distance rule. 
 	 * 
-	 * @param dir The direction to move the head knot into
+	 * @param hx The horizontal step of the head knot
+	 * @param hy The vertical step of the head knot
 	 */
-	protected void move( Direction dir ) {
+	protected void move( final int hx, final int hy ) {
 		// move the head in the specified direction
-		knots[0] = knots[0].move( dir, 1 );
+		kx[0] += hx;
+		ky[0] += hy;
 		
 		// then for all following knots, update position according to the knot
 		// previous to it
-		for( int i = 1; i < knots.length; i++ ) {
+		for( int i = 1; i < kx.length; i++ ) {
 			// get positional difference and absolute distance
-			final Coord2D d = knots[i].diff( knots[i-1] );
-			final int dx = Math.abs( d.x );
-			final int dy = Math.abs( d.y );
+			final int diffx = kx[i-1] - kx[i];
+			final int diffy = ky[i-1] - ky[i];
+			final int dx = Math.abs( diffx );
+			final int dy = Math.abs( diffy );
 			
 			// is my predecessor at least 2 steps away in any direction?
 			if( dx >= 2 || dy >= 2 ) {
 				// yes, move at most 1 step in the direction of the previous knot
 				// per axis, depending on the difference in row and/or column
-				knots[i] = knots[i].move( dx > 0 ? d.x / dx : 0, dy > 0 ? d.y / dy : 0 );
+				kx[i] += Integer.signum( diffx );
+				ky[i] += Integer.signum( diffy );
 			}
 		}
 	}
@@ -3,8 +3,9 @@ package challenges.day10;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.ContextSolver;
 
-public class Day10 {
+public class Day10 implements ContextSolver<CRT> {
 
 	/**
 	 * Day 10 of the Advent of Code 2022
@@ -17,41 +18,63 @@ public class Day10 {
 	public static void main( final String[] args ) throws Exception {
 		final List<String> ex_input = new FileReader( Day10.class.getResource( "example.txt" ) ).readLines( );
 		final List<String> input = new FileReader( Day10.class.getResource( "input.txt" ) ).readLines( );
+		final CRT ex_crt = new Day10( ).parse( ex_input );
+		final CRT crt = new Day10( ).parse( input );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) );
-		System.out.println( "Answer : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_crt ) );
+		System.out.println( "Answer : " + part1( crt ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example:\n" + part2( ex_input ) ); 
-		System.out.println( "Answer :\n" + part2( input ) );
+		System.out.println( "Example:\n" + part2( ex_crt ) ); 
+		System.out.println( "Answer :\n" + part2( crt ) );
 	}
 	
 	/**
-	 * Feeds the given input commands to a CRT screen processor and computes
-	 * the resulting signal strength of selected pixels.
+	 * Feeds the commands to a CRT screen processor
 	 * 
-	 * @param input The list of CRT commands to process
-	 * @return The resulting signal strength after the processing of the commands
+	 * @param input The puzzle input
+	 * @return The CRT that has processed all commands
 	 */
-	protected static long part1( final List<String> input ) {
+	@Override
+	public CRT parse( final List<String> input ) {
 		final CRT crt = new CRT( 1 );
 		crt.processInput( input );
+		return crt;
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart1(Object) */
+	@Override
+	public Object solvePart1( final CRT crt ) {
+		return part1( crt );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart2(Object) */
+	@Override
+	public Object solvePart2( final CRT crt ) {
+		return part2( crt );
+	}
+	
+	/**
+	 * Computes the signal strength of selected pixels of a CRT screen
+	 * processor that has been fed the input commands.
+	 * 
+	 * @param crt The CRT that has processed all commands
+	 * @return The resulting signal strength after the processing of the commands
+	 */
+	protected static long part1( final CRT crt ) {
 		return crt.getSignalStrengths( );
 	}
 	
 	
 	/**
-	 * Feeds the given input commands to a CRT screen processor and outputs the
-	 * resulting activated pixels as a newline-separated string.
+	 * Outputs the activated pixels of a CRT screen processor that has been fed
+	 * the input commands as a newline-separated string.
 	 * 
-	 * @param input The list of CRT commands to process
+	 * @param crt The CRT that has processed all commands
 	 * @return The resulting pixels on the screen
 	 */
-	protected static String part2( final List<String> input ) {
-		// determine active pixels
-		final CRT crt = new CRT( 1 );
-		crt.processInput( input );
+	protected static String part2( final CRT crt ) {
 		final List<String> out = crt.draw( );
 		
 		// return the output as single string with newlines
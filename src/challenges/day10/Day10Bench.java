@@ -0,0 +1,28 @@
+package challenges.day10;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 10 solvers
+ * 
+ * @author Joris
+ */
+public class Day10Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day10Bench( ) {
+		super( Day10.class );
+	}
+
+	/** @param input The CPU instructions */
+	@Override
+	protected void setup( final List<String> input ) {
+		final Day10 day = new Day10( );
+		final CRT crt = day.parse( input );
+		bench( "parse", ( ) -> day.parse( input ) );
+		bench( "part1", ( ) -> Day10.part1( crt ) );
+		bench( "part2", ( ) -> Day10.part2( crt ) );
+	}
+}
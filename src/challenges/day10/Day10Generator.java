@@ -0,0 +1,32 @@
+package challenges.day10;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates CPU programs of 140 instructions per unit of scale that keep the
+ * register value within the width of the CRT
+ * 
+ * @author Joris
+ */
+public class Day10Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final List<String> input = new ArrayList<>( 140 * scale );
+		int X = 1;
+		for( int i = 0; i < 140 * scale; i++ ) {
+			if( rnd.nextInt( 3 ) == 0 ) {
+				input.add( "noop" );
+			} else {
+				final int v = range( rnd, -X, 39 - X );
+				X += v;
+				input.add( "addx " + v );
+			}
+		}
+		return input;
+	}
+}
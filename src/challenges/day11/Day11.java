@@ -1,11 +1,14 @@
 package challenges.day11;
 
+import java.io.IOException;
+import java.net.URL;
 import java.util.List;
 
 import aocutil.io.FileReader;
 import challenges.day11.monkeysim.MonkeySim;
+import challenges.runner.DaySolver;
 
-public class Day11 {
+public class Day11 implements DaySolver {
 
 	/**
 	 * Day 11 of the Advent of Code 2022
@@ -28,6 +31,30 @@ public class Day11 {
 		System.out.println( "Answer : " + simMonkeyBusiness( input, false, 10000 ) );
 	}
 	
+	/**
+	 * Reads the puzzle input as groups of lines
+	 * 
+	 * @param resource The input resource
+	 * @return The puzzle input
+	 * @throws IOException if the input could not be read
+	 */
+	@Override
+	public List<String> readInput( final URL resource ) throws IOException {
+		return new FileReader( resource ).readLineGroups( ";" );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return simMonkeyBusiness( input, true, 20 );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return simMonkeyBusiness( input, false, 10000 );
+	}
+	
 	/**
 	 * Runs the simulation of monkeys throwing items to each other based upon
 	 * worry scores
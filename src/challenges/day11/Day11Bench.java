@@ -0,0 +1,70 @@
+package challenges.day11;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+
+import aocutil.io.FileReader;
+import challenges.bench.Benchmark;
+import challenges.day11.monkeysim.MonkeySim;
+
+/**
+ * Benchmark of the day 11 solvers
+ * 
+ * @author Joris
+ */
+public class Day11Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day11Bench( ) {
+		super( Day11.class );
+	}
+
+	/**
+	 * Reads the monkey descriptions, one monkey per line
+	 * 
+	 * @param resource The input resource
+	 * @return The monkey descriptions
+	 * @throws IOException if the input could not be read
+	 */
+	@Override
+	protected List<String> read( final URL resource ) throws IOException {
+		return new FileReader( resource ).readLineGroups( ";" );
+	}
+	
+	/**
+	 * Generates the monkey descriptions, one monkey per line
+	 * 
+	 * @param scale The scale of the input
+	 * @param seed The seed of the generator
+	 * @return The generated monkey descriptions
+	 * @throws ReflectiveOperationException if the generator could not be
+	 *   created
+	 */
+	@Override
+	protected List<String> generate( final int scale, final long seed ) throws ReflectiveOperationException {
+		return group( super.generate( scale, seed ), ";" );
+	}
+	
+	/** @param input The monkey descriptions */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> sim( input, true, 20 ) );
+		bench( "part2", ( ) -> sim( input, false, 10000 ) );
+	}
+	
+	/**
+	 * Runs a single monkey simulation
+	 * 
+	 * @param input The monkey descriptions
+	 * @param limiter True to enable the worry limiter
+	 * @param rounds The number of rounds to simulate
+	 * @return The monkey business score
+	 */
+	private static long sim( final List<String> input, final boolean limiter, final int rounds ) {
+		final MonkeySim sim = MonkeySim.fromString( input );
+		sim.setWorryLimit( limiter );
+		sim.run( rounds );
+		return sim.getMostInspected( 2 );
+	}
+}
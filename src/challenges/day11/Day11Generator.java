@@ -0,0 +1,59 @@
+package challenges.day11;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates descriptions of 8 monkeys that hold 1 to 8 items each per unit
+ * of scale. The number of monkeys is fixed because the simulation keeps worry
+ * levels modulo the product of all test divisors, which must remain small
+ * enough to square without overflow. For the same reason only one monkey
+ * squares the worry level and two multiply it.
+ * 
+ * @author Joris
+ */
+public class Day11Generator extends InputGenerator {
+	/** The divisors of the monkey tests, their product is 9699690 */
+	private static final int[] DIVISORS = { 2, 3, 5, 7, 11, 13, 17, 19 };
+	
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final int N = DIVISORS.length;
+		final List<Integer> div = new ArrayList<>( N );
+		for( final int d : DIVISORS ) div.add( d );
+		Collections.shuffle( div, rnd );
+		
+		// one monkey squares, two multiply and the others add
+		final List<String> ops = new ArrayList<>( N );
+		ops.add( "old * old" );
+		for( int i = 0; i < 2; i++ ) ops.add( "old * " + range( rnd, 2, 19 ) );
+		while( ops.size( ) < N ) ops.add( "old + " + range( rnd, 1, 8 ) );
+		Collections.shuffle( ops, rnd );
+		
+		final List<String> input = new ArrayList<>( );
+		for( int m = 0; m < N; m++ ) {
+			final int items = range( rnd, 1, 8 ) * scale;
+			final StringBuilder sb = new StringBuilder( "  Starting items: " );
+			for( int i = 0; i < items; i++ ) sb.append( i > 0 ? ", " : "" ).append( range( rnd, 50, 99 ) );
+			
+			// throw to two distinct other monkeys
+			final int t = (m + range( rnd, 1, N - 1 )) % N;
+			int f;
+			do { f = (m + range( rnd, 1, N - 1 )) % N; } while( f == t );
+			
+			if( m > 0 ) input.add( "" );
+			input.add( "Monkey " + m + ":" );
+			input.add( sb.toString( ) );
+			input.add( "  Operation: new = " + ops.get( m ) );
+			input.add( "  Test: divisible by " + div.get( m ) );
+			input.add( "    If true: throw to monkey " + t );
+			input.add( "    If false: throw to monkey " + f );
+		}
+		return input;
+	}
+}
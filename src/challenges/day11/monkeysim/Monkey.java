@@ -1,9 +1,11 @@
 package challenges.day11.monkeysim;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.function.Function;
 
-import aocutil.string.RegexMatcher;
+import challenges.util.string.LineScanner;
 
 /**
  * A single monkey that is involved in the monkey business of inspecting and
@@ -33,6 +35,9 @@ public class Monkey {
 	
 	/** Counter that tracks the number of items thrown */
 	protected long throwcount;
+	
+	/** The simulation the monkey takes part in */
+	protected MonkeySim sim;
 
 	/**
 	 * Brings a new monkey to life
@@ -75,11 +80,11 @@ public class Monkey {
 			
 			// pop the item from my inventory and update its worry score
 			long i = items.removeFirst( );
-			i = MonkeySim.getInstance( ).worrylimit ? Math.floorDiv( worryfunc.apply( i ), 3 ) : worryfunc.apply( i );
+			i = sim.worrylimit ? Math.floorDiv( worryfunc.apply( i ), 3 ) : worryfunc.apply( i );
 			
 			// then determine the target to throw it at and throw it
 			final int target = i % divisor == 0 ? iftrue : iffalse;
-			MonkeySim.getInstance( ).monkeys.get( target ).throwTo( i );
+			sim.monkeys.get( target ).throwTo( i );
 		}
 	}
 
@@ -118,34 +123,43 @@ public class Monkey {
 	 * @return The instantiated monkey object
 	 */
 	public static Monkey fromString( final String input ) {
-		final String[] s = input.split( ";" );
+		final LineScanner sc = new LineScanner( input );
 	
 		// parse its ID
-		final int number = Integer.parseInt( RegexMatcher.extract( "Monkey (#D):", s[0] ) );
+		final int number = sc.expect( "Monkey " ).nextInt( );
+		
+		// read the starting items, they are added once the monkey exists
+		final List<Long> startitems = new ArrayList<>( );
+		sc.skipPast( "items: " );
+		while( Character.isDigit( sc.peek( ) ) ) {
+			startitems.add( sc.nextLong( ) );
+			sc.skipAny( ", " );
+		}
 
 		// parse the worry score function into an actual function
-		final String func = s[2].split( ": " )[1];
-		final String[] felems = func.split( " = " )[1].split( " " );
-		final char op = felems[1].charAt( 0 );
+		sc.skipPast( "new = old " );
+		final char op = sc.next( );
+		final boolean square = sc.skipAny( " " ).tryExpect( "old" );
+		final long operand = square ? 0 : sc.nextLong( );
 
 		final Function<Long, Long> sfunc = new Function<Long, Long>( ) {
 			@Override
 			public Long apply( Long t ) {
-				final long val2 = felems[2].equals( "old" ) ? t : Long.parseLong( felems[2] );
+				final long val2 = square ? t : operand;
 				return op == '*' ? t * val2 : t + val2;
 			}
 		};
 
 		// determine divisor and target IDs for throws
-		final int divby = Integer.parseInt( RegexMatcher.extract( "divisible by (#D)", s[3] ) );
-		final int truetarget = Integer.parseInt( RegexMatcher.extract( "throw to monkey (#D)", s[4] ) );
-		final int falsetarget = Integer.parseInt( RegexMatcher.extract( "throw to monkey (#D)", s[5] ) );
+		final int divby = sc.skipPast( "divisible by " ).nextInt( );
+		final int truetarget = sc.skipPast( "throw to monkey " ).nextInt( );
+		final int falsetarget = sc.skipPast( "throw to monkey " ).nextInt( );
 		
 		
 		// create the monkey with all parsed characteristics and then add all items
 		final Monkey m = new Monkey( number, sfunc, divby, truetarget, falsetarget );
-		for( final String i : s[1].split( "items: " )[1].split( ", " ) )
-			m.throwTo( Long.parseLong( i ) );
+		for( final Long i : startitems )
+			m.throwTo( i );
 		
 		return m;
 	}
@@ -11,9 +11,6 @@ import java.util.List;
  * @author Joris
  */
 public class MonkeySim {
-	/** The instance of the simulation that is active */
-	private static MonkeySim instance;
-	
 	/** The list of monkeys in the simulation */
 	protected List<Monkey> monkeys;
 	
@@ -29,9 +26,9 @@ public class MonkeySim {
 	 * @param monkeys The list of monkeys partaking in the simulation
 	 */
 	private MonkeySim( final List<Monkey> monkeys ) {
-		instance = this;
 		this.worrylimit = false;
 		this.monkeys = new ArrayList<>( monkeys );
+		for( final Monkey m : monkeys ) m.sim = this;
 		
 		// compute common divisor once, used to normalise worry scores
 		long div = 1;
@@ -39,9 +36,6 @@ public class MonkeySim {
 		commdiv = div;
 	}
 	
-	/** @return The active instance of the MonkeySim */
-	public static MonkeySim getInstance( ) { return instance; }
-	
 	/**
 	 * Sets the worry limit flag
 	 * @param enable True to enable to limit, false to disable
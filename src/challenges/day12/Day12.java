@@ -3,8 +3,9 @@ package challenges.day12;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.ContextSolver;
 
-public class Day12 {
+public class Day12 implements ContextSolver<HeightMap> {
 
 	/**
 	 * Day 12 of the Advent of Code 2022
@@ -17,25 +18,49 @@ public class Day12 {
 	public static void main( final String[] args ) throws Exception {
 		final List<String> ex_input = new FileReader( Day12.class.getResource( "example.txt" ) ).readLines( );
 		final List<String> input = new FileReader( Day12.class.getResource( "input.txt" ) ).readLines( );
+		final HeightMap ex_map = new Day12( ).parse( ex_input );
+		final HeightMap map = new Day12( ).parse( input );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) );
-		System.out.println( "Answer : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_map ) );
+		System.out.println( "Answer : " + part1( map ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input ) );
-		System.out.println( "Answer : " + part2( input ) );
+		System.out.println( "Example: " + part2( ex_map ) );
+		System.out.println( "Answer : " + part2( map ) );
+	}
+	
+	/**
+	 * Reads the height map of the rock maze
+	 * 
+	 * @param input The puzzle input
+	 * @return The height map of the rock maze
+	 */
+	@Override
+	public HeightMap parse( final List<String> input ) {
+		return HeightMap.fromString( input );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart1(Object) */
+	@Override
+	public Object solvePart1( final HeightMap map ) {
+		return part1( map );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart2(Object) */
+	@Override
+	public Object solvePart2( final HeightMap map ) {
+		return part2( map );
 	}
 	
 	/**
 	 * Finds the shortest path from the starting position to the end coordinate
 	 * in a maze of rocks with varying height
 	 * 
-	 * @param input The rock maze heights
+	 * @param map The height map of the rock maze
 	 * @return The shortest distance from start to end
 	 */
-	protected static long part1( final List<String> input ) {
-		final HeightMap map = HeightMap.fromString( input );
+	protected static long part1( final HeightMap map ) {
 		return map.findShortestPath( );
 	}
 	
@@ -44,12 +69,11 @@ public class Day12 {
 	 * Finds the shortest possible path length from any zero-elevation starting
 	 * point to the end coordinate in the rock maze
 	 * 
-	 * @param input The rock maze
+	 * @param map The height map of the rock maze
 	 * @return The shortest possible path length from any maze coordinate at
 	 *   elevation level zero to the end coordinate 
 	 */
-	protected static long part2( final List<String> input ) {
-		final HeightMap map = HeightMap.fromString( input );
+	protected static long part2( final HeightMap map ) {
 		return map.findBestStartPath( );
 	}
 }
\ No newline at end of file
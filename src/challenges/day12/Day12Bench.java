@@ -0,0 +1,27 @@
+package challenges.day12;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 12 solvers
+ * 
+ * @author Joris
+ */
+public class Day12Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day12Bench( ) {
+		super( Day12.class );
+	}
+
+	/** @param input The height map */
+	@Override
+	protected void setup( final List<String> input ) {
+		final HeightMap map = HeightMap.fromString( input );
+		bench( "parse", ( ) -> HeightMap.fromString( input ) );
+		bench( "part1", ( ) -> map.findShortestPath( ) );
+		bench( "part2", ( ) -> map.findBestStartPath( ) );
+	}
+}
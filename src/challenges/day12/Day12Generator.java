@@ -0,0 +1,53 @@
+package challenges.day12;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates height maps of 154 x 41 positions per unit of scale in both
+ * dimensions. The heights rise from the start towards the best signal
+ * location, with a wavy pattern on top, but never by more than one between
+ * neighbouring positions so that the signal location is always reachable.
+ * 
+ * @author Joris
+ */
+public class Day12Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final int W = 154 * scale;
+		final int H = 41 * scale;
+		
+		// place the signal in the right half and start in the furthest corner
+		final int ex = range( rnd, W / 2, 3 * W / 4 );
+		final int ey = range( rnd, H / 4, 3 * H / 4 );
+		final int sx = 0;
+		final int sy = ey < H / 2 ? H - 1 : 0;
+		
+		// the height decreases linearly in the distance to the signal, from 28
+		// at the signal to -3 at the start, and waves with an amplitude of 3.
+		// The slope of both is well below 1, hence rounding down never creates
+		// steps of more than one
+		final double k = (Math.abs( ex - sx ) + Math.abs( ey - sy )) / 31.0;
+		final double fx = 1.0 / range( rnd, 7, 15 );
+		final double fy = 1.0 / range( rnd, 7, 15 );
+		final double px = rnd.nextDouble( ) * 2 * Math.PI;
+		final double py = rnd.nextDouble( ) * 2 * Math.PI;
+		
+		final List<String> input = new ArrayList<>( H );
+		final char[] row = new char[ W ];
+		for( int y = 0; y < H; y++ ) {
+			for( int x = 0; x < W; x++ ) {
+				final double f = 28 - (Math.abs( ex - x ) + Math.abs( ey - y )) / k + 3 * Math.sin( x * fx + px ) * Math.cos( y * fy + py );
+				row[x] = (char)('a' + Math.max( 0, Math.min( 25, (int)Math.floor( f ) ) ));
+			}
+			if( y == sy ) row[sx] = 'S';
+			if( y == ey ) row[ex] = 'E';
+			input.add( new String( row ) );
+		}
+		return input;
+	}
+}
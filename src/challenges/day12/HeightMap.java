@@ -1,12 +1,10 @@
 package challenges.day12;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.Stack;
 
 import aocutil.geometry.Coord2D;
-import aocutil.grid.CoordGrid;
+import challenges.util.grid.ByteGrid;
+import challenges.util.grid.IntGrid;
 
 /**
  * HeightMap that stores the rock heights of a 2D grid and enables computation
@@ -16,10 +14,10 @@ import aocutil.grid.CoordGrid;
  */
 public class HeightMap {
 	/** The grid that holds the heights */
-	protected final CoordGrid<Integer> heights;
+	protected final ByteGrid heights;
 	
 	/** The distance matrix from all positions to the end coordinate */
-	private final CoordGrid<Integer> D;
+	private final IntGrid D;
 	
 	/** The start coordinate */
 	protected final Coord2D start;
@@ -34,7 +32,7 @@ public class HeightMap {
 	 * @param start The coordinate of the starting point
 	 * @param end The coordinate of the end point
 	 */
-	private HeightMap( final CoordGrid<Integer> heightmap, final Coord2D start, final Coord2D end ) {
+	private HeightMap( final ByteGrid heightmap, final Coord2D start, final Coord2D end ) {
 		this.heights = heightmap;
 		this.start = start;
 		this.end = end;
@@ -53,61 +51,66 @@ public class HeightMap {
 	 */
 	public long findBestStartPath( ) {
 		// return smallest path distance over all zero-elevation coordinates
-		return heights.stream( ).filter( c -> heights.get( c ) == 0 )
-				.mapToLong( D::get ).min( ).orElse( -1 );
+		long min = -1;
+		for( int y = 0; y < heights.getHeight( ); y++ )
+			for( int x = 0; x < heights.getWidth( ); x++ ) {
+				if( heights.get( x, y ) != 0 ) continue;
+				if( min == -1 || D.get( x, y ) < min ) min = D.get( x, y );
+			}
+		return min;
 	}
 	
 	/**
 	 * @return The shortest path length from the start coordinate to the end
 	 */
 	public long findShortestPath( ) {
-		return D.get( start );
+		return D.get( start.x, start.y );
 	}
 	
 	/**
 	 * Builds a distance matrix from the given target position to all other
-	 * reachable coordinates in the height map
+	 * reachable coordinates in the height map using a breadth-first search
 	 * 
 	 * @param target The target position to start exploration from
 	 * @return The map of distances from each coordinate to the target
 	 */
-	private CoordGrid<Integer> buildDistMatrix( final Coord2D target ) {
-		// initialise the algorithm with the target as starting coordinate and
-		// build the distance matrix to all coordinates from there
-		final CoordGrid<Integer> visited = new CoordGrid<Integer>( Integer.MAX_VALUE );
-		int dist = 0;
-		final Stack<Coord2D> E = new Stack<>( );
-		visited.set( target, dist );
-		E.add( target );
+	private IntGrid buildDistMatrix( final Coord2D target ) {
+		final int W = heights.getWidth( );
+		final int H = heights.getHeight( );
+		final IntGrid visited = new IntGrid( W, H, Integer.MAX_VALUE );
+		
+		// the BFS queue holds coordinates as y * W + x, every coordinate is
+		// enqueued at most once so a single array suffices
+		final int[] queue = new int[ W * H ];
+		int head = 0;
+		int tail = 0;
+		visited.set( target.x, target.y, 0 );
+		queue[ tail++ ] = target.y * W + target.x;
 		
 		// explore all coordinates from here!
-		while( !E.isEmpty( ) ) {
-			final Set<Coord2D> newE = new HashSet<>( );
+		final int[] dx = { 0, 1, 0, -1 };
+		final int[] dy = { -1, 0, 1, 0 };
+		while( head < tail ) {
+			final int x = queue[ head ] % W;
+			final int y = queue[ head++ ] / W;
+			final int h = heights.get( x, y );
+			final int dist = visited.get( x, y );
 			
-			// explore new set of coordinates at the current distance level
-			while( !E.isEmpty( ) ) {
-				// next coordinate to check, store distance to it and explore its
-				// neighbours (if valid)
-				final Coord2D curr = E.pop( );
-				final int h = heights.get( curr );
-				visited.set( curr, dist );
+			// check whether we can traverse to its neighbours
+			for( int i = 0; i < 4; i++ ) {
+				final int nx = x + dx[ i ];
+				final int ny = y + dy[ i ];
+				
+				// only check positions within the grid that have not been explored yet
+				if( !heights.contains( nx, ny ) || visited.get( nx, ny ) != Integer.MAX_VALUE ) continue;
 				
-				// check whether we can traverse to its neighbours
-				for( final Coord2D n : new HashSet<>( curr.getAdjacent( false ) ) ) {
-					// only check positions within the grid that have not been explored yet
-					if( !heights.contains( n ) || visited.hasValue( n ) ) continue;
-					
-					// explore only if the height is at most one lower than the current height 
-					if( heights.get( n ) < h - 1 ) continue;
-					
-					// valid position to explore next
-					newE.add( n );
-				}
+				// explore only if the height is at most one lower than the current height 
+				if( heights.get( nx, ny ) < h - 1 ) continue;
+				
+				// valid position to explore next
+				visited.set( nx, ny, dist + 1 );
+				queue[ tail++ ] = ny * W + nx;
 			}
-			
-			// swap sets, increase distance and continue until we've explored all 
-			dist++;
-			E.addAll( newE );
 		}
 		
 		return visited;
@@ -121,27 +124,16 @@ public class HeightMap {
 	 * @return The reconstructed height map
 	 */
 	public static HeightMap fromString( final List<String> input ) {
-		// input character map and convert to heights'
-		final CoordGrid<Integer> map = new CoordGrid<>( 0 );
-		final CoordGrid<Character> charmap = CoordGrid.fromCharGrid( input, '-' );
+		// the start is at height 0 ('a'), the end at max height ('z', thus 25)
+		final ByteGrid map = ByteGrid.fromStringList( input, c -> (byte)(c == 'S' ? 0 : c == 'E' ? 25 : c - 'a'), (byte)0 );
 		Coord2D start = null;
 		Coord2D end = null;
 		
-		// go over the input (as grid now) and process it into proper heights
-		for( final Coord2D c : charmap ) {
-			final char ch = charmap.get( c );
-			if( ch == 'S' ) {
-				// start coordinate, store it and set height to 0
-				map.set( c, 0 );
-				start = c;				
-			} else if( ch == 'E' ) {
-				// end coordinate, store and set height to max ('z', thus 25)
-				map.set( c, 25 );
-				end = c;
-			} else {
-				// regular coordinate, parse height level
-				map.set( c, charmap.get( c ) - 'a' );
-			}
+		// find the start and end coordinates
+		for( int y = 0; y < input.size( ); y++ ) {
+			final String s = input.get( y );
+			if( s.indexOf( 'S' ) >= 0 ) start = new Coord2D( s.indexOf( 'S' ), y );
+			if( s.indexOf( 'E' ) >= 0 ) end = new Coord2D( s.indexOf( 'E' ), y );
 		}
 		
 		// reconstruct the height map and return it
@@ -1,10 +1,13 @@
 package challenges.day13;
 
+import java.io.IOException;
+import java.net.URL;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.DaySolver;
 
-public class Day13 {
+public class Day13 implements DaySolver {
 
 	/**
 	 * Day 13 of the Advent of Code 2022
@@ -27,6 +30,30 @@ public class Day13 {
 		System.out.println( "Answer : " + part2( input ) );
 	}
 	
+	/**
+	 * Reads the puzzle input as groups of lines
+	 * 
+	 * @param resource The input resource
+	 * @return The puzzle input
+	 * @throws IOException if the input could not be read
+	 */
+	@Override
+	public List<String> readInput( final URL resource ) throws IOException {
+		return new FileReader( resource ).readLineGroups( ";" );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return part1( input );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return part2( input );
+	}
+	
 	/**
 	 * Checks for every pair of packets whether they are correctly ordered 
 	 * according to the ruling in the receiver.
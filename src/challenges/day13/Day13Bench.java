@@ -0,0 +1,54 @@
+package challenges.day13;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+
+import aocutil.io.FileReader;
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 13 solvers
+ * 
+ * @author Joris
+ */
+public class Day13Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day13Bench( ) {
+		super( Day13.class );
+	}
+
+	/**
+	 * Reads the packet pairs, one pair per line
+	 * 
+	 * @param resource The input resource
+	 * @return The packet pairs
+	 * @throws IOException if the input could not be read
+	 */
+	@Override
+	protected List<String> read( final URL resource ) throws IOException {
+		return new FileReader( resource ).readLineGroups( ";" );
+	}
+	
+	/**
+	 * Generates the packet pairs, one pair per line
+	 * 
+	 * @param scale The scale of the input
+	 * @param seed The seed of the generator
+	 * @return The generated packet pairs
+	 * @throws ReflectiveOperationException if the generator could not be
+	 *   created
+	 */
+	@Override
+	protected List<String> generate( final int scale, final long seed ) throws ReflectiveOperationException {
+		return group( super.generate( scale, seed ), ";" );
+	}
+	
+	/** @param input The packet pairs */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> Day13.part1( input ) );
+		bench( "part2", ( ) -> Day13.part2( input ) );
+	}
+}
@@ -0,0 +1,50 @@
+package challenges.day13;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates pairs of packets, 150 pairs per unit of scale
+ * 
+ * @author Joris
+ */
+public class Day13Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final List<String> input = new ArrayList<>( );
+		for( int p = 0; p < 150 * scale; p++ ) {
+			if( p > 0 ) input.add( "" );
+			for( int i = 0; i < 2; i++ ) {
+				final StringBuilder sb = new StringBuilder( );
+				list( rnd, sb, 4 );
+				input.add( sb.toString( ) );
+			}
+		}
+		return input;
+	}
+	
+	/**
+	 * Generates a random packet list
+	 * 
+	 * @param rnd The random generator
+	 * @param sb The string builder to append the list to
+	 * @param depth The remaining nesting depth
+	 */
+	private static void list( final Random rnd, final StringBuilder sb, final int depth ) {
+		sb.append( '[' );
+		final int n = rnd.nextInt( 6 );
+		for( int i = 0; i < n; i++ ) {
+			if( i > 0 ) sb.append( ',' );
+			if( depth > 0 && rnd.nextInt( 3 ) == 0 ) {
+				list( rnd, sb, depth - 1 );
+			} else {
+				sb.append( rnd.nextInt( 11 ) );
+			}
+		}
+		sb.append( ']' );
+	}
+}
@@ -3,8 +3,9 @@ package challenges.day14;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.DaySolver;
 
-public class Day14 {
+public class Day14 implements DaySolver {
 
 	/**
 	 * Day 14 of the Advent of Code 2022
@@ -27,6 +28,18 @@ public class Day14 {
 		System.out.println( "Answer : " + simParticles( input, false ) );
 	}
 	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return simParticles( input, true );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return simParticles( input, false );
+	}
+	
 	/**
 	 * Simulates the falling of sand particles onto rocks until (part 1) they
 	 * fall through to the infinite floor or (part 2) they are stacked an block
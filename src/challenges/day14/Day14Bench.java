@@ -0,0 +1,25 @@
+package challenges.day14;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 14 solvers
+ * 
+ * @author Joris
+ */
+public class Day14Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day14Bench( ) {
+		super( Day14.class );
+	}
+
+	/** @param input The rock paths */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> SandBox.fromStringList( input ).sim( true ) );
+		bench( "part2", ( ) -> SandBox.fromStringList( input ).sim( false ) );
+	}
+}
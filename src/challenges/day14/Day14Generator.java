@@ -0,0 +1,40 @@
+package challenges.day14;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates rock structures in a cave of which the depth is 170 per unit of
+ * scale, with 150 rock paths per unit of scale around the sand source. The
+ * amount of sand that fits in the cave therefore grows quadratically in the
+ * scale.
+ * 
+ * @author Joris
+ */
+public class Day14Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final int H = 170 * scale;
+		final List<String> input = new ArrayList<>( 150 * scale );
+		for( int p = 0; p < 150 * scale; p++ ) {
+			// random rectilinear walk that alternates between the axes
+			int x = range( rnd, 500 - H / 2, 500 + H / 2 );
+			int y = range( rnd, 5, H );
+			final StringBuilder sb = new StringBuilder( ).append( x ).append( ',' ).append( y );
+			final int n = range( rnd, 1, 8 );
+			boolean horizontal = rnd.nextBoolean( );
+			for( int i = 0; i < n; i++ ) {
+				final int len = range( rnd, 1, 10 ) * (rnd.nextBoolean( ) ? 1 : -1);
+				if( horizontal ) x += len; else y = Math.max( 1, y + len );
+				sb.append( " -> " ).append( x ).append( ',' ).append( y );
+				horizontal = !horizontal;
+			}
+			input.add( sb.toString( ) );
+		}
+		return input;
+	}
+}
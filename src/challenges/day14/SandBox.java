@@ -3,7 +3,7 @@ package challenges.day14;
 import java.util.List;
 
 import aocutil.geometry.Coord2D;
-import aocutil.grid.CoordGrid;
+import challenges.util.grid.ByteGrid;
 
 /**
  * Class that simulates particles of sand falling into a sandbox with rocks
@@ -12,8 +12,8 @@ import aocutil.grid.CoordGrid;
  * @author Joris
  */
 public class SandBox {	
-	/** The grid of rocks and sand */
-	protected final CoordGrid<Part> grid;
+	/** The grid of rocks and sand, stores the part ordinal + 1 or 0 if empty */
+	protected final ByteGrid grid;
 	
 	/** The sand entry point */
 	protected final Coord2D entry;
@@ -21,10 +21,16 @@ public class SandBox {
 	/** The floor Y coordinate */
 	protected final int floorY;
 	
-	private SandBox( final CoordGrid<Part> grid ) {
+	/**
+	 * Creates a new sandbox
+	 * 
+	 * @param grid The grid that contains the rocks
+	 * @param maxY The largest y coordinate of any rock
+	 */
+	private SandBox( final ByteGrid grid, final int maxY ) {
 		this.grid = grid;
 		this.entry = new Coord2D( 500, 0 );
-		this.floorY = grid.window( ).getMaxY( ) + 2;
+		this.floorY = maxY + 2;
 	}
 	
 	/**
@@ -44,23 +50,24 @@ public class SandBox {
 		
 		while( true ) {
 			parts++;
-			Coord2D c = entry;
+			int x = entry.x;
+			int y = entry.y;
 			
 			// simulate falling behaviour until we hit rocks or sand
 			boolean falling = true;
 			while( falling ) {
 				// fall down!
-				c = c.move( 0, 1 );
+				y++;
 			
-				if( !infiniteFloor && c.y >= floorY ) {
+				if( !infiniteFloor && y >= floorY ) {
 					falling = false;
-				} else if( grid.hasValue( c ) ) {
+				} else if( isFilled( x, y ) ) {
 					// check if we can fall sideways to the left
-					if( !grid.hasValue( c.move( -1, 0 ) ) ) {
-						c = c.move( -1, 0 );
+					if( !isFilled( x - 1, y ) ) {
+						x--;
 						// or to the right
-					} else if( !grid.hasValue( c.move( 1, 0 ) ) ) {
-						c = c.move( 1, 0 );						
+					} else if( !isFilled( x + 1, y ) ) {
+						x++;
 					} else {
 						// nope, we are done falling and go into rest
 						falling = false;
@@ -68,16 +75,37 @@ public class SandBox {
 				}
 				
 				// the particle has fallen off the grid?
-				if( infiniteFloor && c.y > floorY ) return parts - 1;
+				if( infiniteFloor && y > floorY ) return parts - 1;
 			}
 			
 			// done falling, add it to the grid at the last position, unless this is
 			// the entry coordinate, that also means we are done
-			final Coord2D prev = c.move( 0, -1 );
-			if( prev.equals( entry ) ) return parts;
-			grid.set( prev, Part.Sand );
+			if( x == entry.x && y - 1 == entry.y ) return parts;
+			set( x, y - 1, Part.Sand );
 		}
 	}
+	
+	/**
+	 * Checks whether a grid position contains a rock or sand
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @return True iff the position is filled
+	 */
+	protected boolean isFilled( final int x, final int y ) {
+		return grid.get( x, y ) != 0;
+	}
+	
+	/**
+	 * Places a part in the grid
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @param part The part to place
+	 */
+	protected void set( final int x, final int y, final Part part ) {
+		grid.set( x, y, (byte)(part.ordinal( ) + 1) );
+	}
 
 	/**
 	 * Reconstructs a sandbox simulation from a list of strings that describe the
@@ -87,7 +115,8 @@ public class SandBox {
 	 * @return The reconstructed sandbox simulation object
 	 */
 	public static SandBox fromStringList( final List<String> input ) {
-		final CoordGrid<Part> grid = new CoordGrid<>( null );
+		final SandBox sb = new SandBox( new ByteGrid( (byte)0 ), 0 );
+		int maxY = Integer.MIN_VALUE;
 		
 		// go over all paths in the input
 		for( final String s : input ) {
@@ -96,21 +125,22 @@ public class SandBox {
 			for( int i = 1; i < p.length; i++ ) {
 				// for every pair of coordinates, trace the path and add the rocks
 				// to the grid
-				Coord2D curr = Coord2D.fromString( p[i-1] );
-				Coord2D end = Coord2D.fromString( p[i] );
+				final Coord2D curr = Coord2D.fromString( p[i-1] );
+				final Coord2D end = Coord2D.fromString( p[i] );
 				
 				// traverse path and mark the grid positions
-				while( !curr.equals( end ) ) {
-					grid.set( curr, Part.Rock );
-					final Coord2D diff = curr.diff( end );
-					curr = curr.move( Integer.signum( diff.x ), Integer.signum( diff.y ) );
-				}
+				final int dx = Integer.signum( end.x - curr.x );
+				final int dy = Integer.signum( end.y - curr.y );
+				for( int x = curr.x, y = curr.y; x != end.x || y != end.y; x += dx, y += dy )
+					sb.set( x, y, Part.Rock );
+				
 				// and don't forget the last position
-				grid.set( end, Part.Rock );
+				sb.set( end.x, end.y, Part.Rock );
+				maxY = Math.max( maxY, Math.max( curr.y, end.y ) );
 			}
 		}
 		
-		return new SandBox( grid );
+		return new SandBox( sb.grid, maxY );
 	}
 	
 	/**
@@ -118,7 +148,7 @@ public class SandBox {
 	 */
 	@Override
 	public String toString( ) {
-		return grid.toString( x -> x == null ? "." : x.toString( ) );
+		return grid.toString( x -> x == 0 ? "." : Part.values( )[ x - 1 ].toString( ) );
 	}
 
 	/** Simple enum that holds the particle types of the sandbox simulation */
@@ -4,8 +4,9 @@ import java.util.List;
 
 import aocutil.geometry.Coord2D;
 import aocutil.io.FileReader;
+import challenges.runner.ContextSolver;
 
-public class Day15 {
+public class Day15 implements ContextSolver<SensorArray> {
 
 	/**
 	 * Day 15 of the Advent of Code 2022
@@ -18,34 +19,57 @@ public class Day15 {
 	public static void main( final String[] args ) throws Exception {
 		final List<String> ex_input = new FileReader( Day15.class.getResource( "example.txt" ) ).readLines( );
 		final List<String> input = new FileReader( Day15.class.getResource( "input.txt" ) ).readLines( );
+		final SensorArray ex_array = new Day15( ).parse( ex_input );
+		final SensorArray array = new Day15( ).parse( input );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input, 10) );
-		System.out.println( "Answer : " + part1( input, 2000000 ) );
+		System.out.println( "Example: " + part1( ex_array, 10) );
+		System.out.println( "Answer : " + part1( array, 2000000 ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input, 20 ) );
-		System.out.println( "Answer : " + part2( input, 4000000 ) );
+		System.out.println( "Example: " + part2( ex_array, 20 ) );
+		System.out.println( "Answer : " + part2( array, 4000000 ) );
 	}
 	
 	/**
+	 * Reads the sensors and their closest beacons
 	 * 
-	 * @param input
+	 * @param input The puzzle input
+	 * @return The sensor array
+	 */
+	@Override
+	public SensorArray parse( final List<String> input ) {
+		return SensorArray.fromStringList( input );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart1(Object) */
+	@Override
+	public Object solvePart1( final SensorArray array ) {
+		return part1( array, 2000000 );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart2(Object) */
+	@Override
+	public Object solvePart2( final SensorArray array ) {
+		return part2( array, 4000000 );
+	}
+	
+	/**
+	 * 
+	 * @param array The sensor array
 	 * @return 
 	 */
-	protected static long part1( final List<String> input, final int row ) {
-		final SensorArray array = SensorArray.fromStringList( input );
+	protected static long part1( final SensorArray array, final int row ) {
 		return array.getCoverage( row, true ).stream( ).mapToInt( Range::size ).sum( );
 	}
 	
 	
 	/**
 	 * 
-	 * @param input
+	 * @param array The sensor array
 	 * @return 
 	 */
-	protected static long part2( final List<String> input, final int maxrange ) {
-		final SensorArray array = SensorArray.fromStringList( input );
+	protected static long part2( final SensorArray array, final int maxrange ) {
 		final Coord2D c = array.getNotCovered( maxrange );
 		return (long)c.x * 4000000 + (long)c.y;
 	}
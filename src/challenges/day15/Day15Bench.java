@@ -0,0 +1,53 @@
+package challenges.day15;
+
+import java.util.List;
+
+import aocutil.geometry.Coord2D;
+import aocutil.string.RegexMatcher;
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 15 solvers
+ * 
+ * @author Joris
+ */
+public class Day15Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day15Bench( ) {
+		super( Day15.class );
+	}
+
+	/** @param input The sensor readings */
+	@Override
+	protected void setup( final List<String> input ) {
+		final SensorArray array = SensorArray.fromStringList( input );
+		bench( "parse", ( ) -> SensorArray.fromStringList( input ) );
+		bench( "part1", ( ) -> array.getCoverage( 2000000, true ) );
+		bench( "part2", ( ) -> array.getNotCovered( 4000000 ) );
+		bench( "read sensors", ( ) -> {
+			long sum = 0;
+			for( final String s : input ) sum += Sensor.fromString( s ).minrange;
+			return sum;
+		} );
+		bench( "read sensors regex", ( ) -> {
+			long sum = 0;
+			for( final String s : input ) sum += fromRegex( s ).minrange;
+			return sum;
+		} );
+	}
+	
+	/**
+	 * Reads a sensor using the regular expression based parser that the
+	 * scanner replaced, for comparison
+	 * 
+	 * @param input The sensor description
+	 * @return The sensor
+	 */
+	private static Sensor fromRegex( final String input ) {
+		final RegexMatcher rm = RegexMatcher.match( "Sensor at x=#D, y=#D: closest beacon is at x=#D, y=#D", input );
+		final Coord2D s = new Coord2D( rm.getInt( 1 ), rm.getInt( 2 ) );
+		final Coord2D b = new Coord2D( rm.getInt( 3 ), rm.getInt( 4 ) );
+		return new Sensor( s, s.getManhattanDistance( b ) );
+	}
+}
@@ -0,0 +1,67 @@
+package challenges.day15;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates sensor arrays of 32 sensors per unit of scale, of which exactly
+ * one position in the search area of 0 to 4000000 is not covered. Four
+ * sensors far out on the diagonals through the distress beacon together
+ * cover all but the beacon itself, all other sensors are placed randomly
+ * and reach just short of the distress beacon.
+ * 
+ * @author Joris
+ */
+public class Day15Generator extends InputGenerator {
+	/** The size of the search area */
+	private static final int MAX = 4000000;
+	
+	/** The distance of the outer sensors on both axes */
+	private static final int OUTER = 4 * MAX;
+	
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final int px = rnd.nextInt( MAX + 1 );
+		final int py = rnd.nextInt( MAX + 1 );
+		
+		final List<String> input = new ArrayList<>( 32 * scale );
+		for( int i = 0; i < 4; i++ ) {
+			// every outer sensor covers the box between itself and the beacon but
+			// for the beacon position
+			final int sx = px + (i % 2 == 0 ? OUTER : -OUTER);
+			final int sy = py + (i / 2 == 0 ? OUTER : -OUTER);
+			input.add( sensor( rnd, sx, sy, 2 * OUTER - 1 ) );
+		}
+		
+		while( input.size( ) < 32 * scale ) {
+			final int sx = rnd.nextInt( MAX + 1 );
+			final int sy = rnd.nextInt( MAX + 1 );
+			final int d = Math.abs( sx - px ) + Math.abs( sy - py );
+			if( d < 2 ) continue;
+			input.add( sensor( rnd, sx, sy, d - 1 - rnd.nextInt( d / 2 ) ) );
+		}
+		Collections.shuffle( input, rnd );
+		return input;
+	}
+	
+	/**
+	 * Describes a sensor and a beacon at the given range
+	 * 
+	 * @param rnd The random generator
+	 * @param x The sensor x coordinate
+	 * @param y The sensor y coordinate
+	 * @param r The range of the sensor
+	 * @return The description of the sensor
+	 */
+	private static String sensor( final Random rnd, final int x, final int y, final int r ) {
+		final int dx = rnd.nextInt( r + 1 );
+		final int bx = x + (rnd.nextBoolean( ) ? dx : -dx);
+		final int by = y + (rnd.nextBoolean( ) ? r - dx : dx - r);
+		return "Sensor at x=" + x + ", y=" + y + ": closest beacon is at x=" + bx + ", y=" + by;
+	}
+}
@@ -1,7 +1,7 @@
 package challenges.day15;
 
 import aocutil.geometry.Coord2D;
-import aocutil.string.RegexMatcher;
+import challenges.util.string.LineScanner;
 
 public class Sensor {
 	/** The coordinate of the sensor */
@@ -21,10 +21,14 @@ public class Sensor {
 		this.minrange = minrange;
 	}
 
-	public static Sensor fromString( final String input ) {
-		final RegexMatcher rm = RegexMatcher.match( "Sensor at x=#D, y=#D: closest beacon is at x=#D, y=#D", input );
-		final Coord2D s = new Coord2D( rm.getInt( 1 ), rm.getInt( 2 ) );
-		final Coord2D b = new Coord2D( rm.getInt( 3 ), rm.getInt( 4 ) );
+	public static Sensor fromString( final CharSequence input ) {
+		final LineScanner sc = new LineScanner( input ).expect( "Sensor at x=" );
+		final int sx = sc.nextInt( );
+		final int sy = sc.expect( ", y=" ).nextInt( );
+		final int bx = sc.expect( ": closest beacon is at x=" ).nextInt( );
+		final int by = sc.expect( ", y=" ).nextInt( );
+		final Coord2D s = new Coord2D( sx, sy );
+		final Coord2D b = new Coord2D( bx, by );
 		
 		return new Sensor( s, s.getManhattanDistance( b ) );
 	}
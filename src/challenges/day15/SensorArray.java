@@ -18,9 +18,15 @@ public class SensorArray {
 		this.sensors = new ArrayList<>( sensors );
 	}
 	
-	public static SensorArray fromStringList( final List<String> input ) {
+	/**
+	 * Reconstructs the sensor array from the sensor readings, one per line
+	 * 
+	 * @param input The sensor readings, can be streamed
+	 * @return The sensor array
+	 */
+	public static SensorArray fromStringList( final Iterable<? extends CharSequence> input ) {
 		final List<Sensor> S = new ArrayList<>( );
-		for( final String s : input ) S.add( Sensor.fromString( s ) );
+		for( final CharSequence s : input ) S.add( Sensor.fromString( s ) );
 		return new SensorArray( S );
 	}
 	
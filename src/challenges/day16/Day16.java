@@ -3,9 +3,11 @@ package challenges.day16;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.day16.volcano.SubsetSolver;
 import challenges.day16.volcano.Volcano;
+import challenges.runner.ContextSolver;
 
-public class Day16 {
+public class Day16 implements ContextSolver<Volcano> {
 
 	/**
 	 * Day 16 of the Advent of Code 2022
@@ -18,26 +20,50 @@ public class Day16 {
 	public static void main( final String[] args ) throws Exception {
 		final List<String> ex_input = new FileReader( Day16.class.getResource( "example.txt" ) ).readLines( );
 		final List<String> input = new FileReader( Day16.class.getResource( "input.txt" ) ).readLines( );
+		final Volcano ex_v = new Day16( ).parse( ex_input );
+		final Volcano v = new Day16( ).parse( input );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) );
-		System.out.println( "Answer : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_v ) );
+		System.out.println( "Answer : " + part1( v ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input ) );
-		System.out.println( "Answer : " + part2( input ) );
+		System.out.println( "Example: " + part2( ex_v ) );
+		System.out.println( "Answer : " + part2( v ) );
+	}
+	
+	/**
+	 * Reads the valves and tunnels of the volcano system
+	 * 
+	 * @param input The puzzle input
+	 * @return The volcano system
+	 */
+	@Override
+	public Volcano parse( final List<String> input ) {
+		return Volcano.fromStringList( input );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart1(Object) */
+	@Override
+	public Object solvePart1( final Volcano v ) {
+		return part1( v );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart2(Object) */
+	@Override
+	public Object solvePart2( final Volcano v ) {
+		return part2( v );
 	}
 	
 	/**
 	 * Finds the maximum pressure that can be released within 30 minutes in the
 	 * volcano system described by the input string.
 	 * 
-	 * @param input The volcano system
+	 * @param v The volcano system
 	 * @return The maximum pressure that can be released
 	 */
-	protected static long part1( final List<String> input ) {
-		final Volcano v = Volcano.fromStringList( input );
-		return v.findMaxPressure( 30, "AA" );
+	protected static long part1( final Volcano v ) {
+		return findMaxPressure( v, 30, "AA" );
 	}
 	
 	
@@ -46,11 +72,26 @@ public class Day16 {
 	 * described by the input string, now within 26 minutes but with the help of
 	 * an elephant.
 	 * 
-	 * @param input The volcano system
+	 * @param v The volcano system
+	 * @return The maximum pressure that can be released
+	 */
+	protected static long part2( final Volcano v ) {
+		return findMaxPressure( v, 26, "AA", "AA" );
+	}
+	
+	/**
+	 * Finds the maximum pressure that can be released by the players. Uses the
+	 * subset engine if the volcano has few enough valves, its runtime grows
+	 * exponentially in the number of valves, otherwise the branch-and-bound
+	 * search over the moves of the players
+	 * 
+	 * @param v The volcano system
+	 * @param time The time limit
+	 * @param startvalves The valves at which the players start
 	 * @return The maximum pressure that can be released
 	 */
-	protected static long part2( final List<String> input ) {
-		final Volcano v = Volcano.fromStringList( input );
-		return v.findMaxPressure( 26, "AA", "AA" );
+	protected static long findMaxPressure( final Volcano v, final int time, final String... startvalves ) {
+		if( v.getFlowValveCount( ) <= SubsetSolver.MAX_VALVES ) return new SubsetSolver( v ).findMaxPressure( time, startvalves );
+		return v.findMaxPressure( time, startvalves );
 	}
 }
\ No newline at end of file
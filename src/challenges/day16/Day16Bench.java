@@ -0,0 +1,94 @@
+package challenges.day16;
+
+import java.util.List;
+
+import aocutil.string.RegexMatcher;
+import challenges.bench.Benchmark;
+import challenges.day16.volcano.PressureBound;
+import challenges.day16.volcano.PressureOracle;
+import challenges.day16.volcano.SubsetSolver;
+import challenges.day16.volcano.Volcano;
+import challenges.util.string.LineScanner;
+
+/**
+ * Benchmark of the day 16 solvers
+ * 
+ * @author Joris
+ */
+public class Day16Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day16Bench( ) {
+		super( Day16.class );
+	}
+
+	/** @param input The valve scan */
+	@Override
+	protected void setup( final List<String> input ) {
+		final Volcano volcano = Volcano.fromStringList( input );
+		bench( "parse", ( ) -> Volcano.fromStringList( input ) );
+		bench( "part1", ( ) -> volcano.findMaxPressure( 30, "AA" ) );
+		bench( "part2", ( ) -> volcano.findMaxPressure( 26, "AA", "AA" ) );
+		
+		// compare the parallel search against the sequential one
+		final Volcano sequential = Volcano.fromStringList( input );
+		sequential.setParallel( false );
+		bench( "part1 sequential", ( ) -> sequential.findMaxPressure( 30, "AA" ) );
+		bench( "part2 sequential", ( ) -> sequential.findMaxPressure( 26, "AA", "AA" ) );
+		
+		// compare the bound and dominance check against the nearest valve bound
+		final Volcano nearest = Volcano.fromStringList( input );
+		nearest.setBound( PressureBound.NEAREST );
+		nearest.setDominance( false );
+		bench( "part1 nearest bound", ( ) -> nearest.findMaxPressure( 30, "AA" ) );
+		bench( "part2 nearest bound", ( ) -> nearest.findMaxPressure( 26, "AA", "AA" ) );
+		if( volcano.getFlowValveCount( ) <= SubsetSolver.MAX_VALVES ) {
+			bench( "part1 subsets", ( ) -> new SubsetSolver( volcano ).findMaxPressure( 30, "AA" ) );
+			bench( "part2 subsets", ( ) -> new SubsetSolver( volcano ).findMaxPressure( 26, "AA", "AA" ) );
+		}
+		
+		// answer the queries for all time limits, by solving every query and
+		// with the query engine
+		if( volcano.getFlowValveCount( ) <= PressureOracle.MAX_VALVES ) {
+			bench( "queries subsets", ( ) -> {
+				long sum = 0;
+				for( int t = 1; t <= 30; t++ ) {
+					sum += new SubsetSolver( volcano ).findMaxPressure( t, "AA" );
+					sum += new SubsetSolver( volcano ).findMaxPressure( t, "AA", "AA" );
+				}
+				return sum;
+			} );
+			bench( "queries oracle", ( ) -> {
+				final PressureOracle oracle = new PressureOracle( volcano, 30, "AA" );
+				long sum = 0;
+				for( int t = 1; t <= 30; t++ ) sum += oracle.findMaxPressure( t, "AA" ) + oracle.findMaxPressure( t, "AA", "AA" );
+				return sum;
+			} );
+		}
+		
+		// compare the valve parser against the regular expressions it replaced
+		final LineScanner sc = new LineScanner( );
+		bench( "read valves", ( ) -> {
+			long sum = 0;
+			for( final String s : input ) {
+				sum += sc.reset( s ).expect( "Valve " ).nextWord( ).length( );
+				sum += sc.expect( " has flow rate=" ).nextInt( );
+				sc.skipPast( " to valve" ).skipAny( "s " );
+				while( !sc.atEnd( ) ) {
+					sum += sc.nextWord( ).length( );
+					sc.skipAny( ", " );
+				}
+			}
+			return sum;
+		} );
+		bench( "read valves regex", ( ) -> {
+			long sum = 0;
+			for( final String s : input ) {
+				final RegexMatcher rm = RegexMatcher.match( "Valve ([A-Z]+) has flow rate=#D; tunnels? leads? to valves? ([A-Z, ]+)", s );
+				sum += rm.get( 1 ).length( ) + rm.getInt( 2 );
+				for( final String to : rm.get( 3 ).split( ", " ) ) sum += to.length( );
+			}
+			return sum;
+		} );
+	}
+}
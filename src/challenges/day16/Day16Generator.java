@@ -0,0 +1,63 @@
+package challenges.day16;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates connected valve networks of 60 valves per unit of scale, of which
+ * a quarter has a positive flow rate. The network is a random tree over all
+ * valves with additional tunnels between random valves. Valve labels get
+ * longer as the network grows.
+ * 
+ * @author Joris
+ */
+public class Day16Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final int N = 60 * scale;
+		
+		// generate unique labels, starting with AA
+		int L = 2;
+		while( Math.pow( 26, L ) < 4 * N ) L++;
+		final List<String> labels = new ArrayList<>( N );
+		final Set<String> used = new HashSet<>( );
+		labels.add( "AA" );
+		used.add( "AA" );
+		while( labels.size( ) < N ) {
+			final String label = word( rnd, L ).toUpperCase( );
+			if( used.add( label ) ) labels.add( label );
+		}
+		
+		// connect every valve to an earlier one and add some random tunnels
+		final List<Set<Integer>> tunnels = new ArrayList<>( N );
+		for( int i = 0; i < N; i++ ) tunnels.add( new HashSet<>( ) );
+		for( int i = 1; i < N; i++ ) {
+			final int j = rnd.nextInt( i );
+			tunnels.get( i ).add( j );
+			tunnels.get( j ).add( i );
+		}
+		for( int t = 0; t < N / 3; t++ ) {
+			final int i = rnd.nextInt( N );
+			final int j = rnd.nextInt( N );
+			if( i == j ) continue;
+			tunnels.get( i ).add( j );
+			tunnels.get( j ).add( i );
+		}
+		
+		final List<String> input = new ArrayList<>( N );
+		for( int i = 0; i < N; i++ ) {
+			final int flow = i > 0 && rnd.nextInt( 4 ) == 0 ? range( rnd, 3, 25 ) : 0;
+			final StringBuilder sb = new StringBuilder( );
+			for( final int t : tunnels.get( i ) ) sb.append( sb.length( ) > 0 ? ", " : "" ).append( labels.get( t ) );
+			final boolean single = tunnels.get( i ).size( ) == 1;
+			input.add( "Valve " + labels.get( i ) + " has flow rate=" + flow + "; " + (single ? "tunnel leads to valve " : "tunnels lead to valves ") + sb );
+		}
+		return input;
+	}
+}
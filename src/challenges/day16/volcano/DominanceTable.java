@@ -0,0 +1,104 @@
+package challenges.day16.volcano;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import challenges.util.search.Hash64;
+
+/**
+ * Table of the states that the pressure search has generated, used to
+ * discard states that are dominated by another state. A state is dominated
+ * if another state has its players at the same valves and the same unopened
+ * valves, but at least as much pressure and no less time for every player.
+ * Such a state can never release more pressure than the other state.
+ * 
+ * The table keeps one state per slot, indexed by the hash of the valve
+ * positions and the unopened valves, and replaces it by every newer state
+ * that is not dominated. The table thus only finds some of the dominated
+ * states, but its memory use is fixed. Slots hold immutable entries, so the
+ * table can be shared by the workers of a parallel search.
+ * 
+ * @author Joris
+ */
+class DominanceTable {
+	/** The number of slots in the table */
+	private static final int SLOTS = 1 << 18;
+	
+	/** The maximal number of players of which the times fit an entry */
+	protected static final int MAX_PLAYERS = 4;
+	
+	/** The stored states, by slot */
+	private final AtomicReferenceArray<Entry> entries;
+	
+	/** Creates a new, empty table */
+	protected DominanceTable( ) {
+		entries = new AtomicReferenceArray<>( SLOTS );
+	}
+	
+	/**
+	 * Checks whether a state is dominated by a state in the table, and adds
+	 * the state to the table if it is not. A state that is equal to a stored
+	 * state is also reported as dominated, such that it is explored only once
+	 * 
+	 * @param players The packed player states, sorted
+	 * @param unopened The bitmask of unopened valves
+	 * @param pressure The pressure of the state
+	 * @return True if the state is dominated
+	 */
+	protected boolean isDominated( final int[] players, final long unopened, final int pressure ) {
+		if( players.length > MAX_PLAYERS ) return false;
+		
+		// split the players in their positions and times
+		long h = Hash64.combine( Hash64.SEED, unopened );
+		long times = 0;
+		for( final int p : players ) {
+			h = Hash64.combine( h, p >>> 16 );
+			times = times << 16 | (p & 0xFFFF);
+		}
+		
+		final int slot = (int)(h >>> 32) & (SLOTS - 1);
+		final Entry e = entries.get( slot );
+		if( e != null && e.key == h && e.pressure >= pressure && covers( e.times, times, players.length ) ) return true;
+		entries.set( slot, new Entry( h, times, pressure ) );
+		return false;
+	}
+	
+	/**
+	 * Checks whether every player has at least as much time in one state as in
+	 * another
+	 * 
+	 * @param t1 The packed times of the players in the first state
+	 * @param t2 The packed times of the players in the second state
+	 * @param N The number of players
+	 * @return True if no player has less time in the first state
+	 */
+	private static boolean covers( final long t1, final long t2, final int N ) {
+		for( int i = 0; i < N; i++ )
+			if( ((t1 >>> (16 * i)) & 0xFFFF) < ((t2 >>> (16 * i)) & 0xFFFF) ) return false;
+		return true;
+	}
+	
+	/** A stored state */
+	private static class Entry {
+		/** The hash of the player positions and unopened valves */
+		protected final long key;
+		
+		/** The packed times of the players */
+		protected final long times;
+		
+		/** The pressure of the state */
+		protected final int pressure;
+		
+		/**
+		 * Creates a new entry
+		 * 
+		 * @param key The hash of the positions and unopened valves
+		 * @param times The packed times of the players
+		 * @param pressure The pressure of the state
+		 */
+		protected Entry( final long key, final long times, final int pressure ) {
+			this.key = key;
+			this.times = times;
+			this.pressure = pressure;
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package challenges.day16.volcano;
+
+/**
+ * Strategy that computes an upper bound on the maximal pressure release that
+ * can be achieved from a state of the volcano. A tighter bound prunes more of
+ * the search, but may be more expensive to compute.
+ * 
+ * @author Joris
+ */
+public interface PressureBound {
+	/**
+	 * Assumes that every unopened valve is opened by the player that can reach
+	 * it first, as if all players could open all of their valves at once
+	 */
+	PressureBound NEAREST = VState::getNearestUB;
+	
+	/**
+	 * Schedules the unopened valves in order of decreasing flow rate over the
+	 * earliest time slots in which the players could open them. A player
+	 * needs to travel at least the shortest distance between two valves before
+	 * it can open the next one
+	 */
+	PressureBound SLOTS = VState::getSlotUB;
+	
+	/** The least of the {@link #NEAREST} and {@link #SLOTS} bounds */
+	PressureBound COMBINED = s -> Math.min( s.getNearestUB( ), s.getSlotUB( ) );
+	
+	/**
+	 * Computes the upper bound on the pressure release from a state
+	 * 
+	 * @param state The state
+	 * @return The upper bound on the maximal pressure release, including the
+	 *   pressure of the state itself
+	 */
+	int getUpperBound( final VState state );
+}
@@ -0,0 +1,168 @@
+package challenges.day16.volcano;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Query engine that answers the pressure maximisation of a volcano for any
+ * time limit up to a maximum, without searching again for every query.
+ * 
+ * The release of a path of valves is linear in the time limit: a valve that
+ * is opened c minutes after the start releases its flow for the remaining
+ * time minus c minutes. Hence, the engine enumerates all paths from a start
+ * valve once for the maximal time, and keeps for every set of valves and
+ * every path duration the least flow-weighted opening time. A single sweep
+ * over the time limits then turns these into the best release of a single
+ * player per set of valves for every time limit, which are combined over the
+ * players like the {@link SubsetSolver} does.
+ * 
+ * A query of a single player is answered in O(1), of two players in O(2^n)
+ * and of more players in O(3^n) in the number n of valves with a positive
+ * flow rate. The tables take maxtime * 2^n ints per start valve, hence the
+ * engine is limited to {@link #MAX_VALVES} of such valves. Tables of start
+ * valves that were not given on construction are built on their first query.
+ * 
+ * @author Joris
+ */
+public class PressureOracle {
+	/** The maximal number of valves with a positive flow rate */
+	public static final int MAX_VALVES = 18;
+	
+	/** The volcano to answer queries for */
+	protected final Volcano volcano;
+	
+	/** The maximal time limit of a query */
+	protected final int maxtime;
+	
+	/** The number of valves with a positive flow rate */
+	protected final int n;
+	
+	/** The total flow rate per set of valves */
+	private final int[] flowsum;
+	
+	/** The best release per time limit and set of valves, by start valve */
+	private final Map<Integer, int[][]> released;
+	
+	/**
+	 * Creates a new query engine and builds the tables of the given start
+	 * valves
+	 * 
+	 * @param volcano The volcano to answer queries for
+	 * @param maxtime The maximal time limit of a query
+	 * @param startvalves The start valves of which to build the tables
+	 * @throws IllegalArgumentException if the volcano has too many valves
+	 */
+	public PressureOracle( final Volcano volcano, final int maxtime, final String... startvalves ) {
+		this.volcano = volcano;
+		this.maxtime = maxtime;
+		this.n = volcano.getFlowValveCount( );
+		if( n > MAX_VALVES ) throw new IllegalArgumentException( "Too many valves for the pressure oracle: " + n + " (at most " + MAX_VALVES + ")" );
+		
+		flowsum = new int[ 1 << n ];
+		for( int mask = 1; mask < flowsum.length; mask++ ) {
+			final int v = Integer.numberOfTrailingZeros( mask );
+			flowsum[ mask ] = flowsum[ mask & (mask - 1) ] + volcano.flow[v];
+		}
+		
+		released = new ConcurrentHashMap<>( );
+		for( final String s : startvalves ) getReleased( volcano.getIndex( s ) );
+	}
+	
+	/** @return The maximal time limit of a query */
+	public int getMaxTime( ) {
+		return maxtime;
+	}
+	
+	/**
+	 * Finds the maximal pressure that can be relieved from the volcano within
+	 * the given time limit
+	 * 
+	 * @param time The time limit, at most the maximal time of the engine
+	 * @param startvalves The valves at which players start
+	 * @return The maximal pressure release
+	 * @throws IllegalArgumentException if the time limit exceeds the maximum
+	 */
+	public int findMaxPressure( final int time, final String... startvalves ) {
+		if( time > maxtime ) throw new IllegalArgumentException( "Time limit " + time + " exceeds the maximum of " + maxtime );
+		if( time <= 0 ) return 0;
+		
+		final int[][] best = new int[ startvalves.length ][];
+		for( int i = 0; i < startvalves.length; i++ ) best[i] = getReleased( volcano.getIndex( startvalves[i] ) )[ time - 1 ];
+		return SubsetSolver.combine( best );
+	}
+	
+	/**
+	 * Retrieves the best pressure release of a single player for every time
+	 * limit and subset of valves, building them on the first request for the
+	 * start valve
+	 * 
+	 * @param start The index of the start valve
+	 * @return The best release per subset of valves, of which the player may
+	 *   open any subset, by time limit - 1
+	 */
+	protected int[][] getReleased( final int start ) {
+		return released.computeIfAbsent( start, this::buildReleased );
+	}
+	
+	/**
+	 * Builds the best pressure release of a single player for every time limit
+	 * and subset of valves
+	 * 
+	 * @param start The index of the start valve
+	 * @return The best release per subset of valves by time limit - 1
+	 */
+	private int[][] buildReleased( final int start ) {
+		// the time it takes to reach and open a valve from the start and from
+		// the other valves
+		final int[] startdist = new int[ n ];
+		final int[][] dist = new int[ n ][ n ];
+		for( int i = 0; i < n; i++ ) {
+			startdist[i] = volcano.D[ start ][ volcano.flowvalves[i] ] + 1;
+			for( int j = 0; j < n; j++ ) dist[i][j] = volcano.D[ volcano.flowvalves[i] ][ volcano.flowvalves[j] ] + 1;
+		}
+		
+		// record the least cost of every path by its duration and set of valves
+		final int[][] cost = new int[ maxtime ][ 1 << n ];
+		for( final int[] c : cost ) Arrays.fill( c, Integer.MAX_VALUE );
+		for( int v = 0; v < n; v++ )
+			if( startdist[v] < maxtime ) explore( cost, dist, v, startdist[v], 1 << v, startdist[v] * volcano.flow[v] );
+		
+		// sweep over the time limits, a path fits the time limit if it opens its
+		// last valve before the time is up. The cost arrays are reused for the
+		// best releases
+		final int[] mincost = new int[ 1 << n ];
+		Arrays.fill( mincost, Integer.MAX_VALUE );
+		for( int t = 1; t <= maxtime; t++ ) {
+			final int[] best = cost[ t - 1 ];
+			for( int mask = 0; mask < best.length; mask++ ) {
+				mincost[ mask ] = Math.min( mincost[ mask ], best[ mask ] );
+				best[ mask ] = mincost[ mask ] == Integer.MAX_VALUE ? 0 : t * flowsum[ mask ] - mincost[ mask ];
+			}
+			SubsetSolver.coverSubsets( best );
+		}
+		return cost;
+	}
+	
+	/**
+	 * Explores all paths that continue from a valve that was just opened
+	 * 
+	 * @param cost The least cost per path duration and set of opened valves
+	 * @param dist The time to reach and open a valve from another
+	 * @param pos The valve that was just opened
+	 * @param elapsed The time since the start
+	 * @param opened The set of opened valves
+	 * @param pathcost The sum of the opening times of the valves, weighted by
+	 *   their flow rate
+	 */
+	private void explore( final int[][] cost, final int[][] dist, final int pos, final int elapsed, final int opened, final int pathcost ) {
+		if( pathcost < cost[ elapsed ][ opened ] ) cost[ elapsed ][ opened ] = pathcost;
+		
+		final int[] d = dist[ pos ];
+		for( int v = 0; v < n; v++ ) {
+			if( (opened & (1 << v)) != 0 ) continue;
+			final int e = elapsed + d[v];
+			if( e < maxtime ) explore( cost, dist, v, e, opened | (1 << v), pathcost + e * volcano.flow[v] );
+		}
+	}
+}
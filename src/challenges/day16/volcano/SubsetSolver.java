@@ -0,0 +1,170 @@
+package challenges.day16.volcano;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Alternative engine for the pressure maximisation that does not search the
+ * joint moves of all players. Instead, it computes for a single player the
+ * best pressure release for every subset of valves once, by enumerating all
+ * feasible paths from the start valve. A superset-max transform then turns
+ * this into the best release using any subset of the valves, after which the
+ * players are combined by assigning them disjoint subsets of the valves.
+ * 
+ * Two players are combined in a single pass over all subsets, more players
+ * by a max-plus subset convolution. The memory and combination time grow
+ * with 2^n in the number of valves with a positive flow rate, hence the
+ * engine is limited to {@link #MAX_VALVES} of such valves.
+ * 
+ * @author Joris
+ */
+public class SubsetSolver {
+	/** The maximal number of valves with a positive flow rate */
+	public static final int MAX_VALVES = 22;
+	
+	/** The volcano to solve */
+	protected final Volcano volcano;
+	
+	/** The number of valves with a positive flow rate */
+	protected final int n;
+	
+	/** The best pressure release per subset of valves, by start valve and time */
+	private final Map<Long, int[]> released;
+	
+	/**
+	 * Creates a new subset solver
+	 * 
+	 * @param volcano The volcano to solve
+	 * @throws IllegalArgumentException if the volcano has too many valves
+	 */
+	public SubsetSolver( final Volcano volcano ) {
+		this.volcano = volcano;
+		this.n = volcano.getFlowValveCount( );
+		if( n > MAX_VALVES ) throw new IllegalArgumentException( "Too many valves for the subset solver: " + n + " (at most " + MAX_VALVES + ")" );
+		this.released = new HashMap<>( );
+	}
+	
+	/**
+	 * Finds the maximal pressure that can be relieved from the volcano within
+	 * the given time limit
+	 * 
+	 * @param time The time limit
+	 * @param startvalves The valves at which players start
+	 * @return The maximal pressure release
+	 */
+	public int findMaxPressure( final int time, final String... startvalves ) {
+		final int[][] best = new int[ startvalves.length ][];
+		for( int i = 0; i < startvalves.length; i++ ) best[i] = getReleased( volcano.getIndex( startvalves[i] ), time );
+		return combine( best );
+	}
+	
+	/**
+	 * Combines the best pressure releases of the players by assigning them
+	 * disjoint subsets of the valves
+	 * 
+	 * @param released The best pressure release per subset of valves, of which
+	 *   the player may open any subset, for every player
+	 * @return The maximal pressure release of all players together
+	 */
+	protected static int combine( final int[][] released ) {
+		final int full = released[0].length - 1;
+		
+		// the best release of the first player per subset of valves
+		int[] acc = released[0];
+		if( released.length == 1 ) return acc[ full ];
+		
+		// add the other players, the last one only needs to be combined for the
+		// full set of valves
+		for( int j = 1; j < released.length; j++ ) {
+			final int[] f = released[j];
+			if( j == released.length - 1 ) {
+				int best = 0;
+				for( int mask = 0; mask <= full; mask++ ) best = Math.max( best, acc[ mask ] + f[ full ^ mask ] );
+				return best;
+			}
+			
+			// max-plus convolution over all splits of every subset
+			final int[] next = new int[ full + 1 ];
+			for( int mask = 0; mask <= full; mask++ ) {
+				int best = acc[ mask ] + f[ 0 ];
+				for( int sub = mask; sub != 0; sub = (sub - 1) & mask )
+					best = Math.max( best, acc[ mask ^ sub ] + f[ sub ] );
+				next[ mask ] = best;
+			}
+			acc = next;
+		}
+		return acc[ full ];
+	}
+	
+	/**
+	 * Retrieves the best pressure release of a single player for every subset
+	 * of valves, computing it if this is the first request for the start valve
+	 * and time
+	 * 
+	 * @param start The index of the start valve
+	 * @param time The time limit
+	 * @return The best release per subset of valves, of which the player may
+	 *   open any subset
+	 */
+	protected int[] getReleased( final int start, final int time ) {
+		final long key = (long)start << 32 | time;
+		int[] best = released.get( key );
+		if( best != null ) return best;
+		
+		// the distances from the start and between the valves, and the time it
+		// takes to open a valve after reaching it
+		final int[] startdist = new int[ n ];
+		final int[][] dist = new int[ n ][ n ];
+		for( int i = 0; i < n; i++ ) {
+			startdist[i] = volcano.D[ start ][ volcano.flowvalves[i] ] + 1;
+			for( int j = 0; j < n; j++ ) dist[i][j] = volcano.D[ volcano.flowvalves[i] ][ volcano.flowvalves[j] ] + 1;
+		}
+		
+		// record the best release of every path per set of opened valves
+		best = new int[ 1 << n ];
+		for( int v = 0; v < n; v++ ) {
+			final int t = time - startdist[v];
+			if( t > 0 ) explore( best, dist, v, t, 1 << v, t * volcano.flow[v] );
+		}
+		
+		// superset-max transform, such that every set also covers its subsets
+		coverSubsets( best );
+		
+		released.put( key, best );
+		return best;
+	}
+	
+	/**
+	 * Applies the superset-max transform to the best release per set of opened
+	 * valves, such that every set also covers the release of its subsets
+	 * 
+	 * @param best The best release per set of opened valves, transformed in
+	 *   place
+	 */
+	protected static void coverSubsets( final int[] best ) {
+		for( int bit = 1; bit < best.length; bit <<= 1 )
+			for( int mask = 0; mask < best.length; mask++ )
+				if( (mask & bit) != 0 ) best[ mask ] = Math.max( best[ mask ], best[ mask ^ bit ] );
+	}
+	
+	/**
+	 * Explores all paths that continue from a valve that was just opened
+	 * 
+	 * @param best The best release per set of opened valves
+	 * @param dist The time to reach and open a valve from another
+	 * @param pos The valve that was just opened
+	 * @param time The time remaining
+	 * @param opened The set of opened valves
+	 * @param pressure The pressure release of the opened valves
+	 */
+	private void explore( final int[] best, final int[][] dist, final int pos, final int time, final int opened, final int pressure ) {
+		if( pressure > best[ opened ] ) best[ opened ] = pressure;
+		
+		final int[] d = dist[ pos ];
+		for( int v = 0; v < n; v++ ) {
+			if( (opened & (1 << v)) != 0 ) continue;
+			final int t = time - d[v];
+			if( t > 0 ) explore( best, dist, v, t, opened | (1 << v), pressure + t * volcano.flow[v] );
+		}
+	}
+}
@@ -1,15 +1,18 @@
 package challenges.day16.volcano;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+
+import challenges.util.search.Hash64;
 
 /**
- * State of the Volcano valve system
+ * State of the Volcano valve system. The state is stored in primitives only:
+ * every player is packed into an int that holds its valve index and its
+ * remaining time, and the unopened valves are a bitmask over the valves with
+ * a positive flow rate.
+ * 
+ * Players are interchangeable, hence they are kept sorted such that states
+ * that only differ in the order of the players are equal.
  * 
  * @author Joris
  */
@@ -17,39 +20,38 @@ public class VState {
 	/** The volcano to which this state applies */
 	private final Volcano volcano;
 	
-	/** The players in the state */
-	protected final int N;
+	/** The player states, packed as valve index << 16 | remaining time */
+	protected final int[] players;
 	
-	/** The player states */
-	protected final List<PState> pstates;
+	/** The unopened valves, as bitmask over the valves with positive flow */
+	protected final long unopened;
 	
-	/** The unopened valves */
-	protected final Set<Valve> unopened;
-
 	/** The accumulated pressure so far */
 	protected final int pressure;
 	
+	/** The cached upper bound on the pressure, -1 if not computed yet */
 	private int pressureUB = -1;
-	private String statestr;
-
+	
+	/** The cached 64-bit hash, 0 if not computed yet */
+	private long hash64;
+	
 	/**
-	 * Creates a new initial state
+	 * Creates a new initial state in which all valves with a positive flow
+	 * rate are closed
 	 * 
 	 * @param volcano The volcano to which this state applies
-	 * @param valves The set of valves in the volcano
-	 * @param startpos The starting position(s) of each of the players
+	 * @param startpos The index of the starting valve of each of the players
 	 * @param time The starting time of the initial time (remaining minutes)
 	 */
-	public VState( final Volcano volcano, final Collection<Valve> valves, final Valve[] startpos, final int time ) {
+	public VState( final Volcano volcano, final int[] startpos, final int time ) {
 		this.volcano = volcano;
 		
-		N = startpos.length;
-		pstates = new ArrayList<>( N );
-		for( int i = 0; i < N; i++ ) pstates.add( new PState( time, startpos[i] ) );
-		
-		unopened = new HashSet<>( );
-		valves.stream( ).filter( v -> v.pressureInc > 0 ).forEach( unopened::add );
+		players = new int[ startpos.length ];
+		for( int i = 0; i < players.length; i++ ) players[i] = pack( startpos[i], time );
+		Arrays.sort( players );
 		
+		final int n = volcano.getFlowValveCount( );
+		unopened = n == 64 ? -1L : (1L << n) - 1;
 		pressure = 0;
 	}
 	
@@ -57,85 +59,143 @@ public class VState {
 	 * Creates a new state
 	 * 
 	 * @param volcano The volcano to which this state applies
-	 * @param pstates The new player states
-	 * @param unopened The set of unopened valves
+	 * @param players The new player states, sorted
+	 * @param unopened The bitmask of unopened valves
 	 * @param pressure The pressure achieved in this state so far (if valves
 	 *   left open until time expires)
 	 */
-	private VState( final Volcano volcano, final List<PState> pstates, final Set<Valve> unopened, final int pressure ) {
+	private VState( final Volcano volcano, final int[] players, final long unopened, final int pressure ) {
 		this.volcano = volcano;
-		N = pstates.size( );
-		this.pstates = new ArrayList<>( pstates );
-		this.unopened = new HashSet<>( unopened );
+		this.players = players;
+		this.unopened = unopened;
 		this.pressure = pressure;
 	}
 	
+	/**
+	 * Packs a player state into an int
+	 * 
+	 * @param pos The valve index of the player
+	 * @param time The time remaining for the player
+	 * @return The packed player state
+	 */
+	private static int pack( final int pos, final int time ) {
+		return pos << 16 | time;
+	}
+	
+	/**
+	 * @param player The packed player state
+	 * @return The valve index of the player
+	 */
+	private static int pos( final int player ) {
+		return player >>> 16;
+	}
+	
+	/**
+	 * @param player The packed player state
+	 * @return The time remaining for the player
+	 */
+	private static int time( final int player ) {
+		return player & 0xFFFF;
+	}
+	
 	/**
 	 * UB heuristic computation of the maximal pressure that can be achieved from
-	 * this state
+	 * this state, using the bound strategy of the volcano
 	 * 
 	 * @return The UB on the maximal pressure achievable from this state
 	 */
 	public int getPressureUB( ) {
-		if( pressureUB != -1 ) return pressureUB;
-		
-		pressureUB = pressure;
-		for( final Valve v : unopened ) {
+		if( pressureUB == -1 ) pressureUB = volcano.bound.getUpperBound( this );
+		return pressureUB;
+	}
+	
+	/**
+	 * Computes the upper bound on the pressure by assuming that every unopened
+	 * valve is opened by the player that can reach it first
+	 * 
+	 * @return The UB on the maximal pressure achievable from this state
+	 */
+	protected int getNearestUB( ) {
+		int ub = pressure;
+		for( long m = unopened; m != 0; m &= m - 1 ) {
+			final int v = Long.numberOfTrailingZeros( m );
+			final int valve = volcano.flowvalves[v];
+			
 			// find shortest distance to valve from any player that is within reach
-			final int mintime = pstates.stream( ).mapToInt( p -> p.time - volcano.getDistance( p.pos, v ) + 1 ).max( ).getAsInt( );
-			if( mintime > 0 ) pressureUB += v.pressureInc * mintime;
+			int mintime = Integer.MIN_VALUE;
+			for( final int p : players ) mintime = Math.max( mintime, time( p ) - volcano.D[ pos( p ) ][ valve ] + 1 );
+			if( mintime > 0 ) ub += volcano.flow[v] * mintime;
 		}
-		return pressureUB;
+		return ub;
+	}
+	
+	/**
+	 * Computes the upper bound on the pressure by scheduling the unopened
+	 * valves over the time slots of the players. The first slot of a player
+	 * is after it has reached its nearest unopened valve, every next slot is
+	 * at least the shortest distance between two valves later. Assigning the
+	 * valves of the highest flow rate to the earliest slots bounds the
+	 * pressure release of every schedule that the players can achieve
+	 * 
+	 * @return The UB on the maximal pressure achievable from this state
+	 */
+	protected int getSlotUB( ) {
+		// the remaining time at the first slot of every player
+		final int[] slot = new int[ players.length ];
+		for( int i = 0; i < players.length; i++ ) {
+			final int[] dist = volcano.D[ pos( players[i] ) ];
+			int mindist = Volcano.UNREACHABLE;
+			for( long m = unopened; m != 0; m &= m - 1 )
+				mindist = Math.min( mindist, dist[ volcano.flowvalves[ Long.numberOfTrailingZeros( m ) ] ] );
+			slot[i] = time( players[i] ) - mindist - 1;
+		}
+		
+		// assign the valves by decreasing flow rate to the latest remaining slot
+		int ub = pressure;
+		for( final int v : volcano.flowrank ) {
+			if( (unopened & (1L << v)) == 0 ) continue;
+			int best = 0;
+			for( int i = 1; i < slot.length; i++ )
+				if( slot[i] > slot[ best ] ) best = i;
+			if( slot[ best ] <= 0 ) break;
+			ub += volcano.flow[v] * slot[ best ];
+			slot[ best ] -= volcano.step;
+		}
+		return ub;
 	}
 	
 	
 	/**
-	 * Determines the set of all new states that can be reached from this one by
+	 * Determines all new states that can be reached from this one by
 	 * considering all possible moves to unopened valves
 	 * 
-	 * @return The set of new states, empty if this is a terminal state
+	 * @param newstates The list to add the new states to, nothing is added if
+	 *   this is a terminal state
 	 */
-	public Set<VState> getNewStates( ) {
-		final Set<VState> newstates = new HashSet<>( );
-
+	public void getNewStates( final List<VState> newstates ) {
 		// no more targets?
-		if( unopened.isEmpty( ) ) return newstates;
+		if( unopened == 0 ) return;
 		
-		// build map of potential next valve targets
-		// check if at least one target is still reachable
+		// build bitmask of potential next valve targets per player and check if
+		// at least one target is still reachable
+		final int N = players.length;
+		final long[] targets = new long[ N ];
 		boolean found = false;
-		final List<Map<Valve, Integer>> targets = new ArrayList<>( );
-		for( final PState ps : pstates ) {
-			final Map<Valve, Integer> reachable = new HashMap<>( );
-			for( final Valve v : unopened ) {
-				final int dt = volcano.getDistance( ps.pos, v ) + 1;
-				if( dt <= ps.time ) {
-					reachable.put( v, dt );
-					found = true;
-				}
+		for( int i = 0; i < N; i++ ) {
+			final int[] dist = volcano.D[ pos( players[i] ) ];
+			final int time = time( players[i] );
+			for( long m = unopened; m != 0; m &= m - 1 ) {
+				final int v = Long.numberOfTrailingZeros( m );
+				if( dist[ volcano.flowvalves[v] ] + 1 <= time ) targets[i] |= 1L << v;
 			}
-			targets.add( reachable );
+			found |= targets[i] != 0;
 		}
 		
 		// no more reachable targets?
-		if( !found ) return newstates;
+		if( !found ) return;
 		
 		// create new states for all reachable targets
-		newstates.addAll( generateStates( targets ) );
-		return newstates;
-	}
-
-	/**
-	 * Starts a recursive generation of all possible new states by considering
-	 * all new states reachable by each of the players
-	 * 
-	 * @param targets The map of remaining valve targets wth their distances
-	 * @return The set of reachable new states
-	 */
-	private Set<VState> generateStates( final List<Map<Valve, Integer>> targets ) {
-		final Set<VState> states = new HashSet<>( );
-		generateStates( states, targets, new HashSet<>( unopened ), pressure, new ArrayList<>( pstates ), 0 );
-		return states;
+		generateStates( newstates, targets, unopened, pressure, players.clone( ), 0 );
 	}
 	
 	/**
@@ -143,84 +203,102 @@ public class VState {
 	 * available actions to the current player and generating all outcome states
 	 * thereof
 	 * 
-	 * @param states The resulting set of new states
-	 * @param targets The map with targets and distances
-	 * @param remaining The set of remaining unopened valves
+	 * @param states The resulting list of new states
+	 * @param targets The bitmask of reachable targets per player
+	 * @param remaining The bitmask of remaining unopened valves
 	 * @param newpressure The total pressure built up so far (by taking the actions)
 	 * @param ps The new player states
 	 * @param idx The index of the current player to consider
 	 */
-	private void generateStates( final Set<VState> states, final List<Map<Valve, Integer>> targets, final Set<Valve> remaining, final int newpressure, final List<PState> ps, final int idx ) {
+	private void generateStates( final List<VState> states, final long[] targets, final long remaining, final int newpressure, final int[] ps, final int idx ) {
 		// done, add the state
-		if( idx == N ) {
-			states.add( new VState( volcano, ps, remaining, newpressure ) );
+		if( idx == ps.length ) {
+			final int[] newps = ps.clone( );
+			Arrays.sort( newps );
+			states.add( new VState( volcano, newps, remaining, newpressure ) );
 			return;
 		}
 		
 		// get all possible actions for the current player
-		final PState s = ps.get( idx );
-		final Map<Valve, Integer> T = targets.get( idx );
-		if( T.size( ) == 0 ) {
-			// no actions for this player, continue with the others
+		final int s = ps[idx];
+		if( (targets[idx] & remaining) == 0 ) {
+			// no actions for this player, or all its targets were picked by the
+			// others, continue with the others
 			generateStates( states, targets, remaining, newpressure, ps, idx + 1 );
 			return;
 		}
 		
-		// create new state for every possible outcome for this player
-		for( final Valve target : T.keySet( ) ) {
-			// can we still pick the target?
-			if( !remaining.contains( target ) ) continue;
-			
-			// yes, generate the outcome and check the next player
-			final int timerem = s.time - T.get( target );
-			final int pressinc = timerem * target.pressureInc;
-			remaining.remove( target );
-			ps.set( idx, new PState( timerem, target ) );
-			generateStates( states, targets, remaining, newpressure + pressinc, ps, idx + 1 );
-			ps.set( idx, s );
-			remaining.add( target );
+		// create new state for every possible outcome for this player, for the
+		// targets that are not yet picked by another player
+		final int[] dist = volcano.D[ pos( s ) ];
+		for( long m = targets[idx] & remaining; m != 0; m &= m - 1 ) {
+			final int v = Long.numberOfTrailingZeros( m );
+			final int target = volcano.flowvalves[v];
+			final int timerem = time( s ) - dist[ target ] - 1;
+			ps[idx] = pack( target, timerem );
+			generateStates( states, targets, remaining & ~(1L << v), newpressure + timerem * volcano.flow[v], ps, idx + 1 );
 		}
+		
+		// with multiple players, a player may also stop and leave the remaining
+		// valves to the others
+		if( ps.length > 1 ) {
+			ps[idx] = pack( pos( s ), 0 );
+			generateStates( states, targets, remaining, newpressure, ps, idx + 1 );
+		}
+		ps[idx] = s;
 	}
 	
 	
-	/** @return The state description string */
-	@Override
-	public String toString( ) {
-		return toStateString( );
+	/**
+	 * Computes the 64-bit hash of the state, which is used to memoise its value.
+	 * It combines the pressure, the (sorted) players and the bitmask of
+	 * unopened valves
+	 * 
+	 * @return The 64-bit hash of the state
+	 */
+	public long hash64( ) {
+		if( hash64 == 0 ) {
+			long h = Hash64.combine( Hash64.SEED, pressure );
+			for( final int p : players ) h = Hash64.combine( h, p );
+			hash64 = Hash64.combine( h, unopened );
+		}
+		return hash64;
 	}
 	
 	/**
-	 * Generates and caches the state description string
+	 * Checks whether the state is dominated by another state that was
+	 * generated before
 	 * 
-	 * @return The state description string
+	 * @param table The table of generated states
+	 * @return True if the state is dominated
 	 */
-	private String toStateString( ) {
-		if( statestr == null ) {
-			// player states
-			final StringBuilder ps = new StringBuilder( );
-			for( final PState p : pstates ) {
-				ps.append( p );
-				ps.append( "," );
-			}
-			if( ps.length( ) > 0 ) ps.delete( ps.length( ) - 1, ps.length( ) );
-			
-			// valve states
-			final StringBuilder vs = new StringBuilder( );
-			for( final Valve v : unopened ) {
-				vs.append( v );
-				vs.append( '|' );
-			}
-			if( vs.length( ) > 0 ) vs.delete( vs.length( ) - 1, vs.length( ) );
-			
-			statestr = "[" + ps.toString( ) + " " + vs.toString( ) + " => " + pressure + "]";
-		}
-		return statestr;
+	protected boolean isDominated( final DominanceTable table ) {
+		return table.isDominated( players, unopened, pressure );
 	}
 	
-	/** @return The state hash code, using that of its descriptive string */
+	/** @return The total time that remains for all players */
+	public int getTimeRemaining( ) {
+		int time = 0;
+		for( final int p : players ) time += time( p );
+		return time;
+	}
+	
+	/** @return The state description string */
+	@Override
+	public String toString( ) {
+		final StringBuilder sb = new StringBuilder( "[" );
+		for( int i = 0; i < players.length; i++ )
+			sb.append( i > 0 ? "," : "" ).append( volcano.labels[ pos( players[i] ) ] ).append( '@' ).append( time( players[i] ) );
+		sb.append( ' ' );
+		for( long m = unopened; m != 0; m &= m - 1 )
+			sb.append( volcano.labels[ volcano.flowvalves[ Long.numberOfTrailingZeros( m ) ] ] ).append( (m & (m - 1)) != 0 ? "|" : "" );
+		return sb.append( " => " ).append( pressure ).append( ']' ).toString( );
+	}
+	
+	/** @return The state hash code, derived from its 64-bit hash */
 	@Override
 	public int hashCode( ) {
-		return toStateString( ).hashCode( );
+		return (int)hash64( );
 	}
 	
 	/**
@@ -235,52 +313,6 @@ public class VState {
 		if( obj == null || !(obj instanceof VState) ) return false;
 		final VState v = (VState) obj;
 		
-		if( pressure != v.pressure ) return false;
-		if( !pstates.equals( v.pstates ) ) return false;
-		if( !unopened.equals( v.unopened ) ) return false;
-		
-		return true;
-	}
-	
-	/**
-	 * The state of a single player in the Volcano
-	 */
-	private class PState {
-		/** The time remaining for this player */
-		private final int time;
-		
-		/** The position of this player */
-		private final Valve pos;
-		
-		/**
-		 * Creates a new player state
-		 * 
-		 * @param time The time in the player state
-		 * @param pos The valve at which the player is positioned
-		 */
-		protected PState( final int time, final Valve pos ) {
-			this.time = time;
-			this.pos = pos;
-		}
-		
-		/**
-		 * Compares this player state to another object
-		 * 
-		 * @param obj The object to compare to
-		 * @return True iff the time and position equal
-		 */
-		@Override
-		public boolean equals( Object obj ) {
-			if( obj == null || !(obj instanceof PState) ) return false;
-			final PState p = (PState)obj;
-			
-			return time == p.time && pos.equals( p.pos );
-		}
-		
-		/** @return Description of the player state with position and time */
-		@Override
-		public String toString( ) {
-			return pos.getLabel( ) + "@" + time;
-		}
+		return pressure == v.pressure && unopened == v.unopened && Arrays.equals( players, v.players );
 	}
 }
@@ -1,17 +1,21 @@
 package challenges.day16.volcano;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
 
-import aocutil.cache.Cache;
-import aocutil.cache.Cache.PruneStrategy;
-import aocutil.string.RegexMatcher;
+import challenges.util.io.Checkpoint;
+import challenges.util.search.AnytimeResult;
+import challenges.util.search.BranchAndBound;
+import challenges.util.search.Hash64;
+import challenges.util.search.SearchControl;
+import challenges.util.search.SearchStats;
+import challenges.util.search.TranspositionTable;
+import challenges.util.string.LineScanner;
 
 /**
  * A volcano with valves (?) that regulate the pressure inside and a bunch of
@@ -26,33 +30,201 @@ public class Volcano {
 	/** The tunnel system as a list of mappings from a valve to others*/
 	protected final Map<Valve, List<Valve>> tunnels;
 	
-	/** The distance of each valve to another */
-	protected Map<Valve, Map<Valve, Integer>> D;
-
-	/** The currently best known pressure score */
-	private int g_opt;
+	/** The labels of the valves, by valve index */
+	protected final String[] labels;
+	
+	/** The shortest distance between every pair of valves, by valve index */
+	protected final int[][] D;
+	
+	/** The valve index of every valve with a positive flow rate, by bit */
+	protected final int[] flowvalves;
+	
+	/** The flow rate of the valves with a positive flow rate, by bit */
+	protected final int[] flow;
+	
+	/** The bits of the valves with a positive flow rate, by decreasing flow */
+	protected final int[] flowrank;
+	
+	/** The minimal time between opening two valves with a positive flow rate */
+	protected final int step;
+	
+	/** The distance that marks a valve as unreachable */
+	protected static final int UNREACHABLE = Integer.MAX_VALUE / 4;
+	
+	/** The statistics collector of the search, null if not set */
+	protected SearchStats stats;
+	
+	/** The checkpoint of the pressure search, null to use the configured one */
+	protected Checkpoint checkpoint;
+	
+	/** True to run the pressure search in parallel */
+	protected boolean parallel;
+	
+	/** The number of decision levels that are split into parallel tasks */
+	protected int splitdepth;
+	
+	/** The upper bound on the pressure release that prunes the search */
+	protected PressureBound bound;
+	
+	/** True to discard states that are dominated by another state */
+	protected boolean dominance;
+	
+	/** The memo table that is shared by all pressure searches, created on first use */
+	private TranspositionTable memo;
 	
 	/**
-	 * Creates a new volcano system
+	 * Creates a new volcano system. The valves are indexed in the order in
+	 * which they are given, the valves with a positive flow rate are also
+	 * assigned a bit in the order in which they are given, such that sets of
+	 * them can be represented by a bitmask
 	 * 
 	 * @param valves The valves in the volcano 
 	 * @param tunnels The tunnel system connecting the valves 
 	 */
 	private Volcano( final Map<String, Valve> valves, final Map<Valve, List<Valve>> tunnels ) {
-		this.valves = new HashMap<>( valves );
+		this.valves = new LinkedHashMap<>( valves );
 		this.tunnels = tunnels;
+		
+		// index the valves
+		final int N = valves.size( );
+		final Map<Valve, Integer> index = new HashMap<>( );
+		labels = new String[ N ];
+		int nflow = 0;
+		for( final Valve v : valves.values( ) ) {
+			labels[ index.size( ) ] = v.getLabel( );
+			index.put( v, index.size( ) );
+			if( v.pressureInc > 0 ) nflow++;
+		}
+		if( nflow > 64 ) throw new RuntimeException( "Too many valves with a positive flow rate: " + nflow + " (at most 64)" );
+		
+		flowvalves = new int[ nflow ];
+		flow = new int[ nflow ];
+		nflow = 0;
+		for( final Valve v : valves.values( ) ) {
+			if( v.pressureInc == 0 ) continue;
+			flowvalves[ nflow ] = index.get( v );
+			flow[ nflow++ ] = v.pressureInc;
+		}
+		
+		D = buildAPSP( index, tunnels );
+		
+		// rank the valves by their flow rate and find the least time it takes
+		// to move from one valve to another and open it
+		final Integer[] rank = new Integer[ nflow ];
+		for( int i = 0; i < nflow; i++ ) rank[i] = i;
+		Arrays.sort( rank, (x,y) -> flow[y] - flow[x] );
+		flowrank = new int[ nflow ];
+		int mindist = UNREACHABLE;
+		for( int i = 0; i < nflow; i++ ) {
+			flowrank[i] = rank[i];
+			for( int j = 0; j < nflow; j++ )
+				if( i != j ) mindist = Math.min( mindist, D[ flowvalves[i] ][ flowvalves[j] ] );
+		}
+		step = mindist + 1;
+		
+		parallel = true;
+		splitdepth = 2;
+		bound = PressureBound.SLOTS;
+		dominance = true;
+	}
+	
+	/**
+	 * Sets the statistics collector of the pressure search
+	 * 
+	 * @param stats The statistics collector
+	 */
+	public void setStats( final SearchStats stats ) {
+		this.stats = stats;
+	}
+	
+	/**
+	 * Sets the checkpoint that the pressure search saves its progress to and
+	 * resumes from. If not set, the search is checkpointed only if enabled by
+	 * the checkpoint.dir system property
+	 * 
+	 * @param checkpoint The checkpoint
+	 */
+	public void setCheckpoint( final Checkpoint checkpoint ) {
+		this.checkpoint = checkpoint;
+	}
+	
+	/**
+	 * Enables or disables the parallel pressure search. A parallel search
+	 * splits the first decision levels of the search into tasks that run on
+	 * the pool of the calling thread, or the common pool otherwise. All tasks
+	 * share the best pressure found so far and the memo of explored states.
+	 * 
+	 * The maximal pressure does not depend on the order in which the tasks
+	 * complete, hence the parallel search returns the same pressure as the
+	 * sequential search. Only a search that is stopped before it completes
+	 * may return another (sub-optimal) pressure.
+	 * 
+	 * @param parallel True to search in parallel, false to search sequentially
+	 */
+	public void setParallel( final boolean parallel ) {
+		this.parallel = parallel;
+	}
+	
+	/**
+	 * Sets the number of decision levels of the parallel search of which the
+	 * states are explored as separate tasks
+	 * 
+	 * @param depth The split depth, 1 to split only the moves from the start
+	 */
+	public void setSplitDepth( final int depth ) {
+		if( depth < 0 ) throw new IllegalArgumentException( "Invalid split depth: " + depth );
+		this.splitdepth = depth;
+	}
+	
+	/**
+	 * Sets the upper bound that the pressure search uses to prune states
+	 * 
+	 * @param bound The bound strategy
+	 */
+	public void setBound( final PressureBound bound ) {
+		this.bound = bound;
+	}
+	
+	/**
+	 * Enables or disables the dominance check of the pressure search, which
+	 * discards a state if another state has its players at the same valves
+	 * and the same valves opened, with at least as much pressure and time
+	 * 
+	 * @param dominance True to enable the dominance check
+	 */
+	public void setDominance( final boolean dominance ) {
+		this.dominance = dominance;
 	}
 	
 	/** 
 	 * Retrieves the distance between two valves
 	 * 
-	 * @param v1 The starting valve
-	 * @param v2 The target valve
-	 * @return The distance between the valves (time to travel)
+	 * @param v1 The index of the starting valve
+	 * @param v2 The index of the target valve
+	 * @return The distance between the valves (time to travel), UNREACHABLE
+	 *   if there is no path between them
 	 */
-	protected int getDistance( final Valve v1, final Valve v2 ) {
-		return D.get( v1 ).getOrDefault( v2, -1 );
-	}	
+	protected int getDistance( final int v1, final int v2 ) {
+		return D[v1][v2];
+	}
+	
+	/** @return The number of valves with a positive flow rate */
+	public int getFlowValveCount( ) {
+		return flow.length;
+	}
+	
+	/**
+	 * Retrieves the index of a valve
+	 * 
+	 * @param label The label of the valve
+	 * @return The valve index
+	 * @throws IllegalArgumentException if there is no such valve
+	 */
+	protected int getIndex( final String label ) {
+		for( int i = 0; i < labels.length; i++ )
+			if( labels[i].equals( label ) ) return i;
+		throw new IllegalArgumentException( "Unknown valve: " + label );
+	}
 	
 	/**
 	 * Finds the maximal pressure that can be relieved from the volcano within
@@ -63,153 +235,203 @@ public class Volcano {
 	 * @return The maximal pressure release
 	 */	
 	public int findMaxPressure( final int time, final String... startvalves ) {
+		return findMaxPressure( null, time, startvalves ).getValue( );
+	}
+	
+	/**
+	 * Finds the maximal pressure that can be relieved from the volcano within
+	 * the given time limit in anytime mode, such that the search can be stopped
+	 * by a deadline or cancellation before it completes
+	 * 
+	 * @param control The control of the search, null to run it to completion
+	 * @param time The time limit
+	 * @param startvalves The valves at which players start
+	 * @return The best pressure release found and the upper bound on the
+	 *   maximal pressure release
+	 */
+	public AnytimeResult findMaxPressure( final SearchControl control, final int time, final String... startvalves ) {
 		// create initial state
 		final int N = startvalves.length;
-		final Valve[] startV = new Valve[ N ];
-		for( int i = 0; i < N; i++ ) startV[i] = valves.get( startvalves[i] );
-		final VState initstate = new VState( this, valves.values( ), startV, time );
+		final int[] startV = new int[ N ];
+		for( int i = 0; i < N; i++ ) startV[i] = getIndex( startvalves[i] );
+		final VState initstate = new VState( this, startV, time );
 		
-		// initialise best so far to -1 and create a caching mechanism that can
-		// hold the best values for a (maximum) set of states
-		g_opt = -1;
-		final Cache<VState, Integer> cache = new Cache<VState, Integer>( 1000000, 0.2, PruneStrategy.Oldest );
-		
-		// now run the search!
-		return findMaxPressure( cache, initstate );
+		// run a branch-and-bound search over all future states
+		final ForkJoinPool pool = parallel ? BranchAndBound.currentPool( ) : null;
+		final PressureProblem problem = new PressureProblem( dominance ? new DominanceTable( ) : null );
+		final BranchAndBound<VState> bnb = new BranchAndBound<>( problem, pool );
+		problem.search = bnb;
+		bnb.setSplitDepth( splitdepth );
+		bnb.setStats( stats );
+		bnb.setMemo( getMemo( ) );
+		final long id = getTunnelHash( );
+		bnb.setCheckpoint( checkpoint != null ? checkpoint : Checkpoint.fromProperties( "day16-t" + time + "-p" + N + "-" + Long.toHexString( id ) ), id );
+		return bnb.solve( initstate, control );
 	}
 	
 	/**
-	 * Recursive function that finds the maximum pressure release from the given
-	 * state by considering all potential future states.
+	 * Retrieves the memo table of the pressure searches, such that both parts
+	 * of the puzzle reuse the same bounded table
 	 * 
-	 * @param M The cache
-	 * @param state The state to consider
-	 * @return The maximum pressure release from this state onward
+	 * @return The memo table
 	 */
-	private int findMaxPressure( final Cache<VState, Integer> M, final VState state ) {
-
-		// already visited this state?
-		if( M.contains( state ) ) return M.get( state );
-	
-		// find the maximal pressure achievable from the current state by
-		// considering all future states, in order of their heuristic that
-		// overestimates the maximal pressure release by ignoring actual movement
-		// rules and time costs
-		final List<VState> newstates = new ArrayList<>( state.getNewStates( ) );
-		newstates.sort( (x,y) -> y.getPressureUB( ) - x.getPressureUB( )  );
-
-		// go over all new states and optimise
-		int maxpressure = state.pressure;
-		for( final VState newstate : newstates ) {			
-
-			// check if it makes sense to try this state, or will it never achieve
-			// a pressure level better than we already found?
-			final int UB = newstate.getPressureUB( );
-			if( UB <= g_opt ) continue;
+	private synchronized TranspositionTable getMemo( ) {
+		if( memo == null ) memo = new TranspositionTable( TranspositionTable.getDefaultBudget( ) );
+		return memo;
+	}
+	
+	/**
+	 * Computes the hash of the valves and their tunnels, which identifies the
+	 * volcano in a checkpoint
+	 * 
+	 * @return The 64-bit hash of the volcano
+	 */
+	private long getTunnelHash( ) {
+		long h = Hash64.SEED;
+		for( final Valve v : valves.values( ) ) {
+			long vh = Hash64.combine( v.getLabel( ).hashCode( ), v.pressureInc );
+			for( final Valve t : tunnels.get( v ) ) vh = Hash64.combine( vh, t.getLabel( ).hashCode( ) );
 			
-			// it may be better, compute pressure increase from this state onward
-			final int newpress = findMaxPressure( M, newstate );
+			// combine the valves independent of their order
+			h ^= Hash64.mix( vh );
+		}
+		return h;
+	}
+	
+	/**
+	 * The pressure release maximisation problem for the branch-and-bound search
+	 */
+	private class PressureProblem implements BranchAndBound.Problem<VState> {
+		/** The table of generated states, null to disable the dominance check */
+		private final DominanceTable dominated;
+		
+		/** The search that solves the problem */
+		private BranchAndBound<VState> search;
+		
+		/**
+		 * Creates a new problem instance
+		 * 
+		 * @param dominated The table of generated states, null to disable the
+		 *   dominance check
+		 */
+		protected PressureProblem( final DominanceTable dominated ) {
+			this.dominated = dominated;
+		}
+		
+		/**
+		 * Generates all future states, in order of their heuristic that
+		 * overestimates the maximal pressure release by ignoring actual movement
+		 * rules and time costs. States that can still improve the incumbent are
+		 * discarded if they are dominated by a state that was generated before
+		 * 
+		 * @param state The current state
+		 * @return The new states, best upper bound first
+		 */
+		@Override
+		public List<VState> expand( final VState state ) {
+			final List<VState> newstates = new ArrayList<>( );
+			state.getNewStates( newstates );
+			newstates.sort( (x,y) -> y.getPressureUB( ) - x.getPressureUB( ) );
+			if( dominated == null ) return newstates;
 			
-			// update bounds
-			maxpressure = Math.max( maxpressure, newpress );
+			// only check the states that would not be pruned by their bound, the
+			// others do not need to be recorded
+			final int incumbent = search.getIncumbent( );
+			final List<VState> result = new ArrayList<>( newstates.size( ) );
+			for( final VState s : newstates )
+				if( s.getPressureUB( ) <= incumbent || !s.isDominated( dominated ) ) result.add( s );
+			return result;
 		}
 		
-		// do we have a better global bound?
-		if( maxpressure > g_opt ) g_opt = maxpressure;
+		/** @see challenges.util.search.BranchAndBound.Problem#getValue(Object) */
+		@Override
+		public int getValue( final VState state ) {
+			return state.pressure;
+		}
+		
+		/** @see challenges.util.search.BranchAndBound.Problem#getUpperBound(Object) */
+		@Override
+		public int getUpperBound( final VState state ) {
+			return state.getPressureUB( );
+		}
 		
-		// set the value of the state and return its value
-		M.set( state, maxpressure );
-		return maxpressure;
+		/** @see challenges.util.search.BranchAndBound.Problem#hash(Object) */
+		@Override
+		public long hash( final VState state ) {
+			return state.hash64( );
+		}
+		
+		/** @see challenges.util.search.BranchAndBound.Problem#getDepth(Object) */
+		@Override
+		public int getDepth( final VState state ) {
+			return state.getTimeRemaining( );
+		}
 	}
 	
 	/**
 	 * Reconstructs the volcano system from a list of strings
 	 * 
-	 * @param input The strings describing the valves and tunnels
+	 * @param input The strings describing the valves and tunnels, the input is
+	 *   read in two passes and can be streamed
 	 * @return The volcano
 	 */
-	public static Volcano fromStringList( final List<String> input ) {
-		final Map<String, Valve> V = new HashMap<>( input.size( ) );
+	public static Volcano fromStringList( final Iterable<? extends CharSequence> input ) {
+		final Map<String, Valve> V = new LinkedHashMap<>( );
+		final LineScanner sc = new LineScanner( );
 		
 		// first pass, read valves
-		for( final String s : input ) {
-			final RegexMatcher rm = RegexMatcher.match( "Valve ([A-Z]+) has flow rate=#D", s );
-			final Valve v = new Valve( rm.get( 1 ), rm.getInt( 2 ) );
+		for( final CharSequence s : input ) {
+			final String label = sc.reset( s ).expect( "Valve " ).nextWord( );
+			final Valve v = new Valve( label, sc.expect( " has flow rate=" ).nextInt( ) );
 			V.put( v.getLabel( ), v );
 		}
 		
 		// second pass, read tunnels between valves
 		final Map<Valve, List<Valve>> tunnels = new HashMap<>( );
-		for( final String s : input ) {
-			final RegexMatcher rm = RegexMatcher.match( "Valve ([A-Z]+) has flow rate=\\d+; tunnels? leads? to valves? ([A-Z, ]+)", s );
-			final Valve from = V.get( rm.get( 1 ) );
-			tunnels.put( from, new ArrayList<>( ) );
-			for( final String to : rm.get( 2 ).split( ", " ) )
-				tunnels.get( from ).add( V.get( to ) );
+		for( final CharSequence s : input ) {
+			final Valve from = V.get( sc.reset( s ).expect( "Valve " ).nextWord( ) );
+			final List<Valve> to = new ArrayList<>( );
+			sc.skipPast( " to valve" ).skipAny( "s " );
+			while( !sc.atEnd( ) ) {
+				to.add( V.get( sc.nextWord( ) ) );
+				sc.skipAny( ", " );
+			}
+			tunnels.put( from, to );
 		}
 		
 		// done, return the valve map
-		final Volcano v = new Volcano( V, tunnels );
-		v.buildAPSP( V.values( ), tunnels );
-		return v;
+		return new Volcano( V, tunnels );
 	}
 	
 	/**
 	 * Builds the all-pair shortest-path matrix between all the valves in the
-	 * volcano
+	 * volcano using the Floyd-Warshall algorithm
 	 * 
-	 * @param V The valves
+	 * @param index The index of every valve
 	 * @param T The set of tunnels connecting the valves
+	 * @return The matrix of distances between the valves, by valve index
 	 */
-	private void buildAPSP( final Collection<Valve> V, final Map<Valve, List<Valve>> T ) {
-		D = new HashMap<>( );
-		for( final Valve from : V )
-			D.put( from, getDistancesFrom( V, T, from ) );
-	}
-
-	/**
-	 * Computes the shortest distance from the given valve to all others
-	 * 
-	 * @param V The set of valves
-	 * @param T The set of tunnels
-	 * @param from The starting valve
-	 * @return The mapping of <valve, distance> to each other valve
-	 */
-	private Map<Valve, Integer> getDistancesFrom( final Collection<Valve> V, final Map<Valve, List<Valve>> T, final Valve from ) {
-		// create empty distance map and set of valves remaining
-		final Map<Valve, Integer> dist = new HashMap<>( );
-		final Set<Valve> remaining = new HashSet<>( );
-		for( final Valve v : V ) remaining.add( v );
-		remaining.remove( from );
-		
-		// create stack to explore next
-		final Stack<Valve> E = new Stack<>( );
-		E.add( from );
-		int d = 0;
-
-		// continue until we've exhausted our stack
-		while( !E.isEmpty( ) ) {
-			final Stack<Valve> nextE = new Stack<>( );
-			
-			// explore all valves at the current distance
-			while( !E.isEmpty( ) ) {
-				// set distance
-				final Valve curr = E.pop( );
-				dist.put( curr, d );
-
-				// traverse to one of the unvisited neighbours
-				for( final Valve n : T.get( curr ) ) {
-					if( dist.containsKey( n ) ) continue;
-					
-					nextE.push( n );					
-				}
-			}
-			
-			// increase distance and all all valves to consider in the next round
-			d++;
-			E.addAll( nextE );
+	private static int[][] buildAPSP( final Map<Valve, Integer> index, final Map<Valve, List<Valve>> T ) {
+		final int N = index.size( );
+		final int[][] dist = new int[ N ][ N ];
+		for( int i = 0; i < N; i++ ) {
+			Arrays.fill( dist[i], UNREACHABLE );
+			dist[i][i] = 0;
 		}
+		for( final Valve from : T.keySet( ) )
+			for( final Valve to : T.get( from ) ) dist[ index.get( from ) ][ index.get( to ) ] = 1;
 		
+		// relax all paths through every intermediate valve k
+		for( int k = 0; k < N; k++ ) {
+			final int[] dk = dist[k];
+			for( int i = 0; i < N; i++ ) {
+				final int[] di = dist[i];
+				final int dik = di[k];
+				if( dik == UNREACHABLE ) continue;
+				for( int j = 0; j < N; j++ )
+					if( dik + dk[j] < di[j] ) di[j] = dik + dk[j];
+			}
+		}
 		return dist;
 	}
 }
@@ -1,11 +1,14 @@
 package challenges.day17;
 
+import java.io.IOException;
+import java.net.URL;
 import java.util.List;
 
 import aocutil.io.FileReader;
 import challenges.day17.tetris.Tetris;
+import challenges.runner.DaySolver;
 
-public class Day17 {
+public class Day17 implements DaySolver {
 
 	/**
 	 * Day 17 of the Advent of Code 2022
@@ -29,6 +32,32 @@ public class Day17 {
 		System.out.println( "Answer : " + tetris( shapes, input, 1000000000000l ) );
 	}
 	
+	/**
+	 * Reads the rock shapes, followed by the jet pattern as last line
+	 * 
+	 * @param resource The input resource
+	 * @return The shapes and the jet pattern
+	 * @throws IOException if the input could not be read
+	 */
+	@Override
+	public List<String> readInput( final URL resource ) throws IOException {
+		final List<String> input = new FileReader( Day17.class.getResource( "shapes.txt" ) ).readLineGroups( ";" );
+		input.add( new FileReader( resource ).readLines( ).get( 0 ) );
+		return input;
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return tetris( input.subList( 0, input.size( ) - 1 ), input.get( input.size( ) - 1 ), 2022 );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return tetris( input.subList( 0, input.size( ) - 1 ), input.get( input.size( ) - 1 ), 1000000000000l );
+	}
+	
 	/**
 	 * Runs the tetris game for the given rounds and determines the height of the
 	 * resulting shape stack. Each round means dropping a tetris shape until it
@@ -0,0 +1,32 @@
+package challenges.day17;
+
+import java.util.List;
+
+import aocutil.io.FileReader;
+import challenges.bench.Benchmark;
+import challenges.day17.tetris.Tetris;
+
+/**
+ * Benchmark of the day 17 solvers
+ * 
+ * @author Joris
+ */
+public class Day17Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day17Bench( ) {
+		super( Day17.class );
+	}
+
+	/** 
+	 * @param input The jet pattern
+	 * @throws Exception if the shapes could not be read
+	 */
+	@Override
+	protected void setup( final List<String> input ) throws Exception {
+		final List<String> shapes = new FileReader( Day17.class.getResource( "shapes.txt" ) ).readLineGroups( ";" );
+		final String jets = input.get( 0 );
+		bench( "part1", ( ) -> Tetris.fromShapeList( shapes ).run( jets, 2022 ) );
+		bench( "part2", ( ) -> Tetris.fromShapeList( shapes ).run( jets, 1000000000000l ) );
+	}
+}
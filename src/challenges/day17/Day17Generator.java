@@ -0,0 +1,24 @@
+package challenges.day17;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates jet patterns of 10091 jets per unit of scale
+ * 
+ * @author Joris
+ */
+public class Day17Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final StringBuilder sb = new StringBuilder( 10091 * scale );
+		for( int i = 0; i < 10091 * scale; i++ ) sb.append( rnd.nextBoolean( ) ? '<' : '>' );
+		final List<String> input = new ArrayList<>( 1 );
+		input.add( sb.toString( ) );
+		return input;
+	}
+}
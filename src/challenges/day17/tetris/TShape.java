@@ -15,6 +15,12 @@ public class TShape {
 	/** The coordinates in this shape (relative to top left) */
 	protected final Set<Coord2D> shape;
 	
+	/** The x coordinates of the pixels, in the same order as ys */
+	protected final int[] xs;
+	
+	/** The y coordinates of the pixels, in the same order as xs */
+	protected final int[] ys;
+	
 	/** The width it spans */
 	protected final int width;
 	
@@ -30,6 +36,11 @@ public class TShape {
 		this.shape = new HashSet<>( shape );
 		this.width = shape.stream( ).mapToInt( c -> c.x ).max( ).orElse( 0 ) + 1;
 		this.height = shape.stream( ).mapToInt( c -> c.y ).max( ).orElse( 0 ) + 1;
+		
+		this.xs = new int[ shape.size( ) ];
+		this.ys = new int[ shape.size( ) ];
+		int i = 0;
+		for( final Coord2D c : this.shape ) { xs[i] = c.x; ys[i] = c.y; i++; }
 	}
 
 	/**
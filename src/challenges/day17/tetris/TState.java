@@ -1,6 +1,6 @@
 package challenges.day17.tetris;
 
-import aocutil.grid.CoordGrid;
+import challenges.util.grid.BitGrid;
 
 /**
  * A state of the tetris game
@@ -28,13 +28,14 @@ public class TState {
 	 * @param shape The index of the shape we are dropping
 	 * @param move The index of the move we are performing
 	 */
-	public TState( final CoordGrid<Boolean> game, final int rows, final int currheight, final int shape, final int move ) {
+	public TState( final BitGrid game, final int rows, final int currheight, final int shape, final int move ) {
 		final int COLS = Tetris.WIDTH;
 		
 		// build string of the last X rows
 		final char[] l = new char[ COLS * rows ];
-		game.getKeys( ).stream( ).filter( c -> c.y < -(currheight - rows) )
-			.forEach( c -> l[ c.x + (c.y + currheight) * COLS] = '#' );
+		for( int y = -currheight; y < -(currheight - rows); y++ )
+			for( int x = 0; x < COLS; x++ )
+				if( game.get( x, y ) ) l[ x + (y + currheight) * COLS ] = '#';
 		this.line = String.valueOf( l );
 		
 		// store indexes and build a state string for comparison
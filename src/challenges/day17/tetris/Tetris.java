@@ -8,6 +8,7 @@ import java.util.Map;
 import aocutil.geometry.Coord2D;
 import aocutil.geometry.Direction;
 import aocutil.grid.CoordGrid;
+import challenges.util.grid.BitGrid;
 
 /**
  * Simulates a game of tetris
@@ -18,8 +19,14 @@ public class Tetris {
 	/** The shapes in the tetris game */
 	protected final List<TShape> shapes;
 	
-	/** The grid that contains the state of the current game */
-	protected final CoordGrid<Boolean> game;
+	/**
+	 * The grid that contains the state of the current game, the stack grows
+	 * upwards from y = -1 towards negative y coordinates
+	 */
+	protected final BitGrid game;
+	
+	/** The current height of the stack */
+	protected int height;
 	
 	/** The width of the game window */
 	protected static final int WIDTH = 7;
@@ -31,7 +38,8 @@ public class Tetris {
 	 */
 	private Tetris( final List<TShape> shapes ) {
 		this.shapes = new ArrayList<>( shapes );
-		this.game = new CoordGrid<Boolean>( false );
+		this.game = new BitGrid( );
+		this.height = 0;
 	}
 	
 	/**
@@ -59,6 +67,11 @@ public class Tetris {
 		final Map<TState, TValue> H = new HashMap<>( );
 		final int ROWS = 20;
 		
+		// translate the moves into horizontal steps
+		final int[] jets = new int[ moves.length( ) ];
+		for( int i = 0; i < jets.length; i++ )
+			jets[i] = new Coord2D( 0, 0 ).move( Direction.fromSymbol( moves.charAt( i ) ), 1 ).x;
+		
 		// simulate the rocks falling while processing the input moves
 		int currshape = -1;
 		int currmove = -1;
@@ -66,7 +79,8 @@ public class Tetris {
 			/// initialise the next shape to drop
 			currshape = (currshape + 1) % shapes.size( );
 			final TShape s = shapes.get( currshape );
-			Coord2D p = new Coord2D( 2, -getHeight( ) - (3 + s.height) );
+			int px = 2;
+			int py = -getHeight( ) - (3 + s.height);
 			
 			// build the game state and check if we've seen it before
 			final TState currstate = new TState( game, ROWS, getHeight( ), currshape, currmove );
@@ -91,14 +105,14 @@ public class Tetris {
 			while( falling ) {
 				// next move to process
 				currmove = (currmove + 1) % moves.length( );
-				final Direction m = Direction.fromSymbol( moves.charAt( currmove ) );
+				final int dx = jets[ currmove ];
 				
 				// first try to move it sideways
-				if( canMove( s, p, m ) ) p = p.move( m, 1 );
+				if( canMove( s, px + dx, py ) ) px += dx;
 				
 				// then check if it can move downwards
-				if( canMove( s, p, Direction.South ) ) {
-					p = p.move( Direction.South, 1 );
+				if( canMove( s, px, py + 1 ) ) {
+					py++;
 				} else {
 					// no longer possible, next block
 					falling = false;
@@ -106,7 +120,7 @@ public class Tetris {
 			}
 			
 			// the shape can no longer move, fix it to the grid
-			fixate( s, p );
+			fixate( s, px, py );
 		}
 
 		// game ended without recurring pattern, return resulting height
@@ -114,24 +128,22 @@ public class Tetris {
 	}
 	
 	/**
-	 * Check if the given shape can move in the specified direction
+	 * Check if the given shape can be moved to the specified position
 	 * 
 	 * @param shape The shape we are dropping
-	 * @param pos Its current position
-	 * @param dir The direction in which to move it
-	 * @return True iff the rock can still move, false if it is blocked
+	 * @param tx The x coordinate of the target position
+	 * @param ty The y coordinate of the target position
+	 * @return True iff the rock can move there, false if it is blocked
 	 */
-	protected boolean canMove( final TShape shape, final Coord2D pos, final Direction dir ) {
-		final Coord2D tpos = pos.move( dir, 1 );
-		
+	protected boolean canMove( final TShape shape, final int tx, final int ty ) {
 		// check boundaries to rough outline
-		if( tpos.x < 0 ) return false;
-		if( tpos.x + shape.width > WIDTH ) return false;
-		if( tpos.y + shape.height > 0 ) return false;
+		if( tx < 0 ) return false;
+		if( tx + shape.width > WIDTH ) return false;
+		if( ty + shape.height > 0 ) return false;
 		
 		// check all shape coordinates
-		for( final Coord2D c : shape.shape )
-			if( game.get( tpos.move( c ) ) ) return false;
+		for( int i = 0; i < shape.xs.length; i++ )
+			if( game.get( tx + shape.xs[i], ty + shape.ys[i] ) ) return false;
 		
 		return true;
 	}
@@ -140,16 +152,18 @@ public class Tetris {
 	 * Ends the falling by including the rock in the game state
 	 * 
 	 * @param shape The shape of the rock
-	 * @param pos The position to fixate it at
+	 * @param x The x coordinate to fixate it at
+	 * @param y The y coordinate to fixate it at
 	 */
-	protected void fixate( final TShape shape, final Coord2D pos ) {
-		for( final Coord2D c : shape.shape )
-			game.set( c.move( pos ), true );
+	protected void fixate( final TShape shape, final int x, final int y ) {
+		for( int i = 0; i < shape.xs.length; i++ )
+			game.set( x + shape.xs[i], y + shape.ys[i], true );
+		height = Math.max( height, -y );
 	}
 	
 	/** @return The total height of the stack of rocks in the game */
 	public int getHeight( ) {
-		return game.getKeys( ).size( ) == 0 ? 0 : -game.window( ).getMinY( );
+		return height;
 	}
 	
 	/** @return The visual description of the current game state */
@@ -162,7 +176,9 @@ public class Tetris {
 			G.set( WIDTH, -y, '|' );
 		}
 		
-		for( final Coord2D c : game.getKeys( ) ) G.set( c, '#' );
+		for( int y = -height; y < 0; y++ )
+			for( int x = 0; x < WIDTH; x++ )
+				if( game.get( x, y ) ) G.set( x, y, '#' );
 		return G.toString( );
 	}
 	
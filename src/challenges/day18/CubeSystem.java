@@ -1,12 +1,12 @@
 package challenges.day18;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.Stack;
+import java.util.PrimitiveIterator;
 
 import aocutil.geometry.Coord3D;
+import challenges.util.collection.LongHashSet;
+import challenges.util.coord.PackedCoord3D;
+import challenges.util.string.LineScanner;
 
 /**
  * Cube system that 
@@ -14,8 +14,8 @@ import aocutil.geometry.Coord3D;
  * @author Joris
  */
 public class CubeSystem {
-	/** The actual particle cubes */
-	protected final Set<Coord3D> cubes;
+	/** The actual particle cubes, as packed coordinates */
+	protected final LongHashSet cubes;
 	
 	/** The min coordinates of each axis */
 	protected final Coord3D min;
@@ -23,23 +23,31 @@ public class CubeSystem {
 	/** The max coordinates of each axis */
 	protected final Coord3D max;
 	
+	/** The offsets of the 6 neighbouring coordinates */
+	private static final int[][] NEIGHBOURS = {
+		{ -1, 0, 0 }, { 1, 0, 0 }, { 0, -1, 0 }, { 0, 1, 0 }, { 0, 0, -1 }, { 0, 0, 1 }
+	};
+	
 	/**
 	 * Creates a new cube system of the given set of cubes
 	 * 
-	 * @param cubes The set of cubes in the system
+	 * @param cubes The set of packed cube coordinates in the system
 	 */
-	private CubeSystem( final Set<Coord3D> cubes ) {
-		this.cubes = new HashSet<>( cubes );
+	private CubeSystem( final LongHashSet cubes ) {
+		this.cubes = cubes;
 		
 		// determine min and max coordinates for every axis
 		final int N = 3;
 		int[] minC = new int[ N ]; int[] maxC = new int[ N ];
 		Arrays.fill( minC, Integer.MAX_VALUE );
 		Arrays.fill( maxC, Integer.MIN_VALUE );
-		for( final Coord3D c : cubes ) {
+		final PrimitiveIterator.OfLong it = cubes.iterator( );
+		while( it.hasNext( ) ) {
+			final long c = it.nextLong( );
+			final int[] values = { PackedCoord3D.x( c ), PackedCoord3D.y( c ), PackedCoord3D.z( c ) };
 			for( int i = 0; i < N; i++ ) {
-				minC[i] = Math.min( minC[i], c.values[i] );
-				maxC[i] = Math.max( maxC[i], c.values[i] );
+				minC[i] = Math.min( minC[i], values[i] );
+				maxC[i] = Math.max( maxC[i], values[i] );
 			}
 		}
 		
@@ -51,12 +59,19 @@ public class CubeSystem {
 	/**
 	 * Reconstructs the cube system from a list of cube strings
 	 * 
-	 * @param input The list of cubes, one per line
+	 * @param input The list of cubes, one per line, can be streamed
 	 * @return The cube system
 	 */
-	public static CubeSystem fromStringList( final List<String> input ) {
-		final Set<Coord3D> C = new HashSet<>( input.size( ) );
-		input.stream( ).map( Coord3D::fromString ).forEach( C::add );
+	public static CubeSystem fromStringList( final Iterable<? extends CharSequence> input ) {
+		final LongHashSet C = new LongHashSet( );
+		final LineScanner sc = new LineScanner( );
+		for( final CharSequence s : input ) {
+			// read the coordinates directly from the line, without copying it
+			final int x = sc.reset( s ).nextInt( );
+			final int y = sc.expect( "," ).nextInt( );
+			final int z = sc.expect( "," ).nextInt( );
+			C.add( PackedCoord3D.pack( x, y, z ) );
+		}
 		return new CubeSystem( C );
 	}
 	
@@ -68,8 +83,12 @@ public class CubeSystem {
 	 */
 	public long getSurfaceArea( ) {
 		long count = 0;
-		for( final Coord3D c : cubes ) {
-			count += 6 - cubes.stream( ).mapToInt( cb -> c.getManhattanDist( cb ) ).filter( i -> i == 1 ).sum( );
+		final PrimitiveIterator.OfLong it = cubes.iterator( );
+		while( it.hasNext( ) ) {
+			final long c = it.nextLong( );
+			final int x = PackedCoord3D.x( c ), y = PackedCoord3D.y( c ), z = PackedCoord3D.z( c );
+			for( final int[] d : NEIGHBOURS )
+				if( !cubes.contains( PackedCoord3D.pack( x + d[0], y + d[1], z + d[2] ) ) ) count++;
 		}
 		return count;
 	}
@@ -87,63 +106,44 @@ public class CubeSystem {
 		// the while counting surfaces we encounter
 		long count = 0;
 		
-		// create stack of next coordinates to explore, and keep track of visited
-		// coordinates
-		final Set<Coord3D> visited = new HashSet<>( cubes.size( ) );
-		final Stack<Coord3D> E = new Stack<>( );
-		E.add( min.move( -1, -1, -1 ) );
+		// create queue of next coordinates to explore, and keep track of visited
+		// coordinates. Every coordinate of the box around the system is queued
+		// at most once
+		final int volume = (max.x - min.x + 3) * (max.y - min.y + 3) * (max.z - min.z + 3);
+		final LongHashSet visited = new LongHashSet( volume );
+		final long[] E = new long[ volume ];
+		int head = 0; int tail = 0;
+		E[tail++] = PackedCoord3D.pack( min.x - 1, min.y - 1, min.z - 1 );
+		visited.add( E[0] );
 		
 		// go over remaining positions
-		while( !E.isEmpty( ) ) {
-			final Set<Coord3D> nextE = new HashSet<>( );
-			
-			while( !E.isEmpty( ) ) {
-				final Coord3D curr = E.pop( );
-				visited.add( curr );
+		while( head < tail ) {
+			final long curr = E[head++];
+			final int x = PackedCoord3D.x( curr ), y = PackedCoord3D.y( curr ), z = PackedCoord3D.z( curr );
+				
+			// get neighbours to explore next
+			for( final int[] d : NEIGHBOURS ) {
+				final int nx = x + d[0], ny = y + d[1], nz = z + d[2];
 				
-				// get neighbours to explore next
-				for( final Coord3D n : getNeighbours( curr ) ) {
-					if( visited.contains( n ) ) continue;
-					
-					// keep search within range of particle system
-					if( n.x < min.x - 1 || n.y < min.y - 1 || n.z < min.z - 1 ) continue;
-					if( n.x > max.x + 1 || n.y > max.y + 1 || n.z > max.z + 1 ) continue;
-					
-					// is this a cube in the particle system? if so, count one surface
-					if( cubes.contains( n ) ) {
-						count++;
-						continue;
-					}
-					
-					// add neighbour to list of nodes
-					nextE.add( n );
+				// keep search within range of particle system
+				if( nx < min.x - 1 || ny < min.y - 1 || nz < min.z - 1 ) continue;
+				if( nx > max.x + 1 || ny > max.y + 1 || nz > max.z + 1 ) continue;
+				
+				// is this a cube in the particle system? if so, count one surface
+				final long n = PackedCoord3D.pack( nx, ny, nz );
+				if( cubes.contains( n ) ) {
+					count++;
+					continue;
 				}
+				
+				// add neighbour to list of nodes
+				if( visited.add( n ) ) E[tail++] = n;
 			}
-			
-			// add all coordinates to explore in the next run
-			E.addAll( nextE );
 		}
 		
 		return count;
 	}
 	
-	/**
-	 * Constructs the set of neighbouring coordinates
-	 * 
-	 * @param coord The coordinate to generate neighbours for
-	 * @return The set of 6 neighbouring coordinates
-	 */
-	private Set<Coord3D> getNeighbours( final Coord3D coord ) {
-		final Set<Coord3D> N = new HashSet<>( 6 );
-		N.add( coord.move( -1,  0,  0 ) );
-		N.add( coord.move(  1,  0,  0 ) );
-		N.add( coord.move(  0, -1,  0 ) );
-		N.add( coord.move(  0,  1,  0 ) );
-		N.add( coord.move(  0,  0, -1 ) );
-		N.add( coord.move(  0,  0,  1 ) );
-		return N;
-	}
-
 	/** @return The string that describes the cube system */
 	@Override
 	public String toString( ) {
@@ -3,8 +3,9 @@ package challenges.day18;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.ContextSolver;
 
-public class Day18 {
+public class Day18 implements ContextSolver<CubeSystem> {
 
 	/**
 	 * Day 18 of the Advent of Code 2022
@@ -17,25 +18,49 @@ public class Day18 {
 	public static void main( final String[] args ) throws Exception {
 		final List<String> ex_input = new FileReader( Day18.class.getResource( "example.txt" ) ).readLines( );
 		final List<String> input = new FileReader( Day18.class.getResource( "input.txt" ) ).readLines( );
+		final CubeSystem ex_C = new Day18( ).parse( ex_input );
+		final CubeSystem C = new Day18( ).parse( input );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) );
-		System.out.println( "Answer : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_C ) );
+		System.out.println( "Answer : " + part1( C ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input ) );
-		System.out.println( "Answer : " + part2( input ) );
+		System.out.println( "Example: " + part2( ex_C ) );
+		System.out.println( "Answer : " + part2( C ) );
+	}
+	
+	/**
+	 * Reads the cubes of the cube system
+	 * 
+	 * @param input The puzzle input
+	 * @return The cube system
+	 */
+	@Override
+	public CubeSystem parse( final List<String> input ) {
+		return CubeSystem.fromStringList( input );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart1(Object) */
+	@Override
+	public Object solvePart1( final CubeSystem C ) {
+		return part1( C );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart2(Object) */
+	@Override
+	public Object solvePart2( final CubeSystem C ) {
+		return part2( C );
 	}
 	
 	/**
 	 * Computes the number of exposed surfaces by checking the cubes in the
 	 * system and counting their (lack of) neighbours
 	 * 
-	 * @param input The cube system
+	 * @param C The cube system
 	 * @return The total exposed surface count
 	 */
-	protected static long part1( final List<String> input ) {
-		final CubeSystem C = CubeSystem.fromStringList( input );
+	protected static long part1( final CubeSystem C ) {
 		return C.getSurfaceArea( );
 	}
 	
@@ -44,11 +69,10 @@ public class Day18 {
 	 * Computes the number of surfaces that are exposed to the outside, thus not
 	 * including the surfaces that are enclosed by the cube system
 	 * 
-	 * @param input The cube system
+	 * @param C The cube system
 	 * @return The number of externally exposed surfaces
 	 */
-	protected static long part2( final List<String> input ) {
-		final CubeSystem C = CubeSystem.fromStringList( input );
+	protected static long part2( final CubeSystem C ) {
 		return C.getExternalSurfaceArea( );
 	}
 }
\ No newline at end of file
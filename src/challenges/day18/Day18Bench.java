@@ -0,0 +1,27 @@
+package challenges.day18;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 18 solvers
+ * 
+ * @author Joris
+ */
+public class Day18Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day18Bench( ) {
+		super( Day18.class );
+	}
+
+	/** @param input The cube coordinates */
+	@Override
+	protected void setup( final List<String> input ) {
+		final CubeSystem cubes = CubeSystem.fromStringList( input );
+		bench( "parse", ( ) -> CubeSystem.fromStringList( input ) );
+		bench( "part1", ( ) -> cubes.getSurfaceArea( ) );
+		bench( "part2", ( ) -> cubes.getExternalSurfaceArea( ) );
+	}
+}
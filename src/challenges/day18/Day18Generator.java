@@ -0,0 +1,33 @@
+package challenges.day18;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates lava droplets of roughly 2000 cubes per unit of scale. The
+ * droplet is a ball of which about half of the cubes is lava, such that it
+ * contains air pockets.
+ * 
+ * @author Joris
+ */
+public class Day18Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final double R = 10 * Math.cbrt( scale );
+		final int E = (int)Math.ceil( 2 * R );
+		final List<String> input = new ArrayList<>( );
+		for( int x = 0; x <= E; x++ )
+			for( int y = 0; y <= E; y++ )
+				for( int z = 0; z <= E; z++ ) {
+					final double d = Math.sqrt( (x - R) * (x - R) + (y - R) * (y - R) + (z - R) * (z - R) );
+					if( d <= R && rnd.nextInt( 100 ) < 55 ) input.add( x + "," + y + "," + z );
+				}
+		Collections.shuffle( input, rnd );
+		return input;
+	}
+}
@@ -4,8 +4,9 @@ import java.util.List;
 
 import aocutil.io.FileReader;
 import challenges.day19.robotfact.RobotFactory;
+import challenges.runner.ContextSolver;
 
-public class Day19 {
+public class Day19 implements ContextSolver<RobotFactory> {
 
 	/**
 	 * Day 19 of the Advent of Code 2022
@@ -18,14 +19,43 @@ public class Day19 {
 	public static void main( final String[] args ) throws Exception {
 		final List<String> ex_input = new FileReader( Day19.class.getResource( "example.txt" ) ).readLines( );
 		final List<String> input = new FileReader( Day19.class.getResource( "input.txt" ) ).readLines( );
+		final RobotFactory ex_rf = new Day19( ).parse( ex_input );
+		final RobotFactory rf = new Day19( ).parse( input );
+		
+		// print the geode count and evaluation time of every blueprint
+		ex_rf.setReporter( System.out::println );
+		rf.setReporter( System.out::println );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) + "\n" );
-		System.out.println( "Answer : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_rf ) + "\n" );
+		System.out.println( "Answer : " + part1( rf ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input ) + "\n" );
-		System.out.println( "Answer : " + part2( input ) );
+		System.out.println( "Example: " + part2( ex_rf ) + "\n" );
+		System.out.println( "Answer : " + part2( rf ) );
+	}
+	
+	/**
+	 * Reads the blueprints of the robot factory
+	 * 
+	 * @param input The puzzle input
+	 * @return The robot factory with its blueprints
+	 */
+	@Override
+	public RobotFactory parse( final List<String> input ) {
+		return RobotFactory.fromStringList( input );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart1(Object) */
+	@Override
+	public Object solvePart1( final RobotFactory rf ) {
+		return part1( rf );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart2(Object) */
+	@Override
+	public Object solvePart2( final RobotFactory rf ) {
+		return part2( rf );
 	}
 	
 	/**
@@ -33,11 +63,10 @@ public class Day19 {
 	 * number of geodes we can produce for every blueprint and combining them
 	 * into a quality level
 	 * 
-	 * @param input The list of blueprints, one per line
+	 * @param rf The robot factory with its blueprints
 	 * @return The quality score after 24 steps of geode collection
 	 */
-	protected static long part1( final List<String> input ) {
-		final RobotFactory rf = RobotFactory.fromStringList( input );
+	protected static long part1( final RobotFactory rf ) {
 		return rf.getBlueprintQaulityScore( 24 );
 	}
 	
@@ -46,12 +75,11 @@ public class Day19 {
 	 * Determines the product of quality scores of the first 3 blueprints in the
 	 * list (or less if there are not sufficient blueprints)
 	 * 
-	 * @param input The list of blueprints, one per line
+	 * @param rf The robot factory with its blueprints
 	 * @return The product of geode counts that the first 3 blueprints achieve
 	 *   within 32 minutes
 	 */
-	protected static long part2( final List<String> input ) {
-		final RobotFactory rf = RobotFactory.fromStringList( input );
+	protected static long part2( final RobotFactory rf ) {
 		return rf.getMaxGeodeProduct( 32 );
 	}
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package challenges.day19;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+import challenges.day19.robotfact.RobotFactory;
+
+/**
+ * Benchmark of the day 19 solvers
+ * 
+ * @author Joris
+ */
+public class Day19Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day19Bench( ) {
+		super( Day19.class );
+	}
+
+	/** @param input The blueprints */
+	@Override
+	protected void setup( final List<String> input ) {
+		final RobotFactory factory = RobotFactory.fromStringList( input );
+		bench( "part1", ( ) -> factory.getBlueprintQaulityScore( 24 ) );
+		bench( "part2", ( ) -> factory.getMaxGeodeProduct( 32 ) );
+		
+		// compare the parallel evaluation of blueprints against the sequential one
+		final RobotFactory sequential = RobotFactory.fromStringList( input );
+		sequential.setParallel( false );
+		bench( "part1 sequential", ( ) -> sequential.getBlueprintQaulityScore( 24 ) );
+		bench( "part2 sequential", ( ) -> sequential.getMaxGeodeProduct( 32 ) );
+		
+		// compare the time-skipping transitions against minute-by-minute ones
+		final RobotFactory minutes = RobotFactory.fromStringList( input );
+		minutes.setTimeSkipping( false );
+		bench( "part1 minutes", ( ) -> minutes.getBlueprintQaulityScore( 24 ) );
+		bench( "part2 minutes", ( ) -> minutes.getMaxGeodeProduct( 32 ) );
+		
+		// compare the depth-first search without memo table
+		final RobotFactory depthfirst = RobotFactory.fromStringList( input );
+		depthfirst.setMemoisation( false );
+		bench( "part1 depth-first", ( ) -> depthfirst.getBlueprintQaulityScore( 24 ) );
+		bench( "part2 depth-first", ( ) -> depthfirst.getMaxGeodeProduct( 32 ) );
+	}
+}
@@ -0,0 +1,25 @@
+package challenges.day19;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates robot factory blueprints, 30 blueprints per unit of scale
+ * 
+ * @author Joris
+ */
+public class Day19Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final List<String> input = new ArrayList<>( 30 * scale );
+		for( int b = 1; b <= 30 * scale; b++ )
+			input.add( "Blueprint " + b + ": Each ore robot costs " + range( rnd, 2, 4 ) + " ore. Each clay robot costs " + range( rnd, 2, 4 ) + " ore. "
+					+ "Each obsidian robot costs " + range( rnd, 2, 4 ) + " ore and " + range( rnd, 5, 20 ) + " clay. "
+					+ "Each geode robot costs " + range( rnd, 2, 4 ) + " ore and " + range( rnd, 7, 20 ) + " obsidian." );
+		return input;
+	}
+}
@@ -3,6 +3,8 @@ package challenges.day19.robotfact;
 import java.util.ArrayList;
 import java.util.List;
 
+import challenges.util.string.LineScanner;
+
 /**
  * Blueprint that holds the costs of robots that can be produced in order to
  * collect and process minerals
@@ -16,6 +18,9 @@ public class Blueprint {
 	/** The list of robots it can produce */
 	protected final List<Robot> robots;
 	
+	/** The compiled cost matrix, created on first use */
+	private volatile CompiledBlueprint compiled;
+	
 	/**
 	 * Creates a new blueprint
 	 * 
@@ -44,6 +49,16 @@ public class Blueprint {
 		return null;
 	}
 	
+	/**
+	 * Compiles the blueprint into its cost matrix, once
+	 * 
+	 * @return The compiled blueprint
+	 */
+	public CompiledBlueprint compile( ) {
+		if( compiled == null ) compiled = new CompiledBlueprint( this );
+		return compiled;
+	}
+	
 	/**
 	 * Recreates a blueprint from a string description
 	 * 	
@@ -53,15 +68,14 @@ public class Blueprint {
 	 */
 	public static Blueprint fromString( final String input ) {
 		// parse ID
-		final String[] s = input.split(  ": " );
-		final int ID = Integer.parseInt( s[0].split( " " )[1] );
+		final LineScanner sc = new LineScanner( input );
+		final int ID = sc.expect( "Blueprint " ).nextInt( );
+		sc.expect( ":" );
 		
 		// parse robot rules
 		final List<Robot> R = new ArrayList<>( ); 
-		for( final String b : s[1].split( "\\." ) ) {
-			if( b.length( ) == 0 ) continue;
-			R.add( Robot.fromString( b.trim( ) ) );
-		}
+		while( !sc.skipAny( " " ).atEnd( ) )
+			R.add( Robot.parse( sc ) );
 		
 		return new Blueprint( ID, R );
 	}
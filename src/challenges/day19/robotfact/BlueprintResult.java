@@ -0,0 +1,52 @@
+package challenges.day19.robotfact;
+
+/**
+ * The evaluation result of a single blueprint: the maximal number of geodes
+ * it can produce and the time it took to find it
+ * 
+ * @author Joris
+ */
+public class BlueprintResult {
+	/** The ID of the blueprint */
+	protected final int ID;
+	
+	/** The maximal number of geodes */
+	protected final int geodes;
+	
+	/** The time it took to evaluate the blueprint, in nanoseconds */
+	protected final long nanos;
+	
+	/**
+	 * Creates a new result
+	 * 
+	 * @param ID The ID of the blueprint
+	 * @param geodes The maximal number of geodes
+	 * @param nanos The evaluation time in nanoseconds
+	 */
+	protected BlueprintResult( final int ID, final int geodes, final long nanos ) {
+		this.ID = ID;
+		this.geodes = geodes;
+		this.nanos = nanos;
+	}
+	
+	/** @return The ID of the blueprint */
+	public int getID( ) {
+		return ID;
+	}
+	
+	/** @return The maximal number of geodes the blueprint can produce */
+	public int getGeodes( ) {
+		return geodes;
+	}
+	
+	/** @return The evaluation time in nanoseconds */
+	public long getNanos( ) {
+		return nanos;
+	}
+	
+	/** @return The description of the result */
+	@Override
+	public String toString( ) {
+		return String.format( "Blueprint %d: %d geode(s) in %.1f ms", ID, geodes, nanos / 1e6 );
+	}
+}
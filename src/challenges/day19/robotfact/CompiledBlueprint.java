@@ -0,0 +1,87 @@
+package challenges.day19.robotfact;
+
+/**
+ * Compiled form of a {@link Blueprint} in which the costs of the robots are
+ * a fixed matrix of robot type by material, indexed by material ordinal.
+ * Costs of materials that a robot does not require are zero, such that the
+ * searches can read the cost of every robot and material without map
+ * lookups.
+ * 
+ * The compiled blueprint also holds the maximal consumption of every
+ * material per minute. Only one robot is built per minute, hence more robots
+ * of a material than its maximal consumption are never useful.
+ * 
+ * @author Joris
+ */
+public class CompiledBlueprint {
+	/** The number of materials */
+	public static final int M = Material.values( ).length;
+	
+	/** The ID of the blueprint */
+	protected final int ID;
+	
+	/** The cost of every robot type per material */
+	private final int[][] cost;
+	
+	/** The maximal number of useful robots per material */
+	private final int[] caps;
+	
+	/**
+	 * Compiles a blueprint
+	 * 
+	 * @param blueprint The blueprint to compile
+	 */
+	protected CompiledBlueprint( final Blueprint blueprint ) {
+		ID = blueprint.getID( );
+		cost = new int[ M ][];
+		for( final Material m : Material.values( ) ) {
+			final Robot r = blueprint.getRobotProducing( m );
+			if( r == null ) throw new RuntimeException( "Blueprint " + ID + " has no robot that produces " + m );
+			cost[ m.ordinal( ) ] = r.getCosts( );
+		}
+		
+		// the geode is never consumed and its robots are never capped
+		caps = new int[ M ];
+		for( int m = 0; m < M; m++ )
+			for( int r = 0; r < M; r++ ) caps[m] = Math.max( caps[m], cost[r][m] );
+		caps[ Material.Geode.ordinal( ) ] = Integer.MAX_VALUE;
+	}
+	
+	/** @return The ID of the blueprint */
+	public int getID( ) {
+		return ID;
+	}
+	
+	/**
+	 * Retrieves the cost of a robot in a material
+	 * 
+	 * @param robot The ordinal of the material the robot produces
+	 * @param material The ordinal of the material
+	 * @return The amount of the material the robot costs
+	 */
+	public int getCost( final int robot, final int material ) {
+		return cost[ robot ][ material ];
+	}
+	
+	/**
+	 * Retrieves the maximal number of useful robots that produce a material
+	 * 
+	 * @param material The ordinal of the material
+	 * @return The maximal consumption of the material per minute, or
+	 *   Integer.MAX_VALUE for geodes
+	 */
+	public int getCap( final int material ) {
+		return caps[ material ];
+	}
+	
+	/** @return The cost matrix as string */
+	@Override
+	public String toString( ) {
+		final StringBuilder sb = new StringBuilder( "Blueprint " ).append( ID );
+		for( int r = 0; r < M; r++ ) {
+			sb.append( "\n" ).append( Material.values( )[r] ).append( ':' );
+			for( int m = 0; m < M; m++ ) sb.append( ' ' ).append( cost[r][m] );
+		}
+		return sb.toString( );
+	}
+}
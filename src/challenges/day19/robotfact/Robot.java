@@ -3,7 +3,7 @@ package challenges.day19.robotfact;
 import java.util.HashMap;
 import java.util.Map;
 
-import aocutil.string.RegexMatcher;
+import challenges.util.string.LineScanner;
 
 /**
  * A single mineral-collecting robot
@@ -40,18 +40,40 @@ public class Robot {
 	 * @return The robot
 	 */
 	public static Robot fromString( final String input ) {
-		final RegexMatcher r = RegexMatcher.match( "Each (\\w+) robot costs ([0-9a-z ]+)", input );
-		final Material prod = Material.fromString( r.get( 1 ) );
+		return parse( new LineScanner( input ) );
+	}
+	
+	/**
+	 * Reads a single robot description from the current position of the
+	 * scanner, moving past the period that ends the description if there is one
+	 * 
+	 * @param sc The scanner that is positioned at the robot description
+	 * @return The robot
+	 */
+	protected static Robot parse( final LineScanner sc ) {
+		final Material prod = Material.fromString( sc.expect( "Each " ).nextWord( ) );
+		sc.expect( " robot costs " );
 		
 		// parse required materials
 		final Map<Material, Integer> mq = new HashMap<>( );
-		for( final String s : r.get( 2 ).split( " and " ) ) {
-			final String[] ms = s.split( " " );
-			mq.put( Material.fromString( ms[1] ), Integer.parseInt( ms[0] ) );
-		}
+		do {
+			final int amount = sc.nextInt( );
+			mq.put( Material.fromString( sc.skipAny( " " ).nextWord( ) ), amount );
+		} while( sc.tryExpect( " and " ) );
+		sc.tryExpect( "." );
 		return new Robot( mq, prod );
 	}
 	
+	/**
+	 * @return The amount of every material the robot requires, indexed by the
+	 *   ordinal of the material
+	 */
+	protected int[] getCosts( ) {
+		final int[] costs = new int[ Material.values( ).length ];
+		for( final Material m : requires.keySet( ) ) costs[ m.ordinal( ) ] = requires.get( m );
+		return costs;
+	}
+	
 	/** @return The string describing the robot */
 	@Override
 	public String toString( ) {
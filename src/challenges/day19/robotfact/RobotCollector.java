@@ -1,14 +1,15 @@
 package challenges.day19.robotfact;
 
 import java.util.ArrayList;
-import java.util.EnumMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
-import aocutil.cache.Cache;
-import aocutil.cache.Cache.PruneStrategy;
+import challenges.util.io.Checkpoint;
+import challenges.util.search.AnytimeResult;
+import challenges.util.search.BranchAndBound;
+import challenges.util.search.Hash64;
+import challenges.util.search.SearchControl;
+import challenges.util.search.SearchStats;
+import challenges.util.search.TranspositionTable;
 
 /**
  * The actual "engine" of the robot factory. The collector finds for the
@@ -17,11 +18,53 @@ import aocutil.cache.Cache.PruneStrategy;
  * @author Joris
  */
 public class RobotCollector {
-	/** The robots as described by the blueprint */
-	final Map<Material, Robot> robots;
+	/** The number of bits per robot count in a packed state */
+	private static final int ROBOT_BITS = 8;
 	
-	/** The maximum number of geodes found so far */
-	private int g_opt;
+	/** The number of bits per resource count in a packed state */
+	private static final int RES_BITS = 16;
+	
+	/** The position of the time remaining in the packed robot counts */
+	private static final int TIME_SHIFT = 32;
+	
+	/** The mask of a single robot count */
+	private static final long ROBOT_MASK = (1L << ROBOT_BITS) - 1;
+	
+	/** The mask of a single resource count */
+	private static final long RES_MASK = (1L << RES_BITS) - 1;
+	
+	/** The mask of the time remaining */
+	private static final int TIME_MASK = 0xFF;
+	
+	/** The top bit of every resource count, used as guard bit when paying */
+	private static final long RES_GUARDS = 0x8000800080008000L;
+	
+	/** The ID of the blueprint */
+	protected final int blueprintID;
+	
+	/** The compiled blueprint with its cost matrix and robot caps */
+	protected final CompiledBlueprint blueprint;
+	
+	/** The costs of every robot, packed like the resources of a state */
+	protected final long[] costs;
+	
+	/** The successor buffer of every thread that expands states */
+	private final ThreadLocal<long[]> successors;
+	
+	/** The statistics collector of the search, null if not set */
+	protected SearchStats stats;
+	
+	/** The checkpoint of the search, null to use the configured checkpoint */
+	protected Checkpoint checkpoint;
+	
+	/** True to run the search in parallel */
+	protected boolean parallel;
+	
+	/** True to skip the time until the next robot can be built */
+	protected boolean timeskip;
+	
+	/** The memo table that is shared with other searches, null to create one per search */
+	protected TranspositionTable memo;
 	
 	/**
 	 * Creates a new RobotCollector that will analyse the given blueprint
@@ -30,10 +73,78 @@ public class RobotCollector {
 	 */
 	protected RobotCollector( final Blueprint blueprint ) {
 		// setup the collection process
-		robots = new EnumMap<Material, Robot>( Material.class );
-		for( final Material m : Material.values( ) ) robots.put( m, blueprint.getRobotProducing( m ) );
+		this.blueprint = blueprint.compile( );
+		blueprintID = blueprint.getID( );
+		
+		// pack the costs for the state transitions
+		final int M = CompiledBlueprint.M;
+		costs = new long[ M ];
+		for( int r = 0; r < M; r++ )
+			for( int m = 0; m < M; m++ ) {
+				// paying twice the cost must still leave the guard bit of the resource count intact
+				final int cost = this.blueprint.getCost( r, m );
+				if( cost < 0 || cost >= 1 << (RES_BITS - 2) ) throw new RuntimeException( "Invalid cost " + cost + " in blueprint " + blueprintID );
+				costs[r] += (long)cost << (RES_BITS * m);
+			}
+		successors = ThreadLocal.withInitial( ( ) -> new long[ 2 * (M + 1) ] );
+		
+		parallel = true;
+		timeskip = true;
 	}	
 
+	/**
+	 * Sets the statistics collector of the search
+	 * 
+	 * @param stats The statistics collector
+	 */
+	public void setStats( final SearchStats stats ) {
+		this.stats = stats;
+	}
+	
+	/**
+	 * Sets the checkpoint that the search saves its progress to and resumes
+	 * from. If not set, the search is checkpointed only if enabled by the
+	 * checkpoint.dir system property
+	 * 
+	 * @param checkpoint The checkpoint
+	 */
+	public void setCheckpoint( final Checkpoint checkpoint ) {
+		this.checkpoint = checkpoint;
+	}
+	
+	/**
+	 * Sets the memo table of the search, such that the searches of several
+	 * blueprints can share one bounded table
+	 * 
+	 * @param memo The shared memo table, null to create a table per search
+	 */
+	public void setMemo( final TranspositionTable memo ) {
+		this.memo = memo;
+	}
+	
+	/**
+	 * Enables or disables the parallel search. A parallel search runs on the
+	 * pool of the calling thread, or the common pool otherwise
+	 * 
+	 * @param parallel True to search in parallel, false to search sequentially
+	 */
+	public void setParallel( final boolean parallel ) {
+		this.parallel = parallel;
+	}
+	
+	/**
+	 * Selects the transitions of the search. By default, the search skips from
+	 * one robot to the next: every transition waits until the resources for a
+	 * robot are collected and then builds it, with robots capped at the most
+	 * of their material that can be spent in a minute. Otherwise, the search
+	 * branches minute by minute on buying nothing or a single robot
+	 * 
+	 * @param timeskip True to skip the time until the next robot is built
+	 */
+	public void setTimeSkipping( final boolean timeskip ) {
+		this.timeskip = timeskip;
+	}
+	
 	/**
 	 * Starts the collection optimisation process
 	 * 
@@ -41,188 +152,378 @@ public class RobotCollector {
 	 * @return The maximal number of geodes that can be mined
 	 */
 	public int collect( final int time ) {
-		// initialise the search
-		final RCState initialstate = new RCState( time );
-		final Cache<RCState, Integer> M = new Cache<>( 1000000, 0.5, PruneStrategy.Oldest );
-		g_opt = -1;
-		
-		// and run it!
-		return collect( M, initialstate );
+		return collect( time, null ).getValue( );
 	}
 	
 	/**
-	 * The actual DFS algorithm that optimises the maximal geode count according
-	 * to the robot production rules from the blueprint
+	 * Runs the collection optimisation process in anytime mode, such that it
+	 * can be stopped by a deadline or cancellation before it completes
 	 * 
-	 * @param M The cache of recently visited states
-	 * @param state The current state the DFS is in
-	 * @return The maximal number of geodes that can be produced from this state
+	 * @param time The time allowed to collect and process minerals
+	 * @param control The control of the search, null to run it to completion
+	 * @return The largest number of geodes found and the upper bound on the
+	 *   number of geodes that can be mined
 	 */
-	private int collect( final Cache<RCState, Integer> M, final RCState state ) {
-		// done?
-		if( state.timerem <= 0 ) return state.getResource( Material.Geode );
+	public AnytimeResult collect( final int time, final SearchControl control ) {
+		// initialise the search and run it!
+		if( time < 0 || time > TIME_MASK ) throw new IllegalArgumentException( "Invalid time: " + time );
+		final RCState initialstate = new RCState( (long)time << TIME_SHIFT | 1, 0 );
+		final BranchAndBound<RCState> bnb = new BranchAndBound<>( new GeodeProblem( ), parallel ? BranchAndBound.currentPool( ) : null );
+		bnb.setStats( stats );
+		bnb.setMemo( memo );
+		final long id = getCostHash( );
+		bnb.setCheckpoint( checkpoint != null ? checkpoint : Checkpoint.fromProperties( "day19-bp" + blueprintID + "-t" + time + (timeskip ? "-skip-" : "-") + Long.toHexString( id ) ), id );
+		return bnb.solve( initialstate, control );
+	}
+	
+	/**
+	 * Finds the maximal number of geodes with a depth-first search that does
+	 * not memoise states. States that carry all their resources rarely recur,
+	 * hence the memo table costs more memory than it saves time. Instead, the
+	 * search prunes with the bound of {@link #getGeodeUB(long, long)}, which is
+	 * tighter than the bound of the branch-and-bound search. The search always
+	 * skips time until the next robot is built and runs sequentially, it
+	 * allocates nothing but one successor buffer per level
+	 * 
+	 * @param time The time allowed to collect and process minerals
+	 * @return The maximal number of geodes that can be mined
+	 */
+	public int collectDepthFirst( final int time ) {
+		if( time < 0 || time > TIME_MASK ) throw new IllegalArgumentException( "Invalid time: " + time );
 		
-		// already know this state?
-		if( M.contains( state ) ) return M.get( state );
+		// every transition takes at least a minute, so the depth of the search
+		// is bounded by the time
+		final long[][] buffers = new long[ time + 1 ][ 2 * costs.length ];
+		final int[] best = new int[ 1 ];
+		searchDepthFirst( (long)time << TIME_SHIFT | 1, 0, buffers, 0, best );
+		return best[0];
+	}
+	
+	/**
+	 * Explores the states that follow from a state, depth first
+	 * 
+	 * @param robots The packed robot counts and time remaining of the state
+	 * @param resources The packed resources of the state
+	 * @param buffers The successor buffer per level
+	 * @param level The level of the state
+	 * @param best The largest number of geodes found so far, updated in place
+	 */
+	private void searchDepthFirst( final long robots, final long resources, final long[][] buffers, final int level, final int[] best ) {
+		// the geodes if no more robots are built
+		final int geodes = getResource( resources, Material.Geode ) + getRobots( robots, Material.Geode ) * getTime( robots );
+		if( geodes > best[0] ) {
+			best[0] = geodes;
+			if( stats != null ) stats.incumbent( geodes );
+		}
 		
-		// go over all new states
-		final List<RCState> newstates = new ArrayList<>( generateNewStates( state ) );
-		newstates.sort( (x,y) -> x.estimateValue( ) - y.estimateValue( ) );
-		int maxgeodes = state.getResource( Material.Geode ); 
-		for( final RCState s : newstates ) {
-			// can we improve on the maximal value following this new state?
-			if( s.getValueUB( ) <= g_opt ) continue;
-			
-			// possibly, continue the state computation to make sure
-			maxgeodes = Math.max( maxgeodes, collect( M, s ) );
+		final long[] buffer = buffers[ level ];
+		final int n = generateNextRobotStates( robots, resources, buffer );
+		if( stats != null ) stats.expanded( );
+		for( int i = 0; i < n; i++ ) {
+			final long r = buffer[ 2 * i ];
+			final long rs = buffer[ 2 * i + 1 ];
+			if( getGeodeUB( r, rs ) <= best[0] ) {
+				if( stats != null ) stats.pruned( );
+				continue;
+			}
+			searchDepthFirst( r, rs, buffers, level + 1, best );
+		}
+	}
+	
+	/**
+	 * Computes the hash of the robot costs, which identifies the blueprint in
+	 * a checkpoint
+	 * 
+	 * @return The 64-bit hash of the costs
+	 */
+	private long getCostHash( ) {
+		long h = Hash64.SEED;
+		for( int r = 0; r < CompiledBlueprint.M; r++ )
+			for( int m = 0; m < CompiledBlueprint.M; m++ )
+				h = Hash64.combine( h, blueprint.getCost( r, m ) );
+		return h;
+	}
+	
+	/**
+	 * The geode maximisation problem for the branch-and-bound search, which
+	 * explores states according to the robot production rules of the blueprint
+	 */
+	private class GeodeProblem implements BranchAndBound.Problem<RCState> {
+		/**
+		 * Generates all new states, sorted by their estimated value
+		 * 
+		 * @param state The current state
+		 * @return The new states
+		 */
+		@Override
+		public List<RCState> expand( final RCState state ) {
+			final long[] buffer = successors.get( );
+			final int n = timeskip ? generateNextRobotStates( state.robots, state.resources, buffer ) : generateNewStates( state.robots, state.resources, buffer );
+			final List<RCState> newstates = new ArrayList<>( n );
+			for( int i = 0; i < n; i++ ) newstates.add( new RCState( buffer[ 2 * i ], buffer[ 2 * i + 1 ] ) );
 			
-			// update optimum value if possible
-			if( maxgeodes > g_opt ) g_opt = maxgeodes;
+			// the next robot states are generated most valuable robot first
+			if( !timeskip ) newstates.sort( (x,y) -> x.estimateValue( ) - y.estimateValue( ) );
+			return newstates;
 		}
 		
+		/**
+		 * Determines the number of geodes of the state. When skipping time, the
+		 * geodes that its robots produce until the time is up are included,
+		 * because the transitions only stop to build a robot
+		 * 
+		 * @param state The state
+		 * @return The geode count
+		 */
+		@Override
+		public int getValue( final RCState state ) {
+			final int geodes = getResource( state.resources, Material.Geode );
+			if( !timeskip ) return geodes;
+			return geodes + getRobots( state.robots, Material.Geode ) * getTime( state.robots );
+		}
 		
-		// return best state
-		M.set( state, maxgeodes );
-
-		return maxgeodes;
+		/** @see challenges.util.search.BranchAndBound.Problem#getUpperBound(Object) */
+		@Override
+		public int getUpperBound( final RCState state ) {
+			return getValueUB( state.robots, state.resources );
+		}
+		
+		/** @see challenges.util.search.BranchAndBound.Problem#hash(Object) */
+		@Override
+		public long hash( final RCState state ) {
+			return state.hash64;
+		}
+		
+		/** @see challenges.util.search.BranchAndBound.Problem#getDepth(Object) */
+		@Override
+		public int getDepth( final RCState state ) {
+			return getTime( state.robots );
+		}
 	}
 	
 	/**
-	 * Generates all new states that may be explored from the current one
+	 * Generates all new states that may be explored from the current one. The
+	 * states are written to the buffer as pairs of packed robot counts and
+	 * resources, such that no objects are allocated
 	 * 
-	 * @param state The current state
-	 * @return The set of (unique) new states
+	 * @param robots The packed robot counts and time remaining of the state
+	 * @param resources The packed resources of the state
+	 * @param buffer The buffer to write the new states to, it must hold at
+	 *   least two longs per robot type plus two
+	 * @return The number of new states
 	 */
-	protected Set<RCState> generateNewStates( final RCState state ) {
-		final Set<RCState> N = new HashSet<>( );
-		
+	protected int generateNewStates( final long robots, final long resources, final long[] buffer ) {
 		// out of time?
-		if( state.timerem <= 0 ) return N;
-
-		// add the state in which we buy no robot
-		N.add( state.buy( null ) );
+		if( getTime( robots ) <= 0 ) return 0;
+		
+		// the state in which we buy no robot, in which all robots produce
+		final long next = robots - (1L << TIME_SHIFT);
+		long produced = resources;
+		for( int m = 0; m < costs.length; m++ ) produced += ((robots >>> (ROBOT_BITS * m)) & ROBOT_MASK) << (RES_BITS * m);
+		buffer[0] = next;
+		buffer[1] = produced;
+		int n = 1;
 		
 		// and the state in which we buy exactly one bot, if we wanted to buy more
 		// we should have done so earlier
-		for( final Robot r : robots.values( ) ) {
-			if( state.canBuy( r ) == 1 ) N.add( state.buy( r ) );
+		for( int r = 0; r < costs.length; r++ ) {
+			if( !canBuyOnce( resources, r ) ) continue;
+			buffer[ 2 * n ] = next + (1L << (ROBOT_BITS * r));
+			buffer[ 2 * n + 1 ] = produced - costs[r];
+			n++;
 		}
-		return N;
+		return n;
 	}
-
+	
 	/**
-	 * The actual state of the collection process
+	 * Generates the states in which the next robot is built. For every type
+	 * of robot, the state skips the minutes until its resources are collected
+	 * and the minute in which it is built. Robot types of which the production
+	 * already meets the consumption cap are not built, and neither are robots
+	 * that cannot be completed before the time is up. The states are written
+	 * to the buffer like {@link #generateNewStates(long, long, long[])} does,
+	 * the most valuable robot type first
+	 * 
+	 * @param robots The packed robot counts and time remaining of the state
+	 * @param resources The packed resources of the state
+	 * @param buffer The buffer to write the new states to
+	 * @return The number of new states
 	 */
-	private class RCState {
-		/** The time remaining */
-		protected final int timerem;
-		
-		/** The count of robot per material type */
-		private final Map<Material, Integer> robotcount;
-		
-		/** The resource count per material */
-		private final Map<Material, Integer> resources;
-		
-		/** The state string that uniquely describes it */
-		protected final String statestr;
-
-		/**
-		 * Creates a new state
-		 * 
-		 * @param time The time remaining in this state
-		 * @param rc The robot counts per material
-		 * @param rs The resources per material
-		 */
-		private RCState( final int time, Map<Material, Integer> rc, Map<Material, Integer> rs ) {
-			this.timerem = time;
-			robotcount = new EnumMap<Material, Integer>( rc );
-			resources = new EnumMap<Material, Integer>( rs );	
-
-			statestr = toStateString( );
-		}
-		
-		/** 
-		 * Creates a new initial state
-		 * 
-		 * @param time The time remaining in the initial state
-		 */
-		protected RCState( final int time ) {
-			this.timerem = time;
+	protected int generateNextRobotStates( final long robots, final long resources, final long[] buffer ) {
+		final int time = getTime( robots );
+		int n = 0;
+		for( int r = costs.length - 1; r >= 0; r-- ) {
+			if( ((robots >>> (ROBOT_BITS * r)) & ROBOT_MASK) >= blueprint.getCap( r ) ) continue;
 			
-			// initialise counts to 0 except for the single ore robot we start with
-			robotcount = new EnumMap<Material, Integer>( Material.class );
-			resources = new EnumMap<Material, Integer>( Material.class );			
-			for( final Material m : Material.values( ) ) {
-				robotcount.put( m, 0 );
-				resources.put( m, 0 );
+			// determine the minutes it takes to collect the resources
+			int wait = 0;
+			for( int m = 0; m < costs.length && wait < time; m++ ) {
+				final int missing = blueprint.getCost( r, m ) - (int)((resources >>> (RES_BITS * m)) & RES_MASK);
+				if( missing <= 0 ) continue;
+				final int rate = (int)((robots >>> (ROBOT_BITS * m)) & ROBOT_MASK);
+				wait = rate == 0 ? time : Math.max( wait, (missing + rate - 1) / rate );
 			}
-			robotcount.put( Material.Ore, 1 );
 			
-			statestr = toStateString( );
+			// the robot must be completed with time to spare to be of any use
+			final int skip = wait + 1;
+			if( skip >= time ) continue;
+			long produced = resources;
+			for( int m = 0; m < costs.length; m++ ) produced += (((robots >>> (ROBOT_BITS * m)) & ROBOT_MASK) * skip) << (RES_BITS * m);
+			buffer[ 2 * n ] = robots - ((long)skip << TIME_SHIFT) + (1L << (ROBOT_BITS * r));
+			buffer[ 2 * n + 1 ] = produced - costs[r];
+			n++;
 		}
+		return n;
+	}
+	
+	/**
+	 * @param robots The packed robot counts of a state
+	 * @return The time remaining in the state
+	 */
+	protected static int getTime( final long robots ) {
+		return (int)(robots >>> TIME_SHIFT) & TIME_MASK;
+	}
+	
+	/**
+	 * Retrieves the robot count that produces the material 
+	 * 
+	 * @param robots The packed robot counts of a state
+	 * @param m The material 
+	 * @return The robot count for the given material
+	 */
+	protected static int getRobots( final long robots, final Material m ) {
+		return (int)((robots >>> (ROBOT_BITS * m.ordinal( ))) & ROBOT_MASK);
+	}
+	
+	/**
+	 * Retrieves the quantity of the material in stock 
+	 * 
+	 * @param resources The packed resources of a state
+	 * @param m The material 
+	 * @return The amount of units of the given material
+	 */
+	protected static int getResource( final long resources, final Material m ) {
+		return (int)((resources >>> (RES_BITS * m.ordinal( ))) & RES_MASK);
+	}
+	
+	/**
+	 * Checks whether the resources of a state cover the cost of a robot
+	 * exactly once. The costs are subtracted from all resource counts at once,
+	 * with the top bit of every count set as guard: the guard bit of a count
+	 * is cleared by the borrow if the count is less than the cost. Robots are
+	 * built at most one per minute and the time is capped at 255 minutes, so
+	 * a resource count never exceeds 255 * 256 / 2 and never reaches its guard
+	 * bit itself
+	 * 
+	 * @param resources The packed resources of the state
+	 * @param r The index of the robot type to buy
+	 * @return True if the robot can be bought once but not twice
+	 */
+	protected boolean canBuyOnce( final long resources, final int r ) {
+		final long guarded = resources | RES_GUARDS;
+		return ((guarded - costs[r]) & RES_GUARDS) == RES_GUARDS && ((guarded - (costs[r] << 1)) & RES_GUARDS) != RES_GUARDS;
+	}
+	
+	/**
+	 * Computes an upper bound on the number of geodes that can be produced
+	 * from a state onwards by assuming that we have infinite Ore
+	 * 
+	 * @param robots The packed robot counts and time remaining of the state
+	 * @param resources The packed resources of the state
+	 * @return The upper bound on the number of geodes that can be produced
+	 */
+	protected int getValueUB( final long robots, final long resources ) {
+		final int timerem = getTime( robots );
 		
-		/**
-		 * Creates the new state that results when buying the specified robot type
-		 * 
-		 * @param r The robot to buy, can be null to buy nothing
-		 * @return The new state
-		 */
-		protected RCState buy( final Robot r ) {
-			final Map<Material, Integer> rc = new EnumMap<Material, Integer>( Material.class );
-			final Map<Material, Integer> rs = new EnumMap<Material, Integer>( Material.class );			
-			
-			// first copy values and apply current robot production
-			for( final Material m : Material.values( ) ) {
-				final int rcount = getRobots( m );
-				rc.put( m, rcount );
-				rs.put( m, getResource( m ) + rcount );
-			}
+		// for each material check how many we could produce given the upper bound
+		// on the previous material
+		int prev = Integer.MAX_VALUE;
+		for( int i = 0; i < costs.length; i++ ) {
+			// start with max production if no bot is added
+			int maxprod = (int)((resources >>> (RES_BITS * i)) & RES_MASK) + (int)((robots >>> (ROBOT_BITS * i)) & ROBOT_MASK) * timerem;
 			
-			// then buy the robot
-			if( r != null ) {
-				rc.put( r.produces, rc.get( r.produces ) + 1 );
-				for( final Material m : r.requires.keySet( ) )
-					rs.put( m, rs.get( m ) - r.requires.get( m ) );
+			// determine how many of the previous ore we need per robot
+			// and keep building robots, all the while also producing materials
+			final int req = blueprint.getCost( i, Math.max( i - 1, 0 ) );
+			int in = prev;
+			for( int t = timerem - 1; t > 0 && in >= req; t-- ) {
+				in -= req;
+				maxprod += t;
 			}
-			
-			return new RCState( timerem - 1, rc, rs );			
+			prev = maxprod;
 		}
+		return prev;
+	}
+	
+	/**
+	 * Computes an upper bound on the number of geodes that can be produced
+	 * from a state onwards by simulating a relaxed factory. The relaxed factory
+	 * has unlimited ore and builds a clay robot every minute. In addition, it
+	 * builds an obsidian robot and a geode robot in every minute in which it
+	 * can pay for them, because clay and obsidian are only used by these
+	 * robots, hence building them as early as possible is optimal. The bound
+	 * is combined with {@link #getValueUB(long, long)}
+	 * 
+	 * @param robots The packed robot counts and time remaining of the state
+	 * @param resources The packed resources of the state
+	 * @return The upper bound on the number of geodes that can be produced
+	 */
+	protected int getGeodeUB( final long robots, final long resources ) {
+		final int clayid = Material.Clay.ordinal( );
+		final int obsid = Material.Obsidian.ordinal( );
+		final int geoid = Material.Geode.ordinal( );
+		final int obscost = blueprint.getCost( obsid, clayid );
+		final int geocost = blueprint.getCost( geoid, obsid );
 		
-		
-		/**
-		 * Retrieves the robot count that produces the material 
-		 *  
-		 * @param m The material 
-		 * @return The robot count for the given material
-		 */
-		protected int getRobots( final Material m ) {
-			return robotcount.get( m );
+		int clay = getResource( resources, Material.Clay );
+		int obsidian = getResource( resources, Material.Obsidian );
+		int geodes = getResource( resources, Material.Geode );
+		int claybots = getRobots( robots, Material.Clay );
+		int obsbots = getRobots( robots, Material.Obsidian );
+		int geobots = getRobots( robots, Material.Geode );
+		for( int t = getTime( robots ); t > 0; t-- ) {
+			// decide which robots to build with the resources at the start of
+			// the minute, then collect and complete the robots
+			final boolean buildgeo = obsidian >= geocost;
+			final boolean buildobs = clay >= obscost;
+			if( buildgeo ) obsidian -= geocost;
+			if( buildobs ) clay -= obscost;
+			clay += claybots;
+			obsidian += obsbots;
+			geodes += geobots;
+			claybots++;
+			if( buildobs ) obsbots++;
+			if( buildgeo ) geobots++;
 		}
+		return Math.min( geodes, getValueUB( robots, resources ) );
+	}
+	
+	/**
+	 * The actual state of the collection process, packed in two longs. The
+	 * first holds the robot count per material in 8 bits each and the time
+	 * remaining above them, the second the resource count per material in 16
+	 * bits each
+	 */
+	private static class RCState {
+		/** The packed robot counts and time remaining */
+		protected final long robots;
 		
-		/**
-		 * Retrieves the quantity of the material in stock 
-		 *  
-		 * @param m The material 
-		 * @return The amount of units of the given material
-		 */
-		protected int getResource( final Material m ) {
-			return resources.get( m );
-		}
+		/** The packed resource counts */
+		protected final long resources;
+		
+		/** The 64-bit hash of the state */
+		protected final long hash64;
 		
 		/**
-		 * Checks how many robots of the type we can buy in this state, given the
-		 * current resources
-		 *  
-		 * @param r The robot type to buy
-		 * @return The number of robots we can buy
+		 * Creates a new state
+		 * 
+		 * @param robots The packed robot counts and time remaining
+		 * @param resources The packed resource counts
 		 */
-		protected int canBuy( final Robot r ) {
-			int minqty = Integer.MAX_VALUE;
-			for( final Material m : r.requires.keySet( ) ) {
-				minqty = Math.min( minqty, resources.get( m ) / r.requires.get( m ) );
-			}
-			
-			return minqty;
+		protected RCState( final long robots, final long resources ) {
+			this.robots = robots;
+			this.resources = resources;
+			this.hash64 = Hash64.combine( Hash64.combine( Hash64.SEED, robots ), resources );
 		}
 		
 		/**
@@ -232,82 +533,42 @@ public class RobotCollector {
 			int offset = 1;
 			int val = 0;
 			for( final Material m : Material.values( ) ) {
-				val += offset * getResource( m );
+				val += offset * getResource( resources, m );
 				offset *= 1000;
 			}
 			return val;
 		}
 		
-		/**
-		 * Computes an upper bound on the number of geodes that can be produced
-		 * from this state onwards by assuming that we have infinite Ore
-		 * 
-		 * @return The upper bound on the number of geodes that can be produced
-		 */
-		protected int getValueUB( ) {
-			final int m = Material.values( ).length;
-			final int[] maxprod = new int[ m ];
-			
-			// for each material check how many we could produce given the upper bound
-			// on the previous material
-			for( int i = 0; i < m; i++ ) {
-				final Material mat = Material.values( )[ i ];
-				
-				// start with max production if no bot is added
-				maxprod[i] = getResource( mat ) + getRobots( mat ) * timerem;
-				
-				// determine how many of the previous ore we need per robot
-				// and keep building robots, all the while also producing materials
-				final int req = robots.get( mat ).requires.get( Material.values()[ Math.max( i - 1, 0) ] );				
-				int in = i == 0 ? Integer.MAX_VALUE : maxprod[ i-1 ];
-				for( int t = timerem - 1; t > 0 && in >= req; t-- ) {
-					in -= req;
-					maxprod[i] += t;
-				}				
-			}
-			
-			return maxprod[ Material.Geode.ordinal( ) ];			
-		}
-		
-		
-		/**
-		 * @return The string that uniquely describes the state
-		 */
-		private String toStateString( ) {
-			final StringBuilder bots = new StringBuilder( );
-			final StringBuilder res = new StringBuilder( );
-			for( final Material m : Material.values( ) ) {
-				bots.append( robotcount.get( m ) + "," );
-				res.append( resources.get( m ) + "," );
-			}
-			bots.delete( bots.length( ) - 1, bots.length( ) );
-			res.delete( res.length( ) - 1, res.length( ) );
-			return String.format( "%2d", timerem ) + "|" + bots.toString( ) + "|" + res.toString( );
-		}
-		
 		/**
 		 * Compares this state to another object
 		 * 
 		 * @param obj The object to compare against
-		 * @return True iff the other object is a state and has the same state
-		 *   string
+		 * @return True iff the other object is a state with the same robots,
+		 *   resources and time remaining
 		 */
 		@Override
 		public boolean equals( Object obj ) {
 			if( obj == null || !(obj instanceof RCState ) ) return false;
-			return statestr.equals( ((RCState)obj).statestr );
+			final RCState s = (RCState)obj;
+			return robots == s.robots && resources == s.resources;
 		}
-
-		/** @return The hash code of the state string */
+		
+		/** @return The hash code of the state */
 		@Override
 		public int hashCode( ) {
-			return statestr.hashCode( );
+			return (int)hash64;
 		}
 		
 		/** @return The string describing the state */
 		@Override
 		public String toString( ) {
-			return statestr;
+			final StringBuilder bots = new StringBuilder( );
+			final StringBuilder res = new StringBuilder( );
+			for( final Material m : Material.values( ) ) {
+				bots.append( bots.length( ) > 0 ? "," : "" ).append( getRobots( robots, m ) );
+				res.append( res.length( ) > 0 ? "," : "" ).append( getResource( resources, m ) );
+			}
+			return String.format( "%2d", getTime( robots ) ) + "|" + bots + "|" + res;
 		}
 	}
 }
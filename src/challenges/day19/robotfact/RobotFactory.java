@@ -2,6 +2,12 @@ package challenges.day19.robotfact;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import challenges.util.search.BranchAndBound;
+import challenges.util.search.TranspositionTable;
 
 /**
  * A factory that produces mineral-processing robots, given a list of
@@ -13,6 +19,21 @@ import java.util.List;
 public class RobotFactory {
 	/** The blueprints of this factory */
 	protected final List<Blueprint> blueprints;
+	
+	/** True to evaluate the blueprints in parallel */
+	protected boolean parallel;
+	
+	/** True to skip the time until the next robot is built in the searches */
+	protected boolean timeskip;
+	
+	/** True to memoise the states of the searches */
+	protected boolean memoise;
+	
+	/** The consumer of the result of every evaluated blueprint, null if not set */
+	protected Consumer<BlueprintResult> reporter;
+	
+	/** The memo table that is shared by all blueprint searches, created on first use */
+	private TranspositionTable memo;
 		
 	/**
 	 * Creates the robot factory
@@ -21,8 +42,56 @@ public class RobotFactory {
 	 */
 	private RobotFactory( final List<Blueprint> blueprints ) {
 		this.blueprints = new ArrayList<>( blueprints );
+		this.parallel = true;
+		this.timeskip = true;
+		this.memoise = true;
+	}
+	
+	/**
+	 * Enables or disables the parallel evaluation of blueprints. In parallel
+	 * mode, every blueprint is evaluated by a separate task on the pool of the
+	 * calling thread, or the common pool otherwise. The search of a single
+	 * blueprint then runs sequentially. All searches share the memo table of
+	 * the factory
+	 * 
+	 * @param parallel True to evaluate the blueprints in parallel
+	 */
+	public void setParallel( final boolean parallel ) {
+		this.parallel = parallel;
 	}
 
+	/**
+	 * Selects the transitions of the blueprint searches
+	 * 
+	 * @param timeskip True to skip the time until the next robot is built,
+	 *   false to branch minute by minute
+	 * @see RobotCollector#setTimeSkipping(boolean)
+	 */
+	public void setTimeSkipping( final boolean timeskip ) {
+		this.timeskip = timeskip;
+	}
+	
+	/**
+	 * Selects the search engine of the blueprints
+	 * 
+	 * @param memoise True to use the branch-and-bound search with its memo
+	 *   table, false to use the depth-first search without memoisation
+	 * @see RobotCollector#collectDepthFirst(int)
+	 */
+	public void setMemoisation( final boolean memoise ) {
+		this.memoise = memoise;
+	}
+	
+	/**
+	 * Sets the consumer that is handed the result of every evaluated blueprint,
+	 * in the order of the blueprints, e.g. to report their timings
+	 * 
+	 * @param reporter The consumer of the results, null to not report them
+	 */
+	public void setReporter( final Consumer<BlueprintResult> reporter ) {
+		this.reporter = reporter;
+	}
+	
 	/**
 	 * Creates a robot factory by parsing the blueprints from a list of strings
 	 * 
@@ -46,14 +115,7 @@ public class RobotFactory {
 	 */
 	public long getBlueprintQaulityScore( final int time ) {
 		long result = 0;
-		for( final Blueprint b : blueprints ) {
-			System.out.print( "Blueprint " + b.getID( ) + ": " );
-			final RobotCollector rc = new RobotCollector( b );
-			final int score = rc.collect( time );
-			result += b.getID( ) * score;
-			System.out.println( score + " geode(s)" );
-		}
-		
+		for( final BlueprintResult r : evaluate( time, blueprints.size( ) ) ) result += r.getID( ) * r.getGeodes( );
 		return result;
 	}
 	
@@ -67,15 +129,62 @@ public class RobotFactory {
 	 */
 	public long getMaxGeodeProduct( final int time ) {
 		long result = 1;
-		for( int i = 0; i < Math.min( blueprints.size( ), 3 ); i++ ) {
-			final Blueprint b = blueprints.get( i );
-			System.out.print( "Blueprint " + b.getID( ) + ": " );
-			final RobotCollector rc = new RobotCollector( b );
-			final int score = rc.collect( time );
-			result *= score;
-			System.out.println( score + " geode(s)" );
+		for( final BlueprintResult r : evaluate( time, 3 ) ) result *= r.getGeodes( );
+		return result;
+	}
+	
+	/**
+	 * Evaluates the first blueprints of the factory by determining the maximal
+	 * number of geodes each of them can produce
+	 * 
+	 * @param time The number of time steps to run the robot factory
+	 * @param count The number of blueprints to evaluate, all blueprints are
+	 *   evaluated if there are not enough of them
+	 * @return The results in the order of the blueprints
+	 */
+	public List<BlueprintResult> evaluate( final int time, final int count ) {
+		final List<Blueprint> B = blueprints.subList( 0, Math.min( count, blueprints.size( ) ) );
+		final List<BlueprintResult> results = new ArrayList<>( B.size( ) );
+		if( !parallel ) {
+			for( final Blueprint b : B ) results.add( evaluate( b, time, false ) );
+		} else {
+			// submit all blueprints and collect the results in order
+			final ForkJoinPool pool = BranchAndBound.currentPool( );
+			final List<ForkJoinTask<BlueprintResult>> tasks = new ArrayList<>( B.size( ) );
+			for( final Blueprint b : B ) tasks.add( pool.submit( ( ) -> evaluate( b, time, B.size( ) == 1 ) ) );
+			for( final ForkJoinTask<BlueprintResult> t : tasks ) results.add( t.join( ) );
 		}
 		
-		return result;
+		if( reporter != null ) results.forEach( reporter );
+		return results;
+	}
+	
+	/**
+	 * Evaluates a single blueprint
+	 * 
+	 * @param b The blueprint
+	 * @param time The number of time steps to run the robot factory
+	 * @param parallel True to run the search of the blueprint in parallel
+	 * @return The evaluation result
+	 */
+	protected BlueprintResult evaluate( final Blueprint b, final int time, final boolean parallel ) {
+		final long t0 = System.nanoTime( );
+		final RobotCollector rc = new RobotCollector( b );
+		rc.setParallel( parallel );
+		rc.setTimeSkipping( timeskip );
+		if( memoise ) rc.setMemo( getMemo( ) );
+		final int score = memoise ? rc.collect( time ) : rc.collectDepthFirst( time );
+		return new BlueprintResult( b.getID( ), score, System.nanoTime( ) - t0 );
+	}
+	
+	/**
+	 * Retrieves the memo table of the blueprint searches, such that all
+	 * blueprints and both parts of the puzzle reuse the same bounded table
+	 * 
+	 * @return The memo table
+	 */
+	private synchronized TranspositionTable getMemo( ) {
+		if( memo == null ) memo = new TranspositionTable( TranspositionTable.getDefaultBudget( ) );
+		return memo;
 	}
 }
@@ -3,8 +3,9 @@ package challenges.day20;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.DaySolver;
 
-public class Day20 {
+public class Day20 implements DaySolver {
 
 	/**
 	 * Day 20 of the Advent of Code 2022
@@ -27,6 +28,18 @@ public class Day20 {
 		System.out.println( "Answer : " + part2( input ) );
 	}
 	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return part1( input );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return part2( input );
+	}
+	
 	/**
 	 * Decrypts the message using the Mixed Encryption algorithm
 	 * 
@@ -0,0 +1,25 @@
+package challenges.day20;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 20 solvers
+ * 
+ * @author Joris
+ */
+public class Day20Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day20Bench( ) {
+		super( Day20.class );
+	}
+
+	/** @param input The encrypted numbers */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> Day20.part1( input ) );
+		bench( "part2", ( ) -> Day20.part2( input ) );
+	}
+}
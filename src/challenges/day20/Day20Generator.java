@@ -0,0 +1,29 @@
+package challenges.day20;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates encrypted files of 5000 numbers per unit of scale, exactly one of
+ * which is zero
+ * 
+ * @author Joris
+ */
+public class Day20Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final int N = 5000 * scale;
+		final List<String> input = new ArrayList<>( N );
+		final int zero = rnd.nextInt( N );
+		for( int i = 0; i < N; i++ ) {
+			int v = 0;
+			while( i != zero && v == 0 ) v = range( rnd, -10000, 10000 );
+			input.add( "" + v );
+		}
+		return input;
+	}
+}
@@ -4,8 +4,9 @@ import java.util.List;
 
 import aocutil.io.FileReader;
 import challenges.day21.monkeymath.MonkeyMath;
+import challenges.runner.DaySolver;
 
-public class Day21 {
+public class Day21 implements DaySolver {
 
 	/**
 	 * Day 21 of the Advent of Code 2022
@@ -28,6 +29,18 @@ public class Day21 {
 		System.out.println( "Answer : " + part2( input ) );
 	}
 	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return part1( input );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return part2( input );
+	}
+	
 	/**
 	 * Reduces the system of MonkeyMath expressions, given by a list of strings,
 	 * and returns the resulting value of the root node 
@@ -0,0 +1,26 @@
+package challenges.day21;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+import challenges.day21.monkeymath.MonkeyMath;
+
+/**
+ * Benchmark of the day 21 solvers
+ * 
+ * @author Joris
+ */
+public class Day21Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day21Bench( ) {
+		super( Day21.class );
+	}
+
+	/** @param input The monkey equations */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> new MonkeyMath( ).reduce( input, "root" ) );
+		bench( "part2", ( ) -> new MonkeyMath( ).findSingleUnknown( input, "root", "humn" ) );
+	}
+}
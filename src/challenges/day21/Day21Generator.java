@@ -0,0 +1,122 @@
+package challenges.day21;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates monkey riddles of 2350 monkeys per unit of scale. The riddle is
+ * generated top-down from the value of root, choosing operations such that
+ * all divisions are exact. Both sides of the root equation have the same
+ * value, hence the value that humn yells is also the answer to the equation.
+ * The humn monkey is never part of a divisor.
+ * 
+ * @author Joris
+ */
+public class Day21Generator extends InputGenerator {
+	/** The largest absolute value of any monkey */
+	private static final long LIMIT = 1000000000000l;
+	
+	/** The random generator */
+	private Random rnd;
+	
+	/** The generated monkey jobs */
+	private List<String> jobs;
+	
+	/** The monkey names in use */
+	private Set<String> names;
+	
+	/** The length of monkey names */
+	private int namelength;
+	
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		this.rnd = rnd;
+		this.jobs = new ArrayList<>( );
+		this.names = new HashSet<>( );
+		names.add( "root" );
+		names.add( "humn" );
+		
+		// use longer names than four characters if there are many monkeys
+		final int N = 2 * (2350 * scale / 2) + 1;
+		namelength = 4;
+		while( Math.pow( 26, namelength ) < 4 * N ) namelength++;
+		
+		// root adds two equal values, one of which depends on the human
+		final long value = range( rnd, 1000, 1000000 );
+		final int left = 1 + 2 * rnd.nextInt( (N - 1) / 2 );
+		final String an = left == 1 ? "humn" : name( );
+		final String bn = name( );
+		jobs.add( "root: " + an + " + " + bn );
+		generate( an, value, left, true );
+		generate( bn, value, N - 1 - left, false );
+		
+		Collections.shuffle( jobs, rnd );
+		return jobs;
+	}
+	
+	/**
+	 * Generates a new monkey name
+	 * 
+	 * @return The name
+	 */
+	private String name( ) {
+		String name;
+		do { name = word( rnd, namelength ); } while( !names.add( name ) );
+		return name;
+	}
+	
+	/**
+	 * Generates the jobs of a monkey and all of the monkeys it depends upon
+	 * 
+	 * @param name The name of the monkey, humn if it is the human
+	 * @param value The value the monkey must yell
+	 * @param size The number of monkeys in the subtree, odd
+	 * @param humn True if the subtree must contain the human
+	 */
+	private void generate( final String name, final long value, final int size, final boolean humn ) {
+		if( size == 1 ) {
+			jobs.add( name + ": " + value );
+			return;
+		}
+		
+		// divide the remaining monkeys over both sides
+		final int left = 1 + 2 * rnd.nextInt( (size - 1) / 2 );
+		final int right = size - 1 - left;
+		
+		// choose an operation and the values of both sides
+		final long a; final long b; final char op;
+		final int choice = rnd.nextInt( 4 );
+		if( choice == 0 && Math.abs( value ) > 1 ) {
+			op = '+';
+			a = (long)(rnd.nextDouble( ) * value);
+			b = value - a;
+		} else if( choice == 1 && Math.abs( value ) * 5 < LIMIT ) {
+			op = '/';
+			b = range( rnd, 2, 5 );
+			a = value * b;
+		} else if( choice == 2 && value != 0 && value % 2 == 0 ) {
+			op = '*';
+			b = value % 3 == 0 ? 3 : 2;
+			a = value / b;
+		} else {
+			op = '-';
+			b = range( rnd, 1, 1000 );
+			a = value + b;
+		}
+		
+		// the human is never part of the divisor
+		final boolean humnleft = humn && (op == '/' || rnd.nextBoolean( ));
+		final String an = humnleft && left == 1 ? "humn" : name( );
+		final String bn = humn && !humnleft && right == 1 ? "humn" : name( );
+		jobs.add( name + ": " + an + " " + op + " " + bn );
+		generate( an, a, left, humnleft );
+		generate( bn, b, right, humn && !humnleft );
+	}
+}
@@ -6,8 +6,9 @@ import java.util.List;
 import aocutil.io.FileReader;
 import challenges.day22.monkeymap.MonkeyCube;
 import challenges.day22.monkeymap.MonkeyMap;
+import challenges.runner.DaySolver;
 
-public class Day22 {
+public class Day22 implements DaySolver {
 
 	/**
 	 * Day 22 of the Advent of Code 2022
@@ -30,6 +31,18 @@ public class Day22 {
 		System.out.println( "Answer : " + part2( input ) );
 	}
 	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return part1( input );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return part2( input );
+	}
+	
 	/**
 	 * Navigates a MonkeyMap using a predefined list of movements
 	 * 
@@ -0,0 +1,31 @@
+package challenges.day22;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+import challenges.day22.monkeymap.MonkeyCube;
+import challenges.day22.monkeymap.MonkeyMap;
+
+/**
+ * Benchmark of the day 22 solvers
+ * 
+ * @author Joris
+ */
+public class Day22Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day22Bench( ) {
+		super( Day22.class );
+	}
+
+	/** @param input The map and the path description */
+	@Override
+	protected void setup( final List<String> input ) {
+		final List<String> map = input.subList( 0, input.size( ) - 2 );
+		final String path = input.get( input.size( ) - 1 );
+		final MonkeyMap flat = MonkeyMap.fromStringList( map );
+		final MonkeyCube cube = MonkeyCube.fromStringList( map );
+		bench( "part1", ( ) -> flat.navigate( path ) );
+		bench( "part2", ( ) -> cube.navigate( path ) );
+	}
+}
@@ -0,0 +1,50 @@
+package challenges.day22;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates monkey maps of which the cube faces are 50 tiles wide per unit of
+ * scale, using the same unfolding as the bundled input, with 2000 turns per
+ * unit of scale in the path
+ * 
+ * @author Joris
+ */
+public class Day22Generator extends InputGenerator {
+	/** The faces of the unfolded cube, as column and row of face size */
+	private static final int[][] FACES = { { 1, 0 }, { 2, 0 }, { 1, 1 }, { 0, 2 }, { 1, 2 }, { 0, 3 } };
+	
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final int C = 50 * scale;
+		final char[][] map = new char[ 4 * C ][];
+		for( int y = 0; y < 4 * C; y++ ) {
+			// the rows of the unfolded cube only hold the faces up to the last one
+			int w = 0;
+			for( final int[] f : FACES ) if( y / C == f[1] ) w = Math.max( w, (f[0] + 1) * C );
+			map[y] = new char[ w ];
+			for( int x = 0; x < w; x++ ) map[y][x] = ' ';
+		}
+		for( final int[] f : FACES )
+			for( int y = f[1] * C; y < (f[1] + 1) * C; y++ )
+				for( int x = f[0] * C; x < (f[0] + 1) * C; x++ )
+					map[y][x] = rnd.nextInt( 10 ) == 0 ? '#' : '.';
+		
+		// keep the starting position open
+		map[0][C] = '.';
+		
+		final List<String> input = new ArrayList<>( 4 * C + 2 );
+		for( final char[] row : map ) input.add( new String( row ) );
+		input.add( "" );
+		
+		final StringBuilder sb = new StringBuilder( );
+		for( int i = 0; i < 2000 * scale; i++ ) sb.append( range( rnd, 1, C ) ).append( rnd.nextBoolean( ) ? 'L' : 'R' );
+		sb.append( range( rnd, 1, C ) );
+		input.add( sb.toString( ) );
+		return input;
+	}
+}
@@ -9,7 +9,7 @@ import java.util.Set;
 
 import aocutil.geometry.Coord2D;
 import aocutil.geometry.Direction;
-import aocutil.grid.CoordGrid;
+import challenges.util.grid.ByteGrid;
 
 /**
  * Class that again helps navigating a MonkeyMap, however now the wrapping
@@ -27,10 +27,10 @@ public class MonkeyCube extends MonkeyMap {
 	/**
 	 * Creates a new MonkeyCube
 	 * 
-	 * @param map The map that is to be navigated
+	 * @param map The map that is to be navigated, as grid of tile ordinals
 	 * @param cubesize The size of the cube sides
 	 */
-	public MonkeyCube( final CoordGrid<Tile> map, final int cubesize ) {
+	public MonkeyCube( final ByteGrid map, final int cubesize ) {
 		super( map );
 		this.faces = new ArrayList<>( 6 );
 		this.cubesize = cubesize; 
@@ -39,9 +39,8 @@ public class MonkeyCube extends MonkeyMap {
 		int ID = 0;
 		for( int y = 0; y <= 3 * cubesize; y += cubesize ) {
 			for( int x = 0; x <= 3 * cubesize; x += cubesize ) {
-				final Coord2D tl = new Coord2D( x, y );
-				if( map.get( tl ) == Tile.Empty ) continue;
-				faces.add( new CubeFace( ID++, tl ) );
+				if( getTile( x, y ) == Tile.Empty ) continue;
+				faces.add( new CubeFace( ID++, new Coord2D( x, y ) ) );
 			}
 		}
 		
@@ -135,7 +134,7 @@ public class MonkeyCube extends MonkeyMap {
 		int csize = Math.max( H, W ) / 4;		
 		
 		// then reconstruct the Monkey Cube
-		return new MonkeyCube( CoordGrid.fromStringList( input, "", t -> Tile.fromChar( t.charAt( 0 ) ), Tile.Empty ), csize );
+		return new MonkeyCube( parseTiles( input ), csize );
 	}
 
 	/**
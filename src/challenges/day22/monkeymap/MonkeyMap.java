@@ -5,7 +5,7 @@ import java.util.List;
 
 import aocutil.geometry.Coord2D;
 import aocutil.geometry.Direction;
-import aocutil.grid.CoordGrid;
+import challenges.util.grid.ByteGrid;
 
 /**
  * A map that can be navigated and wraps around if movement takes you of the
@@ -14,18 +14,52 @@ import aocutil.grid.CoordGrid;
  * @author Joris
  */
 public class MonkeyMap {	
-	/** The actual map */
-	protected final CoordGrid<Tile> map;
+	/** The actual map, stores the tile ordinals */
+	protected final ByteGrid map;
+	
+	/** The tiles by their ordinal */
+	private static final Tile[] TILES = Tile.values( );
 	
 	/**
 	 * Creates a new MonkeyMap
 	 * 
-	 * @param map The map as a grid of tiles
+	 * @param map The map as a grid of tile ordinals
 	 */
-	protected MonkeyMap( final CoordGrid<Tile> map ) {
+	protected MonkeyMap( final ByteGrid map ) {
 		this.map = map;
 	}
 	
+	/**
+	 * Parses the grid of tile ordinals from a list of strings
+	 * 
+	 * @param input The list of strings that describes the map
+	 * @return The grid of tile ordinals, positions off the map are empty
+	 */
+	protected static ByteGrid parseTiles( final List<String> input ) {
+		return ByteGrid.fromStringList( input, c -> (byte)Tile.fromChar( c ).ordinal( ), (byte)Tile.Empty.ordinal( ) );
+	}
+	
+	/**
+	 * Retrieves the tile at a position
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @return The tile, empty if the position is off the map
+	 */
+	protected Tile getTile( final int x, final int y ) {
+		return TILES[ map.get( x, y ) ];
+	}
+	
+	/**
+	 * Retrieves the tile at a position
+	 * 
+	 * @param pos The position
+	 * @return The tile, empty if the position is off the map
+	 */
+	protected Tile getTile( final Coord2D pos ) {
+		return getTile( pos.x, pos.y );
+	}
+	
 	/**
 	 * Reconstructs a map form a list of strings
 	 * 
@@ -33,7 +67,7 @@ public class MonkeyMap {
 	 * @return The MonkeyMap
 	 */
 	public static MonkeyMap fromStringList( final List<String> input ) {
-		return new MonkeyMap( CoordGrid.fromStringList( input, "", t -> Tile.fromChar( t.charAt(0 ) ), Tile.Empty ) );
+		return new MonkeyMap( parseTiles( input ) );
 	}
 	
 	/**
@@ -44,10 +78,10 @@ public class MonkeyMap {
 	 */
 	public long navigate( final String moves ) {
 		// determine starting position (first top-left coordinate that is open)
-		final int y = map.window( ).getMinY( );
+		final int y = map.getMinY( );
 		Coord2D startpos = null;
-		for( int x = map.window( ).getMinX( ); x <= map.window( ).getMaxX( ); x++ )
-			if( map.get( x, y ) == Tile.Open ) {
+		for( int x = map.getMinX( ); x <= map.getMaxX( ); x++ )
+			if( getTile( x, y ) == Tile.Open ) {
 				startpos = new Coord2D( x, y );
 				break;
 			}
@@ -88,10 +122,10 @@ public class MonkeyMap {
 			Player next = new Player( p.pos.move( p.dir, 1 ), p.dir );
 			
 			// next position off the map? then wrap around
-			if( map.get( next.pos ) == Tile.Empty ) next = wrap( p );
+			if( getTile( next.pos ) == Tile.Empty ) next = wrap( p );
 			
 			// check if this is a wall? if so, we cannot move any further
-			if( map.get( next.pos ) == Tile.Wall ) break;
+			if( getTile( next.pos ) == Tile.Wall ) break;
 			
 			// nope, move!
 			p = next;
@@ -109,23 +143,23 @@ public class MonkeyMap {
 	protected Player wrap( final Player p ) {
 		switch( p.dir ) {
 			case East:
-				for( int x = map.window( ).getMinX( ); x < p.pos.x; x++ )
-					if( map.get( x, p.pos.y ) != Tile.Empty ) return new Player( new Coord2D( x, p.pos.y ), p.dir );
+				for( int x = map.getMinX( ); x < p.pos.x; x++ )
+					if( getTile( x, p.pos.y ) != Tile.Empty ) return new Player( new Coord2D( x, p.pos.y ), p.dir );
 				break;
 
 			case West:
-				for( int x = map.window( ).getMaxX( ); x > p.pos.x; x-- )
-					if( map.get( x, p.pos.y ) != Tile.Empty ) return new Player( new Coord2D( x, p.pos.y ), p.dir );
+				for( int x = map.getMaxX( ); x > p.pos.x; x-- )
+					if( getTile( x, p.pos.y ) != Tile.Empty ) return new Player( new Coord2D( x, p.pos.y ), p.dir );
 				break;
 				
 			case South:
-				for( int y = map.window( ).getMinY( ); y < p.pos.y; y++ )
-					if( map.get( p.pos.x, y ) != Tile.Empty ) return new Player( new Coord2D( p.pos.x, y ), p.dir );
+				for( int y = map.getMinY( ); y < p.pos.y; y++ )
+					if( getTile( p.pos.x, y ) != Tile.Empty ) return new Player( new Coord2D( p.pos.x, y ), p.dir );
 				break;
 				
 			case North:
-				for( int y = map.window( ).getMaxY( ); y > p.pos.y; y-- )
-					if( map.get( p.pos.x, y ) != Tile.Empty ) return new Player( new Coord2D( p.pos.x, y ), p.dir );
+				for( int y = map.getMaxY( ); y > p.pos.y; y-- )
+					if( getTile( p.pos.x, y ) != Tile.Empty ) return new Player( new Coord2D( p.pos.x, y ), p.dir );
 				break;
 		}
 		
@@ -162,7 +196,7 @@ public class MonkeyMap {
 	/** @return The gird */
 	@Override
 	public String toString( ) {
-		return map.toString( );
+		return map.toString( t -> TILES[ t ].toString( ) );
 	}
 	
 	/**
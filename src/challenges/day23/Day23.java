@@ -3,8 +3,9 @@ package challenges.day23;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.DaySolver;
 
-public class Day23 {
+public class Day23 implements DaySolver {
 
 	/**
 	 * Day 23 of the Advent of Code 2022
@@ -27,6 +28,18 @@ public class Day23 {
 		System.out.println( "Answer : " + part2( input ) );
 	}
 	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return part1( input );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return part2( input );
+	}
+	
 	/**
 	 * Runs the planting simulation for 10 rounds and returns the number of empty
 	 * spaces contained in the area that holds all elves
@@ -0,0 +1,25 @@
+package challenges.day23;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 23 solvers
+ * 
+ * @author Joris
+ */
+public class Day23Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day23Bench( ) {
+		super( Day23.class );
+	}
+
+	/** @param input The initial elf positions */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> PlantingSim.fromStringList( input ).run( 10 ) );
+		bench( "part2", ( ) -> PlantingSim.fromStringList( input ).runUntilStable( ) );
+	}
+}
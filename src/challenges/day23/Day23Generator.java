@@ -0,0 +1,28 @@
+package challenges.day23;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates elf positions in a square area that is 70 positions wide per unit
+ * of scale, about half of which is taken by an elf
+ * 
+ * @author Joris
+ */
+public class Day23Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final int N = 70 * scale;
+		final List<String> input = new ArrayList<>( N );
+		final char[] row = new char[ N ];
+		for( int y = 0; y < N; y++ ) {
+			for( int x = 0; x < N; x++ ) row[x] = rnd.nextBoolean( ) ? '#' : '.';
+			input.add( new String( row ) );
+		}
+		return input;
+	}
+}
@@ -1,11 +1,15 @@
 package challenges.day23;
 
-import java.util.ArrayList;
+import java.io.DataInputStream;
+import java.io.IOException;
 import java.util.List;
 
 import aocutil.geometry.Coord2D;
 import aocutil.geometry.Direction;
-import aocutil.grid.CoordGrid;
+import challenges.util.grid.BitGrid;
+import challenges.util.grid.ByteGrid;
+import challenges.util.io.Checkpoint;
+import challenges.util.search.Hash64;
 
 /**
  * Class that simulates the movement of elves in a grove, with the goal to
@@ -14,19 +18,66 @@ import aocutil.grid.CoordGrid;
  * @author Joris
  */
 public class PlantingSim {
-	/** The current state of the simulation */
-	protected CoordGrid<Boolean> grid;
+	/** The current state of the simulation, a set bit marks an elf */
+	protected BitGrid grid;
+	
+	/** The x coordinates of all elves */
+	protected final int[] elfx;
+	
+	/** The y coordinates of all elves */
+	protected final int[] elfy;
+	
+	/** The number of elves that propose to move to a position */
+	private final ByteGrid proposals;
+	
+	/** The hash of the initial elf positions, identifies the sim in a checkpoint */
+	private final long inputhash;
+	
+	/** The checkpoint of the simulation, null to use the configured one */
+	protected Checkpoint checkpoint;
 	
 	/** The array of directions to consider */
 	private final static Direction[] DIRS = new Direction[] { Direction.North, Direction.South, Direction.West, Direction.East };
 	
+	/**
+	 * The positions to check per direction, relative to the elf, as
+	 * { dx, dy, left dx, left dy, right dx, right dy }
+	 */
+	private final static int[][] CHECKS = new int[ DIRS.length ][];
+	static {
+		for( int i = 0; i < DIRS.length; i++ ) {
+			final Direction d = DIRS[i];
+			final Coord2D m = new Coord2D( 0, 0 ).move( d, 1 );
+			final Coord2D l = m.move( d.turn( -1 ), 1 );
+			final Coord2D r = m.move( d.turn( 1 ), 1 );
+			CHECKS[i] = new int[] { m.x, m.y, l.x, l.y, r.x, r.y };
+		}
+	}
+	
 	/**
 	 * Creates a new sim
 	 * 
 	 * @param grid The grid with initial elf positions
 	 */
-	private PlantingSim( final CoordGrid<Boolean> grid ) {
-		this.grid = grid;
+	private PlantingSim( final BitGrid grid ) {
+		this.grid = new BitGrid( );
+		this.proposals = new ByteGrid( (byte)0 );
+		
+		// copy the elves into a growable grid and keep track of their positions
+		final int N = (int)grid.count( );
+		elfx = new int[ N ];
+		elfy = new int[ N ];
+		int idx = 0;
+		for( int y = grid.getMinY( ); y <= grid.getMaxY( ); y++ )
+			for( int x = grid.getMinX( ); x <= grid.getMaxX( ); x++ ) {
+				if( !grid.get( x, y ) ) continue;
+				this.grid.set( x, y, true );
+				elfx[idx] = x; elfy[idx] = y; idx++;
+			}
+		
+		long h = Hash64.SEED;
+		for( int i = 0; i < N; i++ ) h = Hash64.combine( Hash64.combine( h, elfx[i] ), elfy[i] );
+		inputhash = h;
 	}
 	
 	/**
@@ -36,7 +87,18 @@ public class PlantingSim {
 	 * @return The plant sim
 	 */
 	public static PlantingSim fromStringList( final List<String> input ) {
-		return new PlantingSim( CoordGrid.fromBooleanGrid( input, '#' ) );
+		return new PlantingSim( BitGrid.fromStringList( input, '#' ) );
+	}
+	
+	/**
+	 * Sets the checkpoint that runUntilStable saves its progress to and
+	 * resumes from. If not set, the simulation is checkpointed only if enabled
+	 * by the checkpoint.dir system property
+	 * 
+	 * @param checkpoint The checkpoint
+	 */
+	public void setCheckpoint( final Checkpoint checkpoint ) {
+		this.checkpoint = checkpoint;
 	}
 	
 	/**
@@ -51,102 +113,143 @@ public class PlantingSim {
 		
 		// return the number of empty spaces in the smallest grid that contains
 		// all the elves
-		return grid.count( false );
+		int minx = Integer.MAX_VALUE; int maxx = Integer.MIN_VALUE;
+		int miny = Integer.MAX_VALUE; int maxy = Integer.MIN_VALUE;
+		for( int i = 0; i < elfx.length; i++ ) {
+			minx = Math.min( minx, elfx[i] ); maxx = Math.max( maxx, elfx[i] );
+			miny = Math.min( miny, elfy[i] ); maxy = Math.max( maxy, elfy[i] );
+		}
+		return (long)(maxx - minx + 1) * (maxy - miny + 1) - elfx.length;
 	}
 	
 	/**
-	 * Runs the simulation until no elf want to move anymore
+	 * Runs the simulation until no elf want to move anymore. The simulation
+	 * state is periodically saved if checkpointing is enabled and a run resumes
+	 * from the last checkpoint of the same initial state
 	 * 
 	 * @return The number of the first round that has no more movement
 	 */
 	public long runUntilStable( ) {
-		int r = 0;
-		while( sim( r++ ) ) {};
+		final Checkpoint cp = checkpoint != null ? checkpoint : Checkpoint.fromProperties( "day23-" + Long.toHexString( inputhash ) );
+		final int[] round = new int[] { 0 };
+		if( cp != null ) cp.load( inputhash, in -> round[0] = restore( in ) );
+		
+		int r = round[0];
+		while( sim( r++ ) ) {
+			if( cp != null && cp.isDue( ) ) {
+				final int next = r;
+				cp.save( inputhash, out -> {
+					out.writeInt( next );
+					for( int i = 0; i < elfx.length; i++ ) {
+						out.writeInt( elfx[i] );
+						out.writeInt( elfy[i] );
+					}
+				} );
+			}
+		}
+		if( cp != null ) cp.delete( );
 		return r;
 	}
 	
+	/**
+	 * Restores the elf positions from a checkpoint
+	 * 
+	 * @param in The checkpoint data
+	 * @return The round at which the simulation continues
+	 * @throws IOException if the checkpoint could not be read
+	 */
+	private int restore( final DataInputStream in ) throws IOException {
+		final int round = in.readInt( );
+		grid = new BitGrid( );
+		for( int i = 0; i < elfx.length; i++ ) {
+			elfx[i] = in.readInt( );
+			elfy[i] = in.readInt( );
+			grid.set( elfx[i], elfy[i], true );
+		}
+		return round;
+	}
+	
 	/**
 	 * Simulates a single round of the planting process. Performs a two-step
 	 * process in which first the intended move is determined for every elf and
-	 * then the moves are processed if they do not interfere with other moves
+	 * then the moves are processed if they do not interfere with other moves.
+	 * Conflicts are detected by counting the proposals per target position.
 	 * 
 	 * @param round The current simulation round number
 	 * @return True if any move was processed, false if the simulation is stable.
 	 *   That is, it will return false if no elf want to move.
 	 */
 	protected boolean sim( int round ) {		
-		// first determine the action each elf takes
-		final List<ElfMove> moves = new ArrayList<>( );
-		for( final Coord2D elf : grid.getKeys( ) ) {
+		// first determine the action each elf takes, -1 if it does not move
+		final int[] dir = new int[ elfx.length ];
+		for( int e = 0; e < elfx.length; e++ ) {
+			final int x = elfx[e];
+			final int y = elfy[e];
+			dir[e] = -1;
+			
 			// no action if I have no neighbours at all
-			if( elf.getAdjacent( true ).stream( ).mapToInt( c -> grid.hasValue( c ) ? 1 : 0 ).sum( ) == 0 ) continue;
+			if( !hasNeighbour( x, y ) ) continue;
 			
 			// propose move in every direction
 			for( int i = 0; i < 4; i++ ) {
-				final Direction d = DIRS[(i + round) % DIRS.length];
+				final int d = (i + round) % DIRS.length;
+				final int[] c = CHECKS[d];
 				
 				// check if the elves has no neighbour in this direction
-				final Coord2D m = elf.move( d, 1 );
-				if( grid.hasValue( m ) || grid.hasValue( m.move( d.turn( -1 ), 1 ) ) || grid.hasValue( m.move( d.turn( 1 ), 1 ) ) ) continue;
+				if( grid.get( x + c[0], y + c[1] ) || grid.get( x + c[2], y + c[3] ) || grid.get( x + c[4], y + c[5] ) ) continue;
 				
 				// nope, propose move
-				moves.add( new ElfMove( elf, m ) );
+				dir[e] = d;
+				proposals.set( x + c[0], y + c[1], (byte)(proposals.get( x + c[0], y + c[1] ) + 1) );
 				break;
 			}
 		}
 			
-		// then try and process the moves
+		// then process all moves that have a unique target
 		boolean moved = false;
-		for( final ElfMove m1 : moves ) {			
-			// check if another move may be in the way
-			boolean contains = false;;
-			for( final ElfMove m2 : moves ) {
-				if( !m1.from.equals( m2.from ) && m2.to.equals( m1.to ) ) {
-					contains = true;
-					break;
-				}
-			}
-			
-			// nope, process it!
-			if( !contains ) {
+		for( int e = 0; e < elfx.length; e++ ) {
+			if( dir[e] == -1 ) continue;
+			final int tx = elfx[e] + CHECKS[dir[e]][0];
+			final int ty = elfy[e] + CHECKS[dir[e]][1];
+			if( proposals.get( tx, ty ) == 1 ) {
 				moved = true;
-				grid.unset( m1.from );
-				grid.set( m1.to, true );
+				grid.set( elfx[e], elfy[e], false );
+				grid.set( tx, ty, true );
+				elfx[e] = tx;
+				elfy[e] = ty;
+			} else {
+				// keep the elf in place but remember the target for cleaning up
+				dir[e] = -2 - dir[e];
 			}
 		}
 		
+		// reset the proposal counts for the next round
+		for( int e = 0; e < elfx.length; e++ ) {
+			if( dir[e] == -1 ) continue;
+			if( dir[e] >= 0 ) proposals.set( elfx[e], elfy[e], (byte)0 );
+			else proposals.set( elfx[e] + CHECKS[-2 - dir[e]][0], elfy[e] + CHECKS[-2 - dir[e]][1], (byte)0 );
+		}
+		
 		return moved;
 	}
+	
+	/**
+	 * Checks whether there is any elf in the 8 positions around a position
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @return True iff at least one of the adjacent positions holds an elf
+	 */
+	private boolean hasNeighbour( final int x, final int y ) {
+		for( int dy = -1; dy <= 1; dy++ )
+			for( int dx = -1; dx <= 1; dx++ )
+				if( (dx != 0 || dy != 0) && grid.get( x + dx, y + dy ) ) return true;
+		return false;
+	}
 
 	/** @return The grid that holds the current state of the simulation */
 	@Override
 	public String toString( ) {
 		return grid.toString( c -> c ? "#" : "." );
 	}
-	
-	/** Simple container to hold a proposed move */
-	private class ElfMove {
-		/** The coordinate to move from */
-		protected final Coord2D from;
-		
-		/** The coordinate to move to */
-		protected final Coord2D to;
-		
-		/**
-		 * Creates a new move
-		 * 
-		 * @param from The coordinate to move from
-		 * @param to The coordinate to move to
-		 */
-		protected ElfMove( final Coord2D from, final Coord2D to ) {
-			this.from = from; 
-			this.to = to;
-		}
-		
-		/** @return The string description of the move */
-		@Override
-		public String toString( ) {
-			return from + " => " + to;
-		}
-	}
 }
@@ -5,10 +5,12 @@ import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
 
-import aocutil.cache.Cache;
 import aocutil.geometry.Coord2D;
 import aocutil.geometry.Direction;
-import aocutil.grid.CoordGrid;
+import challenges.util.grid.ByteGrid;
+import challenges.util.search.Hash64;
+import challenges.util.search.SearchStats;
+import challenges.util.search.TranspositionTable;
 
 /**
  * Models a basin full of moving blizzards and offers a convenient function to
@@ -17,8 +19,35 @@ import aocutil.grid.CoordGrid;
  * @author Joris
  */
 public class BlizzardBasin {
-	/** The map of blizzards in their initial position */
-	private final CoordGrid<Direction> blizzards;
+	/**
+	 * The map of blizzards in their initial position, stores the direction
+	 * ordinal + 1 or 0 if there is no blizzard
+	 */
+	private final ByteGrid blizzards;
+	
+	/** The width of the basin (without walls) */
+	private final int W;
+	
+	/** The height of the basin (without walls) */
+	private final int H;
+	
+	/**
+	 * The states that have been visited, the table is reused by consecutive
+	 * navigations and every navigation starts a new generation of it
+	 */
+	private TranspositionTable visited;
+	
+	/**
+	 * The number of navigations so far, which numbers the legs such that the
+	 * states of different navigations never share a hash
+	 */
+	private int legs;
+	
+	/** The statistics collector of the search, null if not set */
+	protected SearchStats stats;
+	
+	/** The directions by their ordinal */
+	private static final Direction[] DIRS = Direction.values( );
 	
 	/** The coordinate of the basin entrance */
 	private final Coord2D entrance;
@@ -33,12 +62,23 @@ public class BlizzardBasin {
 	 * @param start The coordinate of the basin entrance
 	 * @param end The coordinate of the basin exit
 	 */
-	private BlizzardBasin( final CoordGrid<Direction> map, final Coord2D start, final Coord2D end ) {
+	private BlizzardBasin( final ByteGrid map, final Coord2D start, final Coord2D end ) {
 		this.blizzards = map;
+		this.W = map.getWidth( );
+		this.H = map.getHeight( );
 		this.entrance = start;
 		this.exit = end;
 	}
 	
+	/**
+	 * Sets the statistics collector of the navigation searches
+	 * 
+	 * @param stats The statistics collector
+	 */
+	public void setStats( final SearchStats stats ) {
+		this.stats = stats;
+	}
+	
 	/**
 	 * Reconstructs a blizzard basin from a list of strings
 	 * 
@@ -46,22 +86,24 @@ public class BlizzardBasin {
 	 * @return The basin
 	 */
 	public static BlizzardBasin fromStringList( final List<String> input ) { 
-		// read map itself, then store blizzards in a dedicated map
-		final CoordGrid<Character> map = CoordGrid.fromCharGrid( input, '.' );
+		final int maxY = input.size( ) - 1;
 		
 		// get start and end coordinates
 		Coord2D start = null; Coord2D end = null;
-		for( int x = map.window( ).getMinX( ); x <= map.window( ).getMaxX( ); x++ ) {
-			if( map.get( x, 0 ) == '.' ) start = new Coord2D( x - 1, -1 );
-			if( map.get( x, map.window( ).getMaxY( ) ) == '.' ) end = new Coord2D( x - 1, map.window( ).getMaxY( ) - 1 );
+		for( int x = 0; x < input.get( 0 ).length( ); x++ ) {
+			if( input.get( 0 ).charAt( x ) == '.' ) start = new Coord2D( x - 1, -1 );
+			if( input.get( maxY ).charAt( x ) == '.' ) end = new Coord2D( x - 1, maxY - 1 );
 		}
 		
 		// create map for blizzards and fill it
-		final CoordGrid<Direction> bmap = new CoordGrid<Direction>( map.window( ).getWidth( ) - 2, map.window( ).getHeight( ) - 2, null );
-		for( final Coord2D c : map.getKeys( ) ) {
-			final char ch = map.get( c );
-			if( ch == '#' || ch == '.' ) continue;
-			bmap.set( c.move( -1, -1 ), Direction.fromSymbol( ch ) );
+		final ByteGrid bmap = new ByteGrid( input.get( 0 ).length( ) - 2, input.size( ) - 2, (byte)0 );
+		for( int y = 1; y < maxY; y++ ) {
+			final String row = input.get( y );
+			for( int x = 1; x < row.length( ) - 1; x++ ) {
+				final char ch = row.charAt( x );
+				if( ch == '#' || ch == '.' ) continue;
+				bmap.set( x - 1, y - 1, (byte)(Direction.fromSymbol( ch ).ordinal( ) + 1) );
+			}
 		}
 		
 		// create the basin
@@ -75,7 +117,7 @@ public class BlizzardBasin {
 	 * @return The minimal time required to get from start to end
 	 */
 	public int navigate( ) {
-		final State endstate = navigate( new State( entrance, 0, exit ) ); 
+		final State endstate = navigate( entrance, 0, exit ); 
 		return endstate.time;
 	}
 	
@@ -89,14 +131,13 @@ public class BlizzardBasin {
 	 */
 	public int navigateTwice( ) {
 		// first navigate to the exit
-		State s = new State( entrance, 0, exit );		
-		s = navigate( s );
+		State s = navigate( entrance, 0, exit );
 		
 		// continue from the exit state onward, now back towards the entrance
-		s = navigate( new State( exit, s.time, entrance ) );
+		s = navigate( exit, s.time, entrance );
 		
 		// and again, now back to the exit
-		s = navigate( new State( entrance, s.time, exit ) );
+		s = navigate( entrance, s.time, exit );
 		
 		// return the total time needed, which is the time we find the exit in the
 		// last run
@@ -104,19 +145,26 @@ public class BlizzardBasin {
 	}
 	
 	/**
-	 * Performs an A*-like search to find the target position (encoded in the
-	 * state). The search uses a heuristic function that uses time and distance
+	 * Performs an A*-like search to find the target position from the start
+	 * position. The search uses a heuristic function that uses time and distance
 	 * to compute a state value and prioritises based upon the lowest score, as
 	 * that is closest to the target and/or uses the least amount of time.
 	 * 
-	 * @param initial The starting state of the navigation process, which also
-	 *   specifies the target position
+	 * @param start The position to start from
+	 * @param time The time at which the navigation starts
+	 * @param target The position to navigate to
 	 * @return The final state that results when the target position is reached
 	 */
-	private State navigate( final State initial ) {
-		// best so far and cache
-		State beststate = new State( new Coord2D( 0, 0 ), Integer.MAX_VALUE, initial.target );
-		final Cache<State, Integer> M = new Cache<>( 100000, 0.5 );
+	private State navigate( final Coord2D start, final int time, final Coord2D target ) {
+		// every navigation is a new leg with its own states, the states of earlier
+		// legs stay in the table but are the first to be replaced
+		if( visited == null ) visited = new TranspositionTable( TranspositionTable.getDefaultBudget( ) );
+		visited.newSearch( );
+		final TranspositionTable M = visited;
+		final int leg = ++legs;
+		final State initial = new State( start, time, target, leg );
+		State beststate = new State( new Coord2D( 0, 0 ), Integer.MAX_VALUE, target, leg );
+		final SearchStats st = stats != null ? stats : SearchStats.fromProperties( "BlizzardBasin" );
 
 		// perform an A*-like search over all states that we can end up in
 		// prioritise state to explore next based upon lowest heuristic score
@@ -126,15 +174,23 @@ public class BlizzardBasin {
 			final State state = Q.remove( );
 			
 			// already tried this state before?
-			if( M.contains( state ) ) continue;
-			M.set( state, 0 );
+			if( M.contains( state.hash64 ) ) {
+				if( st != null ) st.hit( );
+				continue;
+			}
+			if( st != null ) st.miss( );
+			M.put( state.hash64, 0, 0 );
 			
 			// passed best time known?
-			if( state.time >= beststate.time ) continue;
+			if( state.time >= beststate.time ) {
+				if( st != null ) st.pruned( );
+				continue;
+			}
 			
 			// have we reached the goal?
 			if( state.pos.equals( state.target ) ) {
 				beststate = state;
+				if( st != null ) st.incumbent( state.time );
 				continue;
 			}
 			
@@ -142,9 +198,15 @@ public class BlizzardBasin {
 			// them if they are not already in queue or recently considered
 			final Set<State> newstates = getNewStates( state );
 			for( final State s : newstates ) 
-				if( !Q.contains( s ) && !M.contains( s ) )
+				if( !Q.contains( s ) && !M.contains( s.hash64 ) )
 					Q.add( s );
+			
+			if( st != null ) {
+				st.expanded( );
+				st.queue( Q.size( ) );
+			}
 		}
+		if( stats == null && st != null ) System.err.println( st.snapshot( ) );
 		
 		// return the best state
 		return beststate;
@@ -166,11 +228,11 @@ public class BlizzardBasin {
 			final Coord2D pos = state.pos.move( d, 1 );
 			if( !isValid( pos ) || isOccupied( pos, t ) ) continue;
 			
-			N.add( new State( pos, t, state.target ) );
+			N.add( new State( pos, t, state.target, state.leg ) );
 		}
 		
 		// and consider not moving
-		if( !isOccupied( state.pos, t ) ) N.add( new State( state.pos, t, state.target ) );
+		if( !isOccupied( state.pos, t ) ) N.add( new State( state.pos, t, state.target, state.leg ) );
 		
 		// return the set
 		return N;
@@ -183,7 +245,7 @@ public class BlizzardBasin {
 	 * @return True iff the position is within the basin or the exit
 	 */
 	protected boolean isValid( final Coord2D pos ) {
-		return entrance.equals( pos ) || exit.equals( pos ) || blizzards.contains( pos );
+		return entrance.equals( pos ) || exit.equals( pos ) || blizzards.contains( pos.x, pos.y );
 	}
 		
 	/**
@@ -195,15 +257,12 @@ public class BlizzardBasin {
 	 * @return True iff the position is occupied by at least one blizzard
 	 */
 	protected boolean isOccupied( final Coord2D pos, final int time ) {
-		final int W = blizzards.window( ).getWidth( );
-		final int H = blizzards.window( ).getHeight( );
-		
 		// check if it is occupied by any blizzard that has moved time steps since
 		// its initial position
-		if( blizzards.get( ((pos.x - time) % W + W) % W, pos.y ) == Direction.East ) return true;
-		if( blizzards.get( (pos.x + time) % W, pos.y ) == Direction.West ) return true;
-		if( blizzards.get( pos.x, ((pos.y - time) % H + H) % H ) == Direction.South ) return true;
-		if( blizzards.get( pos.x, (pos.y + time ) % H ) == Direction.North ) return true;
+		if( blizzards.get( ((pos.x - time) % W + W) % W, pos.y ) == Direction.East.ordinal( ) + 1 ) return true;
+		if( blizzards.get( (pos.x + time) % W, pos.y ) == Direction.West.ordinal( ) + 1 ) return true;
+		if( blizzards.get( pos.x, ((pos.y - time) % H + H) % H ) == Direction.South.ordinal( ) + 1 ) return true;
+		if( blizzards.get( pos.x, (pos.y + time ) % H ) == Direction.North.ordinal( ) + 1 ) return true;
 			
 		// nope, the position is free!
 		return false;
@@ -212,7 +271,7 @@ public class BlizzardBasin {
 	/** @return The map of initial blizzard positions */
 	@Override
 	public String toString( ) {
-		return "Basin from " + entrance + " to " + exit + "\n" + blizzards.toString( x -> x == null ? "." : "" + x.toSymbol( ) );
+		return "Basin from " + entrance + " to " + exit + "\n" + blizzards.toString( x -> x == 0 ? "." : "" + DIRS[ x - 1 ].toSymbol( ) );
 	}
 	
 	/**
@@ -228,14 +287,26 @@ public class BlizzardBasin {
 		/** The goal position we are navigating to */
 		protected final Coord2D target;
 		
+		/** The navigation leg the state belongs to */
+		protected final int leg;
+		
 		/** Cached state score for priority queue */
 		private final int score;
 		
-		protected State( final Coord2D pos, final int time, final Coord2D target ) {
+		/** The 64-bit hash of the state */
+		protected final long hash64;
+		
+		protected State( final Coord2D pos, final int time, final Coord2D target, final int leg ) {
 			this.pos = pos;
 			this.time = time;
 			this.target = target;
+			this.leg = leg;
 			this.score = getStateScore( );
+			
+			long h = Hash64.combine( Hash64.SEED, leg );
+			h = Hash64.combine( h, time );
+			h = Hash64.combine( h, ((long)pos.x << 32) | (pos.y & 0xFFFFFFFFL) );
+			this.hash64 = Hash64.combine( h, ((long)target.x << 32) | (target.y & 0xFFFFFFFFL) );
 		}
 		
 		/**
@@ -264,21 +335,22 @@ public class BlizzardBasin {
 		/** @return The string that (uniquely) describes this state */
 		@Override
 		public String toString( ) {
-			return "[" + pos + ", " + time + ", " + target + ": " + score + "]";
+			return "[" + pos + ", " + time + ", " + target + ", leg " + leg + ": " + score + "]";
 		}
 		
 		/**
 		 * Checks if this state is equal to another object
 		 * 
 		 * @param obj The other object to test against
-		 * @return True iff the pos, time and target are equal, false otherwise
+		 * @return True iff the pos, time, target and leg are equal, false
+		 *   otherwise
 		 */
 		@Override
 		public boolean equals( final Object obj ) {
 			if( obj == null || !(obj instanceof State) ) return false;
 			final State s = (State)obj;
 			
-			return s.time == time && s.pos.equals( pos ) && s.target.equals( target );
+			return s.time == time && s.leg == leg && s.pos.equals( pos ) && s.target.equals( target );
 		}
 		
 		/** @return The hash code of the state string */
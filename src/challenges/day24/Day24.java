@@ -3,8 +3,9 @@ package challenges.day24;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.ContextSolver;
 
-public class Day24 {
+public class Day24 implements ContextSolver<BlizzardBasin> {
 
 	/**
 	 * Day 24 of the Advent of Code 2022
@@ -17,26 +18,50 @@ public class Day24 {
 	public static void main( final String[] args ) throws Exception {
 		final List<String> ex_input = new FileReader( Day24.class.getResource( "example.txt" ) ).readLines( );
 		final List<String> input = new FileReader( Day24.class.getResource( "input.txt" ) ).readLines( );
+		final BlizzardBasin ex_bb = new Day24( ).parse( ex_input );
+		final BlizzardBasin bb = new Day24( ).parse( input );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) );
-		System.out.println( "Answer : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_bb ) );
+		System.out.println( "Answer : " + part1( bb ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input ) );
-		System.out.println( "Answer : " + part2( input ) );
+		System.out.println( "Example: " + part2( ex_bb ) );
+		System.out.println( "Answer : " + part2( bb ) );
+	}
+	
+	/**
+	 * Reads the layout of the basin
+	 * 
+	 * @param input The puzzle input
+	 * @return The blizzard basin
+	 */
+	@Override
+	public BlizzardBasin parse( final List<String> input ) {
+		return BlizzardBasin.fromStringList( input );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart1(Object) */
+	@Override
+	public Object solvePart1( final BlizzardBasin bb ) {
+		return part1( bb );
+	}
+	
+	/** @see challenges.runner.ContextSolver#solvePart2(Object) */
+	@Override
+	public Object solvePart2( final BlizzardBasin bb ) {
+		return part2( bb );
 	}
 	
 	/**
 	 * Navigates through a basin filled with blizzards to reach the exit on the
 	 * opposite side
 	 * 
-	 * @param input The layout of the basin as a list of strings
+	 * @param bb The blizzard basin
 	 * @return The least number of steps required to reach the exit while still
 	 *   avoiding all storms
 	 */
-	protected static long part1( final List<String> input ) {
-		final BlizzardBasin bb = BlizzardBasin.fromStringList( input );
+	protected static long part1( final BlizzardBasin bb ) {
 		return bb.navigate( );
 	}
 	
@@ -46,11 +71,10 @@ public class Day24 {
 	 * back to the entrance to pick up the snacks and go back to the exit again,
 	 * all the while avoiding the blizzards.
 	 * 
-	 * @param input The layout of the basin as a list of strings
+	 * @param bb The blizzard basin
 	 * @return The least number of steps required to navigate the basin twice
 	 */
-	protected static long part2( final List<String> input ) {
-		final BlizzardBasin bb = BlizzardBasin.fromStringList( input );
+	protected static long part2( final BlizzardBasin bb ) {
 		return bb.navigateTwice( );
 	}
 }
\ No newline at end of file
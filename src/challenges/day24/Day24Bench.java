@@ -0,0 +1,27 @@
+package challenges.day24;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 24 solvers
+ * 
+ * @author Joris
+ */
+public class Day24Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day24Bench( ) {
+		super( Day24.class );
+	}
+
+	/** @param input The basin layout */
+	@Override
+	protected void setup( final List<String> input ) {
+		final BlizzardBasin basin = BlizzardBasin.fromStringList( input );
+		bench( "parse", ( ) -> BlizzardBasin.fromStringList( input ) );
+		bench( "part1", ( ) -> basin.navigate( ) );
+		bench( "part2", ( ) -> basin.navigateTwice( ) );
+	}
+}
@@ -0,0 +1,42 @@
+package challenges.day24;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates blizzard basins of 25 rows that are 120 positions wide per unit
+ * of scale, with a blizzard at about 90% of the positions. As in the bundled
+ * input, no blizzard moves vertically in the columns of the entrance and the
+ * exit.
+ * 
+ * @author Joris
+ */
+public class Day24Generator extends InputGenerator {
+	/** The blizzard directions */
+	private static final String BLIZZARDS = "<>^v";
+	
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final int W = 120 * scale;
+		final int H = 25;
+		final StringBuilder wall = new StringBuilder( );
+		for( int x = 0; x < W; x++ ) wall.append( '#' );
+		
+		final List<String> input = new ArrayList<>( H + 2 );
+		input.add( "#." + wall );
+		for( int y = 0; y < H; y++ ) {
+			final StringBuilder sb = new StringBuilder( "#" );
+			for( int x = 0; x < W; x++ ) {
+				final boolean horizontal = x == 0 || x == W - 1;
+				sb.append( rnd.nextInt( 10 ) == 0 ? '.' : BLIZZARDS.charAt( rnd.nextInt( horizontal ? 2 : 4 ) ) );
+			}
+			input.add( sb.append( '#' ).toString( ) );
+		}
+		input.add( wall + ".#" );
+		return input;
+	}
+}
@@ -3,8 +3,9 @@ package challenges.day25;
 import java.util.List;
 
 import aocutil.io.FileReader;
+import challenges.runner.DaySolver;
 
-public class Day25 {
+public class Day25 implements DaySolver {
 
 	/**
 	 * Day 25 of the Advent of Code 2022
@@ -23,6 +24,18 @@ public class Day25 {
 		System.out.println( "Answer : " + part1( input ) );
 	}
 	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return part1( input );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return null;
+	}
+	
 	/**
 	 * Decodes all numbers in the input, sums them and encodes the result into SNAFU
 	 * 
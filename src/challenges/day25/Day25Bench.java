@@ -0,0 +1,24 @@
+package challenges.day25;
+
+import java.util.List;
+
+import challenges.bench.Benchmark;
+
+/**
+ * Benchmark of the day 25 solvers
+ * 
+ * @author Joris
+ */
+public class Day25Bench extends Benchmark {
+	
+	/** Creates the benchmark */
+	public Day25Bench( ) {
+		super( Day25.class );
+	}
+
+	/** @param input The SNAFU numbers */
+	@Override
+	protected void setup( final List<String> input ) {
+		bench( "part1", ( ) -> SNAFU.encode( input.stream( ).mapToLong( SNAFU::decode ).sum( ) ) );
+	}
+}
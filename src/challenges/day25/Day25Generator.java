@@ -0,0 +1,26 @@
+package challenges.day25;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import challenges.gen.InputGenerator;
+
+/**
+ * Generates fuel requirements of 126 SNAFU numbers per unit of scale
+ * 
+ * @author Joris
+ */
+public class Day25Generator extends InputGenerator {
+	/** @see challenges.gen.InputGenerator#generate(Random, int) */
+	@Override
+	protected List<String> generate( final Random rnd, final int scale ) {
+		final List<String> input = new ArrayList<>( 126 * scale );
+		for( int i = 0; i < 126 * scale; i++ ) {
+			// numbers of up to 20 SNAFU digits
+			final long max = (long)Math.pow( 5, range( rnd, 1, 19 ) );
+			input.add( SNAFU.encode( 1 + (long)(rnd.nextDouble( ) * max) ) );
+		}
+		return input;
+	}
+}
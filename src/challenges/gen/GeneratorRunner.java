@@ -0,0 +1,42 @@
+package challenges.gen;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Writes a generated puzzle input to the standard output, such that it can be
+ * redirected to a file and used as input of the solvers.
+ * 
+ * Usage: GeneratorRunner day scale [seed]
+ * 
+ * @author Joris
+ */
+public class GeneratorRunner {
+	
+	/**
+	 * Generates the input
+	 * 
+	 * @param args The day number, the scale and optionally the seed
+	 * @throws Exception
+	 */
+	public static void main( final String[] args ) throws Exception {
+		if( args.length < 2 ) {
+			System.err.println( "Usage: GeneratorRunner day scale [seed]" );
+			System.exit( 1 );
+		}
+		
+		final int day = Integer.parseInt( args[0] );
+		final InputGenerator gen = InputGenerator.forDay( day );
+		if( gen == null ) throw new RuntimeException( "No generator for day " + day );
+		final int scale = Integer.parseInt( args[1] );
+		final long seed = args.length > 2 ? Long.parseLong( args[2] ) : InputGenerator.DEFAULT_SEED;
+		
+		final Writer out = new BufferedWriter( new OutputStreamWriter( System.out ), 1 << 16 );
+		for( final String s : gen.generate( scale, seed ) ) {
+			out.write( s );
+			out.write( '\n' );
+		}
+		out.flush( );
+	}
+}
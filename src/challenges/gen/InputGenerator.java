@@ -0,0 +1,107 @@
+package challenges.gen;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Base class of the generators of synthetic puzzle inputs. A generator
+ * produces a valid input in the format of the input.txt of its day, of which
+ * the size grows with the requested scale. A scale of 1 produces an input of
+ * roughly the size of the bundled puzzle input, every generator documents how
+ * its input grows with the scale.
+ * 
+ * Generators are seeded, hence the same scale and seed always produce the same
+ * input. The generator of day N is discovered as the class
+ * challenges.dayNN.DayNNGenerator.
+ * 
+ * @author Joris
+ */
+public abstract class InputGenerator {
+	/** The seed that is used if none is specified */
+	public static final long DEFAULT_SEED = 2022;
+	
+	/**
+	 * Generates an input of the given scale
+	 * 
+	 * @param scale The scale of the input, at least 1
+	 * @param seed The seed of the random generator
+	 * @return The input as list of lines
+	 * @throws IllegalArgumentException if the scale is not positive
+	 */
+	public final List<String> generate( final int scale, final long seed ) {
+		if( scale < 1 ) throw new IllegalArgumentException( "Invalid scale: " + scale );
+		return generate( new Random( seed ), scale );
+	}
+	
+	/**
+	 * Generates the input
+	 * 
+	 * @param rnd The random generator to use
+	 * @param scale The scale of the input
+	 * @return The input as list of lines
+	 */
+	protected abstract List<String> generate( final Random rnd, final int scale );
+	
+	/**
+	 * Discovers the generator of a day
+	 * 
+	 * @param day The day number
+	 * @return The generator or null if the day has none
+	 * @throws ReflectiveOperationException if the generator could not be created
+	 */
+	public static InputGenerator forDay( final int day ) throws ReflectiveOperationException {
+		final String dd = String.format( "%02d", day );
+		return forClass( "challenges.day" + dd + ".Day" + dd + "Generator" );
+	}
+	
+	/**
+	 * Discovers the generator of a day from the class of the day
+	 * 
+	 * @param day The class of the day
+	 * @return The generator or null if the day has none
+	 * @throws ReflectiveOperationException if the generator could not be created
+	 */
+	public static InputGenerator forDay( final Class<?> day ) throws ReflectiveOperationException {
+		return forClass( day.getName( ) + "Generator" );
+	}
+	
+	/**
+	 * Creates a generator from its class name
+	 * 
+	 * @param classname The fully qualified class name of the generator
+	 * @return The generator or null if there is no such class
+	 * @throws ReflectiveOperationException if the generator could not be created
+	 */
+	private static InputGenerator forClass( final String classname ) throws ReflectiveOperationException {
+		try {
+			return (InputGenerator) Class.forName( classname ).newInstance( );
+		} catch( ClassNotFoundException e ) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Generates a random word of lower case letters
+	 * 
+	 * @param rnd The random generator
+	 * @param length The length of the word
+	 * @return The word
+	 */
+	protected static String word( final Random rnd, final int length ) {
+		final char[] c = new char[ length ];
+		for( int i = 0; i < length; i++ ) c[i] = (char)('a' + rnd.nextInt( 26 ));
+		return new String( c );
+	}
+	
+	/**
+	 * Generates a random integer in the range [min, max]
+	 * 
+	 * @param rnd The random generator
+	 * @param min The minimal value
+	 * @param max The maximal value
+	 * @return The random integer
+	 */
+	protected static int range( final Random rnd, final int min, final int max ) {
+		return min + rnd.nextInt( max - min + 1 );
+	}
+}
@@ -0,0 +1,328 @@
+package challenges.runner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache of puzzle answers, keyed by a hash of the solver, the part, the input
+ * and any parameters of the part. The cache holds a bounded number of answers
+ * and evicts the least recently used answer when it is full. It can be
+ * persisted to a compact binary file, such that repeated runs on the same
+ * inputs return their answers without solving them again.
+ * 
+ * Answers are stored as long, integer or string, which covers the answer
+ * types of all days. Other answers are not cached.
+ * 
+ * @author Joris
+ */
+public class AnswerCache {
+	/** The identifier of a cache file */
+	private static final int MAGIC = 0x414F4343;
+	
+	/** The version of the file format */
+	private static final int VERSION = 1;
+	
+	/** The file the cache is persisted to, null if it is not persisted */
+	protected final File file;
+	
+	/** The maximum number of answers to keep */
+	protected final int capacity;
+	
+	/** The cached answers, in order of least to most recently used */
+	private final LinkedHashMap<Key, Object> answers;
+	
+	/** The number of cache hits */
+	private long hits;
+	
+	/** The number of cache misses */
+	private long misses;
+	
+	/** True if the cache has changed since it was last loaded or saved */
+	private boolean dirty;
+	
+	/**
+	 * Creates a new, empty cache
+	 * 
+	 * @param file The file to persist the cache to, null to keep it in memory
+	 * @param capacity The maximum number of answers to keep
+	 */
+	public AnswerCache( final File file, final int capacity ) {
+		if( capacity < 1 ) throw new IllegalArgumentException( "Invalid cache capacity: " + capacity );
+		this.file = file;
+		this.capacity = capacity;
+		this.answers = new LinkedHashMap<Key, Object>( 16, 0.75f, true ) {
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry( final Map.Entry<Key, Object> eldest ) {
+				return size( ) > AnswerCache.this.capacity;
+			}
+		};
+	}
+	
+	/**
+	 * Opens the cache that is persisted in the given file, or creates an empty
+	 * cache if the file does not exist
+	 * 
+	 * @param file The cache file
+	 * @param capacity The maximum number of answers to keep
+	 * @return The cache
+	 * @throws IOException if the file exists but could not be read
+	 */
+	public static AnswerCache open( final File file, final int capacity ) throws IOException {
+		final AnswerCache cache = new AnswerCache( file, capacity );
+		if( file.exists( ) ) cache.load( );
+		return cache;
+	}
+	
+	/**
+	 * Opens the cache that is configured by the system properties
+	 * runner.cache (the file) and runner.cache.size (the capacity, default
+	 * 1024)
+	 * 
+	 * @return The cache or null if no cache file is configured
+	 * @throws IOException if the cache file could not be read
+	 */
+	public static AnswerCache fromProperties( ) throws IOException {
+		final String f = System.getProperty( "runner.cache" );
+		if( f == null ) return null;
+		return open( new File( f ), Integer.getInteger( "runner.cache.size", 1024 ) );
+	}
+	
+	/**
+	 * Computes the cache key of an answer
+	 * 
+	 * @param solver The name of the solver
+	 * @param part The part that is solved
+	 * @param input The puzzle input
+	 * @param params Any parameters of the part that affect the answer
+	 * @return The cache key
+	 */
+	public static Key key( final String solver, final int part, final List<String> input, final Object... params ) {
+		final MessageDigest md;
+		try {
+			md = MessageDigest.getInstance( "SHA-256" );
+		} catch( NoSuchAlgorithmException e ) {
+			throw new RuntimeException( e );
+		}
+		
+		md.update( (solver + "#" + part).getBytes( StandardCharsets.UTF_8 ) );
+		for( final Object p : params ) {
+			md.update( (byte)0 );
+			md.update( String.valueOf( p ).getBytes( StandardCharsets.UTF_8 ) );
+		}
+		md.update( (byte)0 );
+		for( final String s : input ) {
+			md.update( s.getBytes( StandardCharsets.UTF_8 ) );
+			md.update( (byte)'\n' );
+		}
+		
+		// the first 128 bits of the digest suffice as key
+		final byte[] d = md.digest( );
+		long hi = 0, lo = 0;
+		for( int i = 0; i < 8; i++ ) {
+			hi = (hi << 8) | (d[i] & 0xFF);
+			lo = (lo << 8) | (d[i + 8] & 0xFF);
+		}
+		return new Key( hi, lo );
+	}
+	
+	/**
+	 * Retrieves the answer for a key, computing and caching it if it is not
+	 * cached yet. The answer is computed outside of the cache lock, such that
+	 * concurrent solvers do not wait for each other.
+	 * 
+	 * @param key The cache key
+	 * @param solve The function that computes the answer
+	 * @return The answer
+	 */
+	public Object get( final Key key, final Supplier<Object> solve ) {
+		synchronized( this ) {
+			if( answers.containsKey( key ) ) {
+				hits++;
+				return answers.get( key );
+			}
+			misses++;
+		}
+		
+		final Object answer = solve.get( );
+		if( isCacheable( answer ) ) {
+			synchronized( this ) {
+				answers.put( key, answer );
+				dirty = true;
+			}
+		}
+		return answer;
+	}
+	
+	/**
+	 * Checks whether an answer can be stored in the cache
+	 * 
+	 * @param answer The answer
+	 * @return True iff the answer is null, a long, an integer or a string that
+	 *   fits in the cache file
+	 */
+	private static boolean isCacheable( final Object answer ) {
+		if( answer instanceof String ) return ((String)answer).length( ) <= 20000;
+		return answer == null || answer instanceof Long || answer instanceof Integer;
+	}
+	
+	/** @return The number of cached answers */
+	public synchronized int size( ) {
+		return answers.size( );
+	}
+	
+	/** @return The number of cache hits */
+	public synchronized long getHits( ) {
+		return hits;
+	}
+	
+	/** @return The number of cache misses */
+	public synchronized long getMisses( ) {
+		return misses;
+	}
+	
+	/** Removes all answers from the cache */
+	public synchronized void clear( ) {
+		answers.clear( );
+		dirty = true;
+	}
+	
+	/**
+	 * Reads the cached answers from the cache file, replacing the current
+	 * contents of the cache
+	 * 
+	 * @throws IOException if the file could not be read or is not a cache file
+	 */
+	public synchronized void load( ) throws IOException {
+		try( final DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) ) ) {
+			if( in.readInt( ) != MAGIC ) throw new IOException( "Not a cache file: " + file );
+			if( in.readInt( ) != VERSION ) throw new IOException( "Unsupported cache version in " + file );
+			
+			// entries are stored from least to most recently used
+			answers.clear( );
+			final int n = in.readInt( );
+			for( int i = 0; i < n; i++ ) {
+				final Key key = new Key( in.readLong( ), in.readLong( ) );
+				final Object answer;
+				final byte type = in.readByte( );
+				switch( type ) {
+					case 'N': answer = null; break;
+					case 'L': answer = in.readLong( ); break;
+					case 'I': answer = in.readInt( ); break;
+					case 'S': answer = in.readUTF( ); break;
+					default: throw new IOException( "Invalid answer type " + type + " in " + file );
+				}
+				answers.put( key, answer );
+			}
+		}
+		dirty = false;
+	}
+	
+	/**
+	 * Writes the cached answers to the cache file if they have changed. The
+	 * file is written to a temporary file first and then moved into place, so
+	 * that a failed write never leaves a corrupt cache file.
+	 * 
+	 * @throws IOException if the file could not be written
+	 */
+	public synchronized void save( ) throws IOException {
+		if( file == null || !dirty ) return;
+		
+		final File dir = file.getAbsoluteFile( ).getParentFile( );
+		if( dir != null ) dir.mkdirs( );
+		final File tmp = new File( file.getPath( ) + ".tmp" );
+		try( final DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( tmp ) ) ) ) {
+			out.writeInt( MAGIC );
+			out.writeInt( VERSION );
+			out.writeInt( answers.size( ) );
+			for( final Map.Entry<Key, Object> e : answers.entrySet( ) ) {
+				out.writeLong( e.getKey( ).hi );
+				out.writeLong( e.getKey( ).lo );
+				final Object a = e.getValue( );
+				if( a == null ) {
+					out.writeByte( 'N' );
+				} else if( a instanceof Long ) {
+					out.writeByte( 'L' );
+					out.writeLong( (Long)a );
+				} else if( a instanceof Integer ) {
+					out.writeByte( 'I' );
+					out.writeInt( (Integer)a );
+				} else {
+					out.writeByte( 'S' );
+					out.writeUTF( (String)a );
+				}
+			}
+		}
+		Files.move( tmp.toPath( ), file.toPath( ), StandardCopyOption.REPLACE_EXISTING );
+		dirty = false;
+	}
+	
+	/** @return The description of the cache */
+	@Override
+	public synchronized String toString( ) {
+		return "AnswerCache " + (file != null ? file.getPath( ) : "(memory)") + ": " + answers.size( ) + "/" + capacity + " answers, " + hits + " hit(s), " + misses + " miss(es)";
+	}
+	
+	/**
+	 * The 128-bit key of a cached answer
+	 */
+	public static final class Key {
+		/** The high bits of the key */
+		protected final long hi;
+		
+		/** The low bits of the key */
+		protected final long lo;
+		
+		/**
+		 * Creates a new key
+		 * 
+		 * @param hi The high bits
+		 * @param lo The low bits
+		 */
+		protected Key( final long hi, final long lo ) {
+			this.hi = hi;
+			this.lo = lo;
+		}
+		
+		/**
+		 * Checks whether the other object is an equal key
+		 * 
+		 * @param obj The other object
+		 * @return True iff the object is a key with the same bits
+		 */
+		@Override
+		public boolean equals( final Object obj ) {
+			if( obj == null || !(obj instanceof Key) ) return false;
+			final Key k = (Key)obj;
+			return k.hi == hi && k.lo == lo;
+		}
+		
+		/** @return The hash code of the key */
+		@Override
+		public int hashCode( ) {
+			return (int)(hi ^ (hi >>> 32));
+		}
+		
+		/** @return The key as hexadecimal string */
+		@Override
+		public String toString( ) {
+			return String.format( "%016x%016x", hi, lo );
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package challenges.runner;
+
+/**
+ * The result of solving a single input of a batch
+ * 
+ * @author Joris
+ */
+public class BatchResult extends DayResult {
+	/** The name of the input */
+	protected final String input;
+	
+	/**
+	 * Creates a new, empty result for an input
+	 * 
+	 * @param day The day number
+	 * @param input The name of the input
+	 */
+	protected BatchResult( final int day, final String input ) {
+		super( day );
+		this.input = input;
+	}
+	
+	/** @return The name of the input */
+	public String getInput( ) {
+		return input;
+	}
+	
+	/** @return The header line for a table of results */
+	public static String getHeader( ) {
+		return String.format( "%-24s %s", "Input", DayResult.getHeader( ) );
+	}
+	
+	/** @return The result as a single table row, multi-line answers follow it */
+	@Override
+	public String toString( ) {
+		return String.format( "%-24s %s", input, super.toString( ) );
+	}
+}
@@ -0,0 +1,277 @@
+package challenges.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Solves many independent inputs of a single day concurrently. Every input
+ * is solved by a fresh solver instance on a bounded pool of worker threads
+ * and the results are passed to a consumer in the order in which they
+ * complete.
+ * 
+ * Inputs are read lazily, by the worker that solves them, and at most a
+ * fixed number of inputs is in flight at any time. The runner only takes
+ * the next input from its source when a result has been consumed, hence the
+ * memory use does not depend on the number of inputs.
+ * 
+ * @author Joris
+ */
+public class BatchRunner {
+	/** The day to solve inputs of */
+	protected final int day;
+	
+	/** The number of worker threads */
+	protected final int threads;
+	
+	/** The maximum number of inputs that are read or solved but not consumed */
+	protected final int maxpending;
+	
+	/** The cache of answers, null to always solve the inputs */
+	protected AnswerCache cache;
+	
+	/**
+	 * Creates a new batch runner
+	 * 
+	 * @param day The day to solve inputs of
+	 * @param threads The number of worker threads
+	 * @param maxpending The maximum number of inputs in flight, at least the
+	 *   number of threads to keep all workers busy
+	 */
+	public BatchRunner( final int day, final int threads, final int maxpending ) {
+		if( threads < 1 || maxpending < 1 ) throw new IllegalArgumentException( "Invalid batch settings: " + threads + " thread(s), " + maxpending + " pending" );
+		this.day = day;
+		this.threads = threads;
+		this.maxpending = maxpending;
+	}
+	
+	/**
+	 * Sets the cache that answers are looked up in before solving an input
+	 * 
+	 * @param cache The answer cache, null to disable caching
+	 */
+	public void setCache( final AnswerCache cache ) {
+		this.cache = cache;
+	}
+	
+	/**
+	 * Solves all files in a directory as inputs of the day and prints the
+	 * results as they complete. The number of threads and the maximum number
+	 * of pending inputs can be set through the runner.threads and
+	 * runner.pending system properties. If runner.cache specifies a cache
+	 * file, answers are cached in it.
+	 * 
+	 * Usage: BatchRunner day directory
+	 * 
+	 * @param args The day number and the input directory
+	 * @throws Exception
+	 */
+	public static void main( final String[] args ) throws Exception {
+		if( args.length < 2 ) {
+			System.err.println( "Usage: BatchRunner day directory" );
+			System.exit( 1 );
+		}
+		
+		final int threads = Integer.getInteger( "runner.threads", Runtime.getRuntime( ).availableProcessors( ) );
+		final BatchRunner runner = new BatchRunner( Integer.parseInt( args[0] ), threads, Integer.getInteger( "runner.pending", 2 * threads ) );
+		final AnswerCache cache = AnswerCache.fromProperties( );
+		runner.setCache( cache );
+		
+		System.out.println( BatchResult.getHeader( ) );
+		final long t0 = System.nanoTime( );
+		final long n = runner.run( fromDirectory( new File( args[1] ) ), System.out::println );
+		final long t = System.nanoTime( ) - t0;
+		if( cache != null ) cache.save( );
+		
+		System.out.println( String.format( "\nSolved %d input(s) in %.1f ms wall time", n, t / 1e6 ) );
+		if( cache != null ) System.out.println( cache );
+	}
+	
+	/**
+	 * Solves all inputs and passes their results to the consumer in the order
+	 * in which they complete. The consumer is called from the calling thread.
+	 * 
+	 * @param inputs The inputs to solve, taken one at a time when there is
+	 *   room for another pending input
+	 * @param consumer The consumer of the results
+	 * @return The number of inputs solved
+	 * @throws InterruptedException if the runner was interrupted
+	 */
+	public long run( final Iterator<Input> inputs, final Consumer<BatchResult> consumer ) throws InterruptedException {
+		final ExecutorService pool = Executors.newFixedThreadPool( threads );
+		final CompletionService<BatchResult> done = new ExecutorCompletionService<>( pool );
+		long count = 0;
+		int pending = 0;
+		try {
+			while( inputs.hasNext( ) ) {
+				// wait for a result if the maximum number of inputs is in flight
+				if( pending == maxpending ) {
+					consumer.accept( take( done ) );
+					pending--;
+				}
+				
+				final Input in = inputs.next( );
+				done.submit( ( ) -> solve( in ) );
+				pending++;
+				count++;
+			}
+			
+			// drain the remaining results
+			for( ; pending > 0; pending-- ) consumer.accept( take( done ) );
+		} finally {
+			pool.shutdownNow( );
+		}
+		return count;
+	}
+	
+	/**
+	 * Takes the next completed result
+	 * 
+	 * @param done The completion service
+	 * @return The result
+	 * @throws InterruptedException if the runner was interrupted
+	 */
+	private static BatchResult take( final CompletionService<BatchResult> done ) throws InterruptedException {
+		try {
+			return done.take( ).get( );
+		} catch( ExecutionException e ) {
+			throw new RuntimeException( e.getCause( ) );
+		}
+	}
+	
+	/**
+	 * Solves a single input with a new solver instance. An error of the input
+	 * is stored in the result so that the other inputs are not affected by it,
+	 * see {@link SeasonRunner#solve(DayResult, DaySolver, Callable)}.
+	 * 
+	 * @param input The input to solve
+	 * @return The result
+	 */
+	protected BatchResult solve( final Input input ) {
+		final BatchResult result = new BatchResult( day, input.getName( ) );
+		final DaySolver daysolver = SeasonRunner.getSolver( day );
+		final DaySolver solver = daysolver != null && cache != null ? new CachedSolver( daysolver, cache ) : daysolver;
+		SeasonRunner.solve( result, solver, ( ) -> {
+			if( solver == null ) throw new IllegalArgumentException( "No solver for day " + day );
+			return input.read( solver );
+		} );
+		return result;
+	}
+	
+	/**
+	 * Creates a lazy source of inputs from all files in a directory, in order
+	 * of their names
+	 * 
+	 * @param dir The directory
+	 * @return The iterator over the inputs
+	 * @throws IOException if the directory could not be listed
+	 */
+	public static Iterator<Input> fromDirectory( final File dir ) throws IOException {
+		final File[] files = dir.listFiles( File::isFile );
+		if( files == null ) throw new IOException( "Not a directory: " + dir );
+		Arrays.sort( files );
+		
+		return new Iterator<Input>( ) {
+			/** The index of the next file */
+			private int idx = 0;
+			
+			@Override
+			public boolean hasNext( ) {
+				return idx < files.length;
+			}
+			
+			@Override
+			public Input next( ) {
+				if( !hasNext( ) ) throw new NoSuchElementException( );
+				final File f = files[ idx++ ];
+				return Input.fromResource( f.getName( ), ( ) -> f.toURI( ).toURL( ) );
+			}
+		};
+	}
+	
+	/**
+	 * A single input of a batch, which is only read when it is solved
+	 */
+	public static class Input {
+		/** The name of the input */
+		protected final String name;
+		
+		/** The function that reads the input with the solver */
+		private final InputReader reader;
+		
+		/**
+		 * Creates a new input
+		 * 
+		 * @param name The name of the input
+		 * @param reader The function that reads the input
+		 */
+		protected Input( final String name, final InputReader reader ) {
+			this.name = name;
+			this.reader = reader;
+		}
+		
+		/**
+		 * Creates an input that is read from a resource by the solver, such that
+		 * the input format of the day is respected
+		 * 
+		 * @param name The name of the input
+		 * @param resource The function that provides the resource
+		 * @return The input
+		 */
+		public static Input fromResource( final String name, final Callable<URL> resource ) {
+			return new Input( name, solver -> solver.readInput( resource.call( ) ) );
+		}
+		
+		/**
+		 * Creates an input from lines that are already read
+		 * 
+		 * @param name The name of the input
+		 * @param lines The lines of the input, in the format that the solver
+		 *   reads its input into
+		 * @return The input
+		 */
+		public static Input fromLines( final String name, final List<String> lines ) {
+			return new Input( name, solver -> lines );
+		}
+		
+		/** @return The name of the input */
+		public String getName( ) {
+			return name;
+		}
+		
+		/**
+		 * Reads the input
+		 * 
+		 * @param solver The solver that will solve the input
+		 * @return The input lines
+		 * @throws Exception if the input could not be read
+		 */
+		public List<String> read( final DaySolver solver ) throws Exception {
+			return reader.read( solver );
+		}
+	}
+	
+	/** Function that reads an input for a solver */
+	@FunctionalInterface
+	protected interface InputReader {
+		/**
+		 * Reads the input
+		 * 
+		 * @param solver The solver that will solve the input
+		 * @return The input lines
+		 * @throws Exception if the input could not be read
+		 */
+		List<String> read( final DaySolver solver ) throws Exception;
+	}
+}
@@ -0,0 +1,100 @@
+package challenges.runner;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * Solver that answers parts from an {@link AnswerCache} and only invokes the
+ * solver it wraps for answers that are not cached yet. The input is only
+ * prepared by the wrapped solver if one of the parts is not cached.
+ * 
+ * @author Joris
+ */
+public class CachedSolver implements DaySolver {
+	/** The solver that computes the answers */
+	protected final DaySolver solver;
+	
+	/** The cache of answers */
+	protected final AnswerCache cache;
+	
+	/** The parameters of the solver that affect its answers */
+	protected final Object[] params;
+	
+	/**
+	 * Creates a new cached solver
+	 * 
+	 * @param solver The solver to wrap
+	 * @param cache The answer cache
+	 * @param params Any parameters of the solver that affect its answers, they
+	 *   become part of the cache key
+	 */
+	public CachedSolver( final DaySolver solver, final AnswerCache cache, final Object... params ) {
+		this.solver = solver;
+		this.cache = cache;
+		this.params = params;
+	}
+	
+	/** @see challenges.runner.DaySolver#readInput(URL) */
+	@Override
+	public List<String> readInput( final URL resource ) throws IOException {
+		return solver.readInput( resource );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	public Object solvePart1( final List<String> input ) {
+		return cache.get( key( 1, input ), ( ) -> solver.solvePart1( input ) );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	public Object solvePart2( final List<String> input ) {
+		return cache.get( key( 2, input ), ( ) -> solver.solvePart2( input ) );
+	}
+	
+	/**
+	 * Binds the input to the cached parts. The wrapped solver prepares the
+	 * input on the first cache miss, so that both parts still share the parsed
+	 * input
+	 * 
+	 * @param input The puzzle input
+	 * @return The context that answers both parts
+	 */
+	@Override
+	public SolverContext prepare( final List<String> input ) {
+		final AnswerCache.Key k1 = key( 1, input );
+		final AnswerCache.Key k2 = key( 2, input );
+		return new SolverContext( ) {
+			/** The context of the wrapped solver, created on the first miss */
+			private SolverContext context;
+			
+			@Override
+			public Object solvePart1( ) {
+				return cache.get( k1, ( ) -> getContext( ).solvePart1( ) );
+			}
+			
+			@Override
+			public Object solvePart2( ) {
+				return cache.get( k2, ( ) -> getContext( ).solvePart2( ) );
+			}
+			
+			/** @return The context of the wrapped solver */
+			private SolverContext getContext( ) {
+				if( context == null ) context = solver.prepare( input );
+				return context;
+			}
+		};
+	}
+	
+	/**
+	 * Computes the cache key of a part
+	 * 
+	 * @param part The part number
+	 * @param input The puzzle input
+	 * @return The cache key
+	 */
+	private AnswerCache.Key key( final int part, final List<String> input ) {
+		return AnswerCache.key( solver.getClass( ).getName( ), part, input, params );
+	}
+}
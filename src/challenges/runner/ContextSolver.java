@@ -0,0 +1,73 @@
+package challenges.runner;
+
+import java.util.List;
+
+/**
+ * Solver of a day that parses its input once into a domain structure that is
+ * queried by both parts, instead of every part parsing the input again. The
+ * structure must not be modified by solving a part, so that the parts can be
+ * answered in any order from the same structure.
+ * 
+ * @author Joris
+ * @param <C> The type of the parsed input
+ */
+public interface ContextSolver<C> extends DaySolver {
+	
+	/**
+	 * Parses the puzzle input into the structure that both parts query
+	 * 
+	 * @param input The puzzle input
+	 * @return The parsed input
+	 */
+	C parse( final List<String> input );
+	
+	/**
+	 * Solves the first part of the puzzle from the parsed input
+	 * 
+	 * @param context The parsed input
+	 * @return The answer to part 1
+	 */
+	Object solvePart1( final C context );
+	
+	/**
+	 * Solves the second part of the puzzle from the parsed input
+	 * 
+	 * @param context The parsed input
+	 * @return The answer to part 2, null if the day has no second part
+	 */
+	Object solvePart2( final C context );
+	
+	/** @see challenges.runner.DaySolver#solvePart1(List) */
+	@Override
+	default Object solvePart1( final List<String> input ) {
+		return solvePart1( parse( input ) );
+	}
+	
+	/** @see challenges.runner.DaySolver#solvePart2(List) */
+	@Override
+	default Object solvePart2( final List<String> input ) {
+		return solvePart2( parse( input ) );
+	}
+	
+	/**
+	 * Parses the input once and answers both parts from the parsed structure
+	 * 
+	 * @param input The puzzle input
+	 * @return The context that answers both parts
+	 */
+	@Override
+	default SolverContext prepare( final List<String> input ) {
+		final C context = parse( input );
+		return new SolverContext( ) {
+			@Override
+			public Object solvePart1( ) {
+				return ContextSolver.this.solvePart1( context );
+			}
+			
+			@Override
+			public Object solvePart2( ) {
+				return ContextSolver.this.solvePart2( context );
+			}
+		};
+	}
+}
@@ -0,0 +1,122 @@
+package challenges.runner;
+
+/**
+ * The outcome of solving a single day: the answers to both parts and the wall
+ * time and allocated bytes of every solver phase
+ * 
+ * @author Joris
+ */
+public class DayResult {
+	/** The phases of solving a day */
+	public enum Phase { Parse, Part1, Part2; }
+	
+	/** The day number */
+	protected final int day;
+	
+	/** The answers to both parts */
+	protected final Object[] answers;
+	
+	/** The wall time per phase in nanoseconds */
+	protected final long[] nanos;
+	
+	/** The allocated bytes per phase */
+	protected final long[] bytes;
+	
+	/** The error that occurred while solving, null if none */
+	protected Throwable error;
+	
+	/**
+	 * Creates a new, empty result for the given day
+	 * 
+	 * @param day The day number
+	 */
+	protected DayResult( final int day ) {
+		this.day = day;
+		this.answers = new Object[ 2 ];
+		this.nanos = new long[ Phase.values( ).length ];
+		this.bytes = new long[ Phase.values( ).length ];
+	}
+	
+	/** @return The day number */
+	public int getDay( ) {
+		return day;
+	}
+	
+	/**
+	 * Retrieves the answer to one of the parts
+	 * 
+	 * @param part The part number, 1 or 2
+	 * @return The answer, null if there is none
+	 */
+	public Object getAnswer( final int part ) {
+		return answers[ part - 1 ];
+	}
+	
+	/**
+	 * Retrieves the wall time of a phase
+	 * 
+	 * @param phase The phase
+	 * @return The wall time in nanoseconds
+	 */
+	public long getNanos( final Phase phase ) {
+		return nanos[ phase.ordinal( ) ];
+	}
+	
+	/**
+	 * Retrieves the number of bytes allocated in a phase
+	 * 
+	 * @param phase The phase
+	 * @return The allocated bytes, 0 if allocation could not be measured
+	 */
+	public long getBytes( final Phase phase ) {
+		return bytes[ phase.ordinal( ) ];
+	}
+	
+	/** @return The total wall time of all phases in nanoseconds */
+	public long getTotalNanos( ) {
+		long sum = 0;
+		for( final long n : nanos ) sum += n;
+		return sum;
+	}
+	
+	/** @return The error that occurred while solving, null if none */
+	public Throwable getError( ) {
+		return error;
+	}
+	
+	/** @return The header line for a table of results */
+	public static String getHeader( ) {
+		return String.format( "%-4s %10s %10s %10s %12s %12s %12s  %s", "Day", "parse ms", "part1 ms", "part2 ms", "parse MB", "part1 MB", "part2 MB", "Answers" );
+	}
+	
+	/** @return The result as a single table row, multi-line answers follow it */
+	@Override
+	public String toString( ) {
+		final StringBuilder sb = new StringBuilder( );
+		sb.append( String.format( "%-4d", day ) );
+		for( final long n : nanos ) sb.append( String.format( " %10.1f", n / 1e6 ) );
+		for( final long b : bytes ) sb.append( String.format( " %12.1f", b / (1024.0 * 1024.0) ) );
+		sb.append( "  " );
+		
+		if( error != null ) {
+			sb.append( "ERROR: " + error );
+			return sb.toString( );
+		}
+		
+		// keep single-line answers in the row, append multi-line ones below it
+		final StringBuilder multi = new StringBuilder( );
+		for( int i = 0; i < answers.length; i++ ) {
+			final String a = answers[i] == null ? "-" : answers[i].toString( );
+			if( a.contains( "\n" ) ) {
+				sb.append( "(see below) " );
+				multi.append( '\n' );
+				multi.append( a );
+			} else {
+				sb.append( a );
+				sb.append( ' ' );
+			}
+		}
+		sb.append( multi );
+		return sb.toString( ).trim( );
+	}
+}
@@ -0,0 +1,67 @@
+package challenges.runner;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+
+import aocutil.io.FileReader;
+
+/**
+ * Common entry point of the solvers of every day, such that the days can be
+ * discovered and run from a single place instead of through their own main
+ * methods
+ * 
+ * @author Joris
+ */
+public interface DaySolver {
+	
+	/**
+	 * Reads the puzzle input from the given resource. By default the input is
+	 * read as plain lines, days that use a different format override this.
+	 * 
+	 * @param resource The input resource
+	 * @return The puzzle input
+	 * @throws IOException if the input could not be read
+	 */
+	default List<String> readInput( final URL resource ) throws IOException {
+		return new FileReader( resource ).readLines( );
+	}
+	
+	/**
+	 * Solves the first part of the puzzle
+	 * 
+	 * @param input The puzzle input
+	 * @return The answer to part 1
+	 */
+	Object solvePart1( final List<String> input );
+	
+	/**
+	 * Solves the second part of the puzzle
+	 * 
+	 * @param input The puzzle input
+	 * @return The answer to part 2, null if the day has no second part
+	 */
+	Object solvePart2( final List<String> input );
+	
+	/**
+	 * Prepares the input for solving both parts. By default this only binds
+	 * the input to the parts, solvers that parse their input into a structure
+	 * which is shared by both parts implement {@link ContextSolver} instead.
+	 * 
+	 * @param input The puzzle input
+	 * @return The context that answers both parts
+	 */
+	default SolverContext prepare( final List<String> input ) {
+		return new SolverContext( ) {
+			@Override
+			public Object solvePart1( ) {
+				return DaySolver.this.solvePart1( input );
+			}
+			
+			@Override
+			public Object solvePart2( ) {
+				return DaySolver.this.solvePart2( input );
+			}
+		};
+	}
+}
@@ -0,0 +1,239 @@
+package challenges.runner;
+
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import challenges.runner.DayResult.Phase;
+
+/**
+ * Runs the solvers of all days of the season in a single JVM. The days are
+ * discovered as the classes challenges.dayNN.DayNN that implement
+ * {@link DaySolver} and are solved concurrently on a fixed thread pool, while
+ * the wall time and allocated bytes of every phase are recorded per day.
+ * 
+ * The days run on plain threads rather than a fork-join pool, such that the
+ * parallel searches of some days run on the common pool instead of stealing
+ * the work of other days. The allocated bytes are those of the thread of the
+ * day, hence they do not include the allocations of parallel search workers.
+ * 
+ * @author Joris
+ */
+public class SeasonRunner {
+	/** The number of days that may be solved concurrently */
+	private final int parallelism;
+	
+	/** The name of the input resource to solve */
+	private final String inputname;
+	
+	/** The cache of answers, null to always solve the days */
+	protected AnswerCache cache;
+	
+	/**
+	 * Creates a new season runner
+	 * 
+	 * @param parallelism The number of days to solve concurrently
+	 * @param inputname The name of the input resource to use for every day,
+	 *   e.g. input.txt or example.txt
+	 */
+	public SeasonRunner( final int parallelism, final String inputname ) {
+		this.parallelism = parallelism;
+		this.inputname = inputname;
+	}
+	
+	/**
+	 * Sets the cache that answers are looked up in before solving a day
+	 * 
+	 * @param cache The answer cache, null to disable caching
+	 */
+	public void setCache( final AnswerCache cache ) {
+		this.cache = cache;
+	}
+	
+	/**
+	 * Runs all days of the season, or only those given as arguments, and prints
+	 * a table with the answers and the per-phase timings. The number of threads
+	 * and the input resource can be set through the runner.threads and
+	 * runner.input system properties. If runner.cache specifies a cache file,
+	 * answers are cached in it, see {@link AnswerCache#fromProperties()}.
+	 * 
+	 * @param args The day numbers to run, all days if empty
+	 * @throws Exception
+	 */
+	public static void main( final String[] args ) throws Exception {
+		final List<Integer> days = new ArrayList<>( );
+		for( final String a : args ) days.add( Integer.parseInt( a ) );
+		if( days.isEmpty( ) ) days.addAll( discover( ) );
+		
+		final SeasonRunner runner = new SeasonRunner( 
+				Integer.getInteger( "runner.threads", Runtime.getRuntime( ).availableProcessors( ) ),
+				System.getProperty( "runner.input", "input.txt" ) );
+		final AnswerCache cache = AnswerCache.fromProperties( );
+		runner.setCache( cache );
+		
+		final long t0 = System.nanoTime( );
+		final List<DayResult> results = runner.run( days );
+		final long t = System.nanoTime( ) - t0;
+		if( cache != null ) cache.save( );
+		
+		System.out.println( DayResult.getHeader( ) );
+		long sum = 0;
+		for( final DayResult r : results ) {
+			System.out.println( r );
+			sum += r.getTotalNanos( );
+		}
+		System.out.println( String.format( "\nSolved %d day(s) in %.1f ms wall time (%.1f ms summed over days)", results.size( ), t / 1e6, sum / 1e6 ) );
+		System.out.println( "Allocations (MB) are those of the thread of a day and exclude the workers of parallel searches" );
+		if( cache != null ) System.out.println( cache );
+	}
+	
+	/**
+	 * Discovers all days for which a solver is available
+	 * 
+	 * @return The sorted list of day numbers
+	 */
+	public static List<Integer> discover( ) {
+		final List<Integer> days = new ArrayList<>( );
+		for( int d = 1; d <= 25; d++ )
+			if( getSolver( d ) != null ) days.add( d );
+		return days;
+	}
+	
+	/**
+	 * Creates the solver of the given day
+	 * 
+	 * @param day The day number
+	 * @return The solver or null if the day has no solver
+	 */
+	public static DaySolver getSolver( final int day ) {
+		final String dd = String.format( "%02d", day );
+		try {
+			final Class<?> c = Class.forName( "challenges.day" + dd + ".Day" + dd );
+			if( !DaySolver.class.isAssignableFrom( c ) ) return null;
+			return (DaySolver) c.newInstance( );
+		} catch( ReflectiveOperationException e ) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Solves the given days concurrently
+	 * 
+	 * @param days The day numbers to solve
+	 * @return The results of all days, in the order of the days given
+	 * @throws InterruptedException if the runner was interrupted
+	 */
+	public List<DayResult> run( final Collection<Integer> days ) throws InterruptedException {
+		final ExecutorService pool = Executors.newFixedThreadPool( parallelism );
+		try {
+			final List<Future<DayResult>> F = new ArrayList<>( days.size( ) );
+			for( final int d : days ) F.add( pool.submit( ( ) -> solve( d ) ) );
+			
+			final List<DayResult> results = new ArrayList<>( days.size( ) );
+			for( final Future<DayResult> f : F ) {
+				try {
+					results.add( f.get( ) );
+				} catch( ExecutionException e ) {
+					throw new RuntimeException( e.getCause( ) );
+				}
+			}
+			return results;
+		} finally {
+			pool.shutdown( );
+		}
+	}
+	
+	/**
+	 * Solves a single day, phase by phase, and records the timings of every
+	 * phase. An error of the day is stored in the result so that the other days
+	 * are not affected by it.
+	 * 
+	 * @param day The day number
+	 * @return The result of the day
+	 */
+	protected DayResult solve( final int day ) {
+		final DayResult result = new DayResult( day );
+		final DaySolver daysolver = getSolver( day );
+		final URL resource = daysolver != null ? daysolver.getClass( ).getResource( inputname ) : null;
+		final DaySolver solver = daysolver != null && cache != null ? new CachedSolver( daysolver, cache ) : daysolver;
+		solve( result, solver, ( ) -> {
+			if( solver == null ) throw new IllegalArgumentException( "No solver for day " + day );
+			if( resource == null ) throw new IllegalArgumentException( "No input " + inputname + " for day " + day );
+			return solver.readInput( resource );
+		} );
+		
+		return result;
+	}
+	
+	/**
+	 * Solves an input, phase by phase, and records the answers and the timings
+	 * of every phase in the result. If the input cannot be read or solved, the
+	 * error is stored in the result so that the runner can continue with its
+	 * other work
+	 * 
+	 * @param result The result to store the answers and timings in
+	 * @param solver The solver to use
+	 * @param reader The function that reads the input, it is called before the
+	 *   solver is used
+	 */
+	protected static void solve( final DayResult result, final DaySolver solver, final Callable<List<String>> reader ) {
+		try {
+			// parse phase, which includes the parsing into the domain structures
+			// of solvers that share them between both parts
+			long t0 = System.nanoTime( );
+			long a0 = getAllocatedBytes( );
+			final SolverContext context = solver.prepare( reader.call( ) );
+			record( result, Phase.Parse, t0, a0 );
+			
+			// part 1
+			t0 = System.nanoTime( );
+			a0 = getAllocatedBytes( );
+			result.answers[0] = context.solvePart1( );
+			record( result, Phase.Part1, t0, a0 );
+			
+			// part 2
+			t0 = System.nanoTime( );
+			a0 = getAllocatedBytes( );
+			result.answers[1] = context.solvePart2( );
+			record( result, Phase.Part2, t0, a0 );
+		} catch( Exception | StackOverflowError e ) {
+			// a deep recursion on a large input only fails its own result, other
+			// errors of the virtual machine abort the runner
+			result.error = e;
+		}
+	}
+	
+	/**
+	 * Records the time and allocations of a completed phase
+	 * 
+	 * @param result The result to store the values in
+	 * @param phase The phase that completed
+	 * @param t0 The nano time at the start of the phase
+	 * @param a0 The allocated bytes at the start of the phase
+	 */
+	private static void record( final DayResult result, final Phase phase, final long t0, final long a0 ) {
+		result.nanos[ phase.ordinal( ) ] = System.nanoTime( ) - t0;
+		result.bytes[ phase.ordinal( ) ] = getAllocatedBytes( ) - a0;
+	}
+	
+	/**
+	 * Determines the number of bytes allocated so far by the current thread. As
+	 * every day is solved on a single thread that does not run any other work,
+	 * this gives the allocations of the day, except for those of the workers of
+	 * its parallel searches.
+	 * 
+	 * @return The allocated bytes, 0 if the JVM does not support measuring it
+	 */
+	private static long getAllocatedBytes( ) {
+		if( !(ManagementFactory.getThreadMXBean( ) instanceof com.sun.management.ThreadMXBean) ) return 0;
+		final com.sun.management.ThreadMXBean tmx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean( );
+		return tmx.getThreadAllocatedBytes( Thread.currentThread( ).getId( ) );
+	}
+}
@@ -0,0 +1,16 @@
+package challenges.runner;
+
+/**
+ * Puzzle input of a day that has been parsed once, from which the answers to
+ * both parts can be obtained without parsing the input again
+ * 
+ * @author Joris
+ */
+public interface SolverContext {
+	
+	/** @return The answer to part 1 */
+	Object solvePart1( );
+	
+	/** @return The answer to part 2, null if the day has no second part */
+	Object solvePart2( );
+}
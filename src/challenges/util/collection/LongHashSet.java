@@ -0,0 +1,243 @@
+package challenges.util.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Set of primitive long values that uses open addressing with linear probing.
+ * Adding and testing values does not allocate, which makes it suitable for
+ * tracking (packed) coordinates in tight loops.
+ * 
+ * @author Joris
+ */
+public class LongHashSet {
+	/** The key that marks a free slot, it is stored separately if added */
+	private static final long FREE = 0;
+	
+	/** The maximal fraction of slots that may be used before growing */
+	private static final double LOAD = 0.6;
+	
+	/** The slots of the table */
+	private long[] keys;
+	
+	/** True if the free key value itself is in the set */
+	private boolean hasfree;
+	
+	/** The number of used slots */
+	private int used;
+	
+	/** The number of used slots at which the table grows */
+	private int maxused;
+	
+	/** Creates a new, empty set */
+	public LongHashSet( ) {
+		this( 16 );
+	}
+	
+	/**
+	 * Creates a new, empty set
+	 * 
+	 * @param expected The number of values it is expected to hold
+	 */
+	public LongHashSet( final int expected ) {
+		allocate( capacity( expected, LOAD ) );
+	}
+	
+	/**
+	 * Adds a value to the set
+	 * 
+	 * @param key The value to add
+	 * @return True if the value was added, false if it was already in the set
+	 */
+	public boolean add( final long key ) {
+		if( key == FREE ) {
+			if( hasfree ) return false;
+			hasfree = true;
+			return true;
+		}
+		
+		final int mask = keys.length - 1;
+		int idx = hash( key ) & mask;
+		while( keys[idx] != FREE ) {
+			if( keys[idx] == key ) return false;
+			idx = (idx + 1) & mask;
+		}
+		keys[idx] = key;
+		if( ++used >= maxused ) rehash( keys.length * 2 );
+		return true;
+	}
+	
+	/**
+	 * Tests whether a value is in the set
+	 * 
+	 * @param key The value to test
+	 * @return True iff the set contains the value
+	 */
+	public boolean contains( final long key ) {
+		if( key == FREE ) return hasfree;
+		
+		final int mask = keys.length - 1;
+		int idx = hash( key ) & mask;
+		while( keys[idx] != FREE ) {
+			if( keys[idx] == key ) return true;
+			idx = (idx + 1) & mask;
+		}
+		return false;
+	}
+	
+	/**
+	 * Removes a value from the set
+	 * 
+	 * @param key The value to remove
+	 * @return True if the value was removed, false if it was not in the set
+	 */
+	public boolean remove( final long key ) {
+		if( key == FREE ) {
+			final boolean had = hasfree;
+			hasfree = false;
+			return had;
+		}
+		
+		final int mask = keys.length - 1;
+		int idx = hash( key ) & mask;
+		while( keys[idx] != key ) {
+			if( keys[idx] == FREE ) return false;
+			idx = (idx + 1) & mask;
+		}
+		
+		// shift back the following keys of the probe sequence to close the gap
+		int gap = idx;
+		idx = (idx + 1) & mask;
+		while( keys[idx] != FREE ) {
+			final int home = hash( keys[idx] ) & mask;
+			if( ((idx - home) & mask) >= ((idx - gap) & mask) ) {
+				keys[gap] = keys[idx];
+				gap = idx;
+			}
+			idx = (idx + 1) & mask;
+		}
+		keys[gap] = FREE;
+		used--;
+		return true;
+	}
+	
+	/** @return The number of values in the set */
+	public int size( ) {
+		return used + (hasfree ? 1 : 0);
+	}
+	
+	/** @return True iff the set is empty */
+	public boolean isEmpty( ) {
+		return size( ) == 0;
+	}
+	
+	/** Removes all values from the set */
+	public void clear( ) {
+		Arrays.fill( keys, FREE );
+		hasfree = false;
+		used = 0;
+	}
+	
+	/** @return An iterator over all values in the set, in no particular order */
+	public PrimitiveIterator.OfLong iterator( ) {
+		return new PrimitiveIterator.OfLong( ) {
+			/** The next slot to return, -1 for the free key */
+			private int idx = hasfree ? -1 : advance( 0 );
+			
+			/**
+			 * Finds the next used slot
+			 * 
+			 * @param from The slot to start searching at
+			 * @return The index of the next used slot
+			 */
+			private int advance( int from ) {
+				while( from < keys.length && keys[from] == FREE ) from++;
+				return from;
+			}
+			
+			@Override
+			public boolean hasNext( ) {
+				return idx < keys.length;
+			}
+			
+			@Override
+			public long nextLong( ) {
+				if( !hasNext( ) ) throw new NoSuchElementException( );
+				if( idx == -1 ) {
+					idx = advance( 0 );
+					return FREE;
+				}
+				final long key = keys[idx];
+				idx = advance( idx + 1 );
+				return key;
+			}
+		};
+	}
+	
+	/**
+	 * Allocates a new table
+	 * 
+	 * @param capacity The number of slots, must be a power of two
+	 */
+	private void allocate( final int capacity ) {
+		keys = new long[ capacity ];
+		maxused = (int)(capacity * LOAD);
+	}
+	
+	/**
+	 * Moves all keys into a new table of the given capacity
+	 * 
+	 * @param capacity The new number of slots
+	 */
+	private void rehash( final int capacity ) {
+		final long[] old = keys;
+		allocate( capacity );
+		final int mask = capacity - 1;
+		for( final long key : old ) {
+			if( key == FREE ) continue;
+			int idx = hash( key ) & mask;
+			while( keys[idx] != FREE ) idx = (idx + 1) & mask;
+			keys[idx] = key;
+		}
+	}
+	
+	/** @return The set as a string of its values */
+	@Override
+	public String toString( ) {
+		final StringBuilder sb = new StringBuilder( "[" );
+		final PrimitiveIterator.OfLong it = iterator( );
+		while( it.hasNext( ) ) {
+			sb.append( it.nextLong( ) );
+			if( it.hasNext( ) ) sb.append( ", " );
+		}
+		return sb.append( "]" ).toString( );
+	}
+	
+	/**
+	 * Spreads the bits of a key, packed coordinates differ mostly in their lower
+	 * bits of each half, so mix both halves into the lower bits that select a
+	 * slot
+	 * 
+	 * @param key The key
+	 * @return The hash of the key
+	 */
+	static int hash( final long key ) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		h ^= h >>> 32;
+		return (int)(h ^ (h >>> 16));
+	}
+	
+	/**
+	 * Computes the table capacity for an expected number of keys
+	 * 
+	 * @param expected The expected number of keys
+	 * @param load The maximal load factor
+	 * @return The capacity, a power of two
+	 */
+	static int capacity( final int expected, final double load ) {
+		final long needed = (long)Math.ceil( Math.max( expected, 4 ) / load ) + 1;
+		if( needed > (1 << 30) ) throw new IllegalArgumentException( "Too many keys: " + expected );
+		return Integer.highestOneBit( (int)needed - 1 ) << 1;
+	}
+}
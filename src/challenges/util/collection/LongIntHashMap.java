@@ -0,0 +1,217 @@
+package challenges.util.collection;
+
+import java.util.Arrays;
+
+/**
+ * Map from primitive long keys to primitive int values that uses open
+ * addressing with linear probing, see {@link LongHashSet}
+ * 
+ * @author Joris
+ */
+public class LongIntHashMap {
+	/** The key that marks a free slot, its value is stored separately */
+	private static final long FREE = 0;
+	
+	/** The maximal fraction of slots that may be used before growing */
+	private static final double LOAD = 0.6;
+	
+	/** The keys of the table */
+	private long[] keys;
+	
+	/** The values of the table */
+	private int[] values;
+	
+	/** True if the free key itself is in the map */
+	private boolean hasfree;
+	
+	/** The value of the free key */
+	private int freevalue;
+	
+	/** The number of used slots */
+	private int used;
+	
+	/** The number of used slots at which the table grows */
+	private int maxused;
+	
+	/** The value that is returned for keys that are not in the map */
+	private final int missing;
+	
+	/**
+	 * Creates a new, empty map
+	 * 
+	 * @param missing The value to return for keys that are not in the map
+	 */
+	public LongIntHashMap( final int missing ) {
+		this( 16, missing );
+	}
+	
+	/**
+	 * Creates a new, empty map
+	 * 
+	 * @param expected The number of keys it is expected to hold
+	 * @param missing The value to return for keys that are not in the map
+	 */
+	public LongIntHashMap( final int expected, final int missing ) {
+		this.missing = missing;
+		allocate( LongHashSet.capacity( expected, LOAD ) );
+	}
+	
+	/**
+	 * Retrieves the value of a key
+	 * 
+	 * @param key The key
+	 * @return The value, or the missing value if the key is not in the map
+	 */
+	public int get( final long key ) {
+		if( key == FREE ) return hasfree ? freevalue : missing;
+		
+		final int mask = keys.length - 1;
+		int idx = LongHashSet.hash( key ) & mask;
+		while( keys[idx] != FREE ) {
+			if( keys[idx] == key ) return values[idx];
+			idx = (idx + 1) & mask;
+		}
+		return missing;
+	}
+	
+	/**
+	 * Tests whether a key is in the map
+	 * 
+	 * @param key The key
+	 * @return True iff the map contains the key
+	 */
+	public boolean containsKey( final long key ) {
+		if( key == FREE ) return hasfree;
+		
+		final int mask = keys.length - 1;
+		int idx = LongHashSet.hash( key ) & mask;
+		while( keys[idx] != FREE ) {
+			if( keys[idx] == key ) return true;
+			idx = (idx + 1) & mask;
+		}
+		return false;
+	}
+	
+	/**
+	 * Stores the value of a key
+	 * 
+	 * @param key The key
+	 * @param value The value
+	 * @return The previous value or the missing value if the key was not in the
+	 *   map
+	 */
+	public int put( final long key, final int value ) {
+		if( key == FREE ) {
+			final int prev = hasfree ? freevalue : missing;
+			hasfree = true;
+			freevalue = value;
+			return prev;
+		}
+		
+		final int mask = keys.length - 1;
+		int idx = LongHashSet.hash( key ) & mask;
+		while( keys[idx] != FREE ) {
+			if( keys[idx] == key ) {
+				final int prev = values[idx];
+				values[idx] = value;
+				return prev;
+			}
+			idx = (idx + 1) & mask;
+		}
+		keys[idx] = key;
+		values[idx] = value;
+		if( ++used >= maxused ) rehash( keys.length * 2 );
+		return missing;
+	}
+	
+	/**
+	 * Adds to the value of a key, a key that is not in the map starts at zero
+	 * 
+	 * @param key The key
+	 * @param delta The value to add
+	 * @return The new value
+	 */
+	public int addTo( final long key, final int delta ) {
+		final int value = (containsKey( key ) ? get( key ) : 0) + delta;
+		put( key, value );
+		return value;
+	}
+	
+	/** @return The number of keys in the map */
+	public int size( ) {
+		return used + (hasfree ? 1 : 0);
+	}
+	
+	/** @return True iff the map is empty */
+	public boolean isEmpty( ) {
+		return size( ) == 0;
+	}
+	
+	/** Removes all keys from the map */
+	public void clear( ) {
+		Arrays.fill( keys, FREE );
+		hasfree = false;
+		used = 0;
+	}
+	
+	/**
+	 * Calls the consumer for every key and its value, in no particular order
+	 * 
+	 * @param consumer The consumer
+	 */
+	public void forEach( final LongIntConsumer consumer ) {
+		if( hasfree ) consumer.accept( FREE, freevalue );
+		for( int i = 0; i < keys.length; i++ )
+			if( keys[i] != FREE ) consumer.accept( keys[i], values[i] );
+	}
+	
+	/**
+	 * Allocates a new table
+	 * 
+	 * @param capacity The number of slots, must be a power of two
+	 */
+	private void allocate( final int capacity ) {
+		keys = new long[ capacity ];
+		values = new int[ capacity ];
+		maxused = (int)(capacity * LOAD);
+	}
+	
+	/**
+	 * Moves all entries into a new table of the given capacity
+	 * 
+	 * @param capacity The new number of slots
+	 */
+	private void rehash( final int capacity ) {
+		final long[] oldkeys = keys;
+		final int[] oldvalues = values;
+		allocate( capacity );
+		final int mask = capacity - 1;
+		for( int i = 0; i < oldkeys.length; i++ ) {
+			if( oldkeys[i] == FREE ) continue;
+			int idx = LongHashSet.hash( oldkeys[i] ) & mask;
+			while( keys[idx] != FREE ) idx = (idx + 1) & mask;
+			keys[idx] = oldkeys[i];
+			values[idx] = oldvalues[i];
+		}
+	}
+	
+	/** @return The map as a string of key=value pairs */
+	@Override
+	public String toString( ) {
+		final StringBuilder sb = new StringBuilder( "{" );
+		forEach( (k, v) -> sb.append( sb.length( ) > 1 ? ", " : "" ).append( k ).append( '=' ).append( v ) );
+		return sb.append( "}" ).toString( );
+	}
+	
+	/** Consumer of a key and its value */
+	@FunctionalInterface
+	public interface LongIntConsumer {
+		/**
+		 * Consumes an entry
+		 * 
+		 * @param key The key
+		 * @param value The value
+		 */
+		void accept( final long key, final int value );
+	}
+}
@@ -0,0 +1,67 @@
+package challenges.util.coord;
+
+/**
+ * Encodes a 2D integer coordinate into a single long so that it can be used
+ * as key of the primitive collections without allocating a coordinate
+ * object. The x coordinate is stored in the upper 32 bits, the y coordinate
+ * in the lower 32 bits.
+ * 
+ * @author Joris
+ */
+public final class PackedCoord2D {
+	/** No instances */
+	private PackedCoord2D( ) { }
+	
+	/**
+	 * Packs a coordinate
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @return The packed coordinate
+	 */
+	public static long pack( final int x, final int y ) {
+		return ((long)x << 32) | (y & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Extracts the x coordinate
+	 * 
+	 * @param packed The packed coordinate
+	 * @return The x coordinate
+	 */
+	public static int x( final long packed ) {
+		return (int)(packed >> 32);
+	}
+	
+	/**
+	 * Extracts the y coordinate
+	 * 
+	 * @param packed The packed coordinate
+	 * @return The y coordinate
+	 */
+	public static int y( final long packed ) {
+		return (int)packed;
+	}
+	
+	/**
+	 * Moves a packed coordinate
+	 * 
+	 * @param packed The packed coordinate
+	 * @param dx The change in x
+	 * @param dy The change in y
+	 * @return The packed, moved coordinate
+	 */
+	public static long move( final long packed, final int dx, final int dy ) {
+		return pack( x( packed ) + dx, y( packed ) + dy );
+	}
+	
+	/**
+	 * Describes a packed coordinate
+	 * 
+	 * @param packed The packed coordinate
+	 * @return The string (x,y)
+	 */
+	public static String toString( final long packed ) {
+		return "(" + x( packed ) + "," + y( packed ) + ")";
+	}
+}
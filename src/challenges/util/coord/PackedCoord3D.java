@@ -0,0 +1,94 @@
+package challenges.util.coord;
+
+/**
+ * Encodes a 3D integer coordinate into a single long so that it can be used
+ * as key of the primitive collections without allocating a coordinate
+ * object. Every axis is stored as a signed 21-bit value, hence coordinates
+ * must lie within [-2^20, 2^20).
+ * 
+ * @author Joris
+ */
+public final class PackedCoord3D {
+	/** The number of bits per axis */
+	private static final int BITS = 21;
+	
+	/** The mask of a single axis */
+	private static final long MASK = (1L << BITS) - 1;
+	
+	/** The minimal coordinate value */
+	public static final int MIN = -(1 << (BITS - 1));
+	
+	/** The maximal coordinate value */
+	public static final int MAX = (1 << (BITS - 1)) - 1;
+	
+	/** No instances */
+	private PackedCoord3D( ) { }
+	
+	/**
+	 * Packs a coordinate
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @param z The z coordinate
+	 * @return The packed coordinate
+	 * @throws IllegalArgumentException if any of the values is out of range
+	 */
+	public static long pack( final int x, final int y, final int z ) {
+		if( x < MIN || x > MAX || y < MIN || y > MAX || z < MIN || z > MAX )
+			throw new IllegalArgumentException( "Coordinate (" + x + "," + y + "," + z + ") cannot be packed" );
+		return ((x & MASK) << (2 * BITS)) | ((y & MASK) << BITS) | (z & MASK);
+	}
+	
+	/**
+	 * Extracts the x coordinate
+	 * 
+	 * @param packed The packed coordinate
+	 * @return The x coordinate
+	 */
+	public static int x( final long packed ) {
+		return (int)(packed >>> (2 * BITS)) << (32 - BITS) >> (32 - BITS);
+	}
+	
+	/**
+	 * Extracts the y coordinate
+	 * 
+	 * @param packed The packed coordinate
+	 * @return The y coordinate
+	 */
+	public static int y( final long packed ) {
+		return (int)(packed >>> BITS) << (32 - BITS) >> (32 - BITS);
+	}
+	
+	/**
+	 * Extracts the z coordinate
+	 * 
+	 * @param packed The packed coordinate
+	 * @return The z coordinate
+	 */
+	public static int z( final long packed ) {
+		return (int)packed << (32 - BITS) >> (32 - BITS);
+	}
+	
+	/**
+	 * Moves a packed coordinate
+	 * 
+	 * @param packed The packed coordinate
+	 * @param dx The change in x
+	 * @param dy The change in y
+	 * @param dz The change in z
+	 * @return The packed, moved coordinate
+	 */
+	public static long move( final long packed, final int dx, final int dy, final int dz ) {
+		return pack( x( packed ) + dx, y( packed ) + dy, z( packed ) + dz );
+	}
+	
+	/**
+	 * Describes a packed coordinate
+	 * 
+	 * @param packed The packed coordinate
+	 * @return The string (x,y,z)
+	 */
+	public static String toString( final long packed ) {
+		return "(" + x( packed ) + "," + y( packed ) + "," + z( packed ) + ")";
+	}
+}
@@ -0,0 +1,161 @@
+package challenges.util.grid;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Dense grid of boolean values, stored as one bit per coordinate
+ * 
+ * @author Joris
+ */
+public class BitGrid extends DenseGrid {
+	/** The bits, row by row */
+	private long[] bits;
+	
+	/**
+	 * Creates a new fixed grid with window (0,0)-(width-1,height-1) in which all
+	 * bits are initially cleared
+	 * 
+	 * @param width The width of the grid
+	 * @param height The height of the grid
+	 */
+	public BitGrid( final int width, final int height ) {
+		this( 0, 0, width, height, false );
+	}
+	
+	/**
+	 * Creates a new, empty grid that grows as bits are set
+	 */
+	public BitGrid( ) {
+		this( 0, 0, 0, 0, true );
+	}
+	
+	/**
+	 * Creates a new grid with the specified window
+	 * 
+	 * @param minx The minimal x coordinate of the window
+	 * @param miny The minimal y coordinate of the window
+	 * @param width The width of the window
+	 * @param height The height of the window
+	 * @param growable True to let the window grow when bits are set outside of it
+	 */
+	public BitGrid( final int minx, final int miny, final int width, final int height, final boolean growable ) {
+		super( minx, miny, width, height, growable );
+		this.bits = new long[ words( width * height ) ];
+	}
+	
+	/**
+	 * Creates a fixed grid from a list of strings, one row per string
+	 * 
+	 * @param input The list of strings
+	 * @param set The character that denotes a set bit
+	 * @return The BitGrid
+	 */
+	public static BitGrid fromStringList( final List<String> input, final char set ) {
+		final int W = input.stream( ).mapToInt( String::length ).max( ).orElse( 0 );
+		final BitGrid grid = new BitGrid( W, input.size( ) );
+		for( int y = 0; y < input.size( ); y++ ) {
+			final String s = input.get( y );
+			for( int x = 0; x < s.length( ); x++ ) if( s.charAt( x ) == set ) grid.set( x, y, true );
+		}
+		return grid;
+	}
+	
+	/**
+	 * Retrieves the bit at a coordinate
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @return True iff the bit is set, false if it is not set or outside of the
+	 *   window
+	 */
+	public boolean get( final int x, final int y ) {
+		if( !contains( x, y ) ) return false;
+		final int idx = index( x, y );
+		return (bits[ idx >>> 6 ] & (1L << idx)) != 0;
+	}
+	
+	/**
+	 * Sets or clears the bit at a coordinate. Clearing a bit outside of the
+	 * window never grows the grid.
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @param value True to set the bit, false to clear it
+	 */
+	public void set( final int x, final int y, final boolean value ) {
+		if( !value ) {
+			if( !contains( x, y ) ) return;
+			final int idx = index( x, y );
+			bits[ idx >>> 6 ] &= ~(1L << idx);
+		} else {
+			final int idx = ensure( x, y );
+			bits[ idx >>> 6 ] |= 1L << idx;
+		}
+	}
+	
+	/** Clears all bits */
+	public void clear( ) {
+		Arrays.fill( bits, 0 );
+	}
+	
+	/** @return The number of set bits */
+	public long count( ) {
+		long count = 0;
+		for( final long w : bits ) count += Long.bitCount( w );
+		return count;
+	}
+	
+	/** @see challenges.util.grid.DenseGrid#resize(int, int, int, int) */
+	@Override
+	protected void resize( final int nminx, final int nminy, final int nwidth, final int nheight ) {
+		final long[] nbits = new long[ words( nwidth * nheight ) ];
+		
+		// rows are not word aligned, so copy only the bits that are set
+		for( int w = 0; w < bits.length; w++ ) {
+			long word = bits[ w ];
+			while( word != 0 ) {
+				final int idx = (w << 6) + Long.numberOfTrailingZeros( word );
+				word &= word - 1;
+				final int x = idx % width + minx;
+				final int y = idx / width + miny;
+				final int nidx = (y - nminy) * nwidth + (x - nminx);
+				nbits[ nidx >>> 6 ] |= 1L << nidx;
+			}
+		}
+		bits = nbits;
+	}
+	
+	/**
+	 * Computes the number of words required to store the bits
+	 * 
+	 * @param size The number of bits
+	 * @return The number of longs required
+	 */
+	private static int words( final int size ) {
+		return (size + 63) >>> 6;
+	}
+	
+	/**
+	 * Describes the window of the grid using a function that converts bits
+	 * into strings
+	 * 
+	 * @param f The bit to string function
+	 * @return The string describing the grid, one row per line
+	 */
+	public String toString( final Function<Boolean, String> f ) {
+		final StringBuilder sb = new StringBuilder( );
+		for( int y = getMinY( ); y <= getMaxY( ); y++ ) {
+			for( int x = getMinX( ); x <= getMaxX( ); x++ ) sb.append( f.apply( get( x, y ) ) );
+			sb.append( '\n' );
+		}
+		return sb.toString( );
+	}
+	
+	/** @return The grid using # for set bits and . otherwise */
+	@Override
+	public String toString( ) {
+		return toString( b -> b ? "#" : "." );
+	}
+}
@@ -0,0 +1,153 @@
+package challenges.util.grid;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Dense grid of byte values, for small values such as heights, digits,
+ * characters or enum ordinals
+ * 
+ * @author Joris
+ */
+public class ByteGrid extends DenseGrid {
+	/** The values, row by row */
+	private byte[] data;
+	
+	/** The value of coordinates that have not been set */
+	private final byte defaultval;
+	
+	/**
+	 * Creates a new fixed grid with window (0,0)-(width-1,height-1)
+	 * 
+	 * @param width The width of the grid
+	 * @param height The height of the grid
+	 * @param defaultval The initial value of all coordinates
+	 */
+	public ByteGrid( final int width, final int height, final byte defaultval ) {
+		super( 0, 0, width, height, false );
+		this.defaultval = defaultval;
+		this.data = new byte[ width * height ];
+		if( defaultval != 0 ) Arrays.fill( data, defaultval );
+	}
+	
+	/**
+	 * Creates a new, empty grid that grows as values are set
+	 * 
+	 * @param defaultval The value of coordinates that have not been set
+	 */
+	public ByteGrid( final byte defaultval ) {
+		super( 0, 0, 0, 0, true );
+		this.defaultval = defaultval;
+		this.data = new byte[ 0 ];
+	}
+	
+	/**
+	 * Creates a fixed grid from a list of strings, one row per string and one
+	 * value per character. The grid is as wide as the longest string, missing
+	 * characters of shorter strings get the default value.
+	 * 
+	 * @param input The list of strings
+	 * @param f The function that converts a character into its grid value
+	 * @param defaultval The default value
+	 * @return The ByteGrid
+	 */
+	public static ByteGrid fromStringList( final List<String> input, final CharToByte f, final byte defaultval ) {
+		final int W = input.stream( ).mapToInt( String::length ).max( ).orElse( 0 );
+		final ByteGrid grid = new ByteGrid( W, input.size( ), defaultval );
+		for( int y = 0; y < input.size( ); y++ ) {
+			final String s = input.get( y );
+			for( int x = 0; x < s.length( ); x++ ) grid.data[ y * W + x ] = f.apply( s.charAt( x ) );
+		}
+		return grid;
+	}
+	
+	/** Conversion of a single character into a grid value */
+	@FunctionalInterface
+	public interface CharToByte {
+		/**
+		 * Converts the character
+		 * 
+		 * @param c The character
+		 * @return The byte value
+		 */
+		byte apply( final char c );
+	}
+	
+	/**
+	 * Retrieves the value at a coordinate
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @return The value, the default value if outside of the window
+	 */
+	public byte get( final int x, final int y ) {
+		return contains( x, y ) ? data[ index( x, y ) ] : defaultval;
+	}
+	
+	/**
+	 * Sets the value at a coordinate
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @param value The new value
+	 */
+	public void set( final int x, final int y, final byte value ) {
+		// ensure first, growing replaces the data array
+		final int idx = ensure( x, y );
+		data[ idx ] = value;
+	}
+	
+	/**
+	 * Resets all values of the grid to the given value
+	 * 
+	 * @param value The value
+	 */
+	public void fill( final byte value ) {
+		Arrays.fill( data, value );
+	}
+	
+	/**
+	 * Counts the occurrences of a value within the window
+	 * 
+	 * @param value The value to count
+	 * @return The number of coordinates that hold the value
+	 */
+	public long count( final byte value ) {
+		long count = 0;
+		for( final byte v : data ) if( v == value ) count++;
+		return count;
+	}
+	
+	/** @see challenges.util.grid.DenseGrid#resize(int, int, int, int) */
+	@Override
+	protected void resize( final int nminx, final int nminy, final int nwidth, final int nheight ) {
+		final byte[] ndata = new byte[ nwidth * nheight ];
+		if( defaultval != 0 ) Arrays.fill( ndata, defaultval );
+		for( int y = 0; y < height; y++ )
+			System.arraycopy( data, y * width, ndata, (y + miny - nminy) * nwidth + (minx - nminx), width );
+		data = ndata;
+	}
+	
+	/**
+	 * Describes the window of the grid using a function that converts values
+	 * into strings
+	 * 
+	 * @param f The value to string function
+	 * @return The string describing the grid, one row per line
+	 */
+	public String toString( final IntFunction<String> f ) {
+		final StringBuilder sb = new StringBuilder( );
+		for( int y = getMinY( ); y <= getMaxY( ); y++ ) {
+			for( int x = getMinX( ); x <= getMaxX( ); x++ ) sb.append( f.apply( get( x, y ) ) );
+			sb.append( '\n' );
+		}
+		return sb.toString( );
+	}
+	
+	/** @return The grid with its values separated by spaces */
+	@Override
+	public String toString( ) {
+		return toString( v -> v + " " );
+	}
+}
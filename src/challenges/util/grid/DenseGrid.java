@@ -0,0 +1,180 @@
+package challenges.util.grid;
+
+/**
+ * Base class of the dense, array-backed grids. A dense grid stores its values
+ * row by row in a primitive array that spans a rectangular window of
+ * coordinates. Lookups are plain index computations, without allocating
+ * coordinate objects or boxing the values. Growable grids extend their window
+ * whenever a value is set outside of it, fixed grids reject such writes.
+ * 
+ * Note that the window of a growable grid may be larger than the area that
+ * actually holds values, as it grows by at least doubling its size.
+ * 
+ * @author Joris
+ */
+public abstract class DenseGrid {
+	/** The minimal x coordinate of the window */
+	protected int minx;
+	
+	/** The minimal y coordinate of the window */
+	protected int miny;
+	
+	/** The width of the window */
+	protected int width;
+	
+	/** The height of the window */
+	protected int height;
+	
+	/** True if the window grows when values are set outside of it */
+	private final boolean growable;
+	
+	/** The minimal size of a dimension when the grid grows */
+	private static final int MIN_GROW = 16;
+	
+	/**
+	 * Creates a new dense grid
+	 * 
+	 * @param minx The minimal x coordinate of the window
+	 * @param miny The minimal y coordinate of the window
+	 * @param width The width of the window
+	 * @param height The height of the window
+	 * @param growable True to let the window grow if needed
+	 */
+	protected DenseGrid( final int minx, final int miny, final int width, final int height, final boolean growable ) {
+		if( width < 0 || height < 0 ) throw new IllegalArgumentException( "Invalid grid size " + width + "x" + height );
+		checkSize( width, height );
+		this.minx = minx;
+		this.miny = miny;
+		this.width = width;
+		this.height = height;
+		this.growable = growable;
+	}
+	
+	/** @return The minimal x coordinate of the window */
+	public int getMinX( ) {
+		return minx;
+	}
+	
+	/** @return The maximal x coordinate of the window */
+	public int getMaxX( ) {
+		return minx + width - 1;
+	}
+	
+	/** @return The minimal y coordinate of the window */
+	public int getMinY( ) {
+		return miny;
+	}
+	
+	/** @return The maximal y coordinate of the window */
+	public int getMaxY( ) {
+		return miny + height - 1;
+	}
+	
+	/** @return The width of the window */
+	public int getWidth( ) {
+		return width;
+	}
+	
+	/** @return The height of the window */
+	public int getHeight( ) {
+		return height;
+	}
+	
+	/**
+	 * Checks whether a coordinate lies within the window of the grid
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @return True iff the coordinate is within the window
+	 */
+	public boolean contains( final int x, final int y ) {
+		return x >= minx && x < minx + width && y >= miny && y < miny + height;
+	}
+	
+	/**
+	 * Computes the array index of a coordinate within the window
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @return The array index
+	 */
+	protected final int index( final int x, final int y ) {
+		return (y - miny) * width + (x - minx);
+	}
+	
+	/**
+	 * Makes sure that the coordinate lies within the window, growing the grid
+	 * if necessary
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @return The array index of the coordinate
+	 * @throws IndexOutOfBoundsException if the coordinate is outside the window
+	 *   of a fixed grid
+	 */
+	protected final int ensure( final int x, final int y ) {
+		if( !contains( x, y ) ) grow( x, y );
+		return index( x, y );
+	}
+	
+	/**
+	 * Grows the window such that it includes the given coordinate. The window
+	 * at least doubles in every dimension that needs to grow.
+	 * 
+	 * @param x The x coordinate to include
+	 * @param y The y coordinate to include
+	 */
+	private void grow( final int x, final int y ) {
+		if( !growable ) throw new IndexOutOfBoundsException( "Coordinate (" + x + "," + y + ") is outside of the grid window " + describeWindow( ) );
+		
+		int nminx; int nmaxx; int nminy; int nmaxy;
+		if( width == 0 || height == 0 ) {
+			// empty grid, create a window around the coordinate
+			nminx = x - MIN_GROW / 2; nmaxx = x + MIN_GROW / 2 - 1;
+			nminy = y - MIN_GROW / 2; nmaxy = y + MIN_GROW / 2 - 1;
+		} else {
+			final int growx = Math.max( width, MIN_GROW );
+			final int growy = Math.max( height, MIN_GROW );
+			nminx = x < minx ? Math.min( x, minx - growx ) : minx;
+			nmaxx = x > getMaxX( ) ? Math.max( x, getMaxX( ) + growx ) : getMaxX( );
+			nminy = y < miny ? Math.min( y, miny - growy ) : miny;
+			nmaxy = y > getMaxY( ) ? Math.max( y, getMaxY( ) + growy ) : getMaxY( );
+		}
+		
+		final int nwidth = nmaxx - nminx + 1;
+		final int nheight = nmaxy - nminy + 1;
+		checkSize( nwidth, nheight );
+		resize( nminx, nminy, nwidth, nheight );
+		minx = nminx;
+		miny = nminy;
+		width = nwidth;
+		height = nheight;
+	}
+	
+	/**
+	 * Copies the grid values into a new window, the window fields still
+	 * describe the old window when this is called
+	 * 
+	 * @param nminx The minimal x coordinate of the new window
+	 * @param nminy The minimal y coordinate of the new window
+	 * @param nwidth The width of the new window
+	 * @param nheight The height of the new window
+	 */
+	protected abstract void resize( final int nminx, final int nminy, final int nwidth, final int nheight );
+	
+	/**
+	 * Checks that a window of the given size can be stored in a single array
+	 * 
+	 * @param w The width
+	 * @param h The height
+	 * @throws IllegalArgumentException if the window is too large
+	 */
+	private static void checkSize( final int w, final int h ) {
+		if( (long)w * (long)h > Integer.MAX_VALUE - 8 ) throw new IllegalArgumentException( "Grid of " + w + "x" + h + " is too large" );
+	}
+	
+	/** @return The description of the window */
+	protected String describeWindow( ) {
+		return "(" + getMinX( ) + "," + getMinY( ) + ")-(" + getMaxX( ) + "," + getMaxY( ) + ")";
+	}
+}
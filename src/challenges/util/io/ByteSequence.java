@@ -0,0 +1,100 @@
+package challenges.util.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Zero-copy character view on a range of single-byte (ASCII) characters in a
+ * byte buffer. The view can optionally present line feeds as another
+ * character, such that a multi-line record reads the same as a line group
+ * that is joined by a separator.
+ * 
+ * @author Joris
+ */
+public class ByteSequence implements CharSequence {
+	/** The buffer that holds the characters */
+	private ByteBuffer buffer;
+	
+	/** The offset of the first character in the buffer */
+	private int offset;
+	
+	/** The number of characters in the view */
+	private int length;
+	
+	/** The character to present line feeds as */
+	private final char newline;
+	
+	/**
+	 * Creates a new, empty view
+	 * 
+	 * @param newline The character to present line feeds as
+	 */
+	protected ByteSequence( final char newline ) {
+		this.newline = newline;
+	}
+	
+	/**
+	 * Creates a new view on the given range
+	 * 
+	 * @param buffer The buffer that holds the characters
+	 * @param offset The offset of the first character
+	 * @param length The number of characters
+	 * @param newline The character to present line feeds as
+	 */
+	protected ByteSequence( final ByteBuffer buffer, final int offset, final int length, final char newline ) {
+		this( newline );
+		set( buffer, offset, length );
+	}
+	
+	/**
+	 * Moves the view to another range
+	 * 
+	 * @param buffer The buffer that holds the characters
+	 * @param offset The offset of the first character
+	 * @param length The number of characters
+	 */
+	protected void set( final ByteBuffer buffer, final int offset, final int length ) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+	
+	/** @return The number of characters */
+	@Override
+	public int length( ) {
+		return length;
+	}
+	
+	/**
+	 * Retrieves a single character
+	 * 
+	 * @param index The index of the character
+	 * @return The character at the index
+	 */
+	@Override
+	public char charAt( final int index ) {
+		if( index < 0 || index >= length ) throw new IndexOutOfBoundsException( "Index " + index + " out of bounds for length " + length );
+		final char c = (char)(buffer.get( offset + index ) & 0xFF);
+		return c == '\n' ? newline : c;
+	}
+	
+	/**
+	 * Creates a new view on part of this sequence, without copying
+	 * 
+	 * @param start The start index, inclusive
+	 * @param end The end index, exclusive
+	 * @return The view on the sub sequence
+	 */
+	@Override
+	public CharSequence subSequence( final int start, final int end ) {
+		if( start < 0 || end > length || start > end ) throw new IndexOutOfBoundsException( "Range [" + start + ", " + end + ") out of bounds for length " + length );
+		return new ByteSequence( buffer, offset + start, end - start, newline );
+	}
+	
+	/** @return A copy of the characters as string */
+	@Override
+	public String toString( ) {
+		final char[] c = new char[ length ];
+		for( int i = 0; i < length; i++ ) c[i] = charAt( i );
+		return new String( c );
+	}
+}
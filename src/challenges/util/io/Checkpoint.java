@@ -0,0 +1,159 @@
+package challenges.util.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A checkpoint file that stores the progress of a long-running search or
+ * simulation in a compact binary format, such that it can be resumed after
+ * the process is stopped. The owner of the checkpoint decides what it writes,
+ * the checkpoint takes care of the file header, the save interval and writing
+ * the file atomically.
+ * 
+ * Every checkpoint is tagged with an identifier that the owner derives from
+ * its problem and input. A checkpoint with another identifier is ignored on
+ * load, hence a stale checkpoint never leaks into the solution of another
+ * input. Owners also include the identifier in the checkpoint name, such
+ * that runs on different inputs do not replace each other's checkpoints.
+ * 
+ * @author Joris
+ */
+public class Checkpoint {
+	/** The identifier of a checkpoint file */
+	private static final int MAGIC = 0x414F434B;
+	
+	/** The version of the file header */
+	private static final int VERSION = 1;
+	
+	/** The file the checkpoint is written to */
+	protected final File file;
+	
+	/** The minimal time between two saves in milliseconds */
+	protected final long interval;
+	
+	/** The time of the last save (or creation) in milliseconds */
+	private volatile long lastsave;
+	
+	/**
+	 * Creates a new checkpoint
+	 * 
+	 * @param file The checkpoint file
+	 * @param interval The minimal time between two saves in milliseconds
+	 */
+	public Checkpoint( final File file, final long interval ) {
+		this.file = file;
+		this.interval = interval;
+		this.lastsave = System.currentTimeMillis( );
+	}
+	
+	/**
+	 * Creates the checkpoint that is configured by the system properties
+	 * checkpoint.dir (the directory of the checkpoint files) and
+	 * checkpoint.interval (the save interval in seconds, default 60)
+	 * 
+	 * @param name The name of the checkpoint, used as file name
+	 * @return The checkpoint or null if checkpointing is not enabled
+	 */
+	public static Checkpoint fromProperties( final String name ) {
+		final String dir = System.getProperty( "checkpoint.dir" );
+		if( dir == null ) return null;
+		return new Checkpoint( new File( dir, name + ".ckpt" ), Long.getLong( "checkpoint.interval", 60 ) * 1000 );
+	}
+	
+	/** @return The checkpoint file */
+	public File getFile( ) {
+		return file;
+	}
+	
+	/** @return True if the save interval has passed since the last save */
+	public boolean isDue( ) {
+		return System.currentTimeMillis( ) - lastsave >= interval;
+	}
+	
+	/**
+	 * Writes the checkpoint. The data is written to a temporary file first and
+	 * then moved into place, so that a crash while saving never leaves a
+	 * corrupt checkpoint behind.
+	 * 
+	 * @param id The identifier of the problem and input
+	 * @param writer The function that writes the progress
+	 * @throws UncheckedIOException if the checkpoint could not be written
+	 */
+	public synchronized void save( final long id, final Writer writer ) {
+		final File dir = file.getAbsoluteFile( ).getParentFile( );
+		if( dir != null ) dir.mkdirs( );
+		final File tmp = new File( file.getPath( ) + ".tmp" );
+		try {
+			try( final DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( tmp ) ) ) ) {
+				out.writeInt( MAGIC );
+				out.writeInt( VERSION );
+				out.writeLong( id );
+				writer.write( out );
+			}
+			Files.move( tmp.toPath( ), file.toPath( ), StandardCopyOption.REPLACE_EXISTING );
+		} catch( IOException e ) {
+			throw new UncheckedIOException( "Failed to write checkpoint " + file, e );
+		}
+		lastsave = System.currentTimeMillis( );
+	}
+	
+	/**
+	 * Reads the checkpoint if it exists and belongs to the problem
+	 * 
+	 * @param id The identifier of the problem and input
+	 * @param reader The function that restores the progress
+	 * @return True if the progress was restored, false if there is no
+	 *   checkpoint for the problem
+	 * @throws UncheckedIOException if the checkpoint could not be read
+	 */
+	public synchronized boolean load( final long id, final Reader reader ) {
+		if( !file.exists( ) ) return false;
+		try( final DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) ) ) {
+			if( in.readInt( ) != MAGIC ) throw new IOException( "Not a checkpoint file: " + file );
+			if( in.readInt( ) != VERSION ) throw new IOException( "Unsupported checkpoint version in " + file );
+			if( in.readLong( ) != id ) return false;
+			reader.read( in );
+			return true;
+		} catch( IOException e ) {
+			throw new UncheckedIOException( "Failed to read checkpoint " + file, e );
+		}
+	}
+	
+	/** Removes the checkpoint file, typically once the work is completed */
+	public synchronized void delete( ) {
+		file.delete( );
+	}
+	
+	/** Function that writes the progress to a checkpoint */
+	@FunctionalInterface
+	public interface Writer {
+		/**
+		 * Writes the progress
+		 * 
+		 * @param out The stream to write to
+		 * @throws IOException if the write failed
+		 */
+		void write( final DataOutputStream out ) throws IOException;
+	}
+	
+	/** Function that restores the progress from a checkpoint */
+	@FunctionalInterface
+	public interface Reader {
+		/**
+		 * Reads the progress
+		 * 
+		 * @param in The stream to read from
+		 * @throws IOException if the read failed
+		 */
+		void read( final DataInputStream in ) throws IOException;
+	}
+}
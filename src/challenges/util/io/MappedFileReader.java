@@ -0,0 +1,249 @@
+package challenges.util.io;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming alternative to the FileReader that memory maps the input file and
+ * iterates over its lines or records without materialising them. The file is
+ * mapped in regions such that inputs larger than a single mapping can be read,
+ * only the current region is referenced by the iterators.
+ * 
+ * Every iterator returns the same view object for every element, which is
+ * only valid until the next call to next( ). Parsers that need to retain
+ * (part of) an element should copy it using toString( ). Input is expected
+ * to be single-byte encoded, lines may end in LF or CRLF.
+ * 
+ * @author Joris
+ */
+public class MappedFileReader {
+	/** The default size of a mapped region (256MB) */
+	public static final int REGION_SIZE = 1 << 28;
+	
+	/** The file to read */
+	private final Path file;
+	
+	/** The size of the file in bytes */
+	private final long size;
+	
+	/** The maximal size of a mapped region */
+	private final int regionsize;
+	
+	/**
+	 * Creates a new reader for the given file
+	 * 
+	 * @param file The file to read
+	 * @throws IOException if the file size cannot be determined
+	 */
+	public MappedFileReader( final Path file ) throws IOException {
+		this( file, REGION_SIZE );
+	}
+	
+	/**
+	 * Creates a new reader for the given resource, which must be a file
+	 * 
+	 * @param resource The resource to read
+	 * @throws IOException if the resource is not a readable file
+	 */
+	public MappedFileReader( final URL resource ) throws IOException {
+		this( toPath( resource ), REGION_SIZE );
+	}
+	
+	/**
+	 * Creates a new reader for the given file
+	 * 
+	 * @param file The file to read
+	 * @param regionsize The maximal size of a mapped region, must exceed the
+	 *   length of the longest line or record
+	 * @throws IOException if the file size cannot be determined
+	 */
+	public MappedFileReader( final Path file, final int regionsize ) throws IOException {
+		this.file = file;
+		this.regionsize = regionsize;
+		try( final FileChannel fc = FileChannel.open( file, StandardOpenOption.READ ) ) {
+			this.size = fc.size( );
+		}
+	}
+	
+	/** @return The size of the file in bytes */
+	public long size( ) {
+		return size;
+	}
+	
+	/**
+	 * Iterates over the lines of the file. Every pass over the iterable maps the
+	 * file anew, therefore it can be iterated multiple times.
+	 * 
+	 * @return The lines of the file, without line terminators
+	 */
+	public Iterable<CharSequence> lines( ) {
+		return ( ) -> new MappedIterator( false, '\n' );
+	}
+	
+	/**
+	 * Iterates over the records of the file, where records are groups of lines
+	 * separated by one or more empty lines. The lines within a record are
+	 * joined by the separator, exactly like FileReader.readLineGroups( ) does.
+	 * Records require LF line endings.
+	 * 
+	 * @param separator The character to join the lines of a record with
+	 * @return The records of the file
+	 */
+	public Iterable<CharSequence> records( final char separator ) {
+		return ( ) -> new MappedIterator( true, separator );
+	}
+	
+	/**
+	 * Converts a resource URL into a file path
+	 * 
+	 * @param resource The resource
+	 * @return The path of the resource
+	 * @throws IOException if the resource is not a file
+	 */
+	private static Path toPath( final URL resource ) throws IOException {
+		try {
+			return Paths.get( resource.toURI( ) );
+		} catch( URISyntaxException e ) {
+			throw new IOException( "Not a file: " + resource, e );
+		}
+	}
+	
+	/**
+	 * Iterator over the lines or records of the mapped file
+	 */
+	private class MappedIterator implements Iterator<CharSequence> {
+		/** True to iterate records, false for lines */
+		private final boolean records;
+		
+		/** The view that is returned for every element */
+		private final ByteSequence view;
+		
+		/** The currently mapped region */
+		private MappedByteBuffer region;
+		
+		/** The file offset of the current region */
+		private long regionstart;
+		
+		/** The file offset of the next element */
+		private long pos;
+		
+		/**
+		 * Creates a new iterator
+		 * 
+		 * @param records True to iterate records, false for lines
+		 * @param newline The character to present line feeds in records as
+		 */
+		protected MappedIterator( final boolean records, final char newline ) {
+			this.records = records;
+			this.view = new ByteSequence( newline );
+			this.pos = 0;
+			if( records ) skipEmptyLines( );
+		}
+		
+		/** @return True if there is another element */
+		@Override
+		public boolean hasNext( ) {
+			return pos < size;
+		}
+		
+		/**
+		 * Moves the view to the next element
+		 * 
+		 * @return The view on the next element, valid until the next call
+		 */
+		@Override
+		public CharSequence next( ) {
+			if( !hasNext( ) ) throw new NoSuchElementException( );
+			
+			// find the end of the element within the mapped region, remap the region
+			// to start at the element if it crosses the region boundary
+			if( !isMapped( pos ) ) map( pos );
+			int end = findEnd( (int)(pos - regionstart) );
+			if( end < 0 && regionstart + region.limit( ) < size ) {
+				map( pos );
+				end = findEnd( 0 );
+				if( end < 0 && regionstart + region.limit( ) < size )
+					throw new IllegalStateException( "Element at offset " + pos + " exceeds the region size of " + regionsize + " bytes" );
+			}
+			
+			// no terminator found means the element runs until the end of file
+			final int start = (int)(pos - regionstart);
+			if( end < 0 ) end = region.limit( );
+			pos = regionstart + end + 1;
+			
+			// strip trailing carriage return of a line
+			int length = end - start;
+			if( !records && length > 0 && region.get( start + length - 1 ) == '\r' ) length--;
+			view.set( region, start, length );
+			
+			if( records ) skipEmptyLines( );
+			return view;
+		}
+		
+		/**
+		 * Finds the terminator of the element that starts at the given index of
+		 * the current region. Lines end with a line feed, records with a line feed
+		 * followed by an empty line.
+		 * 
+		 * @param from The region index to start searching from
+		 * @return The region index of the terminating line feed, -1 if there is
+		 *   none in the current region
+		 */
+		private int findEnd( final int from ) {
+			final int limit = region.limit( );
+			for( int i = from; i < limit; i++ ) {
+				if( region.get( i ) != '\n' ) continue;
+				if( !records ) return i;
+				
+				// a record only ends at an empty line or at the end of the file
+				if( i + 1 < limit && region.get( i + 1 ) == '\n' ) return i;
+				if( i + 1 == limit && regionstart + limit == size ) return i;
+			}
+			return -1;
+		}
+		
+		/**
+		 * Skips all line feeds at the current position, used to move to the
+		 * start of the next record
+		 */
+		private void skipEmptyLines( ) {
+			while( pos < size ) {
+				if( !isMapped( pos ) ) map( pos );
+				if( region.get( (int)(pos - regionstart) ) != '\n' ) return;
+				pos++;
+			}
+		}
+		
+		/**
+		 * Checks whether a file offset is within the current region
+		 * 
+		 * @param offset The file offset
+		 * @return True iff the offset is mapped by the current region
+		 */
+		private boolean isMapped( final long offset ) {
+			return region != null && offset >= regionstart && offset < regionstart + region.limit( );
+		}
+		
+		/**
+		 * Maps a new region of the file, the previous region is released
+		 * 
+		 * @param offset The file offset at which the region starts
+		 */
+		private void map( final long offset ) {
+			try( final FileChannel fc = FileChannel.open( file, StandardOpenOption.READ ) ) {
+				region = fc.map( FileChannel.MapMode.READ_ONLY, offset, Math.min( regionsize, size - offset ) );
+				regionstart = offset;
+			} catch( IOException e ) {
+				throw new RuntimeException( "Failed to map " + file + " at offset " + offset, e );
+			}
+		}
+	}
+}
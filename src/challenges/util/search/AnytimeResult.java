@@ -0,0 +1,69 @@
+package challenges.util.search;
+
+/**
+ * The result of an anytime search: the best solution value that was found
+ * and the upper bound that the search has proven on the optimal value. The
+ * two are equal if the search completed, otherwise the gap between them
+ * bounds how far the solution may be from the optimum.
+ * 
+ * @author Joris
+ */
+public class AnytimeResult {
+	/** The value of the best solution found, the incumbent */
+	protected final int value;
+	
+	/** The proven upper bound on the optimal value */
+	protected final int bound;
+	
+	/** True if the search was stopped before it completed */
+	protected final boolean stopped;
+	
+	/** The time the search took in nanoseconds */
+	protected final long nanos;
+	
+	/**
+	 * Creates a new result
+	 * 
+	 * @param value The value of the best solution found
+	 * @param bound The proven upper bound on the optimal value
+	 * @param stopped True if the search was stopped before it completed
+	 * @param nanos The time the search took in nanoseconds
+	 */
+	protected AnytimeResult( final int value, final int bound, final boolean stopped, final long nanos ) {
+		this.value = value;
+		this.bound = bound;
+		this.stopped = stopped;
+		this.nanos = nanos;
+	}
+	
+	/** @return The value of the best solution found */
+	public int getValue( ) {
+		return value;
+	}
+	
+	/** @return The proven upper bound on the optimal value */
+	public int getUpperBound( ) {
+		return bound;
+	}
+	
+	/** @return True if the value is proven to be optimal */
+	public boolean isOptimal( ) {
+		return value >= bound;
+	}
+	
+	/** @return True if the search was stopped before it completed */
+	public boolean isStopped( ) {
+		return stopped;
+	}
+	
+	/** @return The time the search took in nanoseconds */
+	public long getNanos( ) {
+		return nanos;
+	}
+	
+	/** @return The description of the result */
+	@Override
+	public String toString( ) {
+		return value + (isOptimal( ) ? " (optimal)" : " (bound " + bound + ")") + String.format( " in %.1f ms", nanos / 1e6 ) + (stopped ? ", stopped" : "");
+	}
+}
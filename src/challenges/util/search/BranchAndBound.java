@@ -0,0 +1,511 @@
+package challenges.util.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import challenges.util.io.Checkpoint;
+
+/**
+ * Depth-first branch-and-bound search that maximises the value of a
+ * {@link Problem}. Subtrees of which the upper bound does not exceed the best
+ * value found so far (the incumbent) are pruned and the values of explored
+ * states are memoised in a {@link TranspositionTable}.
+ * 
+ * An engine that runs many searches can share one table between them, such
+ * that its memory is allocated once. Every search starts a new generation of
+ * the table, so the entries of earlier searches are replaced first. The memo
+ * keys are salted with the identity of the problem instance, hence a search
+ * never reads the values that another instance stored.
+ * 
+ * The search can run in parallel on a ForkJoinPool. The subtrees of the top
+ * levels of the search tree are forked as separate tasks, so idle workers
+ * can steal them, while deeper levels are explored sequentially. All workers
+ * share the incumbent through an atomic and the memo table, hence a bound
+ * found by one worker immediately prunes the subtrees of all others.
+ * 
+ * Long searches can be checkpointed. The checkpoint holds the incumbent and
+ * the values of the completed subtrees at the checkpoint depth, the frontier
+ * of the search. Frontier states are identified by their hash, because the
+ * search regenerates them from the initial state. A resumed search starts
+ * with the restored incumbent and skips all completed subtrees.
+ * 
+ * The search can also run in anytime mode, controlled by a
+ * {@link SearchControl} that sets a deadline and can cancel the search. A
+ * stopped search abandons its open states and returns its incumbent together
+ * with the largest upper bound of the abandoned states, which bounds the
+ * optimal value.
+ * 
+ * @author Joris
+ * @param <S> The type of search state
+ */
+public class BranchAndBound<S> {
+	/** The problem that is optimised */
+	protected final Problem<S> problem;
+	
+	/** The pool to run the search on, null to search sequentially */
+	protected final ForkJoinPool pool;
+	
+	/** The best value found so far */
+	protected final AtomicInteger incumbent;
+	
+	/** The number of levels of the search tree that are explored in parallel */
+	protected int splitdepth;
+	
+	/** The memory budget of the memo table */
+	protected long membudget;
+	
+	/** The memo table that is shared by consecutive searches, null to create one per search */
+	protected TranspositionTable sharedmemo;
+	
+	/** The statistics to collect, null to collect them only if enabled globally */
+	protected SearchStats stats;
+	
+	/** The checkpoint to save progress to, null to disable checkpointing */
+	protected Checkpoint checkpoint;
+	
+	/** The identifier of the problem instance in the checkpoint */
+	protected long checkpointid;
+	
+	/** The level of the search tree at which completed subtrees are saved */
+	protected int checkpointdepth;
+	
+	/** The values of the completed subtrees at the checkpoint depth */
+	private Map<Long, Integer> completed;
+	
+	/** The key of the current search in the checkpoint */
+	private long checkpointkey;
+	
+	/** Flag that is set while a worker saves the checkpoint */
+	private final AtomicBoolean saving = new AtomicBoolean( );
+	
+	/** The memo table of the current search */
+	private TranspositionTable memo;
+	
+	/** The salt of the memo keys of the current search */
+	private long memosalt;
+	
+	/** The control of the current search, null if it cannot be stopped */
+	private SearchControl control;
+	
+	/** The largest upper bound of the states abandoned by a stopped search */
+	private final AtomicInteger openbound = new AtomicInteger( );
+	
+	/** True if the current search has abandoned any state */
+	private volatile boolean aborted;
+	
+	/** The statistics collected by the current search, null if disabled */
+	private SearchStats active;
+	
+	/**
+	 * Creates a new sequential search engine
+	 * 
+	 * @param problem The problem to optimise
+	 */
+	public BranchAndBound( final Problem<S> problem ) {
+		this( problem, null );
+	}
+	
+	/**
+	 * Creates a new search engine
+	 * 
+	 * @param problem The problem to optimise
+	 * @param pool The pool to run the search on, null to search sequentially
+	 */
+	public BranchAndBound( final Problem<S> problem, final ForkJoinPool pool ) {
+		this.problem = problem;
+		this.pool = pool;
+		this.incumbent = new AtomicInteger( );
+		this.splitdepth = 3;
+		this.membudget = TranspositionTable.getDefaultBudget( );
+		this.checkpointdepth = 2;
+	}
+	
+	/**
+	 * Sets the number of levels of the search tree of which subtrees are
+	 * explored as separate tasks
+	 * 
+	 * @param depth The split depth, 0 to explore only the root as one task
+	 */
+	public void setSplitDepth( final int depth ) {
+		this.splitdepth = depth;
+	}
+	
+	/**
+	 * Sets the memory budget of the memo table
+	 * 
+	 * @param bytes The budget in bytes
+	 */
+	public void setMemoryBudget( final long bytes ) {
+		this.membudget = bytes;
+	}
+	
+	/**
+	 * Sets the memo table that is shared with other searches. Every search
+	 * starts a new generation of the table instead of allocating its own, the
+	 * memory budget of this search is then ignored. The searches tell their
+	 * problem instances apart by the hash of the initial state, combined with
+	 * the identifier that is given by {@link #setCheckpoint(Checkpoint, long)}
+	 * 
+	 * @param memo The shared memo table, null to create a table per search
+	 */
+	public void setMemo( final TranspositionTable memo ) {
+		this.sharedmemo = memo;
+	}
+	
+	/**
+	 * Sets the statistics collector of the search
+	 * 
+	 * @param stats The statistics to collect or null to collect statistics only
+	 *   if enabled by the search.stats system property
+	 */
+	public void setStats( final SearchStats stats ) {
+		this.stats = stats;
+	}
+	
+	/**
+	 * Enables checkpointing of the search progress. An existing checkpoint of
+	 * the same problem instance is resumed by the next search.
+	 * 
+	 * @param checkpoint The checkpoint, null to disable checkpointing
+	 * @param id The identifier of the problem instance, together with the hash
+	 *   of the initial state it must uniquely identify the search
+	 */
+	public void setCheckpoint( final Checkpoint checkpoint, final long id ) {
+		this.checkpoint = checkpoint;
+		this.checkpointid = id;
+	}
+	
+	/**
+	 * Sets the level of the search tree of which the completed subtrees are
+	 * saved in the checkpoint. Deeper levels save progress in smaller steps
+	 * but produce larger checkpoints
+	 * 
+	 * @param depth The checkpoint depth, at least 1
+	 */
+	public void setCheckpointDepth( final int depth ) {
+		this.checkpointdepth = Math.max( depth, 1 );
+	}
+	
+	/**
+	 * Finds the maximal value that is reachable from the initial state
+	 * 
+	 * @param initial The initial state
+	 * @return The maximal value
+	 */
+	public int solve( final S initial ) {
+		return solve( initial, null ).getValue( );
+	}
+	
+	/**
+	 * Finds the maximal value that is reachable from the initial state, or the
+	 * best value that can be found before the search is stopped by its control
+	 * 
+	 * @param initial The initial state
+	 * @param control The control of the search, null to run it to completion
+	 * @return The best value found and the proven upper bound on the optimum
+	 */
+	public AnytimeResult solve( final S initial, final SearchControl control ) {
+		final long t0 = System.nanoTime( );
+		incumbent.set( Integer.MIN_VALUE );
+		openbound.set( Integer.MIN_VALUE );
+		aborted = false;
+		this.control = control;
+		if( sharedmemo != null ) {
+			memo = sharedmemo;
+			memo.newSearch( );
+		} else {
+			memo = new TranspositionTable( membudget );
+		}
+		memosalt = Hash64.combine( checkpointid, problem.hash( initial ) );
+		active = stats != null ? stats : SearchStats.fromProperties( problem.getClass( ).getSimpleName( ) );
+		if( checkpoint != null ) resume( initial );
+		
+		if( pool == null ) {
+			search( initial, 0 );
+		} else {
+			pool.invoke( new SearchTask( initial, 0 ) );
+		}
+		
+		// the incumbent is the best value found over all workers, which is at
+		// least the value returned from the root. If the search was stopped, the
+		// optimum is bounded by the abandoned states
+		final int value = incumbent.get( );
+		final int bound = aborted ? Math.min( Math.max( value, openbound.get( ) ), problem.getUpperBound( initial ) ) : value;
+		if( checkpoint != null ) {
+			// keep the progress of a stopped search so that it can be resumed
+			if( aborted ) save( ); else checkpoint.delete( );
+		}
+		memo = null;
+		completed = null;
+		this.control = null;
+		if( stats == null && active != null ) System.err.println( active.snapshot( ) );
+		active = null;
+		return new AnytimeResult( value, bound, aborted, System.nanoTime( ) - t0 );
+	}
+	
+	/**
+	 * Determines the pool to run a parallel search on. Searches that are
+	 * started from within a ForkJoinPool stay in that pool, others use the
+	 * common pool
+	 * 
+	 * @return The pool of the calling worker thread or the common pool
+	 */
+	public static ForkJoinPool currentPool( ) {
+		final ForkJoinPool pool = ForkJoinTask.getPool( );
+		return pool != null ? pool : ForkJoinPool.commonPool( );
+	}
+	
+	/**
+	 * Restores the incumbent and the completed subtrees from the checkpoint, if
+	 * it holds the progress of this search
+	 * 
+	 * @param initial The initial state of the search
+	 */
+	private void resume( final S initial ) {
+		completed = new ConcurrentHashMap<>( );
+		checkpointkey = Hash64.combine( checkpointid, problem.hash( initial ) );
+		checkpoint.load( checkpointkey, in -> {
+			incumbent.set( in.readInt( ) );
+			final int n = in.readInt( );
+			for( int i = 0; i < n; i++ ) completed.put( in.readLong( ), in.readInt( ) );
+		} );
+	}
+	
+	/**
+	 * Saves the progress to the checkpoint if its interval has passed. Only one
+	 * worker saves at a time, the others continue their search
+	 */
+	private void saveIfDue( ) {
+		if( checkpoint.isDue( ) ) save( );
+	}
+	
+	/**
+	 * Saves the progress to the checkpoint, unless another worker is already
+	 * saving it
+	 */
+	private void save( ) {
+		if( !saving.compareAndSet( false, true ) ) return;
+		try {
+			checkpoint.save( checkpointkey, out -> {
+				// entries are only added once their subtree is complete, hence any
+				// snapshot of the map is consistent
+				final List<Map.Entry<Long, Integer>> done = new ArrayList<>( completed.entrySet( ) );
+				out.writeInt( incumbent.get( ) );
+				out.writeInt( done.size( ) );
+				for( final Map.Entry<Long, Integer> e : done ) {
+					out.writeLong( e.getKey( ) );
+					out.writeInt( e.getValue( ) );
+				}
+			} );
+		} finally {
+			saving.set( false );
+		}
+	}
+	
+	/** @return The best value found so far */
+	public int getIncumbent( ) {
+		return incumbent.get( );
+	}
+	
+	/**
+	 * Explores the subtree of a state
+	 * 
+	 * @param state The state
+	 * @param level The level of the state in the search tree, states at levels
+	 *   below the split depth fork their children as separate tasks
+	 * @return The best value found in the subtree
+	 */
+	protected int search( final S state, final int level ) {
+		// stop exploring if the search is stopped
+		if( control != null && control.isStopped( ) ) return abandon( state );
+		
+		// already explored this state?
+		final long hash = problem.hash( state );
+		final boolean frontier = completed != null && level == checkpointdepth;
+		if( frontier ) {
+			final Integer done = completed.get( hash );
+			if( done != null ) return done;
+		}
+		final int cached = memo.get( hash ^ memosalt );
+		if( cached != TranspositionTable.MISSING ) {
+			if( active != null ) active.hit( );
+			return cached;
+		}
+		if( active != null ) active.miss( );
+		
+		// the state value itself is a feasible solution
+		int best = problem.getValue( state );
+		improve( best );
+		
+		final List<S> children = problem.expand( state );
+		if( active != null ) active.expanded( );
+		if( children.isEmpty( ) ) return best;
+		
+		if( pool != null && level < splitdepth && children.size( ) > 1 ) {
+			// fork the children as tasks and join them in order
+			final List<SearchTask> tasks = new ArrayList<>( children.size( ) );
+			for( final S child : children ) {
+				if( prune( child ) ) continue;
+				final SearchTask t = new SearchTask( child, level + 1 );
+				t.fork( );
+				tasks.add( t );
+			}
+			for( final SearchTask t : tasks ) best = Math.max( best, t.join( ) );
+		} else {
+			// explore the children in order, if they can still improve
+			for( final S child : children ) {
+				if( prune( child ) ) continue;
+				best = Math.max( best, search( child, level + 1 ) );
+			}
+		}
+		
+		improve( best );
+		
+		// the value of a subtree that was partially abandoned is not exact
+		if( aborted ) return best;
+		memo.put( hash ^ memosalt, best, problem.getDepth( state ) );
+		if( frontier ) {
+			completed.put( hash, best );
+			saveIfDue( );
+		}
+		return best;
+	}
+	
+	/**
+	 * Checks whether a state can be pruned because its upper bound does not
+	 * exceed the incumbent
+	 * 
+	 * @param state The state
+	 * @return True iff the state can be pruned
+	 */
+	protected boolean prune( final S state ) {
+		if( problem.getUpperBound( state ) > incumbent.get( ) ) return false;
+		if( active != null ) active.pruned( );
+		return true;
+	}
+	
+	/**
+	 * Abandons the subtree of a state because the search is stopped, keeping
+	 * track of the upper bound of all abandoned subtrees
+	 * 
+	 * @param state The state that is abandoned
+	 * @return The value of the state itself, which is feasible
+	 */
+	protected int abandon( final S state ) {
+		aborted = true;
+		openbound.accumulateAndGet( problem.getUpperBound( state ), Math::max );
+		final int value = problem.getValue( state );
+		improve( value );
+		return value;
+	}
+	
+	/**
+	 * Raises the incumbent if the value is better
+	 * 
+	 * @param value The value of a feasible solution
+	 */
+	protected void improve( final int value ) {
+		int curr = incumbent.get( );
+		while( value > curr ) {
+			if( incumbent.compareAndSet( curr, value ) ) {
+				if( active != null ) active.incumbent( value );
+				if( control != null ) control.improved( value );
+				if( completed != null ) saveIfDue( );
+				return;
+			}
+			curr = incumbent.get( );
+		}
+	}
+	
+	/**
+	 * Task that explores the subtree of a state
+	 */
+	private class SearchTask extends RecursiveTask<Integer> {
+		/** Serial version UID */
+		private static final long serialVersionUID = 1L;
+		
+		/** The state to explore */
+		private final S state;
+		
+		/** The level of the state in the search tree */
+		private final int level;
+		
+		/**
+		 * Creates a new task
+		 * 
+		 * @param state The state to explore
+		 * @param level The level of the state in the search tree
+		 */
+		protected SearchTask( final S state, final int level ) {
+			this.state = state;
+			this.level = level;
+		}
+		
+		/** @return The best value found in the subtree */
+		@Override
+		protected Integer compute( ) {
+			// the incumbent may have improved since the task was forked
+			if( level > 0 && prune( state ) ) return Integer.MIN_VALUE;
+			return search( state, level );
+		}
+	}
+	
+	/**
+	 * A maximisation problem that can be solved by the branch-and-bound search.
+	 * Implementations must be safe to call from multiple threads when the
+	 * search runs in parallel.
+	 * 
+	 * @param <S> The type of search state
+	 */
+	public interface Problem<S> {
+		/**
+		 * Generates the successor states of a state, in the order in which they
+		 * should be explored (most promising first)
+		 * 
+		 * @param state The state
+		 * @return The list of successors, empty if the state is terminal
+		 */
+		List<S> expand( final S state );
+		
+		/**
+		 * Determines the value of the solution that the state represents
+		 * 
+		 * @param state The state
+		 * @return The value of the state
+		 */
+		int getValue( final S state );
+		
+		/**
+		 * Computes an upper bound on the value of any state in the subtree of
+		 * the state
+		 * 
+		 * @param state The state
+		 * @return The upper bound
+		 */
+		int getUpperBound( final S state );
+		
+		/**
+		 * Computes the 64-bit hash of the state
+		 * 
+		 * @param state The state
+		 * @return The hash, equal for equal states
+		 */
+		long hash( final S state );
+		
+		/**
+		 * Estimates the size of the subtree of the state, used to decide which
+		 * memoised states are kept
+		 * 
+		 * @param state The state
+		 * @return The depth of the remaining search
+		 */
+		int getDepth( final S state );
+	}
+}
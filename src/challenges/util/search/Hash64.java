@@ -0,0 +1,41 @@
+package challenges.util.search;
+
+/**
+ * Helper functions to compute 64-bit hashes of search states, for use as
+ * keys of a {@link TranspositionTable}
+ * 
+ * @author Joris
+ */
+public final class Hash64 {
+	/** The initial value of a hash that is built by combining values */
+	public static final long SEED = 0x2545F4914F6CDD1DL;
+	
+	/** No instances */
+	private Hash64( ) { }
+	
+	/**
+	 * Mixes the bits of a value such that every input bit affects all output
+	 * bits (the SplitMix64 finaliser)
+	 * 
+	 * @param value The value to mix
+	 * @return The mixed value
+	 */
+	public static long mix( final long value ) {
+		long z = value + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+	/**
+	 * Combines a hash with a new value, the result depends on the order in
+	 * which values are combined
+	 * 
+	 * @param hash The current hash
+	 * @param value The value to add
+	 * @return The new hash
+	 */
+	public static long combine( final long hash, final long value ) {
+		return mix( hash * 31 + value );
+	}
+}
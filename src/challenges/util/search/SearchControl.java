@@ -0,0 +1,112 @@
+package challenges.util.search;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controls an anytime search: it holds the deadline of the search, acts as
+ * cancellation token and forwards improvements of the incumbent to a
+ * progress listener. A search that is stopped, either by its deadline or by
+ * cancellation, returns the best solution found so far together with the
+ * upper bound that it has proven on the optimal value.
+ * 
+ * A control can be cancelled from any thread, the search polls it once per
+ * state that it explores.
+ * 
+ * @author Joris
+ */
+public class SearchControl {
+	/** The deadline of the search as System.nanoTime( ) value */
+	protected final long deadline;
+	
+	/** True if the deadline is used */
+	protected final boolean timed;
+	
+	/** True if the search has been cancelled */
+	private volatile boolean cancelled;
+	
+	/** The listener that is notified of new incumbents, null for none */
+	protected ProgressListener listener;
+	
+	/** Creates a new control without deadline */
+	public SearchControl( ) {
+		this.deadline = 0;
+		this.timed = false;
+	}
+	
+	/**
+	 * Creates a new control with a deadline
+	 * 
+	 * @param deadline The deadline as System.nanoTime( ) value
+	 */
+	public SearchControl( final long deadline ) {
+		this.deadline = deadline;
+		this.timed = true;
+	}
+	
+	/**
+	 * Creates a new control of which the deadline expires after the given
+	 * time budget
+	 * 
+	 * @param budget The time budget
+	 * @param unit The unit of the time budget
+	 * @return The control
+	 */
+	public static SearchControl withBudget( final long budget, final TimeUnit unit ) {
+		return new SearchControl( System.nanoTime( ) + unit.toNanos( budget ) );
+	}
+	
+	/**
+	 * Sets the listener that is notified whenever the search finds a better
+	 * solution
+	 * 
+	 * @param listener The listener
+	 * @return This control
+	 */
+	public SearchControl onProgress( final ProgressListener listener ) {
+		this.listener = listener;
+		return this;
+	}
+	
+	/** Cancels the search, it returns its current incumbent as soon as possible */
+	public void cancel( ) {
+		cancelled = true;
+	}
+	
+	/** @return True if the search has been cancelled */
+	public boolean isCancelled( ) {
+		return cancelled;
+	}
+	
+	/** @return True if the deadline has passed */
+	public boolean isExpired( ) {
+		return timed && System.nanoTime( ) - deadline >= 0;
+	}
+	
+	/** @return True if the search must stop, because it is cancelled or expired */
+	public boolean isStopped( ) {
+		return cancelled || isExpired( );
+	}
+	
+	/**
+	 * Notifies the listener of a new incumbent
+	 * 
+	 * @param incumbent The value of the new incumbent
+	 */
+	protected void improved( final int incumbent ) {
+		if( listener != null ) listener.improved( incumbent );
+	}
+	
+	/**
+	 * Listener that is notified of improvements of the incumbent. It may be
+	 * called concurrently from multiple workers of a parallel search
+	 */
+	@FunctionalInterface
+	public interface ProgressListener {
+		/**
+		 * Called whenever the search has found a better solution
+		 * 
+		 * @param incumbent The value of the new best solution
+		 */
+		void improved( final int incumbent );
+	}
+}
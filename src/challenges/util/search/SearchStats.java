@@ -0,0 +1,260 @@
+package challenges.util.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects statistics of a search: the number of expanded states, states
+ * pruned by their bound, memo hits and misses, the size of the open queue and
+ * the progress of the incumbent over time. All counters can be updated from
+ * concurrent workers.
+ * 
+ * Searches hold a reference to the statistics that is null when they are not
+ * collected, so the only cost of disabled statistics is a null check per
+ * event. Statistics are enabled by passing an instance to the search or
+ * globally by setting the system property search.stats to true, in which
+ * case searches print a snapshot to the error stream when they finish.
+ * 
+ * @author Joris
+ */
+public class SearchStats {
+	/** The name of the search */
+	protected final String name;
+	
+	/** The time at which the collection started */
+	private final long start;
+	
+	/** The number of expanded states */
+	private final LongAdder expanded;
+	
+	/** The number of states pruned by their bound */
+	private final LongAdder pruned;
+	
+	/** The number of memo hits */
+	private final LongAdder hits;
+	
+	/** The number of memo misses */
+	private final LongAdder misses;
+	
+	/** The largest queue size */
+	private final LongAccumulator maxqueue;
+	
+	/** The incumbent values over time */
+	private final List<Progress> timeline;
+	
+	/**
+	 * Creates a new statistics collector
+	 * 
+	 * @param name The name of the search
+	 */
+	public SearchStats( final String name ) {
+		this.name = name;
+		this.start = System.nanoTime( );
+		this.expanded = new LongAdder( );
+		this.pruned = new LongAdder( );
+		this.hits = new LongAdder( );
+		this.misses = new LongAdder( );
+		this.maxqueue = new LongAccumulator( Math::max, 0 );
+		this.timeline = Collections.synchronizedList( new ArrayList<>( ) );
+	}
+	
+	/**
+	 * Creates a statistics collector if enabled by the system property
+	 * search.stats
+	 * 
+	 * @param name The name of the search
+	 * @return The statistics or null if they are not enabled
+	 */
+	public static SearchStats fromProperties( final String name ) {
+		return Boolean.getBoolean( "search.stats" ) ? new SearchStats( name ) : null;
+	}
+	
+	/** Records the expansion of a state */
+	public void expanded( ) {
+		expanded.increment( );
+	}
+	
+	/** Records a state that is pruned by its bound */
+	public void pruned( ) {
+		pruned.increment( );
+	}
+	
+	/** Records a memo hit */
+	public void hit( ) {
+		hits.increment( );
+	}
+	
+	/** Records a memo miss */
+	public void miss( ) {
+		misses.increment( );
+	}
+	
+	/**
+	 * Records the current size of the open queue
+	 * 
+	 * @param size The queue size
+	 */
+	public void queue( final int size ) {
+		maxqueue.accumulate( size );
+	}
+	
+	/**
+	 * Records a new incumbent value
+	 * 
+	 * @param value The value
+	 */
+	public void incumbent( final int value ) {
+		timeline.add( new Progress( System.nanoTime( ) - start, value ) );
+	}
+	
+	/** @return A snapshot of the current statistics */
+	public Snapshot snapshot( ) {
+		final List<Progress> tl;
+		synchronized( timeline ) {
+			tl = new ArrayList<>( timeline );
+		}
+		return new Snapshot( name, System.nanoTime( ) - start, expanded.sum( ), pruned.sum( ), hits.sum( ), misses.sum( ), maxqueue.get( ), tl );
+	}
+	
+	/** @return The description of the current statistics */
+	@Override
+	public String toString( ) {
+		return snapshot( ).toString( );
+	}
+	
+	/**
+	 * An incumbent value and the time at which it was found
+	 */
+	public static class Progress {
+		/** The time since the start of the search, in nanoseconds */
+		protected final long nanos;
+		
+		/** The incumbent value */
+		protected final int value;
+		
+		/**
+		 * Creates a new progress record
+		 * 
+		 * @param nanos The time since the start of the search
+		 * @param value The incumbent value
+		 */
+		protected Progress( final long nanos, final int value ) {
+			this.nanos = nanos;
+			this.value = value;
+		}
+		
+		/** @return The time since the start of the search, in nanoseconds */
+		public long getNanos( ) {
+			return nanos;
+		}
+		
+		/** @return The incumbent value */
+		public int getValue( ) {
+			return value;
+		}
+		
+		/** @return The value and time in milliseconds */
+		@Override
+		public String toString( ) {
+			return value + "@" + String.format( "%.1fms", nanos / 1e6 );
+		}
+	}
+	
+	/**
+	 * Immutable snapshot of the statistics of a search
+	 */
+	public static class Snapshot {
+		/** The name of the search */
+		protected final String name;
+		
+		/** The time elapsed since the start of the search, in nanoseconds */
+		protected final long nanos;
+		
+		/** The number of expanded states */
+		protected final long expanded;
+		
+		/** The number of pruned states */
+		protected final long pruned;
+		
+		/** The number of memo hits */
+		protected final long hits;
+		
+		/** The number of memo misses */
+		protected final long misses;
+		
+		/** The largest queue size */
+		protected final long maxqueue;
+		
+		/** The incumbent values over time */
+		protected final List<Progress> timeline;
+		
+		/**
+		 * Creates a new snapshot
+		 * 
+		 * @param name The name of the search
+		 * @param nanos The elapsed time
+		 * @param expanded The number of expanded states
+		 * @param pruned The number of pruned states
+		 * @param hits The number of memo hits
+		 * @param misses The number of memo misses
+		 * @param maxqueue The largest queue size
+		 * @param timeline The incumbent values over time
+		 */
+		protected Snapshot( final String name, final long nanos, final long expanded, final long pruned, final long hits, final long misses, final long maxqueue, final List<Progress> timeline ) {
+			this.name = name;
+			this.nanos = nanos;
+			this.expanded = expanded;
+			this.pruned = pruned;
+			this.hits = hits;
+			this.misses = misses;
+			this.maxqueue = maxqueue;
+			this.timeline = Collections.unmodifiableList( timeline );
+		}
+		
+		/** @return The time elapsed since the start of the search, in nanoseconds */
+		public long getNanos( ) {
+			return nanos;
+		}
+		
+		/** @return The number of expanded states */
+		public long getExpanded( ) {
+			return expanded;
+		}
+		
+		/** @return The number of states pruned by their bound */
+		public long getPruned( ) {
+			return pruned;
+		}
+		
+		/** @return The number of memo hits */
+		public long getHits( ) {
+			return hits;
+		}
+		
+		/** @return The number of memo misses */
+		public long getMisses( ) {
+			return misses;
+		}
+		
+		/** @return The largest size of the open queue */
+		public long getMaxQueue( ) {
+			return maxqueue;
+		}
+		
+		/** @return The incumbent values over time */
+		public List<Progress> getTimeline( ) {
+			return timeline;
+		}
+		
+		/** @return The single-line summary of the statistics */
+		@Override
+		public String toString( ) {
+			final long lookups = hits + misses;
+			return String.format( "[%s] %.1f ms, %d expanded, %d pruned, memo %d/%d hits (%.1f%%), max queue %d, incumbent %s",
+					name, nanos / 1e6, expanded, pruned, hits, lookups, lookups == 0 ? 0.0 : 100.0 * hits / lookups, maxqueue, timeline );
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package challenges.util.search;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size table that memoises the values of search states, keyed by a
+ * 64-bit state hash. The table lives in a few primitive arrays, so it does
+ * not keep any state objects alive and its memory use is bounded by the
+ * budget that is given on construction.
+ * 
+ * The table is organised in buckets of a few entries. When a bucket is full,
+ * the entry of the least value is replaced. Entries that were stored in an
+ * earlier search (see {@link #newSearch()}) are replaced first, then those of
+ * the lowest depth, i.e. those that represent the smallest subtrees.
+ * 
+ * Only the hashes of states are stored. Two different states with equal
+ * hashes are indistinguishable, which is an acceptable risk for 64-bit
+ * hashes of well-mixed state values.
+ * 
+ * The table may be shared by concurrent searches without locking. Every key
+ * is stored XOR-ed with its value, so an entry that is read while another
+ * thread writes it fails the key check instead of returning the value of a
+ * different state. Concurrent writes may lose entries and make the size
+ * approximate, which only costs some recomputation.
+ * 
+ * @author Joris
+ */
+public class TranspositionTable {
+	/** The value that is returned for states that are not in the table */
+	public static final int MISSING = Integer.MIN_VALUE;
+	
+	/** The number of entries per bucket */
+	private static final int WAYS = 4;
+	
+	/** The number of bytes used per entry */
+	private static final int ENTRY_BYTES = 8 + 4 + 1 + 1;
+	
+	/** The key that marks an empty entry */
+	private static final long EMPTY = 0;
+	
+	/** The state hashes, XOR-ed with the value */
+	private final long[] keys;
+	
+	/** The state values */
+	private final int[] values;
+	
+	/** The depths of the entries */
+	private final byte[] depths;
+	
+	/** The search generation in which the entries were stored */
+	private final byte[] ages;
+	
+	/** The mask that selects a bucket from a hash */
+	private final int bucketmask;
+	
+	/** The current search generation */
+	private byte age;
+	
+	/** The number of entries in use */
+	private int used;
+	
+	/**
+	 * Creates a new transposition table
+	 * 
+	 * @param budget The memory budget in bytes, the table will use at most this
+	 *   amount of memory
+	 * @throws IllegalArgumentException if the budget is too small for a single
+	 *   bucket
+	 */
+	public TranspositionTable( final long budget ) {
+		final long buckets = budget / (WAYS * ENTRY_BYTES);
+		if( buckets < 1 ) throw new IllegalArgumentException( "Memory budget of " + budget + " bytes is too small" );
+		final int nb = (int)Long.highestOneBit( Math.min( buckets, 1 << 28 ) );
+		
+		bucketmask = nb - 1;
+		keys = new long[ nb * WAYS ];
+		values = new int[ nb * WAYS ];
+		depths = new byte[ nb * WAYS ];
+		ages = new byte[ nb * WAYS ];
+	}
+	
+	/**
+	 * Determines the default memory budget of transposition tables from the
+	 * system property search.ttmb (in megabytes, 16 if not specified)
+	 * 
+	 * @return The default memory budget in bytes
+	 */
+	public static long getDefaultBudget( ) {
+		return Long.getLong( "search.ttmb", 16 ) << 20;
+	}
+	
+	/**
+	 * Retrieves the value of a state
+	 * 
+	 * @param hash The state hash
+	 * @return The value or {@link #MISSING} if it is not in the table
+	 */
+	public int get( final long hash ) {
+		final long key = toKey( hash );
+		final int b = bucket( key );
+		for( int i = b; i < b + WAYS; i++ ) {
+			final int value = values[i];
+			if( (keys[i] ^ value) == key ) return value;
+		}
+		return MISSING;
+	}
+	
+	/**
+	 * Tests whether the table holds a value for the state
+	 * 
+	 * @param hash The state hash
+	 * @return True iff the state is in the table
+	 */
+	public boolean contains( final long hash ) {
+		return get( hash ) != MISSING;
+	}
+	
+	/**
+	 * Stores the value of a state, possibly replacing another state in the table
+	 * 
+	 * @param hash The state hash
+	 * @param value The value, must not be {@link #MISSING}
+	 * @param depth The depth of the state, i.e., a measure of the work that was
+	 *   required to compute its value. Clamped to [0, 127]
+	 */
+	public void put( final long hash, final int value, final int depth ) {
+		final long key = toKey( hash );
+		final int b = bucket( key );
+		
+		// find the entry of the state itself or else the least valuable one
+		int victim = -1;
+		int victimscore = Integer.MAX_VALUE;
+		for( int i = b; i < b + WAYS; i++ ) {
+			final long stored = keys[i] ^ values[i];
+			if( stored == key ) { victim = i; break; }
+			if( stored == EMPTY ) {
+				if( victimscore > -1 ) { victim = i; victimscore = -1; }
+				continue;
+			}
+			final int score = (ages[i] == age ? 256 : 0) + depths[i];
+			if( score < victimscore ) { victim = i; victimscore = score; }
+		}
+		
+		if( (keys[victim] ^ values[victim]) == EMPTY ) used++;
+		values[victim] = value;
+		keys[victim] = key ^ value;
+		depths[victim] = (byte)Math.max( 0, Math.min( depth, 127 ) );
+		ages[victim] = age;
+	}
+	
+	/**
+	 * Starts a new search generation. Entries of previous generations remain
+	 * available but are the first to be replaced. Concurrent searches that
+	 * share the table each start their own generation, which only affects the
+	 * order in which their entries are replaced
+	 */
+	public void newSearch( ) {
+		age++;
+	}
+	
+	/** Removes all entries from the table */
+	public void clear( ) {
+		Arrays.fill( keys, EMPTY );
+		Arrays.fill( values, 0 );
+		used = 0;
+	}
+	
+	/** @return The number of entries in use, approximate under concurrent use */
+	public int size( ) {
+		return used;
+	}
+	
+	/** @return The maximal number of entries */
+	public int capacity( ) {
+		return keys.length;
+	}
+	
+	/** @return The number of bytes used by the table */
+	public long getMemorySize( ) {
+		return (long)keys.length * ENTRY_BYTES;
+	}
+	
+	/**
+	 * Converts a hash into a key, avoiding the empty key
+	 * 
+	 * @param hash The hash
+	 * @return The key
+	 */
+	private static long toKey( final long hash ) {
+		return hash == EMPTY ? 1 : hash;
+	}
+	
+	/**
+	 * Determines the first entry of the bucket of a key
+	 * 
+	 * @param key The key
+	 * @return The index of the first entry of its bucket
+	 */
+	private int bucket( final long key ) {
+		return ((int)(key ^ (key >>> 32)) & bucketmask) * WAYS;
+	}
+	
+	/** @return The description of the table size and use */
+	@Override
+	public String toString( ) {
+		return "[TT " + used + "/" + keys.length + " entries, " + (getMemorySize( ) >> 20) + " MB]";
+	}
+}
@@ -0,0 +1,62 @@
+package challenges.util.string;
+
+/**
+ * Allocation-free helpers for working with character sequences, such as the
+ * line views of the MappedFileReader, without converting them to strings
+ * 
+ * @author Joris
+ */
+public class CharSequences {
+	
+	/**
+	 * Checks if the sequence starts with the given prefix
+	 * 
+	 * @param seq The sequence
+	 * @param prefix The prefix to test
+	 * @return True iff the sequence starts with the prefix
+	 */
+	public static boolean startsWith( final CharSequence seq, final String prefix ) {
+		if( seq.length( ) < prefix.length( ) ) return false;
+		for( int i = 0; i < prefix.length( ); i++ )
+			if( seq.charAt( i ) != prefix.charAt( i ) ) return false;
+		return true;
+	}
+	
+	/**
+	 * Finds the first occurrence of a character in the sequence
+	 * 
+	 * @param seq The sequence
+	 * @param ch The character to find
+	 * @param from The index to start searching from
+	 * @return The index of the character, -1 if it does not occur
+	 */
+	public static int indexOf( final CharSequence seq, final char ch, final int from ) {
+		for( int i = from; i < seq.length( ); i++ )
+			if( seq.charAt( i ) == ch ) return i;
+		return -1;
+	}
+	
+	/**
+	 * Parses a (signed) decimal number from part of the sequence
+	 * 
+	 * @param seq The sequence
+	 * @param start The start index, inclusive
+	 * @param end The end index, exclusive
+	 * @return The number
+	 * @throws NumberFormatException if the range does not hold a number
+	 */
+	public static long parseLong( final CharSequence seq, final int start, final int end ) {
+		if( start >= end ) throw new NumberFormatException( "Empty number" );
+		final boolean neg = seq.charAt( start ) == '-';
+		int i = neg || seq.charAt( start ) == '+' ? start + 1 : start;
+		if( i >= end ) throw new NumberFormatException( "No digits in: " + seq.subSequence( start, end ) );
+		
+		long value = 0;
+		for( ; i < end; i++ ) {
+			final int d = seq.charAt( i ) - '0';
+			if( d < 0 || d > 9 ) throw new NumberFormatException( "Not a number: " + seq.subSequence( start, end ) );
+			value = value * 10 + d;
+		}
+		return neg ? -value : value;
+	}
+}
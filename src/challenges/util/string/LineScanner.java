@@ -0,0 +1,192 @@
+package challenges.util.string;
+
+/**
+ * Hand-rolled scanner over a single line of input, used in place of regular
+ * expressions to parse the fixed-format lines of the puzzle inputs. The
+ * scanner walks the line once, matching literal text and reading numbers and
+ * words at its current position. Numbers are parsed without any allocation
+ * and a scanner can be reset to another line, such that one scanner can parse
+ * an entire input.
+ * 
+ * Every method that expects some content at the current position throws an
+ * IllegalArgumentException if the line does not match.
+ * 
+ * @author Joris
+ */
+public class LineScanner {
+	/** The line that is scanned */
+	private CharSequence line;
+	
+	/** The current position in the line */
+	private int pos;
+	
+	/** Creates a new scanner without a line, use reset to set one */
+	public LineScanner( ) {
+		this( "" );
+	}
+	
+	/**
+	 * Creates a new scanner at the start of the line
+	 * 
+	 * @param line The line to scan
+	 */
+	public LineScanner( final CharSequence line ) {
+		reset( line );
+	}
+	
+	/**
+	 * Restarts the scanner at the beginning of another line
+	 * 
+	 * @param line The new line to scan
+	 * @return This scanner
+	 */
+	public LineScanner reset( final CharSequence line ) {
+		this.line = line;
+		this.pos = 0;
+		return this;
+	}
+	
+	/** @return The current position in the line */
+	public int getPosition( ) {
+		return pos;
+	}
+	
+	/** @return True if the scanner has reached the end of the line */
+	public boolean atEnd( ) {
+		return pos >= line.length( );
+	}
+	
+	/** @return The character at the current position, or 0 at the end */
+	public char peek( ) {
+		return pos < line.length( ) ? line.charAt( pos ) : 0;
+	}
+	
+	/**
+	 * Reads the character at the current position
+	 * 
+	 * @return The character
+	 */
+	public char next( ) {
+		if( atEnd( ) ) throw error( "character" );
+		return line.charAt( pos++ );
+	}
+	
+	/**
+	 * Matches the literal text at the current position and moves past it if
+	 * it matches
+	 * 
+	 * @param text The text to match
+	 * @return True if the text was matched
+	 */
+	public boolean tryExpect( final String text ) {
+		final int n = text.length( );
+		if( pos + n > line.length( ) ) return false;
+		for( int i = 0; i < n; i++ )
+			if( line.charAt( pos + i ) != text.charAt( i ) ) return false;
+		pos += n;
+		return true;
+	}
+	
+	/**
+	 * Moves past the literal text at the current position
+	 * 
+	 * @param text The text that is expected
+	 * @return This scanner
+	 */
+	public LineScanner expect( final String text ) {
+		if( !tryExpect( text ) ) throw error( "'" + text + "'" );
+		return this;
+	}
+	
+	/**
+	 * Moves past the first occurrence of the text, starting from the current
+	 * position
+	 * 
+	 * @param text The text to find
+	 * @return This scanner
+	 */
+	public LineScanner skipPast( final String text ) {
+		final int last = line.length( ) - text.length( );
+		for( int p = pos; p <= last; p++ ) {
+			int i = 0;
+			while( i < text.length( ) && line.charAt( p + i ) == text.charAt( i ) ) i++;
+			if( i == text.length( ) ) {
+				pos = p + i;
+				return this;
+			}
+		}
+		throw error( "'" + text + "'" );
+	}
+	
+	/**
+	 * Moves past all characters at the current position that occur in the
+	 * given set of characters
+	 * 
+	 * @param chars The characters to skip
+	 * @return This scanner
+	 */
+	public LineScanner skipAny( final String chars ) {
+		while( pos < line.length( ) && chars.indexOf( line.charAt( pos ) ) >= 0 ) pos++;
+		return this;
+	}
+	
+	/**
+	 * Reads a (signed) decimal number at the current position
+	 * 
+	 * @return The number
+	 */
+	public long nextLong( ) {
+		final int start = pos;
+		if( pos < line.length( ) && (line.charAt( pos ) == '-' || line.charAt( pos ) == '+') ) pos++;
+		
+		long value = 0;
+		final int digits = pos;
+		for( ; pos < line.length( ); pos++ ) {
+			final int d = line.charAt( pos ) - '0';
+			if( d < 0 || d > 9 ) break;
+			value = value * 10 + d;
+		}
+		if( pos == digits ) {
+			pos = start;
+			throw error( "number" );
+		}
+		return line.charAt( start ) == '-' ? -value : value;
+	}
+	
+	/**
+	 * Reads a (signed) decimal integer at the current position
+	 * 
+	 * @return The integer
+	 */
+	public int nextInt( ) {
+		final int start = pos;
+		final long value = nextLong( );
+		if( value != (int)value ) {
+			pos = start;
+			throw error( "integer" );
+		}
+		return (int)value;
+	}
+	
+	/**
+	 * Reads a word of letters and/or digits at the current position
+	 * 
+	 * @return The word
+	 */
+	public String nextWord( ) {
+		final int start = pos;
+		while( pos < line.length( ) && Character.isLetterOrDigit( line.charAt( pos ) ) ) pos++;
+		if( pos == start ) throw error( "word" );
+		return line.subSequence( start, pos ).toString( );
+	}
+	
+	/**
+	 * Creates the exception that describes a mismatch at the current position
+	 * 
+	 * @param expected Description of what was expected
+	 * @return The exception
+	 */
+	private IllegalArgumentException error( final String expected ) {
+		return new IllegalArgumentException( "Expected " + expected + " at position " + pos + " of '" + line + "'" );
+	}
+}